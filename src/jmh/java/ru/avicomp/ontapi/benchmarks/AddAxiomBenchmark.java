@@ -0,0 +1,75 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the throughput of adding axioms into a loaded ontology with a warm content cache.
+ * Each operation adds a declaration and a subclass-of axiom for a fresh class.
+ * The ontology is reloaded before each iteration to keep its size stable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AddAxiomBenchmark {
+    private static final String NS = "http://ont-api.ru/benchmarks/added#";
+
+    @Param({"pizza.ttl", "family.ttl", "NCBITAXON-CUT.ttl", "synthetic-10000"})
+    public String source;
+    @Param({"1", "2", "14", "30"})
+    public int level;
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private OntologyManager manager;
+    private OntologyModel ontology;
+    private OWLDataFactory df;
+    private List<OWLClass> classes;
+    private int count;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        if (manager != null) {
+            manager.clearOntologies();
+        }
+        manager = BenchmarkData.createManager(level, parallel);
+        df = manager.getOWLDataFactory();
+        ontology = BenchmarkData.load(manager, BenchmarkData.getGraph(source));
+        classes = ontology.classesInSignature().collect(Collectors.toList());
+        ontology.axioms().count();
+        count = 0;
+    }
+
+    @Benchmark
+    public OntologyModel addAxiom() {
+        OWLClass c = df.getOWLClass(NS + "C" + count);
+        OWLClass sup = classes.get(count++ % classes.size());
+        ontology.addAxiom(df.getOWLDeclarationAxiom(c));
+        ontology.addAxiom(df.getOWLSubClassOfAxiom(c, sup));
+        return ontology;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.benchmarks;
+
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A helper to prepare data for benchmarks: bundled test ontologies, synthetic scaled ontologies and managers.
+ * <p>
+ * A source is either a name of a file from the {@code /ontapi} test resources folder (e.g. {@code pizza.ttl})
+ * or a string in the form {@code synthetic-N}, where {@code N} is a number of classes in the generated ontology.
+ */
+class BenchmarkData {
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+    private static final String SYNTHETIC_NS = "http://ont-api.ru/benchmarks/synthetic#";
+
+    /**
+     * Returns the source as Turtle bytes, to exclude disk IO from the measurements.
+     *
+     * @param source String, not {@code null}
+     * @return array of bytes
+     */
+    static byte[] getTurtle(String source) {
+        if (source.startsWith(SYNTHETIC_PREFIX)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RDFDataMgr.write(out, createSyntheticGraph(getSyntheticSize(source)), Lang.TURTLE);
+            return out.toByteArray();
+        }
+        try (InputStream in = Objects.requireNonNull(BenchmarkData.class.getResourceAsStream("/ontapi/" + source),
+                "Can't find " + source)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read " + source, e);
+        }
+    }
+
+    /**
+     * Parses the source into a fresh in-memory graph.
+     *
+     * @param source String, not {@code null}
+     * @return {@link Graph}
+     */
+    static Graph getGraph(String source) {
+        if (source.startsWith(SYNTHETIC_PREFIX)) {
+            return createSyntheticGraph(getSyntheticSize(source));
+        }
+        Graph res = Factory.createGraphMem();
+        RDFDataMgr.read(res, new ByteArrayInputStream(getTurtle(source)), Lang.TURTLE);
+        return res;
+    }
+
+    /**
+     * Makes a copy of the graph.
+     *
+     * @param graph {@link Graph}
+     * @return {@link Graph}
+     */
+    static Graph copy(Graph graph) {
+        Graph res = Factory.createGraphMem();
+        GraphUtil.addInto(res, graph);
+        return res;
+    }
+
+    /**
+     * Creates a document source from Turtle bytes.
+     *
+     * @param turtle array of bytes
+     * @return {@link OWLOntologyDocumentSource}
+     */
+    static OWLOntologyDocumentSource createSource(byte[] turtle) {
+        return new StreamDocumentSource(new ByteArrayInputStream(turtle),
+                IRI.create("urn:benchmark"), OntFormat.TURTLE.createOwlFormat(), null);
+    }
+
+    /**
+     * Creates a new manager with the given content cache level.
+     *
+     * @param level    int, the content cache level, see {@link ru.avicomp.ontapi.config.CacheSettings}
+     * @param parallel boolean, if {@code true} a concurrent manager is created
+     * @return {@link OntologyManager}
+     */
+    static OntologyManager createManager(int level, boolean parallel) {
+        OntologyManager res = parallel ? OntManagers.createConcurrentONT() : OntManagers.createONT();
+        res.getOntologyConfigurator().setContentCacheLevel(level);
+        return res;
+    }
+
+    /**
+     * Loads an ontology with the given manager, the graph is wrapped as is, without parsing.
+     *
+     * @param manager {@link OntologyManager}
+     * @param graph   {@link Graph}
+     * @return {@link OntologyModel}
+     */
+    static OntologyModel load(OntologyManager manager, Graph graph) {
+        try {
+            return manager.loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(graph));
+        } catch (OWLOntologyCreationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int getSyntheticSize(String source) {
+        return Integer.parseInt(source.substring(SYNTHETIC_PREFIX.length()));
+    }
+
+    /**
+     * Generates a synthetic ontology with the specified number of classes:
+     * a class tree, a named individual with object and data property assertions per class,
+     * and a label for each class.
+     *
+     * @param size int, the number of classes
+     * @return {@link Graph}
+     */
+    static Graph createSyntheticGraph(int size) {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.setID(SYNTHETIC_NS.substring(0, SYNTHETIC_NS.length() - 1));
+        OntNOP op = m.createObjectProperty(SYNTHETIC_NS + "link");
+        OntNDP dp = m.createDataProperty(SYNTHETIC_NS + "value");
+        OntClass[] classes = new OntClass[size];
+        OntIndividual.Named[] individuals = new OntIndividual.Named[size];
+        for (int i = 0; i < size; i++) {
+            OntClass c = classes[i] = m.createOntClass(SYNTHETIC_NS + "C" + i);
+            c.addLabel("Class #" + i);
+            if (i > 0) {
+                c.addSuperClass(classes[(i - 1) / 2]);
+            }
+            OntIndividual.Named x = individuals[i] = c.createIndividual(SYNTHETIC_NS + "I" + i);
+            x.addAssertion(dp, m.createTypedLiteral(i));
+            if (i > 0) {
+                x.addAssertion(op, individuals[i - 1]);
+            }
+        }
+        return m.getBaseGraph();
+    }
+}
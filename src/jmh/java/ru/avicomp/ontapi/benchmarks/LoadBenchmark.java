@@ -0,0 +1,56 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import ru.avicomp.ontapi.OntologyModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading of an ontology document (parsing, transformations and model assembling)
+ * through {@link ru.avicomp.ontapi.OntologyManager}.
+ * The content cache is loaded lazily, so it is not included here,
+ * see {@link AxiomsBenchmark} for the cold listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"pizza.ttl", "family.ttl", "NCBITAXON-CUT.ttl", "synthetic-10000"})
+    public String source;
+    @Param({"0", "2", "14", "30"})
+    public int level;
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private byte[] turtle;
+
+    @Setup
+    public void setup() {
+        turtle = BenchmarkData.getTurtle(source);
+    }
+
+    @Benchmark
+    public OntologyModel load() throws OWLOntologyCreationException {
+        return BenchmarkData.createManager(level, parallel)
+                .loadOntologyFromOntologyDocument(BenchmarkData.createSource(turtle));
+    }
+}
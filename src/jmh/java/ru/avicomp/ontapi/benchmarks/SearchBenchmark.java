@@ -0,0 +1,121 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import ru.avicomp.ontapi.OntologyModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures per-entity lookups (see {@code ru.avicomp.ontapi.OntBaseModelImpl}) on a warm content cache.
+ * Each operation processes a fixed sample of entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark {
+    private static final int SAMPLE_SIZE = 100;
+
+    @Param({"pizza.ttl", "family.ttl", "NCBITAXON-CUT.ttl", "synthetic-10000"})
+    public String source;
+    @Param({"0", "2", "14", "30"})
+    public int level;
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private OntologyModel ontology;
+    private List<OWLClass> classes;
+    private List<OWLNamedIndividual> individuals;
+    private List<OWLObjectProperty> properties;
+
+    @Setup
+    public void setup() {
+        ontology = BenchmarkData.load(BenchmarkData.createManager(level, parallel), BenchmarkData.getGraph(source));
+        classes = sample(ontology.classesInSignature().collect(Collectors.toList()));
+        individuals = sample(ontology.individualsInSignature().collect(Collectors.toList()));
+        properties = sample(ontology.objectPropertiesInSignature().collect(Collectors.toList()));
+        ontology.axioms().count();
+    }
+
+    private static <X> List<X> sample(List<X> list) {
+        if (list.size() <= SAMPLE_SIZE) {
+            return list;
+        }
+        int step = list.size() / SAMPLE_SIZE;
+        return IntStream.range(0, SAMPLE_SIZE).mapToObj(i -> list.get(i * step))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long referencingAxioms() {
+        long res = 0;
+        for (OWLClass c : classes) {
+            res += ontology.referencingAxioms(c).count();
+        }
+        return res;
+    }
+
+    @Benchmark
+    public long containsReference() {
+        long res = 0;
+        for (OWLClass c : classes) {
+            if (ontology.containsReference(c)) res++;
+        }
+        return res;
+    }
+
+    @Benchmark
+    public long classAxioms() {
+        long res = 0;
+        for (OWLClass c : classes) {
+            res += ontology.axioms(c).count();
+            res += ontology.subClassAxiomsForSubClass(c).count();
+            res += ontology.subClassAxiomsForSuperClass(c).count();
+        }
+        return res;
+    }
+
+    @Benchmark
+    public long individualAxioms() {
+        long res = 0;
+        for (OWLNamedIndividual i : individuals) {
+            res += ontology.classAssertionAxioms(i).count();
+            res += ontology.objectPropertyAssertionAxioms(i).count();
+            res += ontology.dataPropertyAssertionAxioms(i).count();
+        }
+        return res;
+    }
+
+    @Benchmark
+    public long objectPropertyAxioms() {
+        long res = 0;
+        for (OWLObjectProperty p : properties) {
+            res += ontology.axioms(p).count();
+            res += ontology.objectPropertyDomainAxioms(p).count();
+            res += ontology.objectPropertyRangeAxioms(p).count();
+        }
+        return res;
+    }
+}
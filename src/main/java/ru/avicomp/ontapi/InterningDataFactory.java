@@ -0,0 +1,380 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.jena.graph.impl.LiteralLabel;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A {@link DataFactory} implementation that performs hash-consing (interning) of
+ * {@link OWLLiteral literals}, anonymous {@link OWLClassExpression class expressions},
+ * {@link OWLDataRange data ranges}, {@link OWLFacetRestriction facet restrictions}
+ * and {@link OWLAnnotation annotations}:
+ * for any new object that is equal to some already produced object, the existing instance is returned.
+ * So, if the factory is shared between ontologies of a manager,
+ * structurally identical objects are shared across all these ontologies, that can save a lot of memory.
+ * Entities (and axioms) are not interned, since entities are already cached
+ * by the {@link ru.avicomp.ontapi.internal.InternalObjectFactory}.
+ * <p>
+ * The interning is performed using a concurrent weak-references based {@link Interner},
+ * so the factory is thread-safe and does not prevent the objects from being garbage collected.
+ * The factory is not a default one, it is opt-in, see {@link OntManagers#createONT(DataFactory)}.
+ * To control effectiveness, the hit ratio is available: see {@link #getHitRatio()}.
+ *
+ * @see DataFactoryImpl
+ * @since 1.4.1
+ */
+@SuppressWarnings("NullableProblems")
+public class InterningDataFactory extends DataFactoryImpl {
+
+    private volatile Interner<OWLObject> interner = Interners.newWeakInterner();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the canonical instance of the given object.
+     *
+     * @param object {@link X}, not {@code null}
+     * @param <X>    any subtype of {@link OWLObject}
+     * @return {@link X}, either the same object or an equal object that was produced earlier
+     */
+    @SuppressWarnings("unchecked")
+    protected <X extends OWLObject> X intern(X object) {
+        X res = (X) interner.intern(object);
+        if (res == object) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return res;
+    }
+
+    /**
+     * Returns the canonical instance of the given object if it is of a kind that is interned by this factory
+     * (see the class description), otherwise returns the object itself.
+     * Can be used to share objects that were not produced by this factory, e.g. deserialized ones.
+     *
+     * @param object {@link X}, not {@code null}
+     * @param <X>    any subtype of {@link OWLObject}
+     * @return {@link X}
+     */
+    public <X extends OWLObject> X share(X object) {
+        return isInterned(object) ? intern(object) : object;
+    }
+
+    /**
+     * Answers {@code true} if the objects of the same kind as the given one are interned by this factory.
+     *
+     * @param object {@link OWLObject}
+     * @return boolean
+     */
+    protected boolean isInterned(OWLObject object) {
+        if (object instanceof OWLLiteral || object instanceof OWLAnnotation
+                || object instanceof OWLFacetRestriction || object instanceof OWLObjectInverseOf) {
+            return true;
+        }
+        if (object instanceof OWLClassExpression) {
+            return ((OWLClassExpression) object).isAnonymous();
+        }
+        return object instanceof OWLDataRange && !(object instanceof OWLDatatype);
+    }
+
+    /**
+     * Returns the number of times the interning returned an already existing object.
+     *
+     * @return long
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of times the interning registered a new object.
+     *
+     * @return long
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of interning requests that returned an already existing object.
+     * Returns {@code 0} if there were no requests yet.
+     *
+     * @return double in the range {@code [0, 1]}
+     */
+    public double getHitRatio() {
+        long h = getHitCount();
+        long total = h + getMissCount();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Releases all interned objects and resets the statistics.
+     */
+    @Override
+    public void purge() {
+        interner = Interners.newWeakInterner();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public OWLDataOneOf getOWLDataOneOf(Stream<? extends OWLLiteral> values) {
+        return intern(super.getOWLDataOneOf(values));
+    }
+
+    @Override
+    public OWLDataComplementOf getOWLDataComplementOf(OWLDataRange dataRange) {
+        return intern(super.getOWLDataComplementOf(dataRange));
+    }
+
+    @Override
+    public OWLDataIntersectionOf getOWLDataIntersectionOf(Stream<? extends OWLDataRange> dataRanges) {
+        return intern(super.getOWLDataIntersectionOf(dataRanges));
+    }
+
+    @Override
+    public OWLDataUnionOf getOWLDataUnionOf(Stream<? extends OWLDataRange> dataRanges) {
+        return intern(super.getOWLDataUnionOf(dataRanges));
+    }
+
+    @Override
+    public OWLDatatypeRestriction getOWLDatatypeRestriction(OWLDatatype dataType,
+                                                            Collection<OWLFacetRestriction> facetRestrictions) {
+        return intern(super.getOWLDatatypeRestriction(dataType, facetRestrictions));
+    }
+
+    @Override
+    public OWLDatatypeRestriction getOWLDatatypeRestriction(OWLDatatype dataType,
+                                                            OWLFacet facet,
+                                                            OWLLiteral typedLiteral) {
+        return intern(super.getOWLDatatypeRestriction(dataType, facet, typedLiteral));
+    }
+
+    @Override
+    public OWLFacetRestriction getOWLFacetRestriction(OWLFacet facet, OWLLiteral facetValue) {
+        return intern(super.getOWLFacetRestriction(facet, facetValue));
+    }
+
+    @Override
+    public OWLObjectIntersectionOf getOWLObjectIntersectionOf(Stream<? extends OWLClassExpression> operands) {
+        return intern(super.getOWLObjectIntersectionOf(operands));
+    }
+
+    @Override
+    public OWLObjectIntersectionOf getOWLObjectIntersectionOf(Collection<? extends OWLClassExpression> operands) {
+        return intern(super.getOWLObjectIntersectionOf(operands));
+    }
+
+    @Override
+    public OWLDataAllValuesFrom getOWLDataAllValuesFrom(OWLDataPropertyExpression property,
+                                                        OWLDataRange dataRange) {
+        return intern(super.getOWLDataAllValuesFrom(property, dataRange));
+    }
+
+    @Override
+    public OWLDataExactCardinality getOWLDataExactCardinality(int cardinality,
+                                                              OWLDataPropertyExpression property) {
+        return intern(super.getOWLDataExactCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLDataExactCardinality getOWLDataExactCardinality(int cardinality,
+                                                              OWLDataPropertyExpression property,
+                                                              OWLDataRange dataRange) {
+        return intern(super.getOWLDataExactCardinality(cardinality, property, dataRange));
+    }
+
+    @Override
+    public OWLDataMaxCardinality getOWLDataMaxCardinality(int cardinality,
+                                                          OWLDataPropertyExpression property) {
+        return intern(super.getOWLDataMaxCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLDataMaxCardinality getOWLDataMaxCardinality(int cardinality,
+                                                          OWLDataPropertyExpression property,
+                                                          OWLDataRange dataRange) {
+        return intern(super.getOWLDataMaxCardinality(cardinality, property, dataRange));
+    }
+
+    @Override
+    public OWLDataMinCardinality getOWLDataMinCardinality(int cardinality,
+                                                          OWLDataPropertyExpression property) {
+        return intern(super.getOWLDataMinCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLDataMinCardinality getOWLDataMinCardinality(int cardinality,
+                                                          OWLDataPropertyExpression property,
+                                                          OWLDataRange dataRange) {
+        return intern(super.getOWLDataMinCardinality(cardinality, property, dataRange));
+    }
+
+    @Override
+    public OWLDataSomeValuesFrom getOWLDataSomeValuesFrom(OWLDataPropertyExpression property,
+                                                          OWLDataRange dataRange) {
+        return intern(super.getOWLDataSomeValuesFrom(property, dataRange));
+    }
+
+    @Override
+    public OWLDataHasValue getOWLDataHasValue(OWLDataPropertyExpression property,
+                                              OWLLiteral value) {
+        return intern(super.getOWLDataHasValue(property, value));
+    }
+
+    @Override
+    public OWLObjectComplementOf getOWLObjectComplementOf(OWLClassExpression operand) {
+        return intern(super.getOWLObjectComplementOf(operand));
+    }
+
+    @Override
+    public OWLObjectAllValuesFrom getOWLObjectAllValuesFrom(OWLObjectPropertyExpression property,
+                                                            OWLClassExpression classExpression) {
+        return intern(super.getOWLObjectAllValuesFrom(property, classExpression));
+    }
+
+    @Override
+    public OWLObjectOneOf getOWLObjectOneOf(Stream<? extends OWLIndividual> values) {
+        return intern(super.getOWLObjectOneOf(values));
+    }
+
+    @Override
+    public OWLObjectExactCardinality getOWLObjectExactCardinality(int cardinality,
+                                                                  OWLObjectPropertyExpression property) {
+        return intern(super.getOWLObjectExactCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLObjectExactCardinality getOWLObjectExactCardinality(int cardinality,
+                                                                  OWLObjectPropertyExpression property,
+                                                                  OWLClassExpression classExpression) {
+        return intern(super.getOWLObjectExactCardinality(cardinality, property, classExpression));
+    }
+
+    @Override
+    public OWLObjectMinCardinality getOWLObjectMinCardinality(int cardinality,
+                                                              OWLObjectPropertyExpression property) {
+        return intern(super.getOWLObjectMinCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLObjectMinCardinality getOWLObjectMinCardinality(int cardinality,
+                                                              OWLObjectPropertyExpression property,
+                                                              OWLClassExpression classExpression) {
+        return intern(super.getOWLObjectMinCardinality(cardinality, property, classExpression));
+    }
+
+    @Override
+    public OWLObjectMaxCardinality getOWLObjectMaxCardinality(int cardinality,
+                                                              OWLObjectPropertyExpression property) {
+        return intern(super.getOWLObjectMaxCardinality(cardinality, property));
+    }
+
+    @Override
+    public OWLObjectMaxCardinality getOWLObjectMaxCardinality(int cardinality,
+                                                              OWLObjectPropertyExpression property,
+                                                              OWLClassExpression classExpression) {
+        return intern(super.getOWLObjectMaxCardinality(cardinality, property, classExpression));
+    }
+
+    @Override
+    public OWLObjectHasSelf getOWLObjectHasSelf(OWLObjectPropertyExpression property) {
+        return intern(super.getOWLObjectHasSelf(property));
+    }
+
+    @Override
+    public OWLObjectSomeValuesFrom getOWLObjectSomeValuesFrom(OWLObjectPropertyExpression property,
+                                                              OWLClassExpression classExpression) {
+        return intern(super.getOWLObjectSomeValuesFrom(property, classExpression));
+    }
+
+    @Override
+    public OWLObjectHasValue getOWLObjectHasValue(OWLObjectPropertyExpression property,
+                                                  OWLIndividual individual) {
+        return intern(super.getOWLObjectHasValue(property, individual));
+    }
+
+    @Override
+    public OWLObjectUnionOf getOWLObjectUnionOf(Stream<? extends OWLClassExpression> operands) {
+        return intern(super.getOWLObjectUnionOf(operands));
+    }
+
+    @Override
+    public OWLObjectUnionOf getOWLObjectUnionOf(Collection<? extends OWLClassExpression> operands) {
+        return intern(super.getOWLObjectUnionOf(operands));
+    }
+
+    @Override
+    public OWLObjectInverseOf getOWLObjectInverseOf(OWLObjectProperty property) {
+        return intern(super.getOWLObjectInverseOf(property));
+    }
+
+    @Override
+    public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property,
+                                          OWLAnnotationValue value) {
+        return intern(super.getOWLAnnotation(property, value));
+    }
+
+    @Override
+    public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property,
+                                          OWLAnnotationValue value,
+                                          Stream<OWLAnnotation> annotations) {
+        return intern(super.getOWLAnnotation(property, value, annotations));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(int i) {
+        return intern(super.getOWLLiteral(i));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(double d) {
+        return intern(super.getOWLLiteral(d));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(float f) {
+        return intern(super.getOWLLiteral(f));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(String txt) {
+        return intern(super.getOWLLiteral(txt));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(String txt, String lang) {
+        return intern(super.getOWLLiteral(txt, lang));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(String txt, OWLDatatype dt) {
+        return intern(super.getOWLLiteral(txt, dt));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(LiteralLabel label) {
+        return intern(super.getOWLLiteral(label));
+    }
+}
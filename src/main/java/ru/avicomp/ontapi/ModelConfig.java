@@ -121,14 +121,26 @@ public class ModelConfig implements InternalConfig, Serializable {
      * @return {@link InternalObjectFactory}
      */
     public InternalObjectFactory createObjectFactory() {
+        EntityCache entities = manager.entities;
         if (!useLoadObjectsCache()) {
-            return new NoCacheObjectFactory(manager.dataFactory);
+            if (entities == null) {
+                return new NoCacheObjectFactory(manager.dataFactory);
+            }
+            return new CacheObjectFactory(manager.dataFactory, InternalCache::createEmpty, manager.iris, entities);
         }
-        return new CacheObjectFactory(manager.dataFactory, this::createCache, manager.iris);
+        if (!isRecordCacheStats()) {
+            return new CacheObjectFactory(manager.dataFactory, this::createCache, manager.iris, entities);
+        }
+        InternalCache.Counter counter = new InternalCache.Counter();
+        return new CacheObjectFactory(manager.dataFactory, () -> createCache(counter), manager.iris, entities);
     }
 
     protected <K, V> InternalCache<K, V> createCache() {
-        return InternalCache.createBounded(manager.isConcurrent(), CacheObjectFactory.CACHE_SIZE);
+        return createCache(null);
+    }
+
+    protected <K, V> InternalCache<K, V> createCache(InternalCache.Counter counter) {
+        return InternalCache.createBounded(manager.isConcurrent(), CacheObjectFactory.CACHE_SIZE, counter);
     }
 
     public OntPersonality getPersonality() {
@@ -180,6 +192,16 @@ public class ModelConfig implements InternalConfig, Serializable {
         return getLoaderConfig().getContentCacheLevel();
     }
 
+    @Override
+    public boolean isPreloadContentCache() {
+        return getLoaderConfig().isPreloadContentCache();
+    }
+
+    @Override
+    public boolean isRecordCacheStats() {
+        return getLoaderConfig().isRecordCacheStats();
+    }
+
     @Override
     public boolean parallel() {
         return manager.isConcurrent();
@@ -27,8 +27,10 @@ import org.semanticweb.owlapi.search.Filters;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 import org.semanticweb.owlapi.util.OWLClassExpressionCollector;
 import ru.avicomp.ontapi.internal.AxiomKey;
+import ru.avicomp.ontapi.internal.AxiomPosition;
 import ru.avicomp.ontapi.internal.InternalModel;
 import ru.avicomp.ontapi.internal.InternalModelHolder;
+import ru.avicomp.ontapi.jena.SnapshotGraph;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.owlapi.OWLObjectImpl;
 
@@ -240,7 +242,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
 
     @Override
     public boolean containsEntityInSignature(OWLEntity entity) {
-        return signature().anyMatch(o -> Objects.equals(o, entity));
+        return base.containsOWLEntity(entity);
     }
 
     @Override
@@ -264,7 +266,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
 
     @Override
     public boolean containsReference(OWLEntity entity) {
-        return signature().anyMatch(entity::equals);
+        return base.containsOWLEntity(entity);
     }
 
     @Override
@@ -458,10 +460,10 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
     @Override
     public Stream<OWLClassAxiom> axioms(OWLClass clazz) {
         Stream<? extends OWLClassAxiom> subClassOf = base.listOWLSubClassOfAxioms(clazz);
-        Stream<? extends OWLClassAxiom> disjointUnion = base.listOWLAxioms(OWLDisjointUnionAxiom.class)
-                .filter(a -> Objects.equals(a.getOWLClass(), clazz));
-        Stream<? extends OWLClassAxiom> disjoint = base.listOWLAxioms(OWLDisjointClassesAxiom.class)
-                .filter(a -> a.operands().anyMatch(clazz::equals));
+        Stream<? extends OWLClassAxiom> disjointUnion = base.listOWLAxioms(OWLDisjointUnionAxiom.class,
+                AxiomPosition.SUB, clazz);
+        Stream<? extends OWLClassAxiom> disjoint = base.listOWLAxioms(OWLDisjointClassesAxiom.class,
+                AxiomPosition.OPERAND, clazz);
         Stream<? extends OWLClassAxiom> equivalent = base.listOWLEquivalentClassesAxioms(clazz);
         return Stream.of(subClassOf, disjointUnion, disjoint, equivalent).flatMap(Function.identity());
     }
@@ -486,17 +488,13 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      */
     @Override
     public Stream<OWLObjectPropertyAxiom> axioms(OWLObjectPropertyExpression property) {
-        Stream<? extends OWLObjectPropertyAxiom> subPropertyOf = base.listOWLAxioms(OWLSubObjectPropertyOfAxiom.class)
-                .filter(a -> Objects.equals(a.getSubProperty(), property));
-        @SuppressWarnings("unchecked")
+        Stream<? extends OWLObjectPropertyAxiom> subPropertyOf = base.listOWLAxioms(OWLSubObjectPropertyOfAxiom.class,
+                AxiomPosition.SUB, property);
         Stream<? extends OWLObjectPropertyAxiom> nary = Stream.of(
                 OWLEquivalentObjectPropertiesAxiom.class,
                 OWLDisjointObjectPropertiesAxiom.class,
                 OWLInverseObjectPropertiesAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLNaryPropertyAxiom.class::cast)
-                .filter(a -> a.operands().anyMatch(o -> Objects.equals(o, property)))
-                .map(OWLObjectPropertyAxiom.class::cast);
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.OPERAND, property));
         Stream<? extends OWLObjectPropertyAxiom> unary = Stream.of(
                 OWLObjectPropertyDomainAxiom.class,
                 OWLObjectPropertyRangeAxiom.class,
@@ -507,10 +505,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
                 OWLFunctionalObjectPropertyAxiom.class,
                 OWLInverseFunctionalObjectPropertyAxiom.class,
                 OWLAsymmetricObjectPropertyAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLUnaryPropertyAxiom.class::cast)
-                .filter(a -> Objects.equals(a.getProperty(), property))
-                .map(OWLObjectPropertyAxiom.class::cast);
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.SUB, property));
         return Stream.of(subPropertyOf, nary, unary).flatMap(Function.identity());
     }
 
@@ -531,25 +526,20 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      */
     @Override
     public Stream<OWLDataPropertyAxiom> axioms(OWLDataProperty property) {
-        Stream<? extends OWLDataPropertyAxiom> subPropertyOf = base.listOWLAxioms(OWLSubDataPropertyOfAxiom.class)
-                .filter(a -> Objects.equals(a.getSubProperty(), property));
+        Stream<? extends OWLDataPropertyAxiom> subPropertyOf = base.listOWLAxioms(OWLSubDataPropertyOfAxiom.class,
+                AxiomPosition.SUB, property);
         @SuppressWarnings("unchecked")
         Stream<? extends OWLDataPropertyAxiom> nary = Stream.of(
                 OWLEquivalentDataPropertiesAxiom.class,
                 OWLDisjointDataPropertiesAxiom.class,
                 OWLInverseObjectPropertiesAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLNaryPropertyAxiom.class::cast)
-                .filter(a -> a.operands().anyMatch(o -> Objects.equals(o, property)))
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.OPERAND, property))
                 .map(OWLDataPropertyAxiom.class::cast);
         Stream<? extends OWLDataPropertyAxiom> unary = Stream.of(
                 OWLDataPropertyDomainAxiom.class,
                 OWLDataPropertyRangeAxiom.class,
                 OWLFunctionalDataPropertyAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLUnaryPropertyAxiom.class::cast)
-                .filter(a -> Objects.equals(a.getProperty(), property))
-                .map(OWLDataPropertyAxiom.class::cast);
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.SUB, property));
         return Stream.of(subPropertyOf, nary, unary).flatMap(Function.identity());
     }
 
@@ -567,13 +557,10 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      * @return A {@code Stream} of annotation axioms
      */
     public Stream<OWLAnnotationAxiom> axioms(OWLAnnotationProperty property) {
-        return Stream.of(axioms(AxiomType.SUB_ANNOTATION_PROPERTY_OF)
-                        .filter(a -> a.getSubProperty().equals(property)),
-                axioms(AxiomType.ANNOTATION_PROPERTY_RANGE)
-                        .filter(a -> a.getProperty().equals(property)),
-                axioms(AxiomType.ANNOTATION_PROPERTY_DOMAIN)
-                        .filter(a -> a.getProperty().equals(property)))
-                .flatMap(Function.identity());
+        return Stream.of(OWLSubAnnotationPropertyOfAxiom.class,
+                OWLAnnotationPropertyRangeAxiom.class,
+                OWLAnnotationPropertyDomainAxiom.class)
+                .flatMap(c -> base.listOWLAxioms(c, AxiomPosition.SUB, property));
     }
 
     /**
@@ -594,28 +581,24 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      */
     @Override
     public Stream<OWLIndividualAxiom> axioms(OWLIndividual individual) {
-        Stream<? extends OWLIndividualAxiom> classAssertion = base.listOWLAxioms(OWLClassAssertionAxiom.class)
-                .filter(a -> Objects.equals(a.getIndividual(), individual));
+        Stream<? extends OWLIndividualAxiom> classAssertion = base.listOWLAxioms(OWLClassAssertionAxiom.class,
+                AxiomPosition.SUB, individual);
         Stream<? extends OWLIndividualAxiom> nary = Stream.of(
                 OWLSameIndividualAxiom.class,
                 OWLDifferentIndividualsAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLNaryIndividualAxiom.class::cast)
-                .filter(a -> a.operands().anyMatch(o -> Objects.equals(o, individual)));
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.OPERAND, individual));
         Stream<? extends OWLIndividualAxiom> propertyAssertion = Stream.of(
                 OWLObjectPropertyAssertionAxiom.class,
                 OWLDataPropertyAssertionAxiom.class,
                 OWLNegativeObjectPropertyAssertionAxiom.class,
                 OWLNegativeDataPropertyAssertionAxiom.class
-        ).flatMap(c -> base.listOWLAxioms(c))
-                .map(OWLPropertyAssertionAxiom.class::cast)
-                .filter(a -> Objects.equals(a.getSubject(), individual));
+        ).flatMap(c -> base.listOWLAxioms(c, AxiomPosition.SUB, individual));
         return Stream.of(classAssertion, nary, propertyAssertion).flatMap(Function.identity());
     }
 
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> axioms(OWLDatatype datatype) {
-        return base.listOWLAxioms(OWLDatatypeDefinitionAxiom.class).filter(a -> datatype.equals(a.getDatatype()));
+        return base.listOWLAxioms(OWLDatatypeDefinitionAxiom.class, AxiomPosition.SUB, datatype);
     }
 
     @SuppressWarnings("unchecked")
@@ -650,62 +633,51 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
             return (Stream<A>) base.listOWLDeclarationAxioms((OWLEntity) object);
         }
         if (OWLSubObjectPropertyOfAxiom.class.equals(type) && object instanceof OWLObjectPropertyExpression) {
-            return (Stream<A>) base.listOWLAxioms(OWLSubObjectPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLSubDataPropertyOfAxiom.class.equals(type) && object instanceof OWLDataPropertyExpression) {
-            return (Stream<A>) base.listOWLAxioms(OWLSubDataPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLSubAnnotationPropertyOfAxiom.class.equals(type) && object instanceof OWLAnnotationProperty) {
             // the difference: this axiom type is ignored in the original OWL-API method:
-            return (Stream<A>) base.listOWLAxioms(OWLSubAnnotationPropertyOfAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperProperty() : a.getSubProperty()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLSubClassOfAxiom.class.equals(type) && object instanceof OWLClassExpression) {
             OWLClassExpression c = (OWLClassExpression) object;
             if (c.isOWLClass() && Navigation.IN_SUB_POSITION.equals(position)) {
                 return (Stream<A>) base.listOWLSubClassOfAxioms(c.asOWLClass());
             }
-            return (Stream<A>) base.listOWLAxioms(OWLSubClassOfAxiom.class)
-                    .filter(a -> c.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSuperClass() : a.getSubClass()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), c);
         }
         if (OWLEquivalentClassesAxiom.class.equals(type) && Navigation.IN_SUB_POSITION.equals(position) && object instanceof OWLClassExpression) {
             OWLClassExpression c = (OWLClassExpression) object;
             if (c.isOWLClass()) {
                 return (Stream<A>) base.listOWLEquivalentClassesAxioms(c.asOWLClass());
             }
-            return (Stream<A>) base.listOWLAxioms(OWLEquivalentClassesAxiom.class).filter(a -> a.contains(c));
+            return base.listOWLAxioms(type, AxiomPosition.OPERAND, c);
         }
         if (OWLInverseObjectPropertiesAxiom.class.equals(type) && object instanceof OWLObjectPropertyExpression) {
-            return (Stream<A>) base.listOWLAxioms(OWLInverseObjectPropertiesAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getSecondProperty() : a.getFirstProperty()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLObjectPropertyAssertionAxiom.class.equals(type) && object instanceof OWLIndividual) {
-            return (Stream<A>) base.listOWLAxioms(OWLObjectPropertyAssertionAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getObject() : a.getSubject()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLNegativeObjectPropertyAssertionAxiom.class.equals(type) && object instanceof OWLIndividual) {
-            return (Stream<A>) base.listOWLAxioms(OWLNegativeObjectPropertyAssertionAxiom.class)
-                    .filter(a -> object.equals(Navigation.IN_SUPER_POSITION.equals(position) ? a.getObject() : a.getSubject()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLAnnotationAssertionAxiom.class.equals(type)) {
             if (Navigation.IN_SUPER_POSITION.equals(position) && object instanceof OWLAnnotationObject) {
-                return (Stream<A>) base.listOWLAxioms(OWLAnnotationAssertionAxiom.class).filter(a -> object.equals(a.getValue()));
+                return base.listOWLAxioms(type, AxiomPosition.SUPER, object);
             }
             if (Navigation.IN_SUB_POSITION.equals(position) && object instanceof OWLAnnotationSubject) {
                 return (Stream<A>) base.listOWLAnnotationAssertionAxioms((OWLAnnotationSubject) object);
             }
         }
         if (OWLDisjointUnionAxiom.class.equals(type) && object instanceof OWLClassExpression) {
-            return (Stream<A>) base.listOWLAxioms(OWLDisjointUnionAxiom.class)
-                    .filter(a -> Navigation.IN_SUPER_POSITION.equals(position) ?
-                            a.classExpressions().anyMatch(object::equals) : object.equals(a.getOWLClass()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLSubPropertyChainOfAxiom.class.equals(type) && object instanceof OWLObjectPropertyExpression) {
-            return (Stream<A>) base.listOWLAxioms(OWLSubPropertyChainOfAxiom.class)
-                    .filter(a -> Navigation.IN_SUPER_POSITION.equals(position) ?
-                            a.getPropertyChain().stream().anyMatch(object::equals) : object.equals(a.getSuperProperty()));
+            return base.listOWLAxioms(type, AxiomPosition.get(position), object);
         }
         if (OWLClassAxiom.class.equals(type) && object instanceof OWLClass) {
             return (Stream<A>) axioms((OWLClass) object);
@@ -720,7 +692,10 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
             return (Stream<A>) axioms((OWLIndividual) object);
         }
         if (OWLNaryAxiom.class.isAssignableFrom(type)) {
-            return base.listOWLAxioms(type).filter(a -> ((OWLNaryAxiom) a).operands().anyMatch(o -> Objects.equals(o, object)));
+            return base.listOWLAxioms(type, AxiomPosition.OPERAND, object);
+        }
+        if (AxiomPosition.isPrimitive(object)) {
+            return base.listOWLAxioms(type, AxiomPosition.PRIMITIVE, object);
         }
         // default:
         return base.listOWLAxioms(type).filter(a -> OwlObjects.objects(object.getClass(), a).anyMatch(object::equals));
@@ -766,13 +741,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
 
     @Override
     public Stream<OWLAxiom> referencingAxioms(OWLPrimitive primitive) {
-        if (primitive instanceof IRI) {
-            return axioms().filter(a -> OwlObjects.iris(a).anyMatch(primitive::equals));
-        }
-        if (primitive instanceof OWLDatatype) { // as well as iri the datatype could be hidden inside other objects (literals):
-            return axioms().filter(a -> OwlObjects.objects(OWLDatatype.class, a).anyMatch(primitive::equals));
-        }
-        return axioms().filter(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(primitive::equals));
+        return base.listOWLAxioms(primitive);
     }
 
     @Override
@@ -1135,7 +1104,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
     @SuppressWarnings("JavadocReference")
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        Graph base = new GraphMem();
+        Graph base = in.readBoolean() ? new SnapshotGraph() : new GraphMem();
         RDFDataMgr.read(base, in, DEFAULT_SERIALIZATION_FORMAT.getLang());
         // set temporary model with default personality, it will be reset inside manager while its #readObject
         setBase(InternalModelHolder.createInternalModel(base));
@@ -1146,7 +1115,8 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      * Note: only the base graph is serialized,
      * so if you serialize and then de-serialize standalone ontology it will loss all its references,
      * please use managers serialization, it will restore any links.
-     * Also please note: an exception is expected if the encapsulated graph is not {@link GraphMem}.
+     * Also please note: an exception is expected if the encapsulated graph is neither {@link GraphMem}
+     * nor {@link SnapshotGraph}.
      *
      * @param out {@link ObjectOutputStream}
      * @throws IOException     if I/O errors occur while writing to the underlying <code>OutputStream</code>
@@ -1154,9 +1124,10 @@ public abstract class OntBaseModelImpl implements OWLOntology, InternalModelHold
      */
     private void writeObject(ObjectOutputStream out) throws IOException, OntApiException {
         Graph g = base.getBaseGraph();
-        if (!(g instanceof GraphMem))
+        if (!(g instanceof GraphMem) && !(g instanceof SnapshotGraph))
             throw new OntApiException(getOntologyID() + ":: Serialization is not supported for " + g.getClass());
         out.defaultWriteObject();
+        out.writeBoolean(g instanceof SnapshotGraph);
         // serialize only base graph (it will be wrapped as UnionGraph):
         RDFDataMgr.write(out, g, DEFAULT_SERIALIZATION_FORMAT.getLang());
     }
@@ -19,6 +19,7 @@ import org.apache.jena.graph.*;
 import org.apache.jena.rdf.model.impl.ModelCom;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFParser;
 import org.apache.jena.riot.RDFLanguages;
 import org.apache.jena.shared.PrefixMapping;
 import org.semanticweb.owlapi.io.*;
@@ -29,20 +30,20 @@ import org.semanticweb.owlapi.model.PrefixManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
+import ru.avicomp.ontapi.internal.StreamAxiomIndex;
 import ru.avicomp.ontapi.jena.impl.OntIDImpl;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Models;
 import ru.avicomp.ontapi.transforms.GraphTransformers;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static ru.avicomp.ontapi.OntologyFactoryImpl.ConfigMismatchException;
 import static ru.avicomp.ontapi.OntologyFactoryImpl.UnsupportedFormatException;
@@ -71,6 +72,15 @@ public class OntGraphUtils {
     public static final String DEFAULT_REQUEST = "application/rdf+xml, application/xml; q=0.7, text/xml; q=0.6" +
             TEXT_PLAIN_REQUEST_TYPE + LAST_REQUEST_TYPE;
 
+    /**
+     * The number of leading bytes of a document that is used to detect its format.
+     */
+    public static final int SNIFF_BUFFER_SIZE = 8192;
+    private static final Pattern XML_ELEMENT = Pattern.compile("<(?:([A-Za-z_][\\w.-]*):)?([A-Za-z_][\\w.-]*)[\\s>/]");
+    private static final Pattern MANCHESTER_FRAME = Pattern.compile("^(?:Prefix|Ontology|Import|Class|ObjectProperty" +
+            "|DataProperty|AnnotationProperty|Individual|Datatype):");
+    private static final Pattern TURTLE_DIRECTIVE = Pattern.compile("^(?:@prefix|@base|(?i:prefix|base))\\s");
+
     /**
      * Gets an OWL Ontology ID parsed from the given graph.
      * Treats graphs without {@code owl:Ontology} section inside as anonymous.
@@ -255,68 +265,287 @@ public class OntGraphUtils {
     public static OntFormat readGraph(Graph graph,
                                       OWLOntologyDocumentSource source,
                                       OntLoaderConfiguration conf) throws OWLOntologyCreationException {
+        return readGraph(graph, source, conf, null);
+    }
+
+    /**
+     * Reads the graph from the document source,
+     * passing all parsed triples through the given {@link StreamAxiomIndex} (if it is not {@code null}).
+     * The index must be created for the same graph.
+     *
+     * @param graph  {@link Graph} the graph to put in
+     * @param source {@link OWLOntologyDocumentSource} the source (encapsulates IO-stream, IO-Reader or IRI of document)
+     * @param conf   {@link OntLoaderConfiguration} config
+     * @param index  {@link StreamAxiomIndex} the sink to collect simple axioms candidates, can be {@code null}
+     * @return {@link OntFormat} corresponding to the specified source
+     * @throws UnsupportedFormatException   if source can't be read into graph using jena
+     * @throws ConfigMismatchException      if there is some conflict with config settings
+     * @throws OWLOntologyCreationException if there is some serious I/O problem
+     * @throws OntApiException              if some other problem
+     * @since 1.4.1
+     */
+    public static OntFormat readGraph(Graph graph,
+                                      OWLOntologyDocumentSource source,
+                                      OntLoaderConfiguration conf,
+                                      StreamAxiomIndex index) throws OWLOntologyCreationException {
         IRI iri = OntApiException.notNull(source, "Null document source.").getDocumentIRI();
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Read graph from <{}>.", iri);
         Supplier<OWLOntologyInputSourceException> orElse = () -> new OWLOntologyInputSourceException("Can't get " +
                 "input-stream/reader from " + iri);
         if (source.getInputStream().isPresent()) {
-            return read(graph, source, s -> s.getInputStream().orElseThrow(orElse));
+            return read(graph, source, index, s -> s.getInputStream().orElseThrow(orElse));
         }
         if (source.getReader().isPresent()) {
-            return read(graph, source, s -> asInputStream(s.getReader().orElseThrow(orElse)));
+            return read(graph, source, index, s -> asInputStream(s.getReader().orElseThrow(orElse)));
         }
         if (conf.getSupportedSchemes().stream().noneMatch(s -> s.same(iri))) {
             throw new ConfigMismatchException("Not allowed scheme: " + iri);
         }
         String header = source.getAcceptHeaders().orElse(DEFAULT_REQUEST);
-        return read(graph, source, s -> DocumentSources.getInputStream(iri, conf, header).orElseThrow(orElse));
+        return read(graph, source, index, s -> DocumentSources.getInputStream(iri, conf, header).orElseThrow(orElse));
     }
 
     /**
      * Performs reading to the graph from the source using {@link OntInputSupplier ont-supplier},
      * which produces a new input stream each call.
+     * If the source has no explicit format,
+     * the leading bytes of the document are examined first (see {@link #detectFormat(byte[], int)}):
+     * if the format is recognized, the document is parsed once using the already opened stream,
+     * otherwise (or in case of failure) all supported formats are tried one by one.
+     *
+     * @param graph    {@link Graph}
+     * @param source   {@link OWLOntologyDocumentSource}
+     * @param supplier {@link OntInputSupplier}
+     * @return {@link OntFormat}
+     * @throws OWLOntologyCreationException if something is wrong.
+     */
+    protected static OntFormat read(Graph graph,
+                                    OWLOntologyDocumentSource source,
+                                    OntInputSupplier supplier) throws OWLOntologyCreationException {
+        return read(graph, source, null, supplier);
+    }
+
+    /**
+     * Performs reading to the graph from the source using {@link OntInputSupplier ont-supplier}
+     * and, optionally, the {@link StreamAxiomIndex} sink.
      *
      * @param graph    {@link Graph}
      * @param source   {@link OWLOntologyDocumentSource}
+     * @param index    {@link StreamAxiomIndex}, can be {@code null}
      * @param supplier {@link OntInputSupplier}
      * @return {@link OntFormat}
      * @throws OWLOntologyCreationException if something is wrong.
+     * @since 1.4.1
      */
     protected static OntFormat read(Graph graph,
                                     OWLOntologyDocumentSource source,
+                                    StreamAxiomIndex index,
                                     OntInputSupplier supplier) throws OWLOntologyCreationException {
         IRI iri = source.getDocumentIRI();
         final OWLOntologyCreationException cause = new UnsupportedFormatException(String.format("Can't read %s %s.",
                 source.getClass().getSimpleName(), iri));
-        for (OntFormat format : getSupportedFormats(source)) {
-            if (format.isOWLOnly()) {
-                cause.addSuppressed(new UnsupportedFormatException("Not supported by jena.")
-                        .putFormat(format).putSource(iri));
-                continue;
+        Set<OntFormat> formats = getSupportedFormats(source);
+        // the stream that is already opened while detecting the format:
+        InputStream opened = null;
+        try {
+            if (!source.getFormat().isPresent()) {
+                opened = new BufferedInputStream(supplier.open(source), SNIFF_BUFFER_SIZE);
+                OntFormat detected = detectFormat(opened);
+                if (detected != null) {
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("Detected format: <{}>", detected);
+                    if (detected.isOWLOnly()) {
+                        cause.addSuppressed(new UnsupportedFormatException("Not supported by jena.")
+                                .putFormat(detected).putSource(iri));
+                        throw cause;
+                    }
+                    Set<OntFormat> candidates = new LinkedHashSet<>();
+                    candidates.add(detected);
+                    candidates.addAll(formats);
+                    formats = candidates;
+                }
+            }
+            for (OntFormat format : formats) {
+                if (format.isOWLOnly()) {
+                    cause.addSuppressed(new UnsupportedFormatException("Not supported by jena.")
+                            .putFormat(format).putSource(iri));
+                    continue;
+                }
+                Lang lang = format.getLang();
+                InputStream stream = opened != null ? opened : supplier.open(source);
+                opened = null;
+                try (InputStream is = stream) {
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("try <{}>", lang);
+                    // with @base:
+                    if (index == null) {
+                        RDFParser.source(is).base(iri.toString()).lang(lang).parse(Graphs.createLoader(graph));
+                    } else {
+                        index.reset();
+                        RDFParser.source(is).base(iri.toString()).lang(lang).parse(index);
+                    }
+                    return format;
+                } catch (RuntimeException e) {
+                    // could be org.apache.jena.shared.JenaException ||
+                    // org.apache.jena.atlas.AtlasException ||
+                    // org.apache.jena.atlas.json.JsonParseException || ...
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("<{}> failed: '{}'", lang, e.getMessage());
+                    cause.addSuppressed(new UnsupportedFormatException(e).putSource(iri).putFormat(format));
+                }
             }
-            Lang lang = format.getLang();
-            try (InputStream is = supplier.open(source)) {
-                if (LOGGER.isDebugEnabled())
-                    LOGGER.debug("try <{}>", lang);
-                // with @base:
-                RDFDataMgr.read(graph, is, iri.toString(), lang);
-                return format;
-            } catch (OWLOntologyInputSourceException | IOException e) {
-                throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
-                        ": can't open or close input stream from " + iri, e);
-            } catch (RuntimeException e) {
-                // could be org.apache.jena.shared.JenaException ||
-                // org.apache.jena.atlas.AtlasException ||
-                // org.apache.jena.atlas.json.JsonParseException || ...
-                if (LOGGER.isDebugEnabled())
-                    LOGGER.debug("<{}> failed: '{}'", lang, e.getMessage());
-                cause.addSuppressed(new UnsupportedFormatException(e).putSource(iri).putFormat(format));
+        } catch (OWLOntologyInputSourceException | IOException e) {
+            throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
+                    ": can't open or close input stream from " + iri, e);
+        } finally {
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Can't close input stream from {}: '{}'", iri, e.getMessage());
+                }
             }
         }
         throw cause;
     }
 
+    /**
+     * Detects the format of the document by examining its leading bytes.
+     * The stream must support {@link InputStream#mark(int) marking};
+     * after the call it is reset to the initial position.
+     *
+     * @param in {@link InputStream}, not {@code null}
+     * @return {@link OntFormat} or {@code null} if the format cannot be determined unambiguously
+     * @throws IOException if an I/O error occurs
+     * @see #detectFormat(byte[], int)
+     */
+    protected static OntFormat detectFormat(InputStream in) throws IOException {
+        byte[] bytes = new byte[SNIFF_BUFFER_SIZE];
+        in.mark(SNIFF_BUFFER_SIZE);
+        int length = 0;
+        int n;
+        while (length < bytes.length && (n = in.read(bytes, length, bytes.length - length)) != -1) {
+            length += n;
+        }
+        in.reset();
+        return detectFormat(bytes, length);
+    }
+
+    /**
+     * Heuristically detects the document format by the given leading bytes of its content.
+     * Recognizes RDF/XML, OWL/XML, TriX, Turtle, JSON-LD, OWL Functional Syntax, Manchester Syntax and OBO.
+     * Returns {@code null} in case of ambiguity, e.g. if the content can be N-Triples as well as Turtle;
+     * in this case it is expected that the caller tries all possible formats.
+     * The method is public for more generality.
+     *
+     * @param bytes  array of bytes, the beginning of the document
+     * @param length the number of valid bytes in the array
+     * @return {@link OntFormat} or {@code null} if the format cannot be determined unambiguously
+     */
+    public static OntFormat detectFormat(byte[] bytes, int length) {
+        int start = 0;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            // UTF-8 BOM
+            start = 3;
+        }
+        String txt = new String(bytes, start, Math.max(length - start, 0), StandardCharsets.ISO_8859_1);
+        String head = skipComments(txt);
+        if (head.isEmpty()) {
+            return null;
+        }
+        char first = head.charAt(0);
+        if (first == '<') {
+            return detectXMLFormat(head);
+        }
+        if (first == '{' || first == '[') {
+            // RDF/JSON and JSON-LD without keywords are indistinguishable
+            return txt.contains("\"@context\"") || txt.contains("\"@id\"") || txt.contains("\"@graph\"") ?
+                    OntFormat.JSON_LD : null;
+        }
+        if (TURTLE_DIRECTIVE.matcher(head).find()) {
+            // it can be TriG as well, but the Turtle is much more common
+            return OntFormat.TURTLE;
+        }
+        if (head.startsWith("Prefix(") || head.startsWith("Ontology(")) {
+            return OntFormat.FUNCTIONAL_SYNTAX;
+        }
+        if (MANCHESTER_FRAME.matcher(head).find()) {
+            return OntFormat.MANCHESTER_SYNTAX;
+        }
+        if (head.startsWith("format-version:")) {
+            return OntFormat.OBO;
+        }
+        return null;
+    }
+
+    /**
+     * Detects a XML-based format by the root element.
+     *
+     * @param head String, the beginning of the document, starts with {@code '<'}
+     * @return {@link OntFormat} or {@code null}
+     */
+    private static OntFormat detectXMLFormat(String head) {
+        boolean prolog = head.startsWith("<?") || head.startsWith("<!");
+        Matcher m = XML_ELEMENT.matcher(head);
+        // skip prolog, doctype and comments:
+        while (m.find()) {
+            if (prolog && m.start() > 0 && !isInsideProlog(head, m.start())) {
+                return detectXMLFormat(m.group(1), m.group(2), head);
+            }
+            if (m.start() == 0) {
+                // without prolog: it is a XML only if there is a namespace declaration
+                // (e.g. "<a> <b> <c> ." is a valid N-Triples line)
+                return head.contains("xmlns") ? detectXMLFormat(m.group(1), m.group(2), head) : null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInsideProlog(String head, int index) {
+        int open = Math.max(head.lastIndexOf("<?", index), head.lastIndexOf("<!", index));
+        if (open < 0) return false;
+        int close = head.indexOf('>', open);
+        return close < 0 || close > index;
+    }
+
+    private static OntFormat detectXMLFormat(String prefix, String name, String head) {
+        if ("RDF".equals(name)) {
+            return OntFormat.RDF_XML;
+        }
+        if ("TriX".equals(name)) {
+            return OntFormat.TRIX;
+        }
+        if (prefix == null && "Ontology".equals(name) && head.contains("xmlns=\"http://www.w3.org/2002/07/owl#\"")) {
+            return OntFormat.OWL_XML;
+        }
+        // RDF/XML allows a typed node as the root element
+        return head.contains("http://www.w3.org/1999/02/22-rdf-syntax-ns#") ? OntFormat.RDF_XML : null;
+    }
+
+    /**
+     * Removes leading whitespaces and {@code #}-comment lines.
+     *
+     * @param txt String
+     * @return String
+     */
+    private static String skipComments(String txt) {
+        int i = 0;
+        int length = txt.length();
+        while (i < length) {
+            char c = txt.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c != '#') break;
+            while (i < length && txt.charAt(i) != '\n' && txt.charAt(i) != '\r') {
+                i++;
+            }
+        }
+        return txt.substring(i);
+    }
+
     /**
      * Returns supported formats related to the source.
      * The result (ordered set) can only contain a single format in case the source has {@link OWLDocumentFormat},
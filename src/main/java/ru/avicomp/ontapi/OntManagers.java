@@ -15,15 +15,21 @@
 package ru.avicomp.ontapi;
 
 import com.google.common.collect.LinkedListMultimap;
+import org.apache.jena.graph.Graph;
 import org.semanticweb.owlapi.io.OWLParserFactory;
 import org.semanticweb.owlapi.model.*;
+import ru.avicomp.ontapi.jena.CompactGraph;
 import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.SnapshotGraph;
 
+import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +62,14 @@ public class OntManagers implements OWLOntologyManagerFactory {
     }
 
     public static final ONTAPIProfile DEFAULT_PROFILE = new ONTAPIProfile();
+    /**
+     * A profile to produce managers, whose ontologies are stored in {@link CompactGraph}s.
+     * All the graphs of the profile share a single {@link CompactGraph.Dictionary node dictionary},
+     * which forgets a node as soon as no graph refers to it.
+     *
+     * @since 1.4.1
+     */
+    public static final ONTAPIProfile COMPACT_PROFILE = new ONTAPIProfile(CompactGraph.factory());
     private static OWLOntologyManagerFactory managerFactory = () -> DEFAULT_PROFILE.create(false);
 
     /**
@@ -103,6 +117,8 @@ public class OntManagers implements OWLOntologyManagerFactory {
      * and locking to work in a concurrent environment.
      * The returned manager itself and any its component (i.e. ontologies) are thread-safe,
      * i.e. can be safely shared between different threads.
+     * The ontologies are stored in {@link SnapshotGraph multi-version graphs},
+     * so iterating over the RDF view of an ontology never blocks its modification.
      *
      * @return {@link OntologyManager} a fresh ONT-API manager instance with concurrency
      */
@@ -110,6 +126,64 @@ public class OntManagers implements OWLOntologyManagerFactory {
         return DEFAULT_PROFILE.create(true);
     }
 
+    /**
+     * Creates a ready to use ONT-API ontology manager with a default configuration
+     * and with the specified {@link DataFactory Data Factory},
+     * which is used both to create OWL objects and to read them from the underlying graphs.
+     * For example, the {@link InterningDataFactory} can be passed here
+     * to share structurally identical objects between all manager's ontologies.
+     * The returned manager is not thread-safe.
+     *
+     * @param dataFactory {@link DataFactory}, not {@code null}
+     * @return {@link OntologyManager} a fresh ONT-API manager instance
+     * @see #createONT()
+     * @since 1.4.1
+     */
+    public static OntologyManager createONT(DataFactory dataFactory) {
+        return DEFAULT_PROFILE.create(false, dataFactory);
+    }
+
+    /**
+     * Creates a ready to use ONT-API ontology manager with a default configuration,
+     * with the specified {@link DataFactory Data Factory} and locking to work in a concurrent environment.
+     *
+     * @param dataFactory {@link DataFactory}, not {@code null}
+     * @return {@link OntologyManager} a fresh ONT-API manager instance with concurrency
+     * @see #createConcurrentONT()
+     * @since 1.4.1
+     */
+    public static OntologyManager createConcurrentONT(DataFactory dataFactory) {
+        return DEFAULT_PROFILE.create(true, dataFactory);
+    }
+
+    /**
+     * Creates a ready to use ONT-API ontology manager with a default configuration,
+     * whose ontologies are stored in {@link CompactGraph dictionary-encoded compact graphs}.
+     * Such graphs require much less memory than the default in-memory graphs,
+     * and are intended for large read-mostly ontologies.
+     * The returned manager is not thread-safe.
+     *
+     * @return {@link OntologyManager} a fresh ONT-API manager instance
+     * @see #createONT()
+     * @since 1.4.1
+     */
+    public static OntologyManager createCompactONT() {
+        return COMPACT_PROFILE.create(false);
+    }
+
+    /**
+     * Creates a ready to use ONT-API ontology manager with a default configuration,
+     * whose ontologies are stored in {@link CompactGraph dictionary-encoded compact graphs},
+     * and with locking to work in a concurrent environment.
+     *
+     * @return {@link OntologyManager} a fresh ONT-API manager instance with concurrency
+     * @see #createConcurrentONT()
+     * @since 1.4.1
+     */
+    public static OntologyManager createConcurrentCompactONT() {
+        return COMPACT_PROFILE.create(true);
+    }
+
     /**
      * Creates an original OWL-API (i.e. pure native impl) ontology manager instance with a default configuration.
      * Notes:
@@ -199,12 +273,45 @@ public class OntManagers implements OWLOntologyManagerFactory {
 
         public static final DataFactory DEFAULT_DATA_FACTORY = new DataFactoryImpl();
 
+        protected final Supplier<Graph> graphFactory;
+
+        /**
+         * Creates a profile that uses the default {@link org.apache.jena.mem.GraphMem in-memory graphs}.
+         */
+        public ONTAPIProfile() {
+            this.graphFactory = null;
+        }
+
+        /**
+         * Creates a profile that uses the specified factory to create ontology graphs.
+         *
+         * @param graphFactory {@link Supplier} to produce fresh empty {@link Graph}s, not {@code null}
+         * @see OntologyBuilderImpl#OntologyBuilderImpl(Supplier)
+         * @since 1.4.1
+         */
+        public ONTAPIProfile(Supplier<Graph> graphFactory) {
+            this.graphFactory = Objects.requireNonNull(graphFactory, "Null graph factory");
+        }
+
         @Override
         public OntologyManager create(boolean concurrent) {
+            return create(concurrent, dataFactory());
+        }
+
+        /**
+         * Creates a new manager with the given data factory.
+         *
+         * @param concurrent  boolean, if true the result manager expected to be thread-safe
+         * @param dataFactory {@link DataFactory}, not {@code null}
+         * @return {@link OntologyManager}
+         * @since 1.4.1
+         */
+        public OntologyManager create(boolean concurrent, DataFactory dataFactory) {
+            OntApiException.notNull(dataFactory, "Null data factory specified.");
             ReadWriteLock lock = concurrent ? new ReentrantReadWriteLock() : NoOpReadWriteLock.NO_OP_RW_LOCK;
             Set<OWLStorerFactory> storers = OWLLangRegistry.storerFactories().collect(Collectors.toSet());
             Set<OWLParserFactory> parsers = OWLLangRegistry.parserFactories().collect(Collectors.toSet());
-            OntologyManager res = createManager(dataFactory(), lock);
+            OntologyManager res = createManager(dataFactory, lock);
             res.getOntologyStorers().set(storers);
             res.getOntologyParsers().set(parsers);
             return res;
@@ -218,7 +325,7 @@ public class OntManagers implements OWLOntologyManagerFactory {
          * @return {@link OntologyManager}
          */
         public OntologyManager createManager(DataFactory dataFactory, ReadWriteLock lock) {
-            OntologyFactory factory = createOntologyFactory(createOntologyBuilder());
+            OntologyFactory factory = createOntologyFactory(createOntologyBuilder(NoOpReadWriteLock.isConcurrent(lock)));
             return createManager(dataFactory, factory, lock);
         }
 
@@ -245,7 +352,23 @@ public class OntManagers implements OWLOntologyManagerFactory {
          * @return {@link OntologyFactory.Builder}
          */
         public OntologyFactory.Builder createOntologyBuilder() {
-            return new OntologyBuilderImpl();
+            return graphFactory == null ? new OntologyBuilderImpl() : new OntologyBuilderImpl(graphFactory);
+        }
+
+        /**
+         * Creates an {@link OntologyFactory.Builder Ontology Builder} for a manager with or without concurrency.
+         * If no graph factory is specified, ontologies of a concurrent manager are stored in {@link SnapshotGraph}s,
+         * which provide immutable iterators without blocking writers.
+         *
+         * @param concurrent boolean
+         * @return {@link OntologyFactory.Builder}
+         * @since 1.4.1
+         */
+        public OntologyFactory.Builder createOntologyBuilder(boolean concurrent) {
+            if (graphFactory != null || !concurrent) {
+                return createOntologyBuilder();
+            }
+            return new OntologyBuilderImpl((Supplier<Graph> & Serializable) SnapshotGraph::new);
         }
 
         /**
@@ -19,14 +19,41 @@ import org.semanticweb.owlapi.model.OWLOntologyID;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
 import ru.avicomp.ontapi.jena.OntModelFactory;
 
+import java.io.Serializable;
+import java.util.Objects;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link OntologyFactory.Builder} - a technical factory to create standalone ontology instances.
  * This should be the only way to create {@link OntologyModel} instances.
+ * The graph implementation for new ontologies can be customized through the constructor,
+ * e.g. {@code new OntologyBuilderImpl(ru.avicomp.ontapi.jena.CompactGraph::new)},
+ * see also {@link OntManagers#createCompactONT()}.
  */
 @SuppressWarnings("WeakerAccess")
 public class OntologyBuilderImpl implements OntologyFactory.Builder {
+    protected final Supplier<Graph> graphFactory;
+
+    /**
+     * Creates a builder that uses {@link org.apache.jena.mem.GraphMem in-memory graphs}.
+     */
+    public OntologyBuilderImpl() {
+        this((Supplier<Graph> & Serializable) OntModelFactory::createDefaultGraph);
+    }
+
+    /**
+     * Creates a builder with the specified graph factory.
+     *
+     * Note: the factory should be {@link Serializable} if the manager is going to be serialized.
+     *
+     * @param graphFactory {@link Supplier} to produce fresh empty {@link Graph}s, not {@code null}
+     * @see ru.avicomp.ontapi.jena.CompactGraph
+     * @since 1.4.1
+     */
+    public OntologyBuilderImpl(Supplier<Graph> graphFactory) {
+        this.graphFactory = Objects.requireNonNull(graphFactory, "Null graph factory");
+    }
 
     @Override
     public OntologyModel createOntology(OntologyManager manager, OWLOntologyID id) {
@@ -56,12 +83,13 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
 
 
     /**
-     * Creates an {@link org.apache.jena.mem.GraphMem in-memory graph}.
+     * Creates a fresh graph using the encapsulated factory,
+     * by default it is an {@link org.apache.jena.mem.GraphMem in-memory graph}.
      *
      * @return Graph
      */
     @Override
     public Graph createGraph() {
-        return OntModelFactory.createDefaultGraph();
+        return graphFactory.get();
     }
 }
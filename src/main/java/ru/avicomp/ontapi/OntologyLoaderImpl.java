@@ -26,6 +26,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.config.OntConfig;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
+import ru.avicomp.ontapi.internal.InternalModelHolder;
+import ru.avicomp.ontapi.internal.StreamAxiomIndex;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Models;
@@ -35,6 +37,10 @@ import ru.avicomp.ontapi.transforms.TransformException;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +54,9 @@ import java.util.stream.Collectors;
  * Notice that using that OWL-API Loader everywhere and always is dangerous:
  * 1) a graph may contain errors since OWL-API parsers are OWL-Axioms centric and may not contain very good code,
  * 2) they affect manager: in case of error the managers state may be broken.
+ * If {@link OntLoaderConfiguration#getImportsParallelism()} is greater than {@code 1},
+ * the documents of the imports closure are read in advance, level by level, on a bounded pool,
+ * while the {@link UnionGraph} is still assembled sequentially, in the same order.
  *
  * @see OWLLoaderImpl
  */
@@ -62,6 +71,10 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
     protected Map<String, GraphInfo> graphs = new LinkedHashMap<>();
     protected Map<IRI, Optional<IRI>> sourceMap = new HashMap<>();
     protected Map<IRI, GraphInfo> loaded = new HashMap<>();
+    // imports that have been read in advance, document IRI as a key:
+    protected Map<IRI, GraphInfo> prefetched = new HashMap<>();
+    // results of iri-mappers that are computed in advance, while prefetching imports:
+    protected Map<IRI, Optional<IRI>> premapped = new HashMap<>();
 
     /**
      * Constructs a Loader instance based on the given Builder, and (as option) another Loader,
@@ -90,6 +103,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             // null key in case of anonymous ontology.
             // But: only one anonymous is allowed (as root of imports tree), if there is no mapping in manager.
             graphs.put(primary.getURI(), primary);
+            // read the whole imports closure in advance, if it is allowed:
+            prefetchImports(primary, manager, config);
             // first expand graphs map by creating primary model:
             OntologyModel res = OntApiException.notNull(createModel(primary, manager, config), "Should never happen");
             // then process all the rest dependent models (we have already all graphs compiled, now need populate them as models):
@@ -109,6 +124,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         graphs.clear();
         sourceMap.clear();
         loaded.clear();
+        prefetched.clear();
+        premapped.clear();
     }
 
     /**
@@ -147,6 +164,13 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             }
             // put ontology inside manager:
             OWLAdapter.get().asIMPL(manager).ontologyCreated(res);
+            StreamAxiomIndex index = info.getIndex();
+            if (index != null && res instanceof InternalModelHolder) {
+                ((InternalModelHolder) res).getBase().setContentCandidates(index.getCandidates());
+            }
+            if (config.isPreloadContentCache()) {
+                res.preloadCache();
+            }
             OntFormat format = OntApiException.notNull(info.getFormat(), "Null format while loading " + info.name());
             OWLDocumentFormat owl = format.newOWLFormat();
             if (owl.isPrefixOWLDocumentFormat()) {
@@ -194,7 +218,11 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Perform graph transformations on <{}>.", info.name());
         try {
-            stats = config.getGraphTransformers().transform(graph, transformed);
+            GraphTransformers.Store store = config.getGraphTransformers();
+            if (config.isSkipUnneededTransformations() && !store.isSkipUnneeded()) {
+                store = store.setSkipUnneeded(true);
+            }
+            stats = store.transform(graph, transformed);
         } catch (TransformException t) {
             throw new OntologyFactoryImpl.OWLTransformException(t);
         }
@@ -265,6 +293,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                     }
                     main.remove(Node.ANY, OWL.imports.asNode(), NodeFactory.createURI(uri));
                     GraphUtil.addInto(main, info.getGraph());
+                    // the collected candidates do not cover the added triples:
+                    node.setIndex(null);
                     // skip assembling new model for this graph:
                     info.setProcessed();
                     // recollect imports (in case of anonymous ontology):
@@ -285,6 +315,140 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         return res;
     }
 
+    /**
+     * Reads the documents of the imports closure of the given graph in advance.
+     * The imports tree is discovered breadth-first:
+     * all documents of the same level are independent and, therefore, are parsed concurrently
+     * on a separate {@link ForkJoinPool},
+     * which parallelism is bounded by the {@link OntLoaderConfiguration#getImportsParallelism()} setting.
+     * The results are stored in the {@link #prefetched} map,
+     * which is then used by the {@link #loadGraph(OWLOntologyDocumentSource, OntologyManager, OntLoaderConfiguration)}
+     * method during the (sequential and deterministic) assembling of the {@link UnionGraph}.
+     * Any error is ignored here: such an import will be read again in the usual way,
+     * so the {@link MissingImportHandlingStrategy} is handled in the single place.
+     * No-op if the parallelism is {@code 1} or if there are {@link OntologyManager#getDocumentSourceMappers()
+     * document source mappers}: they may produce one-off sources (e.g. streams),
+     * which cannot be probed in advance without calling the mapper twice.
+     *
+     * @param root    {@link GraphInfo} the root of the imports tree
+     * @param manager {@link OntologyManager}
+     * @param config  {@link OntLoaderConfiguration}
+     * @since 1.4.1
+     */
+    protected void prefetchImports(GraphInfo root, OntologyManager manager, OntLoaderConfiguration config) {
+        int parallelism = config.getImportsParallelism();
+        if (parallelism <= 1 || !manager.getDocumentSourceMappers().isEmpty()) {
+            return;
+        }
+        Set<String> seen = new HashSet<>(graphs.keySet());
+        List<GraphInfo> level = Collections.singletonList(root);
+        ForkJoinPool pool = null;
+        try {
+            while (!level.isEmpty()) {
+                Map<IRI, IRI> sources = new LinkedHashMap<>();
+                for (GraphInfo g : level) {
+                    g.getImports().stream().sorted().filter(seen::add)
+                            .forEach(uri -> prefetchSource(uri, manager, config).ifPresent(e -> sources.put(e[0], e[1])));
+                }
+                if (sources.isEmpty()) {
+                    break;
+                }
+                if (pool == null) {
+                    pool = new ForkJoinPool(Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
+                }
+                List<IRI> keys = new ArrayList<>(sources.keySet());
+                List<Callable<GraphInfo>> tasks = new ArrayList<>();
+                for (IRI doc : keys) {
+                    // the graph is created in the current thread, since the builder may be not thread-safe:
+                    Graph graph = builder.createGraph();
+                    IRI src = sources.get(doc);
+                    tasks.add(() -> prefetchGraph(graph, doc, src, config));
+                }
+                List<Future<GraphInfo>> results = pool.invokeAll(tasks);
+                List<GraphInfo> next = new ArrayList<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    GraphInfo res = results.get(i).get();
+                    if (res == null) {
+                        continue;
+                    }
+                    prefetched.put(keys.get(i), res);
+                    next.add(res);
+                }
+                level = next;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OntApiException("Loading of imports has been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new OntApiException("Can't load imports", e.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Finds the document to read in advance for the given import.
+     * It repeats the logic of the {@link #fetchGraph(String, OntologyManager, OntLoaderConfiguration)} method,
+     * but does not read anything.
+     * The results of the {@link OWLOntologyIRIMapper}s are saved to be reused later,
+     * so each of them is still called only once.
+     *
+     * @param uri     String, the ontology uri
+     * @param manager {@link OntologyManager}
+     * @param config  {@link OntLoaderConfiguration}
+     * @return Optional around a pair of {@link IRI}s: the document iri and the iri to read from,
+     * or empty Optional if the import must not be prefetched
+     */
+    private Optional<IRI[]> prefetchSource(String uri, OntologyManager manager, OntLoaderConfiguration config) {
+        IRI ontologyIRI = IRI.create(uri);
+        if (config.isIgnoredImport(ontologyIRI) || findModel(manager, ontologyIRI) != null) {
+            return Optional.empty();
+        }
+        Optional<IRI> mapped = premapIRI(manager, ontologyIRI);
+        IRI doc = mapped.orElse(ontologyIRI);
+        if (findModel(manager, doc) != null || loaded.containsKey(doc) || prefetched.containsKey(doc)) {
+            return Optional.empty();
+        }
+        IRI src = (doc.equals(ontologyIRI) ? mapped : premapIRI(manager, doc)).orElse(doc);
+        return Optional.of(new IRI[]{doc, src});
+    }
+
+    private Optional<IRI> premapIRI(OntologyManager manager, IRI iri) {
+        return premapped.computeIfAbsent(iri, x -> OWLAdapter.get().asIMPL(manager).mapIRI(x));
+    }
+
+    /**
+     * Reads the graph from the given document iri.
+     * This method is called from a pooled thread and must not change the state of this loader.
+     *
+     * @param graph  {@link Graph} to fill
+     * @param doc    {@link IRI} of the document
+     * @param source {@link IRI} to read from
+     * @param config {@link OntLoaderConfiguration}
+     * @return {@link GraphInfo} or {@code null} in case of any error
+     */
+    protected GraphInfo prefetchGraph(Graph graph, IRI doc, IRI source, OntLoaderConfiguration config) {
+        try {
+            StreamAxiomIndex index = createIndex(graph, config);
+            OntFormat format = OntGraphUtils.readGraph(graph, new IRIDocumentSource(source), config, index);
+            GraphInfo res = createGraphInfo(graph, format, doc, true);
+            res.setIndex(index);
+            // to compute lazy fields in the pool:
+            res.getImports();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Graph <{}> is prefetched by jena. Source: {}. Format: {}", res.name(), source, format);
+            }
+            return res;
+        } catch (OWLOntologyCreationException | RuntimeException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Can't prefetch <{}>: '{}'", source, e.getMessage());
+            }
+            return null;
+        }
+    }
+
     /**
      * Returns the {@link Graph} wrapped by {@link GraphInfo} which corresponds the specified ontology uri.
      * If there the model ({@link OntologyModel}) with the specified uri already exists inside manager then
@@ -369,7 +533,11 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         if (res != null) {
             sourceMap.remove(source);
         } else {
-            res = OWLAdapter.get().asIMPL(manager).mapIRI(source);
+            res = premapped.remove(source);
+            //noinspection OptionalAssignedToNull
+            if (res == null) {
+                res = OWLAdapter.get().asIMPL(manager).mapIRI(source);
+            }
             sourceMap.put(source, res);
         }
         return res;
@@ -441,11 +609,17 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .map(IRIDocumentSource::new)
                 .map(OWLOntologyDocumentSource.class::cast)
                 .orElse(source);
+        GraphInfo ready = prefetched.remove(doc);
+        if (ready != null) {
+            return ready;
+        }
         try {
             // jena:
             Graph graph = builder.createGraph();
-            OntFormat format = OntGraphUtils.readGraph(graph, src, config);
+            StreamAxiomIndex index = createIndex(graph, config);
+            OntFormat format = OntGraphUtils.readGraph(graph, src, config, index);
             GraphInfo res = createGraphInfo(graph, format, doc, true);
+            res.setIndex(index);
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Graph <{}> is loaded by jena. Source: {}[{}]. Format: {}",
                         res.name(), source.getClass().getSimpleName(), res.getSource(), res.getFormat());
@@ -491,6 +665,22 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         }
     }
 
+    /**
+     * Creates a {@link StreamAxiomIndex} to collect the simple axioms while parsing,
+     * if it is allowed by the config.
+     *
+     * @param graph  {@link Graph} to fill
+     * @param config {@link OntLoaderConfiguration}
+     * @return {@link StreamAxiomIndex} or {@code null}
+     * @since 1.4.1
+     */
+    protected StreamAxiomIndex createIndex(Graph graph, OntLoaderConfiguration config) {
+        if (!config.isStreamingLoad() || !config.isContentCacheEnabled()) {
+            return null;
+        }
+        return new StreamAxiomIndex(graph, config.getPersonality());
+    }
+
     /**
      * Creates a copy of specified manager special for loading operations through OWL-API mechanisms.
      * All loaded content would be stored inside a copy, not the original manager.
@@ -603,6 +793,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         private Node ontology;
         private Set<String> imports;
         private GraphTransformers.Stats stats;
+        private StreamAxiomIndex index;
 
         protected GraphInfo(Graph graph, OntFormat format, IRI source, boolean withTransforms) {
             this.graph = graph;
@@ -666,5 +857,24 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         protected void setStats(GraphTransformers.Stats stats) {
             this.stats = Objects.requireNonNull(stats, "Null transform stats");
         }
+
+        /**
+         * Returns the candidates for the simple axioms that have been collected while parsing.
+         * The index is valid only if the graph has not been changed after the parsing.
+         *
+         * @return {@link StreamAxiomIndex} or {@code null}
+         * @since 1.4.1
+         */
+        protected StreamAxiomIndex getIndex() {
+            if (index == null || stats == null) {
+                return index;
+            }
+            return stats.hasTriples(GraphTransformers.Stats.Type.ADDED)
+                    || stats.hasTriples(GraphTransformers.Stats.Type.DELETED) ? null : index;
+        }
+
+        protected void setIndex(StreamAxiomIndex index) {
+            this.index = index;
+        }
     }
 }
@@ -16,6 +16,8 @@ package ru.avicomp.ontapi;
 
 import org.apache.commons.io.output.WriterOutputStream;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.shared.JenaException;
@@ -30,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.config.OntConfig;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
 import ru.avicomp.ontapi.config.OntWriterConfiguration;
+import ru.avicomp.ontapi.internal.EntityCache;
 import ru.avicomp.ontapi.internal.InternalCache;
 import ru.avicomp.ontapi.internal.InternalConfig;
 import ru.avicomp.ontapi.internal.InternalModel;
@@ -37,6 +40,7 @@ import ru.avicomp.ontapi.internal.InternalModelHolder;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -77,6 +81,8 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     protected OntWriterConfiguration writerConfig;
     // Loading Cache for IRIs, that is shared between ontologies that belong to this manager.
     protected transient InternalCache.Loading<String, IRI> iris;
+    // Optional Cache for OWL entities, that is shared between ontologies that belong to this manager (since 1.4.1).
+    protected transient EntityCache entities;
     // OntologyFactory collection:
     protected final RWLockedCollection<OWLOntologyFactory> ontologyFactories;
     // IRI mappers
@@ -138,6 +144,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         this.config = OntConfig.createConfig(this.lock);
         this.content = new OntologyCollectionImpl<>(this.lock);
         this.iris = createIRICache();
+        this.entities = createEntityCache();
     }
 
     /**
@@ -152,7 +159,68 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         if (size < 0) {
             return InternalCache.createEmpty().asLoading(IRI::create);
         }
-        return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
+        InternalCache.Counter counter = this.config.isRecordCacheStats() ? new InternalCache.Counter() : null;
+        return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size, counter);
+    }
+
+    /**
+     * Creates a fresh {@link EntityCache} instance depending on this manager settings.
+     * Note if caching is disabled ({@link OntConfig#getManagerEntitiesCacheSize()} is not positive),
+     * {@code null} is returned.
+     *
+     * @return {@link EntityCache} or {@code null}
+     * @since 1.4.1
+     */
+    protected EntityCache createEntityCache() {
+        int size = this.config.getManagerEntitiesCacheSize();
+        if (size <= 0) {
+            return null;
+        }
+        return new EntityCache(dataFactory, s -> iris.get(s), size);
+    }
+
+    /**
+     * Returns the cache of OWL entities shared between all ontologies of this manager, if it is enabled.
+     * The cache can be used to monitor its {@link InternalCache.Stats statistics}.
+     *
+     * @return {@link Optional} of {@link EntityCache}
+     * @see OntConfig#getManagerEntitiesCacheSize()
+     * @since 1.4.1
+     */
+    public Optional<EntityCache> getEntityCache() {
+        return Optional.ofNullable(entities);
+    }
+
+    /**
+     * Returns the summary statistics of the caches of this manager and all its ontologies.
+     * The manager's caches are {@code manager.iris} and {@code manager.entities},
+     * the statistics of the ontologies caches are summed by the cache names
+     * (see {@link ru.avicomp.ontapi.internal.InternalModel#getCacheMetrics()}).
+     * The statistics are recorded only for the caches
+     * that have been created while {@link OntConfig#isRecordCacheStats()} is {@code true},
+     * the entities cache records statistics always.
+     * The return map is a snapshot, which can be polled periodically
+     * to bind the values to some external metrics registry, such as JMX or Micrometer.
+     *
+     * @return an unmodifiable sorted {@code Map} with cache names as keys and {@link InternalCache.Stats} as values
+     * @see InternalCache.Stats#asMap()
+     * @since 1.4.1
+     */
+    public Map<String, InternalCache.Stats> getCacheMetrics() {
+        getLock().readLock().lock();
+        try {
+            Map<String, InternalCache.Stats> res = new TreeMap<>();
+            iris.asCache().stats().ifPresent(x -> res.put("manager.iris", x));
+            if (entities != null) {
+                res.put("manager.entities", entities.getStats());
+            }
+            content.values().map(OntInfo::get).map(InternalModelHolder.class::cast)
+                    .map(o -> o.getBase().getCacheMetrics())
+                    .forEach(m -> m.forEach((k, v) -> res.merge(k, v, InternalCache.Stats::plus)));
+            return Collections.unmodifiableMap(res);
+        } finally {
+            getLock().readLock().unlock();
+        }
     }
 
     /**
@@ -208,11 +276,16 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
             // just copying all settings is not suitable in this case.
             // This fact greatly and unnecessarily complicates the matter
             int size = this.config.getManagerIRIsCacheSize();
+            int entitiesSize = this.config.getManagerEntitiesCacheSize();
+            boolean stats = this.config.isRecordCacheStats();
             this.config = OntConfig.withLock(OWLAdapter.get().asONT(conf), lock);
-            if (size != this.config.getManagerIRIsCacheSize()) {
+            if (size != this.config.getManagerIRIsCacheSize() || stats != this.config.isRecordCacheStats()) {
                 // reset cache:
                 this.iris = createIRICache();
             }
+            if (entitiesSize != this.config.getManagerEntitiesCacheSize()) {
+                this.entities = createEntityCache();
+            }
         } finally {
             getLock().writeLock().unlock();
         }
@@ -1161,7 +1234,61 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
      */
     @Override
     public ChangeApplied addAxioms(@Nonnull OWLOntology ont, @Nonnull Stream<? extends OWLAxiom> axioms) {
-        return applyChanges(axioms.map(ax -> new AddAxiom(ont, ax)).collect(Collectors.toList()));
+        List<AddAxiom> changes = axioms.map(ax -> new AddAxiom(ont, ax)).collect(Collectors.toList());
+        if (changes.size() < 2
+                || !(ont instanceof InternalModelHolder)
+                || !(ont instanceof OWLMutableOntology)) {
+            return applyChanges(changes);
+        }
+        return addAxioms((InternalModelHolder) ont, changes);
+    }
+
+    /**
+     * Adds the axioms to the ontology in bulk.
+     * Unlike the generic method {@link #applyChangesAndGetDetails(List)},
+     * the changes are not processed one by one,
+     * but are passed at once into the {@link InternalModel#addAxioms(Collection)} method.
+     * The listeners are notified in the same way as for the generic method.
+     * The applicability of the changes is checked once for the whole list;
+     * if some change is not applicable, the list is passed to the generic method, which rejects it entirely.
+     * If some axiom cannot be written, the model rolls back all the axioms written by this call,
+     * and the exception is rethrown; in that case the listeners are notified that no changes have been applied.
+     *
+     * @param ont     {@link InternalModelHolder}, the ontology
+     * @param changes List of {@link AddAxiom} changes
+     * @return {@link ChangeApplied}
+     * @since 1.4.1
+     */
+    protected ChangeApplied addAxioms(InternalModelHolder ont, List<AddAxiom> changes) {
+        getLock().writeLock().lock();
+        try {
+            if (!isLoadAnnotationAxioms((OWLOntology) ont)
+                    && changes.stream().anyMatch(c -> c.getAxiom() instanceof OWLAnnotationAxiom)) {
+                return applyChanges(changes);
+            }
+            listeners.broadcastImpendingChanges(changes);
+            List<OWLOntologyChange> appliedChanges = new ArrayList<>();
+            listeners.fireBeginChanges(changes.size());
+            try {
+                Set<OWLAxiom> added = new HashSet<>(ont.getBase()
+                        .addAxioms(changes.stream().map(AddAxiom::getAxiom).collect(Collectors.toList())));
+                for (AddAxiom change : changes) {
+                    if (added.remove(change.getAxiom())) {
+                        appliedChanges.add(change);
+                    }
+                    listeners.fireChangeApplied(change);
+                }
+            } finally {
+                listeners.fireEndChanges();
+                listeners.broadcastChanges(appliedChanges);
+            }
+            return appliedChanges.isEmpty() ? ChangeApplied.NO_OPERATION : ChangeApplied.SUCCESSFULLY;
+        } catch (OWLOntologyChangeVetoException e) {
+            listeners.broadcastOntologyChangesVetoed(changes, e);
+            return ChangeApplied.UNSUCCESSFULLY;
+        } finally {
+            getLock().writeLock().unlock();
+        }
     }
 
     /**
@@ -1300,13 +1427,22 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
      * @return boolean
      */
     protected boolean isChangeApplicable(OWLOntologyChange change) {
-        OWLOntologyID id = change.getOntology().getOntologyID();
-        Optional<ModelConfig> conf = content.get(id)
-                .map(OntInfo::getModelConfig);
-        return !(conf.isPresent()
-                && !conf.get().isLoadAnnotationAxioms()
-                && change.isAddAxiom()
-                && change.getAxiom() instanceof OWLAnnotationAxiom);
+        return !(change.isAddAxiom()
+                && change.getAxiom() instanceof OWLAnnotationAxiom
+                && !isLoadAnnotationAxioms(change.getOntology()));
+    }
+
+    /**
+     * Answers {@code true} if the annotation axioms can be added to the given ontology,
+     * i.e. its config allows to read them.
+     *
+     * @param ont {@link OWLOntology}
+     * @return boolean
+     * @since 1.4.1
+     */
+    protected boolean isLoadAnnotationAxioms(OWLOntology ont) {
+        Optional<ModelConfig> conf = content.get(ont.getOntologyID()).map(OntInfo::getModelConfig);
+        return !conf.isPresent() || conf.get().isLoadAnnotationAxioms();
     }
 
     /**
@@ -1394,11 +1530,15 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
                     break;
                 case SHALLOW:
                 case DEEP:
-                    // todo: in case of ONT replace coping axioms with coping graphs
                     OntInfo info = create(source.getOntologyID());
                     OntologyModel o = info.get();
-                    AxiomType.AXIOM_TYPES.forEach(t -> OntologyManagerImpl.this.addAxioms(o, source.axioms(t)));
-                    source.annotations().forEach(a -> applyChange(new AddOntologyAnnotation(o, a)));
+                    if (source instanceof OntologyModel) {
+                        // ONT: copy graphs instead of axioms
+                        copyGraph(((OntologyModel) source).asGraphModel().getBaseGraph(), o);
+                    } else {
+                        AxiomType.AXIOM_TYPES.forEach(t -> OntologyManagerImpl.this.addAxioms(o, source.axioms(t)));
+                        source.annotations().forEach(a -> applyChange(new AddOntologyAnnotation(o, a)));
+                    }
                     source.importsDeclarations().forEach(a -> applyChange(new AddImport(o, a)));
                     res = o;
                     break;
@@ -1425,6 +1565,38 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
         }
     }
 
+    /**
+     * Copies all triples from the given source graph into the base graph of the specified ontology in bulk,
+     * without any axioms translation.
+     * The source ontology header is merged into the existing header of the target ontology,
+     * the references to the source ontology node (e.g. {@code _:x owl:annotatedSource _:ont}) are also remapped,
+     * the {@code owl:imports} declarations are skipped:
+     * they must be added separately through the {@link AddImport} changes, to link the imported ontologies.
+     * The target graph is modified directly, so the caches are reset only once at the end.
+     *
+     * @param source {@link Graph} the base graph of the source ontology, not {@code null}
+     * @param target {@link OntologyModel} a fresh ontology to copy into, not {@code null}
+     * @since 1.4.1
+     */
+    protected void copyGraph(Graph source, OntologyModel target) {
+        InternalModel base = ((InternalModelHolder) target).getBase();
+        Graph graph = base.getBaseGraph();
+        Node from = Graphs.ontologyNode(source).orElse(null);
+        Node to = Graphs.ontologyNode(graph).orElse(from);
+        Node imports = OWL.imports.asNode();
+        source.find().forEachRemaining(t -> {
+            if (from != null && from.equals(t.getSubject())) {
+                if (imports.equals(t.getPredicate())) return;
+                t = Triple.create(to, t.getPredicate(), t.getObject());
+            }
+            if (from != null && from.equals(t.getObject())) {
+                t = Triple.create(t.getSubject(), t.getPredicate(), to);
+            }
+            graph.add(t);
+        });
+        base.clearCache();
+    }
+
     /**
      * In case of coping from ONT to OWL there will be an exception.
      * This method helps to fix the origin manager.
@@ -1795,6 +1967,7 @@ public class OntologyManagerImpl implements OntologyManager, OWLOntologyFactory.
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         this.iris = createIRICache();
+        this.entities = createEntityCache();
         this.content.values().forEach(info -> {
             ModelConfig conf = info.getModelConfig();
             InternalModelHolder m = (InternalModelHolder) info.get();
@@ -27,6 +27,7 @@ import org.semanticweb.owlapi.io.OWLOntologyLoaderMetaData;
 import org.semanticweb.owlapi.io.RDFOntologyHeaderStatus;
 import org.semanticweb.owlapi.io.RDFTriple;
 import org.semanticweb.owlapi.model.*;
+import ru.avicomp.ontapi.jena.SnapshotGraph;
 import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -182,7 +183,7 @@ public class OntologyMetaData implements OWLOntologyLoaderMetaData {
     }
 
     protected int calcTripleCount() {
-        return graph instanceof GraphMem ? graph.size() : -1;
+        return graph instanceof GraphMem || graph instanceof SnapshotGraph ? graph.size() : -1;
     }
 
     @Override
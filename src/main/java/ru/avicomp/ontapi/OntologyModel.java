@@ -14,10 +14,15 @@
 
 package ru.avicomp.ontapi;
 
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLOntology;
 import ru.avicomp.ontapi.config.AxiomsSettings;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * A Structural Ontological Model, that is an extended {@link OWLOntology OWL-API Ontology}, and
  * represents an <a href="http://www.w3.org/TR/owl2-syntax/#Ontologies">Ontology</a> in the OWL2 specification.
@@ -71,6 +76,25 @@ public interface OntologyModel extends OWLOntology {
      */
     void clearCache();
 
+    /**
+     * Loads the axioms and header annotations cache into memory.
+     * <p>
+     * Usually the cache is loaded lazily, per axiom type, on the first demand.
+     * This method allows to do it explicitly, in a single call, for example right after the ontology is loaded
+     * (see {@link ru.avicomp.ontapi.config.CacheSettings#isPreloadContentCache()}).
+     * If the model is concurrent, the loading is performed in parallel.
+     * Does nothing if the content cache is disabled or already loaded.
+     * The default implementation does nothing and returns an empty {@code Map}.
+     *
+     * @return an unmodifiable {@code Map} with {@link AxiomType}s as keys and load times as values,
+     * only for those axiom types whose cache has been actually loaded by this call
+     * @see #clearCache()
+     * @since 1.4.1
+     */
+    default Map<AxiomType<?>, Duration> preloadCache() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Returns the manager, that is responsible for referencing between different ontologies.
      * Each ontology must have a link to the manager,
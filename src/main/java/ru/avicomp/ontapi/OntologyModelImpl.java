@@ -17,6 +17,7 @@ package ru.avicomp.ontapi;
 import org.apache.jena.graph.Graph;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.ChangeApplied;
+import ru.avicomp.ontapi.internal.AxiomKey;
 import ru.avicomp.ontapi.internal.InternalModel;
 import ru.avicomp.ontapi.internal.InternalModelHolder;
 import ru.avicomp.ontapi.jena.UnionGraph;
@@ -24,14 +25,15 @@ import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.jena.impl.conf.OntPersonality;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.utils.Iter;
 
 import javax.annotation.Nonnull;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -83,6 +85,13 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
         getBase().clearCache();
     }
 
+    @Override
+    public Map<AxiomType<?>, Duration> preloadCache() {
+        Map<AxiomType<?>, Duration> res = new LinkedHashMap<>();
+        getBase().preload().forEach((k, d) -> res.put(k.getAxiomType(), d));
+        return Collections.unmodifiableMap(res);
+    }
+
     /**
      * Returns the jena model shadow.
      *
@@ -202,6 +211,11 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
     public static class Concurrent extends OWLOntologyWrapper implements OntologyModel, InternalModelHolder {
 
         private static final long serialVersionUID = 5823394836022970162L;
+        /**
+         * The current immutable snapshot of the axioms cache, can be {@code null}.
+         * Its axiom lists are softly reachable, so they can be collected by GC along with the cache itself.
+         */
+        protected transient volatile AxiomsSnapshot snapshot;
 
         protected Concurrent(OntologyModelImpl delegate, ReadWriteLock lock) {
             super(delegate, lock);
@@ -244,6 +258,20 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
             }
         }
 
+        /**
+         * Loads the cache.
+         * It does not change the object state so the method uses read lock.
+         */
+        @Override
+        public Map<AxiomType<?>, Duration> preloadCache() {
+            lock.readLock().lock();
+            try {
+                return delegate().preloadCache();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
         @Override
         public OntologyManager getOWLOntologyManager() {
             return (OntologyManager) super.getOWLOntologyManager();
@@ -259,10 +287,176 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
             delegate().setBase(m);
         }
 
+        /**
+         * Lists all axioms from the current {@link AxiomsSnapshot snapshot}.
+         * The returned {@code Stream} is not affected by any subsequent modification
+         * and can be consumed without any lock.
+         *
+         * @return {@code Stream} of {@link OWLAxiom}s
+         */
+        @Override
+        public Stream<OWLAxiom> axioms() {
+            return snapshotAxioms(AxiomKey.list());
+        }
+
+        /**
+         * Lists all axioms of the given type from the current {@link AxiomsSnapshot snapshot}.
+         * The returned {@code Stream} is not affected by any subsequent modification
+         * and can be consumed without any lock.
+         *
+         * @param type {@link AxiomType}
+         * @param <T>  type of axiom
+         * @return {@code Stream} of {@link OWLAxiom}s
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends OWLAxiom> Stream<T> axioms(AxiomType<T> type) {
+            return (Stream<T>) snapshotAxioms(Stream.of(AxiomKey.get(type)));
+        }
+
+        @Override
+        public Stream<OWLLogicalAxiom> logicalAxioms() {
+            return snapshotAxioms(AxiomKey.LOGICAL.stream()).map(OWLLogicalAxiom.class::cast);
+        }
+
+        @Override
+        public int getAxiomCount() {
+            return snapshotCount(AxiomKey.list());
+        }
+
+        @Override
+        public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> type) {
+            return snapshotCount(Stream.of(AxiomKey.get(type)));
+        }
+
+        @Override
+        public int getLogicalAxiomCount() {
+            return snapshotCount(AxiomKey.LOGICAL.stream());
+        }
+
+        /**
+         * {@inheritDoc}
+         * The result is collected into memory under the read lock,
+         * so the returned {@code Stream} is not affected by any subsequent modification.
+         *
+         * @param axiom {@link OWLAxiom}
+         * @return {@code Stream} of {@link OWLAxiom}s
+         */
+        @Override
+        public Stream<OWLAxiom> axiomsIgnoreAnnotations(OWLAxiom axiom) {
+            return toSnapshot(() -> delegate.axiomsIgnoreAnnotations(axiom));
+        }
+
+        /**
+         * {@inheritDoc}
+         * The result is collected into memory under the read lock,
+         * so the returned {@code Stream} is not affected by any subsequent modification.
+         *
+         * @param primitive {@link OWLPrimitive}
+         * @return {@code Stream} of {@link OWLAxiom}s
+         */
+        @Override
+        public Stream<OWLAxiom> referencingAxioms(OWLPrimitive primitive) {
+            return toSnapshot(() -> delegate.referencingAxioms(primitive));
+        }
+
+        /**
+         * Collects the given {@code Stream} into memory under the read lock.
+         *
+         * @param stream {@link Supplier} of {@code Stream}
+         * @param <X>    anything
+         * @return {@code Stream} over an immutable {@code List}
+         */
+        protected <X> Stream<X> toSnapshot(Supplier<Stream<X>> stream) {
+            return withReadLockToObject(() -> stream.get().collect(Iter.toUnmodifiableList())).stream();
+        }
+
+        /**
+         * Lists the axioms of the given types from the current {@link AxiomsSnapshot snapshot}.
+         * The read lock is taken only in case the snapshot does not contain valid data for some of the given types,
+         * i.e. by the first reader after a modification or after the snapshot data has been collected by GC;
+         * then only the missing buckets are rebuilt, the other are reused.
+         *
+         * @param keys {@code Stream} of {@link AxiomKey}s
+         * @return {@code Stream} of {@link OWLAxiom}s
+         */
+        protected Stream<OWLAxiom> snapshotAxioms(Stream<AxiomKey> keys) {
+            return snapshotLists(keys.collect(Collectors.toList())).stream().flatMap(Collection::stream);
+        }
+
+        /**
+         * Counts the axioms of the given types using the current {@link AxiomsSnapshot snapshot}.
+         * The count of a bucket remains known even if its axioms have been collected by GC,
+         * so the axioms are re-read only in case the data is out of date.
+         *
+         * @param keys {@code Stream} of {@link AxiomKey}s
+         * @return int
+         */
+        protected int snapshotCount(Stream<AxiomKey> keys) {
+            AxiomsSnapshot current = snapshot;
+            InternalModel base = getBase();
+            List<AxiomKey> missed = new ArrayList<>();
+            int res = 0;
+            for (AxiomKey k : (Iterable<AxiomKey>) keys::iterator) {
+                int c = current == null ? -1 : current.count(base, k);
+                if (c < 0) {
+                    missed.add(k);
+                } else {
+                    res += c;
+                }
+            }
+            return missed.isEmpty() ? res : res + snapshotLists(missed).stream().mapToInt(List::size).sum();
+        }
+
+        /**
+         * Returns the axiom lists for the given types, taking them from the current snapshot if they are valid,
+         * otherwise the missing lists are rebuilt and a new snapshot is published.
+         * The returned lists are strongly reachable as long as the caller holds them.
+         *
+         * @param keys {@code List} of {@link AxiomKey}s
+         * @return {@code List} of immutable {@code List}s of {@link OWLAxiom}s
+         */
+        protected List<List<OWLAxiom>> snapshotLists(List<AxiomKey> keys) {
+            AxiomsSnapshot current = snapshot;
+            InternalModel base = getBase();
+            Map<AxiomKey, List<OWLAxiom>> res = new EnumMap<>(AxiomKey.class);
+            boolean complete = true;
+            for (AxiomKey k : keys) {
+                List<OWLAxiom> axioms = current == null ? null : current.get(base, k);
+                if (axioms == null) {
+                    complete = false;
+                    break;
+                }
+                res.put(k, axioms);
+            }
+            if (!complete) {
+                res.clear();
+                withReadLock(() -> refreshSnapshot(keys, res));
+            }
+            return keys.stream().map(res::get).collect(Collectors.toList());
+        }
+
+        /**
+         * Creates and publishes a new snapshot, that contains valid data for the given axiom types.
+         * The still valid parts of the previous snapshot are reused,
+         * including those that have been built by another reader while this one was waiting for the lock.
+         * Must be called under the read lock, so the axioms cannot be changed during copying.
+         * Two readers may refresh the snapshot simultaneously, in this case one of the results is lost,
+         * but this is harmless, since both of them reflect the same state.
+         *
+         * @param keys {@code Collection} of {@link AxiomKey}s
+         * @param res  {@code Map} to put the (strongly reachable) axiom lists for the given keys
+         */
+        protected void refreshSnapshot(Collection<AxiomKey> keys, Map<AxiomKey, List<OWLAxiom>> res) {
+            snapshot = AxiomsSnapshot.create(snapshot, getBase(), keys, res);
+        }
+
         /**
          * Assembles a concurrent version of the {@link OntGraphModel Ontology RDF Model}.
          * Safety of RDF read/write operations is ensured
-         * by the {@link ru.avicomp.ontapi.jena.RWLockedGraph R/W-Locked Graph}.
+         * by the {@link ru.avicomp.ontapi.jena.RWLockedGraph R/W-Locked Graph},
+         * or, if the base graph is a {@link ru.avicomp.ontapi.jena.SnapshotGraph multi-version graph},
+         * by the graph itself, so that only modifications take the lock.
          * Safety of changes in hierarchy is ensured in the model level, by the returned instance itself.
          * Note: currently, the assembly and modification of complex ontology objects are not safe (todo?).
          *
@@ -332,6 +526,120 @@ public class OntologyModelImpl extends OntBaseModelImpl implements OntologyModel
             };
         }
 
+        /**
+         * An immutable versioned snapshot of the axioms cache.
+         * Consists of buckets, one per {@link AxiomKey axiom type},
+         * each bucket is an immutable {@code List} of axioms with the version of the data.
+         * A bucket is valid until the axioms of its type are changed (see {@link InternalModel#getAxiomsVersion(AxiomKey)}),
+         * the valid buckets are shared between successive snapshots,
+         * so a modification of axioms of some type does not require copying of the whole cache.
+         * The axiom lists are held through {@link SoftReference}s, i.e. they live no longer than the cache does:
+         * under memory pressure they are collected and then rebuilt on demand.
+         * The snapshot is published through a volatile field,
+         * so readers always see a consistent view and never block writers.
+         *
+         * @since 1.4.1
+         */
+        protected static class AxiomsSnapshot {
+            protected final InternalModel base;
+            protected final long version;
+            protected final Map<AxiomKey, Bucket> buckets;
+
+            protected AxiomsSnapshot(InternalModel base, long version, Map<AxiomKey, Bucket> buckets) {
+                this.base = base;
+                this.version = version;
+                this.buckets = buckets;
+            }
+
+            /**
+             * Creates a new snapshot, that contains valid data for the given axiom types.
+             * Must be called under the read lock.
+             *
+             * @param previous {@link AxiomsSnapshot} or {@code null}
+             * @param base     {@link InternalModel}
+             * @param keys     {@code Collection} of {@link AxiomKey}s to ensure
+             * @param res      {@code Map} to put the axiom lists for the given keys
+             * @return {@link AxiomsSnapshot}
+             */
+            protected static AxiomsSnapshot create(AxiomsSnapshot previous,
+                                                   InternalModel base,
+                                                   Collection<AxiomKey> keys,
+                                                   Map<AxiomKey, List<OWLAxiom>> res) {
+                Map<AxiomKey, Bucket> buckets = new EnumMap<>(AxiomKey.class);
+                if (previous != null && previous.base == base) {
+                    previous.buckets.forEach((k, v) -> {
+                        if (v.version == base.getAxiomsVersion(k)) {
+                            buckets.put(k, v);
+                        }
+                    });
+                }
+                long version = base.getAxiomsVersion();
+                for (AxiomKey k : keys) {
+                    Bucket b = buckets.get(k);
+                    List<OWLAxiom> axioms = b == null ? null : b.axioms.get();
+                    if (axioms == null) {
+                        axioms = base.listOWLAxioms(Collections.singleton(k)).collect(Iter.toUnmodifiableList());
+                        buckets.put(k, new Bucket(base.getAxiomsVersion(k), axioms));
+                    }
+                    res.put(k, axioms);
+                }
+                return new AxiomsSnapshot(base, version, Collections.unmodifiableMap(buckets));
+            }
+
+            /**
+             * Returns the bucket of the given type if it is present in the snapshot and is not out of date.
+             *
+             * @param base {@link InternalModel} to test
+             * @param key  {@link AxiomKey}
+             * @return {@link Bucket} or {@code null}
+             */
+            protected Bucket bucket(InternalModel base, AxiomKey key) {
+                if (this.base != base) return null;
+                Bucket res = buckets.get(key);
+                if (res == null) return null;
+                return version == base.getAxiomsVersion() || res.version == base.getAxiomsVersion(key) ? res : null;
+            }
+
+            /**
+             * Returns the axioms of the given type if they are present in the snapshot and are not out of date.
+             *
+             * @param base {@link InternalModel} to test
+             * @param key  {@link AxiomKey}
+             * @return an immutable {@code List} of {@link OWLAxiom}s or {@code null}
+             */
+            protected List<OWLAxiom> get(InternalModel base, AxiomKey key) {
+                Bucket res = bucket(base, key);
+                return res == null ? null : res.axioms.get();
+            }
+
+            /**
+             * Returns the number of axioms of the given type if it is known and is not out of date.
+             *
+             * @param base {@link InternalModel} to test
+             * @param key  {@link AxiomKey}
+             * @return int, non-negative count or {@code -1}
+             */
+            protected int count(InternalModel base, AxiomKey key) {
+                Bucket res = bucket(base, key);
+                return res == null ? -1 : res.count;
+            }
+        }
+
+        /**
+         * A part of {@link AxiomsSnapshot} for a single axiom type.
+         */
+        protected static class Bucket {
+            protected final long version;
+            protected final int count;
+            protected final SoftReference<List<OWLAxiom>> axioms;
+
+            protected Bucket(long version, List<OWLAxiom> axioms) {
+                this.version = version;
+                this.count = axioms.size();
+                this.axioms = new SoftReference<>(axioms);
+            }
+        }
+
         /**
          * Makes a new {@link UnionGraph} with a the specified {@code base} graph
          * and with the inherited hierarchy structure from the given {@code from} graph.
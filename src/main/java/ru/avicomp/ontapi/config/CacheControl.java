@@ -57,6 +57,28 @@ interface CacheControl<R> extends CacheSettings {
      */
     R setContentCacheLevel(int level);
 
+    /**
+     * Turns on/off the content cache preloading.
+     *
+     * @param b boolean
+     * @return {@link R}
+     * @see CacheSettings#isPreloadContentCache()
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_PRELOAD
+     * @since 1.4.1
+     */
+    R setPreloadContentCache(boolean b);
+
+    /**
+     * Turns on/off the recording of the internal caches statistics.
+     *
+     * @param b boolean
+     * @return {@link R}
+     * @see CacheSettings#isRecordCacheStats()
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_STATS
+     * @since 1.4.1
+     */
+    R setRecordCacheStats(boolean b);
+
     /**
      * Turns on/off the content cache use.
      *
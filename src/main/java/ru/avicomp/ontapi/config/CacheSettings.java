@@ -25,7 +25,11 @@ public interface CacheSettings {
 
     int CONTENT_CACHE_LEVEL_FAST_ITERATOR = 2;
     int CONTENT_CACHE_LEVEL_TRIPLE_STORE = 4;
-    int CONTENT_CACHE_LEVEL_ALL = CONTENT_CACHE_LEVEL_FAST_ITERATOR | CONTENT_CACHE_LEVEL_TRIPLE_STORE;
+    int CONTENT_CACHE_LEVEL_COMPONENT_INDEX = 8;
+    int CONTENT_CACHE_LEVEL_ALL = CONTENT_CACHE_LEVEL_FAST_ITERATOR
+            | CONTENT_CACHE_LEVEL_TRIPLE_STORE
+            | CONTENT_CACHE_LEVEL_COMPONENT_INDEX;
+    int CONTENT_CACHE_LEVEL_COMPACT_TRIPLE_STORE = 16;
 
     /**
      * Returns the maximum size of nodes cache,
@@ -77,7 +81,13 @@ public interface CacheSettings {
      * - use cache-optimization to speed up iteration over components (axioms) found in a graph</li>
      * <li>{@link #CONTENT_CACHE_LEVEL_TRIPLE_STORE}
      * - use cache-optimization to optimize modification of components found in a graph</li>
+     * <li>{@link #CONTENT_CACHE_LEVEL_COMPONENT_INDEX}
+     * - use cache-optimization to speed up searching components (axioms) by their parts (entities, primitives)</li>
      * <li>{@link #CONTENT_CACHE_LEVEL_ALL} - all possible cache-optimizations</li>
+     * <li>{@link #CONTENT_CACHE_LEVEL_COMPACT_TRIPLE_STORE}
+     * - use memory-saving representation for the triple store, it is an addition to the
+     * {@link #CONTENT_CACHE_LEVEL_TRIPLE_STORE} level and it is not included in the {@link #CONTENT_CACHE_LEVEL_ALL},
+     * since it trades a little bit of speed for memory</li>
      * </ul>
      * Note: the list above may be changed in the ONT-API evolution.
      *
@@ -87,6 +97,39 @@ public interface CacheSettings {
      */
     int getContentCacheLevel();
 
+    /**
+     * Answers {@code true} if the content cache should be loaded into memory right after an ontology is loaded,
+     * not lazily, on the first demand.
+     * If the manager is concurrent, the preloading is performed in parallel,
+     * each axiom type in its own task, otherwise it is sequential.
+     * The system default is {@code false}.
+     * Makes no sense if the content cache is disabled.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_PRELOAD
+     * @see CacheControl#setPreloadContentCache(boolean)
+     * @see ru.avicomp.ontapi.OntologyModel#preloadCache()
+     * @since 1.4.1
+     */
+    boolean isPreloadContentCache();
+
+    /**
+     * Answers {@code true} if the internal caches of a model should record their statistics:
+     * the hit and miss counts, the evictions, the soft references cleared by GC,
+     * and the time spent to load each content cache bucket.
+     * The recording has a small cost on every cache lookup, so the system default is {@code false}.
+     * The default implementation always returns {@code false}, i.e. no statistics are recorded.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_STATS
+     * @see CacheControl#setRecordCacheStats(boolean)
+     * @see ru.avicomp.ontapi.internal.InternalModel#getCacheMetrics()
+     * @since 1.4.1
+     */
+    default boolean isRecordCacheStats() {
+        return false;
+    }
+
     /**
      * Answers whether an internal model content cache is enabled, that is {@code true} by default.
      * An internal model content cache speedups axiom listing and controls add/remove components behaviour.
@@ -128,6 +171,29 @@ public interface CacheSettings {
         return (getContentCacheLevel() & CONTENT_CACHE_LEVEL_TRIPLE_STORE) == CONTENT_CACHE_LEVEL_TRIPLE_STORE;
     }
 
+    /**
+     * Answers {@code true} iff the compact (memory-saving) triple store should be used
+     * instead of the {@code HashMap}-based one.
+     * Makes sense only if the triple store optimization is enabled.
+     *
+     * @return boolean
+     * @see #useTriplesContentCache()
+     * @since 1.4.1
+     */
+    default boolean useCompactTriplesContentCache() {
+        return (getContentCacheLevel() & CONTENT_CACHE_LEVEL_COMPACT_TRIPLE_STORE) == CONTENT_CACHE_LEVEL_COMPACT_TRIPLE_STORE;
+    }
+
+    /**
+     * Answers {@code true} iff the reverse index (a part-to-components map) content optimization is enabled.
+     *
+     * @return boolean
+     * @since 1.4.1
+     */
+    default boolean useComponentIndexContentCache() {
+        return (getContentCacheLevel() & CONTENT_CACHE_LEVEL_COMPONENT_INDEX) == CONTENT_CACHE_LEVEL_COMPONENT_INDEX;
+    }
+
     /**
      * Answers {@code true} if nodes cache is enabled.
      *
@@ -59,6 +59,16 @@ interface LoadControl<R> extends LoadSettings {
      */
     R setPerformTransformation(boolean b);
 
+    /**
+     * Enables or disables skipping the graph transforms that have nothing to change.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isSkipUnneededTransformations()
+     * @since 1.4.1
+     */
+    R setSkipUnneededTransformations(boolean b);
+
     /**
      * Changes the preferable way to load a {@code Graph}.
      * If {@code true} specified, the OWL-API native parsers will be used.
@@ -80,6 +90,26 @@ interface LoadControl<R> extends LoadSettings {
      */
     R setSupportedSchemes(List<Scheme> schemes);
 
+    /**
+     * Sets the maximum number of threads to read the imports closure.
+     *
+     * @param n int, positive
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getImportsParallelism()
+     * @since 1.4.1
+     */
+    R setImportsParallelism(int n);
+
+    /**
+     * Enables or disables the single-pass streaming load.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isStreamingLoad()
+     * @since 1.4.1
+     */
+    R setStreamingLoad(boolean b);
+
     /**
      * Disables all schemes with except of {@code file} to prevent internet diving.
      * While loading only IRIs starting with {@code file} will be processed.
@@ -93,6 +93,22 @@ public interface LoadSettings {
      */
     boolean isPerformTransformation();
 
+    /**
+     * Answers {@code true} if the graph transformers must skip the transforms that have nothing to change.
+     * In this mode the transforms are still performed one after another, as usual,
+     * but before each of them the lightweight graph summary (present predicates and types) is asked,
+     * and the transform is not run at all if it cannot make any change in the graph.
+     * It saves the full-graph scans for the large graphs, which are (almost) valid OWL2.
+     * The resulting graph does not depend on this setting.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setSkipUnneededTransformations(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS
+     * @see GraphTransformers.Store#setSkipUnneeded(boolean)
+     * @since 1.4.1
+     */
+    boolean isSkipUnneededTransformations();
+
     /**
      * Answers {@code true} if the native OWL-API parsers must be preferred while loading ontology,
      * which is strongly not recommended (and the method returns {@code false} by default).
@@ -134,6 +150,42 @@ public interface LoadSettings {
      */
     Collection<Scheme> getSupportedSchemes();
 
+    /**
+     * Answers the maximum number of threads that can be used to read the documents of the imports closure.
+     * If the value is greater than {@code 1}, the loader discovers the imports tree breadth-first
+     * and parses independent documents of the same level concurrently on a bounded pool,
+     * otherwise all imports are read one after another, in the same thread.
+     * The order of sub-graphs inside the resulting {@link ru.avicomp.ontapi.jena.UnionGraph}
+     * and the {@link org.semanticweb.owlapi.model.MissingImportHandlingStrategy} behaviour
+     * do not depend on this setting.
+     *
+     * @return int, ({@code 1} by default)
+     * @see LoadControl#setImportsParallelism(int)
+     * @see OntSettings#ONT_API_LOAD_CONF_IMPORTS_PARALLELISM
+     * @since 1.4.1
+     */
+    int getImportsParallelism();
+
+    /**
+     * Answers {@code true} if the single-pass streaming load is enabled.
+     * In this mode, while a document is being parsed by Apache Jena,
+     * the triples that can define simple axioms (declarations, class assertions,
+     * annotation and property assertions) are collected on the fly,
+     * and then the corresponding content cache containers are filled directly from them,
+     * without scanning the whole graph for each of those axiom types.
+     * The rest (structurally complex) axioms are read in the usual way.
+     * If the graph is changed by the {@link #getGraphTransformers() transformers},
+     * the collected data is discarded and the ontology is read as usual.
+     * The setting has no effect if the content cache is disabled
+     * or the document is read by the native OWL-API parsers.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setStreamingLoad(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_STREAMING_LOAD
+     * @since 1.4.1
+     */
+    boolean isStreamingLoad();
+
     /**
      * An interface that represents an IRI schema,
      * intended to control source {@link IRI}s while loading.
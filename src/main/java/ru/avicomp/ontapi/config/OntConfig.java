@@ -39,9 +39,15 @@ import java.util.stream.Stream;
  * Additional (new) ONT-API methods:
  * <ul>
  * <li>{@link #getManagerIRIsCacheSize()} (<b>since 1.4.0</b>)</li>
+ * <li>{@link #getManagerEntitiesCacheSize()} (<b>since 1.4.1</b>)</li>
  * <li>{@link #getLoadNodesCacheSize()} and {@link #setLoadNodesCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #getLoadObjectsCacheSize()} and {@link #setLoadObjectsCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #isContentCacheEnabled()} and {@link #setUseContentCache(boolean)} (<b>since 1.4.0</b>)</li>
+ * <li>{@link #isPreloadContentCache()} and {@link #setPreloadContentCache(boolean)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #isRecordCacheStats()} and {@link #setRecordCacheStats(boolean)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #getImportsParallelism()} and {@link #setImportsParallelism(int)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #isStreamingLoad()} and {@link #setStreamingLoad(boolean)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #isSkipUnneededTransformations()} and {@link #setSkipUnneededTransformations(boolean)} (<b>since 1.4.1</b>)</li>
  * <li>{@link #getPersonality()} and {@link #setPersonality(OntPersonality)}</li>
  * <li>{@link #getGraphTransformers()} amd {@link #setGraphTransformers(GraphTransformers.Store)}</li>
  * <li>{@link #isPerformTransformation()} and {@link #setPerformTransformation(boolean)}</li>
@@ -286,6 +292,36 @@ public class OntConfig extends OntologyConfigurator implements
         return put(OntSettings.ONT_API_MANAGER_CACHE_IRIS, size);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * Returns the size of the OWL entities cache,
+     * that is used inside a manager to share the same
+     * {@link org.semanticweb.owlapi.model.OWLEntity OWL Entity} instances between all its ontologies
+     * (e.g. when there are many ontologies importing the same common vocabulary).
+     * The size is the maximum number of entities of each type.
+     * A negative or zero number means that the entities cache is disabled, this is the default.
+     *
+     * @return int, possible non-positive to disable entities caching
+     * @since 1.4.1
+     */
+    public int getManagerEntitiesCacheSize() {
+        return get(OntSettings.ONT_API_MANAGER_CACHE_ENTITIES);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * Sets a new OWL entities cache size.
+     * Protected, since this is a manager's initialization setting,
+     * that must not be changed during manager's lifetime.
+     *
+     * @param size int, possible negative
+     * @return this instance
+     * @since 1.4.1
+     */
+    protected OntConfig setManagerEntitiesCacheSize(int size) {
+        return put(OntSettings.ONT_API_MANAGER_CACHE_ENTITIES, size);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -355,6 +391,56 @@ public class OntConfig extends OntologyConfigurator implements
         return get(OntSettings.ONT_API_LOAD_CONF_CACHE_CONTENT);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isPreloadContentCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_PRELOAD);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return this instance
+     * @since 1.4.1
+     */
+    @Override
+    public OntConfig setPreloadContentCache(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_CACHE_PRELOAD, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isRecordCacheStats() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_STATS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return this instance
+     * @since 1.4.1
+     */
+    @Override
+    public OntConfig setRecordCacheStats(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_CACHE_STATS, b);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -412,6 +498,32 @@ public class OntConfig extends OntologyConfigurator implements
         return put(OntSettings.ONT_API_LOAD_CONF_PERFORM_TRANSFORMATIONS, b);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isSkipUnneededTransformations() {
+        return get(OntSettings.ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return this instance
+     * @see OntLoaderConfiguration#setSkipUnneededTransformations(boolean)
+     * @since 1.4.1
+     */
+    @Override
+    public OntConfig setSkipUnneededTransformations(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS, b);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -508,6 +620,56 @@ public class OntConfig extends OntologyConfigurator implements
         return put(OntSettings.ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD, b);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     * @since 1.4.1
+     */
+    @Override
+    public int getImportsParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param n int, positive
+     * @return this instance
+     * @since 1.4.1
+     */
+    @Override
+    public OntConfig setImportsParallelism(int n) {
+        return putPositive(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM, n);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isStreamingLoad() {
+        return get(OntSettings.ONT_API_LOAD_CONF_STREAMING_LOAD);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return this instance
+     * @since 1.4.1
+     */
+    @Override
+    public OntConfig setStreamingLoad(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_STREAMING_LOAD, b);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -135,6 +135,30 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return set(OntSettings.ONT_API_LOAD_CONF_PERFORM_TRANSFORMATIONS, b);
     }
 
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isSkipUnneededTransformations() {
+        return get(OntSettings.ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     * @since 1.4.1
+     */
+    @Override
+    public OntLoaderConfiguration setSkipUnneededTransformations(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS, b);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
@@ -240,6 +264,50 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return get(OntSettings.ONT_API_LOAD_CONF_CACHE_CONTENT);
     }
 
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     * @since 1.4.1
+     */
+    @Override
+    public OntLoaderConfiguration setPreloadContentCache(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_CACHE_PRELOAD, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPreloadContentCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_PRELOAD);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     * @since 1.4.1
+     */
+    @Override
+    public OntLoaderConfiguration setRecordCacheStats(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_CACHE_STATS, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRecordCacheStats() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_STATS);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
@@ -360,6 +428,54 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return set(OntSettings.ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD, b);
     }
 
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 1.4.1
+     */
+    @Override
+    public int getImportsParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param n int, positive
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     * @since 1.4.1
+     */
+    @Override
+    public OntLoaderConfiguration setImportsParallelism(int n) {
+        return setPositive(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM, n);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 1.4.1
+     */
+    @Override
+    public boolean isStreamingLoad() {
+        return get(OntSettings.ONT_API_LOAD_CONF_STREAMING_LOAD);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     * @since 1.4.1
+     */
+    @Override
+    public OntLoaderConfiguration setStreamingLoad(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_STREAMING_LOAD, b);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
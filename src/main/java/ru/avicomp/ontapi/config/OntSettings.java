@@ -35,7 +35,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
- * The {@code Enum} of all ONT-API settings (22 OWL-API options + 15 ONT-API specific options)
+ * The {@code Enum} of all ONT-API settings (22 OWL-API options + 21 ONT-API specific options)
  * Note: System properties are not taken into account (this is a difference from OWL-API-impl).
  * The properties file is used as the primary settings store.
  * The default value, that is encoding in this enum,
@@ -67,12 +67,20 @@ public enum OntSettings {
     ONT_API_LOAD_CONF_USE_OWL_PARSERS_TO_LOAD(false),
     ONT_API_LOAD_CONF_IGNORE_AXIOMS_READ_ERRORS(false),
     ONT_API_LOAD_CONF_SPLIT_AXIOM_ANNOTATIONS(false),
+    // since 1.4.1
+    ONT_API_LOAD_CONF_IMPORTS_PARALLELISM(1),
+    ONT_API_LOAD_CONF_STREAMING_LOAD(false),
+    ONT_API_LOAD_CONF_SKIP_UNNEEDED_TRANSFORMATIONS(false),
 
     // cache options since 1.4.0
     ONT_API_LOAD_CONF_CACHE_CONTENT(CacheSettings.CONTENT_CACHE_LEVEL_ALL),
     ONT_API_LOAD_CONF_CACHE_OBJECTS(2048),
     ONT_API_LOAD_CONF_CACHE_NODES(50_000),
+    // since 1.4.1
+    ONT_API_LOAD_CONF_CACHE_PRELOAD(false),
+    ONT_API_LOAD_CONF_CACHE_STATS(false),
     ONT_API_MANAGER_CACHE_IRIS(2048),
+    ONT_API_MANAGER_CACHE_ENTITIES(0),
 
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20_000),
@@ -0,0 +1,176 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+import ru.avicomp.ontapi.OwlObjects;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Enum, that describes a position of a component (a part) inside an {@link OWLAxiom OWL Axiom}.
+ * It is used as a key for the {@link ObjectTriplesMap#objects(Function, OWLObject) reverse index}
+ * to find axioms by their parts without traversing over the whole axioms cache.
+ * The meaning of the {@link #SUB} and {@link #SUPER} positions
+ * corresponds to the OWL-API {@link Navigation} semantic
+ * (see {@link ru.avicomp.ontapi.OntBaseModelImpl#axioms(Class, Class, OWLObject, Navigation)}).
+ *
+ * @since 1.4.1
+ */
+public enum AxiomPosition implements Function<OWLAxiom, Stream<? extends OWLObject>> {
+    /**
+     * The left (sub, subject, defined) part of an axiom, e.g. the sub-class in {@code SubClassOf} axiom,
+     * the subject in property assertion or the property in property domain.
+     */
+    SUB {
+        @Override
+        public Stream<? extends OWLObject> apply(OWLAxiom a) {
+            if (a instanceof OWLSubClassOfAxiom) {
+                return Stream.of(((OWLSubClassOfAxiom) a).getSubClass());
+            }
+            if (a instanceof OWLSubPropertyAxiom) {
+                return Stream.of(((OWLSubPropertyAxiom<?>) a).getSubProperty());
+            }
+            if (a instanceof OWLSubAnnotationPropertyOfAxiom) {
+                return Stream.of(((OWLSubAnnotationPropertyOfAxiom) a).getSubProperty());
+            }
+            if (a instanceof OWLInverseObjectPropertiesAxiom) {
+                return Stream.of(((OWLInverseObjectPropertiesAxiom) a).getFirstProperty());
+            }
+            if (a instanceof OWLPropertyAssertionAxiom) {
+                return Stream.of(((OWLPropertyAssertionAxiom<?, ?>) a).getSubject());
+            }
+            if (a instanceof OWLAnnotationAssertionAxiom) {
+                return Stream.of(((OWLAnnotationAssertionAxiom) a).getSubject());
+            }
+            if (a instanceof OWLClassAssertionAxiom) {
+                return Stream.of(((OWLClassAssertionAxiom) a).getIndividual());
+            }
+            if (a instanceof OWLDisjointUnionAxiom) {
+                return Stream.of(((OWLDisjointUnionAxiom) a).getOWLClass());
+            }
+            if (a instanceof OWLSubPropertyChainOfAxiom) {
+                return Stream.of(((OWLSubPropertyChainOfAxiom) a).getSuperProperty());
+            }
+            if (a instanceof OWLDatatypeDefinitionAxiom) {
+                return Stream.of(((OWLDatatypeDefinitionAxiom) a).getDatatype());
+            }
+            if (a instanceof OWLHasKeyAxiom) {
+                return Stream.of(((OWLHasKeyAxiom) a).getClassExpression());
+            }
+            if (a instanceof OWLDeclarationAxiom) {
+                return Stream.of(((OWLDeclarationAxiom) a).getEntity());
+            }
+            if (a instanceof HasProperty) { // unary property axioms, annotation property domain and range
+                return Stream.of(((HasProperty<?>) a).getProperty());
+            }
+            return Stream.empty();
+        }
+    },
+    /**
+     * The right (super, object, value) part of an axiom, e.g. the super-class in {@code SubClassOf} axiom,
+     * the object in property assertion or the chain in {@code SubPropertyChainOf} axiom.
+     */
+    SUPER {
+        @Override
+        public Stream<? extends OWLObject> apply(OWLAxiom a) {
+            if (a instanceof OWLSubClassOfAxiom) {
+                return Stream.of(((OWLSubClassOfAxiom) a).getSuperClass());
+            }
+            if (a instanceof OWLSubPropertyAxiom) {
+                return Stream.of(((OWLSubPropertyAxiom<?>) a).getSuperProperty());
+            }
+            if (a instanceof OWLSubAnnotationPropertyOfAxiom) {
+                return Stream.of(((OWLSubAnnotationPropertyOfAxiom) a).getSuperProperty());
+            }
+            if (a instanceof OWLInverseObjectPropertiesAxiom) {
+                return Stream.of(((OWLInverseObjectPropertiesAxiom) a).getSecondProperty());
+            }
+            if (a instanceof OWLPropertyAssertionAxiom) {
+                return Stream.of(((OWLPropertyAssertionAxiom<?, ?>) a).getObject());
+            }
+            if (a instanceof OWLAnnotationAssertionAxiom) {
+                return Stream.of(((OWLAnnotationAssertionAxiom) a).getValue());
+            }
+            if (a instanceof OWLClassAssertionAxiom) {
+                return Stream.of(((OWLClassAssertionAxiom) a).getClassExpression());
+            }
+            if (a instanceof OWLDisjointUnionAxiom) {
+                return ((OWLDisjointUnionAxiom) a).classExpressions();
+            }
+            if (a instanceof OWLSubPropertyChainOfAxiom) {
+                return ((OWLSubPropertyChainOfAxiom) a).getPropertyChain().stream();
+            }
+            if (a instanceof OWLDatatypeDefinitionAxiom) {
+                return Stream.of(((OWLDatatypeDefinitionAxiom) a).getDataRange());
+            }
+            return Stream.empty();
+        }
+    },
+    /**
+     * Any operand of a n-ary axiom (e.g. {@code DisjointClasses}, {@code SameIndividual}).
+     */
+    OPERAND {
+        @Override
+        public Stream<? extends OWLObject> apply(OWLAxiom a) {
+            if (a instanceof OWLNaryAxiom) {
+                return ((OWLNaryAxiom<?>) a).operands();
+            }
+            return Stream.empty();
+        }
+    },
+    /**
+     * Any {@link OWLPrimitive primitive} (entity, anonymous individual, literal, IRI)
+     * found in the axiom recursively, including axiom annotations.
+     * Note: the search does not go inside primitives,
+     * so neither {@link IRI}s of entities nor {@link OWLDatatype}s of literals are indexed.
+     *
+     * @see #isPrimitive(OWLObject)
+     */
+    PRIMITIVE {
+        @Override
+        public Stream<? extends OWLObject> apply(OWLAxiom a) {
+            return OwlObjects.objects(OWLPrimitive.class, a);
+        }
+    },
+    ;
+
+    /**
+     * Returns a position that corresponds to the given {@link Navigation}.
+     *
+     * @param navigation {@link Navigation}, can be {@code null}
+     * @return {@link #SUPER} for {@link Navigation#IN_SUPER_POSITION}, otherwise {@link #SUB}
+     */
+    public static AxiomPosition get(Navigation navigation) {
+        return Navigation.IN_SUPER_POSITION == navigation ? SUPER : SUB;
+    }
+
+    /**
+     * Answers {@code true} if the given object can be found through the {@link #PRIMITIVE} index
+     * in exactly the same way as it is done by the expression
+     * {@code OwlObjects.objects(object.getClass(), axiom).anyMatch(object::equals)}.
+     *
+     * @param object {@link OWLObject}, not {@code null}
+     * @return boolean
+     */
+    public static boolean isPrimitive(OWLObject object) {
+        if (object instanceof OWLDatatype) { // datatypes are also hidden inside literals
+            return false;
+        }
+        return object instanceof OWLEntity || object instanceof OWLAnonymousIndividual || object instanceof OWLLiteral;
+    }
+}
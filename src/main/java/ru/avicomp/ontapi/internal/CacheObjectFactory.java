@@ -19,7 +19,9 @@ import ru.avicomp.ontapi.DataFactory;
 import ru.avicomp.ontapi.jena.model.*;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * The internal cache holder which is using while reading owl-objects.
@@ -42,6 +44,7 @@ public class CacheObjectFactory extends NoCacheObjectFactory {
     protected final InternalCache<OntNOP, ONTObject<OWLObjectProperty>> objectProperties;
     protected final InternalCache<OntIndividual.Named, ONTObject<OWLNamedIndividual>> individuals;
     protected final InternalCache.Loading<String, IRI> iris;
+    protected final EntityCache entities;
 
     public CacheObjectFactory(DataFactory factory) {
         this(factory, InternalCache.createBounded(true, CACHE_SIZE).asLoading(IRI::create), CACHE_SIZE);
@@ -58,19 +61,36 @@ public class CacheObjectFactory extends NoCacheObjectFactory {
         this(factory, () -> InternalCache.createBounded(true, size), iris);
     }
 
+    /**
+     * Makes an instance with the given caches.
+     *
+     * @param dataFactory  {@link DataFactory}
+     * @param cacheFactory {@link Supplier} that produces {@link InternalCache}
+     * @param iris         {@link InternalCache.Loading} for {@link IRI}s
+     */
+    public CacheObjectFactory(DataFactory dataFactory,
+                              Supplier<InternalCache<?, ?>> cacheFactory,
+                              InternalCache.Loading<String, IRI> iris) {
+        this(dataFactory, cacheFactory, iris, null);
+    }
+
     /**
      * The primary constructor.
      *
      * @param dataFactory  {@link DataFactory}
      * @param cacheFactory {@link Supplier} that produces {@link InternalCache}
      * @param iris         {@link InternalCache.Loading} for {@link IRI}s
+     * @param entities     {@link EntityCache} shared between models, can be {@code null}
+     * @since 1.4.1
      */
     @SuppressWarnings("unchecked")
     public CacheObjectFactory(DataFactory dataFactory,
                               Supplier<InternalCache<?, ?>> cacheFactory,
-                              InternalCache.Loading<String, IRI> iris) {
+                              InternalCache.Loading<String, IRI> iris,
+                              EntityCache entities) {
         super(dataFactory);
         this.iris = Objects.requireNonNull(iris);
+        this.entities = entities;
         this.classes = (InternalCache<OntClass, ONTObject<OWLClass>>) cacheFactory.get();
         this.datatypes = (InternalCache<OntDT, ONTObject<OWLDatatype>>) cacheFactory.get();
         this.annotationProperties = (InternalCache<OntNAP, ONTObject<OWLAnnotationProperty>>) cacheFactory.get();
@@ -79,6 +99,20 @@ public class CacheObjectFactory extends NoCacheObjectFactory {
         this.individuals = (InternalCache<OntIndividual.Named, ONTObject<OWLNamedIndividual>>) cacheFactory.get();
     }
 
+    /**
+     * Returns the summary statistics of all object caches of this factory, if it is recorded.
+     *
+     * @return {@link Optional} of {@link InternalCache.Stats}
+     * @since 1.4.1
+     */
+    public Optional<InternalCache.Stats> getStats() {
+        return Stream.of(classes, datatypes, annotationProperties, datatypeProperties, objectProperties, individuals)
+                .map(InternalCache::stats)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .reduce(InternalCache.Stats::plus);
+    }
+
     @Override
     public void clear() {
         classes.clear();
@@ -91,32 +125,50 @@ public class CacheObjectFactory extends NoCacheObjectFactory {
 
     @Override
     public ONTObject<OWLClass> get(OntClass ce) {
-        return classes.get(ce, super::get);
+        if (entities == null) {
+            return classes.get(ce, super::get);
+        }
+        return classes.get(ce, x -> ONTObject.create(entities.getOWLClass(x.getURI()), x));
     }
 
     @Override
     public ONTObject<OWLDatatype> get(OntDT dr) {
-        return datatypes.get(dr, super::get);
+        if (entities == null) {
+            return datatypes.get(dr, super::get);
+        }
+        return datatypes.get(dr, x -> ONTObject.create(entities.getOWLDatatype(x.getURI()), x));
     }
 
     @Override
     public ONTObject<OWLAnnotationProperty> get(OntNAP nap) {
-        return annotationProperties.get(nap, super::get);
+        if (entities == null) {
+            return annotationProperties.get(nap, super::get);
+        }
+        return annotationProperties.get(nap, x -> ONTObject.create(entities.getOWLAnnotationProperty(x.getURI()), x));
     }
 
     @Override
     public ONTObject<OWLDataProperty> get(OntNDP ndp) {
-        return datatypeProperties.get(ndp, super::get);
+        if (entities == null) {
+            return datatypeProperties.get(ndp, super::get);
+        }
+        return datatypeProperties.get(ndp, x -> ONTObject.create(entities.getOWLDataProperty(x.getURI()), x));
     }
 
     @Override
     public ONTObject<OWLObjectProperty> get(OntNOP nop) {
-        return objectProperties.get(nop, super::get);
+        if (entities == null) {
+            return objectProperties.get(nop, super::get);
+        }
+        return objectProperties.get(nop, x -> ONTObject.create(entities.getOWLObjectProperty(x.getURI()), x));
     }
 
     @Override
     public ONTObject<OWLNamedIndividual> get(OntIndividual.Named i) {
-        return individuals.get(i, super::get);
+        if (entities == null) {
+            return individuals.get(i, super::get);
+        }
+        return individuals.get(i, x -> ONTObject.create(entities.getOWLNamedIndividual(x.getURI()), x));
     }
 
     @Override
@@ -15,16 +15,23 @@
 package ru.avicomp.ontapi.internal;
 
 import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.shared.JenaException;
 import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.vocabulary.RDFS;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+import ru.avicomp.ontapi.jena.vocabulary.XSD;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -61,10 +68,29 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
     private final boolean fastIterator;
     // to control mutation
     private final boolean tripleStore;
+    // to control searching by object's parts
+    private final boolean componentIndex;
+    // to use memory-saving triple store
+    private final boolean compactTripleStore;
 
     public CacheObjectTriplesMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
                                      boolean parallel) {
-        this(loader, parallel, true, true);
+        this(loader, parallel, true, true, true);
+    }
+
+    public CacheObjectTriplesMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                                     boolean parallel,
+                                     boolean fastIterator,
+                                     boolean tripleStore) {
+        this(loader, parallel, fastIterator, tripleStore, false);
+    }
+
+    public CacheObjectTriplesMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                                     boolean parallel,
+                                     boolean fastIterator,
+                                     boolean tripleStore,
+                                     boolean componentIndex) {
+        this(loader, parallel, fastIterator, tripleStore, componentIndex, false);
     }
 
     /**
@@ -73,17 +99,49 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
      * @param loader       a {@code Supplier} to load object-triples pairs, not {@code null}
      * @param parallel     if {@code true} use caffeine cache, otherwise LHM based cache
      * @param fastIterator if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
-     * @param tripleStore  if {@code true} use {@code Map}-based cache to speedup mutations of this bucket
+     * @param tripleStore    if {@code true} use {@code Map}-based cache to speedup mutations of this bucket
+     * @param componentIndex if {@code true} use {@code Map}-based reverse indexes
+     *                       to speedup searching objects by their components
+     * @param compactTripleStore if {@code true} use {@link TriplesIndex.CompactIndex compact} triple store,
+     *                           that requires less memory, makes sense only if {@code tripleStore} is {@code true}
      */
     public CacheObjectTriplesMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
                                      boolean parallel,
                                      boolean fastIterator,
-                                     boolean tripleStore) {
+                                     boolean tripleStore,
+                                     boolean componentIndex,
+                                     boolean compactTripleStore) {
+        this(loader, parallel, fastIterator, tripleStore, componentIndex, compactTripleStore, null);
+    }
+
+    /**
+     * Constructs a bucket instance, whose soft-referenced content records statistics.
+     * The recorded loads are the bucket (re)loadings,
+     * and the soft clears indicate that the content has been collected by GC and must be reloaded.
+     *
+     * @param loader             a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param parallel           if {@code true} use caffeine cache, otherwise LHM based cache
+     * @param fastIterator       if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
+     * @param tripleStore        if {@code true} use {@code Map}-based cache to speedup mutations of this bucket
+     * @param componentIndex     if {@code true} use {@code Map}-based reverse indexes
+     * @param compactTripleStore if {@code true} use {@link TriplesIndex.CompactIndex compact} triple store
+     * @param counter            {@link InternalCache.Counter} to record statistics, can be {@code null}
+     * @since 1.4.1
+     */
+    public CacheObjectTriplesMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                                     boolean parallel,
+                                     boolean fastIterator,
+                                     boolean tripleStore,
+                                     boolean componentIndex,
+                                     boolean compactTripleStore,
+                                     InternalCache.Counter counter) {
         this.loader = Objects.requireNonNull(loader);
         this.parallel = parallel;
         this.fastIterator = fastIterator;
         this.tripleStore = tripleStore;
-        this.map = InternalCache.createSoft(CacheObjectTriplesMapImpl::loadMap, parallel);
+        this.componentIndex = componentIndex;
+        this.compactTripleStore = compactTripleStore;
+        this.map = InternalCache.createSoft(CacheObjectTriplesMapImpl::loadMap, parallel, counter);
     }
 
     /**
@@ -150,6 +208,85 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
         return getMap().getObjectsMap().keySet().stream();
     }
 
+    /**
+     * {@inheritDoc}
+     * If the component index is enabled, the reverse index is built on the first demand
+     * and then is kept in actual state while the map is being modified.
+     *
+     * @param index a {@code Function} to select searchable parts from {@link X}-object, not {@code null}
+     * @param part  {@link OWLObject} to search, not {@code null}
+     * @return {@code Stream} of {@link X}s
+     */
+    @Override
+    public Stream<X> objects(Function<? super X, ? extends Stream<? extends OWLObject>> index, OWLObject part) {
+        if (!componentIndex) {
+            return ObjectTriplesMap.super.objects(index, part);
+        }
+        Set<X> res = getMap().getIndex(index).get(part);
+        if (res == null || res.isEmpty()) {
+            return Stream.empty();
+        }
+        // copy to be safe in case of the map is modified while the stream is being processed:
+        return new ArrayList<>(res).stream();
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the triple store is enabled, the search is performed using the node-to-objects index,
+     * which is derived from the triples and is kept in actual state on each triple modification.
+     * Nodes of the builtin vocabulary (rdf, rdfs, owl, xsd) are not indexed,
+     * since they are present in almost every object.
+     * The datatype of a literal is indexed as a separate URI node,
+     * since it can be referred only from a literal (e.g. {@code "x"^^ex:dt}).
+     *
+     * @param node {@link Node}, not {@code null}
+     * @return {@code Stream} of {@link X}s
+     */
+    @Override
+    public Stream<X> objects(Node node) {
+        if (!tripleStore || !isIndexable(node)) {
+            return ObjectTriplesMap.super.objects(node);
+        }
+        Set<X> res = getMap().getNodesMap().get(node);
+        if (res == null || res.isEmpty()) {
+            return Stream.empty();
+        }
+        return new ArrayList<>(res).stream();
+    }
+
+    /**
+     * Answers {@code true} if the given node can be a key in the node-to-objects index.
+     *
+     * @param node {@link Node}
+     * @return boolean
+     */
+    protected static boolean isIndexable(Node node) {
+        if (node.isBlank() || node.isLiteral()) {
+            return true;
+        }
+        if (!node.isURI()) {
+            return false;
+        }
+        String uri = node.getURI();
+        return !uri.startsWith(RDF.getURI()) && !uri.startsWith(RDFS.getURI())
+                && !uri.startsWith(OWL.NS) && !uri.startsWith(XSD.NS);
+    }
+
+    /**
+     * Lists all indexable nodes from the given triple,
+     * including the datatype URI node, if the triple object is a literal.
+     *
+     * @param triple {@link Triple}
+     * @return {@code Stream} of {@link Node}s
+     */
+    protected static Stream<Node> indexableNodes(Triple triple) {
+        Node o = triple.getObject();
+        Stream<Node> res = o.isLiteral() ?
+                Stream.of(triple.getSubject(), triple.getPredicate(), o, NodeFactory.createURI(o.getLiteralDatatypeURI())) :
+                Stream.of(triple.getSubject(), triple.getPredicate(), o);
+        return res.filter(CacheObjectTriplesMapImpl::isIndexable).distinct();
+    }
+
     @Override
     public Stream<Triple> triples(X o) throws JenaException {
         return getONTObject(o).triples();
@@ -189,8 +326,7 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
     public boolean contains(X o, Triple t) {
         CachedMap m;
         if (isLoaded() && (m = getMap()).hasTriplesMap()) {
-            Set<X> res = m.getTriplesMap().get(t);
-            return res != null && res.contains(o);
+            return m.getTriplesMap().contains(t, o);
         }
         return triples(o).anyMatch(t::equals);
     }
@@ -206,7 +342,7 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
     public boolean contains(Triple triple) {
         if (tripleStore) {
             // load all triples to memory:
-            return getMap().getTriplesMap().containsKey(triple);
+            return getMap().getTriplesMap().contains(triple);
         }
         // long-time searching:
         return objects().anyMatch(x -> contains(x, triple));
@@ -231,14 +367,22 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
     public void register(X key, Triple triple) {
         this.hasNew = true;
         CachedMap map = getMap();
+        boolean isNew = !map.getObjectsMap().containsKey(key);
         map.getObjectsMap().merge(key, new TripleSet<>(key, triple), (a, b) -> {
             if (a.isDefinitelyEmpty()) return b;
             return a.append(b);
         });
+        if (isNew && map.hasIndexes()) {
+            map.addToIndexes(key);
+        }
         // operation 'Add' must be as quick as possible
         // since it is used while reading documents in native OWL-API formats
         if (map.hasTriplesMap()) {
-            map.getTriplesMap().computeIfAbsent(triple, t -> new HashSet<>()).add(key);
+            map.getTriplesMap().add(triple, key);
+        }
+        if (map.hasNodesMap()) {
+            Map<Node, Set<X>> nodesCache = map.getNodesMap();
+            indexableNodes(triple).forEach(n -> nodesCache.computeIfAbsent(n, x -> new HashSet<>()).add(key));
         }
         if (!map.hasObjectsList()) {
             return;
@@ -276,19 +420,19 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
             try {
                 if (x.isDefinitelyEmpty() || x.triples().count() == 0) {
                     objectsCache.remove(x.getObject());
+                    map.removeFromIndexes(x.getObject());
                 }
             } catch (JenaException e) {
                 // incomplete object
             }
         });
         if (map.hasTriplesMap()) {
-            Map<Triple, Set<X>> triplesCache = map.getTriplesMap();
-            Optional.ofNullable(triplesCache.get(triple)).ifPresent(set -> {
-                set.remove(key);
-                if (set.isEmpty()) {
-                    triplesCache.remove(triple);
-                }
-            });
+            map.getTriplesMap().remove(triple, key);
+        }
+        if (map.hasNodesMap()) {
+            ONTObject<X> rest = objectsCache.get(key);
+            indexableNodes(triple).filter(n -> !hasNode(rest, n))
+                    .forEach(n -> map.removeFromNodesMap(n, key));
         }
         if (!map.hasObjectsList()) {
             return;
@@ -310,14 +454,16 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
         if (!isLoaded()) return;
         CachedMap map = getMap();
         ONTObject<X> res = map.getObjectsMap().remove(key);
-        if (map.hasTriplesMap()) {
-            Map<Triple, Set<X>> triplesCache = map.getTriplesMap();
-            res.triples().forEach(t -> Optional.ofNullable(triplesCache.get(t)).ifPresent(set -> {
-                set.remove(res.getObject());
-                if (set.isEmpty()) {
-                    triplesCache.remove(t);
-                }
-            }));
+        if (res != null && map.hasIndexes()) {
+            map.removeFromIndexes(key);
+        }
+        if (res != null && map.hasTriplesMap()) {
+            TriplesIndex<X> triplesCache = map.getTriplesMap();
+            res.triples().forEach(t -> triplesCache.remove(t, key));
+        }
+        if (res != null && map.hasNodesMap()) {
+            res.triples().flatMap(CacheObjectTriplesMapImpl::indexableNodes).distinct()
+                    .forEach(n -> map.removeFromNodesMap(n, key));
         }
         if (!map.hasObjectsList()) {
             return;
@@ -332,6 +478,25 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
         }
     }
 
+    /**
+     * Answers {@code true} if the given object still has a triple with the specified node.
+     * In case of doubt (an object with broken structure) it answers {@code true}:
+     * an extra object in the node-to-objects index is allowed.
+     *
+     * @param object {@link ONTObject}, can be {@code null}
+     * @param node   {@link Node}
+     * @return boolean
+     */
+    private static boolean hasNode(ONTObject<?> object, Node node) {
+        if (object == null) return false;
+        try {
+            return object.triples().flatMap(CacheObjectTriplesMapImpl::indexableNodes).anyMatch(node::equals);
+        } catch (JenaException e) {
+            // incomplete object
+            return true;
+        }
+    }
+
     @Override
     public void clear() {
         map.asCache().clear();
@@ -339,19 +504,26 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
 
     /**
      * An internal object-collection
-     * that holds {@code Map} with {@link X OWLObject}-keys, a {@code Map} with {@link Triple}-keys
-     * and a {@code List} with {@link X OWLObject}s to conduct fast iterating;
-     * the last two implemented as {@link java.lang.ref.SoftReference} based caches.
+     * that holds {@code Map} with {@link X OWLObject}-keys, a {@link TriplesIndex} with {@link Triple}-keys
+     * and a {@code List} with {@link X OWLObject}s to conduct fast iterating,
+     * and also a {@code Map} with {@link Node}-keys to search objects by their triples' nodes;
+     * the last three implemented as {@link java.lang.ref.SoftReference} based caches.
+     * Also it holds reverse indexes (component-to-objects maps), which are built on demand
+     * and live as long as this container.
      */
     protected class CachedMap {
         protected final Map<X, ONTObject<X>> objectsMap;
         protected final InternalCache.Loading<CachedMap, List<X>> objectsListCache;
-        protected final InternalCache.Loading<CachedMap, Map<Triple, Set<X>>> triplesCache;
+        protected final InternalCache.Loading<CachedMap, TriplesIndex<X>> triplesCache;
+        protected final InternalCache.Loading<CachedMap, Map<Node, Set<X>>> nodesCache;
+        protected final Map<Function<? super X, ? extends Stream<? extends OWLObject>>, Map<OWLObject, Set<X>>> indexes;
 
         protected CachedMap(Map<X, ONTObject<X>> objects) {
             this.objectsMap = Objects.requireNonNull(objects);
             this.objectsListCache = InternalCache.createSoft(CachedMap::loadObjects, parallel);
             this.triplesCache = InternalCache.createSoft(CachedMap::loadTriples, parallel);
+            this.nodesCache = InternalCache.createSoft(CachedMap::loadNodes, parallel);
+            this.indexes = new ConcurrentHashMap<>();
         }
 
         protected long size() {
@@ -371,7 +543,7 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
             return !triplesCache.asCache().isEmpty();
         }
 
-        protected Map<Triple, Set<X>> getTriplesMap() {
+        protected TriplesIndex<X> getTriplesMap() {
             return triplesCache.get(this);
         }
 
@@ -379,11 +551,30 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
             return objectsListCache.get(this);
         }
 
-        protected Map<Triple, Set<X>> loadTriples() {
-            Map<Triple, Set<X>> res = new HashMap<>();
+        protected boolean hasNodesMap() {
+            return !nodesCache.asCache().isEmpty();
+        }
+
+        protected Map<Node, Set<X>> getNodesMap() {
+            return nodesCache.get(this);
+        }
+
+        protected void removeFromNodesMap(Node node, X key) {
+            Map<Node, Set<X>> nodesMap = getNodesMap();
+            Set<X> set = nodesMap.get(node);
+            if (set == null) return;
+            set.remove(key);
+            if (set.isEmpty()) {
+                nodesMap.remove(node);
+            }
+        }
+
+        protected TriplesIndex<X> loadTriples() {
+            TriplesIndex<X> res = TriplesIndex.create(compactTripleStore);
             for (ONTObject<X> v : objectsMap.values()) {
                 try {
-                    v.triples().forEach(t -> res.computeIfAbsent(t, x -> new HashSet<>()).add(v.getObject()));
+                    X x = v.getObject();
+                    v.triples().forEach(t -> res.add(t, x));
                 } catch (JenaException ex) {
                     // object has wrong state: it is being registered or unregistered
                     // ignore exception
@@ -392,6 +583,78 @@ public class CacheObjectTriplesMapImpl<X extends OWLObject> implements ObjectTri
             return res;
         }
 
+        protected Map<Node, Set<X>> loadNodes() {
+            Map<Node, Set<X>> res = new HashMap<>();
+            if (hasTriplesMap()) {
+                getTriplesMap().forEach((t, o) -> indexableNodes(t)
+                        .forEach(n -> res.computeIfAbsent(n, x -> new HashSet<>()).add(o)));
+                return res;
+            }
+            for (ONTObject<X> v : objectsMap.values()) {
+                try {
+                    v.triples().flatMap(CacheObjectTriplesMapImpl::indexableNodes)
+                            .forEach(n -> res.computeIfAbsent(n, x -> new HashSet<>()).add(v.getObject()));
+                } catch (JenaException ex) {
+                    // object has wrong state: it is being registered or unregistered
+                    // ignore exception
+                }
+            }
+            return res;
+        }
+
+        protected boolean hasIndexes() {
+            return !indexes.isEmpty();
+        }
+
+        /**
+         * Gets or builds the reverse index for the given {@code Function}.
+         *
+         * @param index {@code Function} to select searchable parts of {@link X}-objects
+         * @return {@code Map} with {@link OWLObject}-parts as keys and {@code Set}s of {@link X}-objects as values
+         */
+        protected Map<OWLObject, Set<X>> getIndex(Function<? super X, ? extends Stream<? extends OWLObject>> index) {
+            return indexes.computeIfAbsent(index, this::loadIndex);
+        }
+
+        protected Map<OWLObject, Set<X>> loadIndex(Function<? super X, ? extends Stream<? extends OWLObject>> index) {
+            Map<OWLObject, Set<X>> res = new HashMap<>();
+            objectsMap.keySet().forEach(x -> addToIndex(res, index, x));
+            return res;
+        }
+
+        /**
+         * Registers the given object in all loaded reverse indexes.
+         * Must be called under the write lock.
+         *
+         * @param key {@link X}
+         */
+        protected void addToIndexes(X key) {
+            indexes.forEach((index, map) -> addToIndex(map, index, key));
+        }
+
+        /**
+         * Unregisters the given object from all loaded reverse indexes.
+         * Must be called under the write lock.
+         *
+         * @param key {@link X}
+         */
+        protected void removeFromIndexes(X key) {
+            indexes.forEach((index, map) -> index.apply(key).forEach(part -> {
+                Set<X> set = map.get(part);
+                if (set == null) return;
+                set.remove(key);
+                if (set.isEmpty()) {
+                    map.remove(part);
+                }
+            }));
+        }
+
+        private void addToIndex(Map<OWLObject, Set<X>> map,
+                                Function<? super X, ? extends Stream<? extends OWLObject>> index,
+                                X key) {
+            index.apply(key).forEach(part -> map.computeIfAbsent(part, p -> new LinkedHashSet<>()).add(key));
+        }
+
         protected List<X> loadObjects() {
             if (!parallel) {
                 return new ArrayList<>(objectsMap.keySet());
@@ -0,0 +1,613 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+import ru.avicomp.ontapi.DataFactory;
+import ru.avicomp.ontapi.InterningDataFactory;
+import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.jena.impl.conf.OntPersonality;
+import ru.avicomp.ontapi.owlapi.OWL2DatatypeImpl;
+import ru.avicomp.ontapi.owlapi.OWLObjectImpl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A persistent snapshot of the {@link InternalModel} content cache:
+ * all axioms and header annotations together with their triples.
+ * It allows to skip reading axioms from the graph (which is a CPU-bound process) on the next start:
+ * the model is loaded as usual (e.g. from {@link ru.avicomp.ontapi.OntFormat#RDF_THRIFT RDF Thrift}),
+ * and then its content cache is restored from the snapshot file, which is memory-mapped while reading.
+ * <p>
+ * The snapshot is a compact binary file that contains the checksum of the base graph,
+ * the fingerprint of the reading context (i.e. the axioms settings of the {@link InternalConfig config},
+ * the {@link OntPersonality personality} vocabularies and the checksums of all imported graphs),
+ * the OWL objects as java-serialized objects and their triples, encoded via the dictionary of nodes.
+ * If the checksum or the fingerprint does not match the current model, the snapshot is ignored.
+ * Only the ONT-API OWL object implementation classes (and some basic JDK and OWL-API value types)
+ * are allowed to be deserialized, any other class makes the file broken.
+ * The restored objects are passed through the {@link InternalObjectFactory object factory} of the model,
+ * so the IRIs are taken from its cache and, in case of {@link InterningDataFactory}, the objects are interned.
+ * All lengths and counts are validated while reading, so a broken file cannot cause a huge allocation.
+ * Note: the checksum includes the labels of blank nodes,
+ * so the graph must be stored in a format that preserves them (such as RDF Thrift),
+ * otherwise the snapshot is never valid for graphs with blank nodes.
+ *
+ * @see InternalModel#setContent(Map, Collection)
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class ContentCacheFile {
+    private static final int MAGIC = 0x4F4E5443; // ONTC
+    private static final int VERSION = 2;
+    private static final String HEADER = "HEADER";
+    private static final byte URI = 1;
+    private static final byte BLANK = 2;
+    private static final byte LITERAL = 3;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Writes the content cache of the given model into the file.
+     * Note: if the model contains manually added axioms, its cache is reset first,
+     * so the snapshot always has the same form as if it were read from the graph.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param file  {@link Path}, not {@code null}
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(InternalModel model, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(model, out);
+        }
+    }
+
+    /**
+     * Writes the content cache of the given model into the stream.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param out   {@link OutputStream}, not {@code null}
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(InternalModel model, OutputStream out) throws IOException {
+        model.clearCacheIfNeeded();
+        Graph graph = model.getBaseGraph();
+        ObjectOutputStream res = new ObjectOutputStream(out);
+        res.writeInt(MAGIC);
+        res.writeInt(VERSION);
+        res.writeLong(graph.size());
+        res.writeLong(checksum(graph));
+        res.writeLong(fingerprint(model));
+        Map<Node, Integer> nodes = new HashMap<>();
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> axioms = model.getAxioms();
+        res.writeInt(axioms.size() + 1);
+        writeSection(res, HEADER, model.getHeader(), nodes);
+        for (Map.Entry<AxiomKey, ObjectTriplesMap<OWLAxiom>> e : axioms.entrySet()) {
+            writeSection(res, e.getKey().name(), e.getValue(), nodes);
+        }
+        res.flush();
+    }
+
+    /**
+     * Reads the snapshot from the file and restores the content cache of the given model.
+     * The file is memory-mapped, if it is possible.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param file  {@link Path}, not {@code null}
+     * @return {@code true} if the cache has been restored,
+     * {@code false} if the snapshot does not match the graph or the content cache is disabled
+     * @throws IOException if an I/O error occurs or the file is broken
+     */
+    public static boolean read(InternalModel model, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                try (InputStream in = new BufferedInputStream(Channels.newInputStream(channel))) {
+                    return read(model, in);
+                }
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return read(model, new BufferInputStream(buffer));
+        }
+    }
+
+    /**
+     * Reads the snapshot from the stream and restores the content cache of the given model.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param in    {@link InputStream}, not {@code null}
+     * @return {@code true} if the cache has been restored,
+     * {@code false} if the snapshot does not match the graph or the content cache is disabled
+     * @throws IOException if an I/O error occurs or the stream is broken
+     */
+    public static boolean read(InternalModel model, InputStream in) throws IOException {
+        OWLObjectInputStream res = new OWLObjectInputStream(in, model.getObjectFactory());
+        if (res.readInt() != MAGIC) {
+            throw new IOException("Not a content cache file");
+        }
+        if (res.readInt() != VERSION) {
+            return false;
+        }
+        Graph graph = model.getBaseGraph();
+        if (res.readLong() != graph.size() || res.readLong() != checksum(graph) || res.readLong() != fingerprint(model)) {
+            return false;
+        }
+        List<Node> nodes = new ArrayList<>();
+        Map<AxiomKey, List<ONTObject<OWLAxiom>>> axioms = new EnumMap<>(AxiomKey.class);
+        List<ONTObject<OWLAnnotation>> header = null;
+        int sections = readCount(res, 1);
+        try {
+            for (int i = 0; i < sections; i++) {
+                String name = res.readUTF();
+                if (HEADER.equals(name)) {
+                    header = readSection(res, OWLAnnotation.class, nodes);
+                } else {
+                    axioms.put(AxiomKey.valueOf(name), readSection(res, OWLAxiom.class, nodes));
+                }
+            }
+        } catch (ClassNotFoundException | ClassCastException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Broken content cache file", e);
+        }
+        return model.setContent(axioms, header);
+    }
+
+    /**
+     * Calculates the order-independent checksum of the graph.
+     * It is based on the string representation of nodes, so it does not depend on the JVM.
+     *
+     * @param graph {@link Graph}
+     * @return long
+     */
+    public static long checksum(Graph graph) {
+        long res = 0;
+        ExtendedIterator<Triple> it = graph.find();
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                long h = hash(hash(hash(1125899906842597L, t.getSubject()), t.getPredicate()), t.getObject());
+                // a triple is unique in a graph, so the sum of mixed hashes does not depend on the order:
+                res += mix(h);
+            }
+        } finally {
+            it.close();
+        }
+        return res;
+    }
+
+    /**
+     * Calculates the fingerprint of the context in which the content of the given model is read:
+     * the settings that affect the axioms reading, the personality and the imports closure.
+     * The personality is described by its built-in, punnings and reserved vocabularies
+     * and the list of its supported types, the factories themselves are not taken into account.
+     *
+     * @param model {@link InternalModel}
+     * @return long
+     */
+    public static long fingerprint(InternalModel model) {
+        InternalConfig conf = model.getSnapshotConfig();
+        long res = hash(1125899906842597L, Arrays.asList(conf.isLoadAnnotationAxioms(),
+                conf.isAllowBulkAnnotationAssertions(),
+                conf.isIgnoreAnnotationAxiomOverlaps(),
+                conf.isAllowReadDeclarations(),
+                conf.isSplitAxiomAnnotations(),
+                conf.isIgnoreAxiomsReadErrors()).toString());
+        res = 31 * res + personality(model.getOntPersonality());
+        Graph base = model.getBaseGraph();
+        UnionGraph union = model.getGraph();
+        long imports = 0;
+        ExtendedIterator<Graph> it = union.listBaseGraphs();
+        try {
+            while (it.hasNext()) {
+                Graph g = it.next();
+                if (g == base) continue;
+                // the order of imports does not matter:
+                imports += mix(31 * checksum(g) + g.size());
+            }
+        } finally {
+            it.close();
+        }
+        return mix(31 * res + imports);
+    }
+
+    private static long personality(OntPersonality personality) {
+        long res = hash(17, personality.types().map(Class::getName).sorted().collect(Collectors.joining(",")));
+        OntPersonality.Builtins builtins = personality.getBuiltins();
+        res = 31 * res + nodes(builtins.getClasses(), builtins.getDatatypes(), builtins.getObjectProperties(),
+                builtins.getDatatypeProperties(), builtins.getAnnotationProperties(), builtins.getIndividuals());
+        OntPersonality.Punnings punnings = personality.getPunnings();
+        res = 31 * res + nodes(punnings.getClasses(), punnings.getDatatypes(), punnings.getObjectProperties(),
+                punnings.getDatatypeProperties(), punnings.getAnnotationProperties(), punnings.getIndividuals());
+        OntPersonality.Reserved reserved = personality.getReserved();
+        res = 31 * res + nodes(reserved.getResources());
+        res = 31 * res + nodes(reserved.getProperties());
+        return res;
+    }
+
+    @SafeVarargs
+    private static long nodes(Set<Node>... sets) {
+        long res = 0;
+        for (Set<Node> nodes : sets) {
+            long h = nodes.size();
+            for (Node n : nodes) {
+                // the order of nodes does not matter:
+                h += mix(hash(1, n));
+            }
+            res = 31 * res + h;
+        }
+        return res;
+    }
+
+    private static long hash(long h, Node node) {
+        if (node.isURI()) {
+            h = hash(h, node.getURI());
+        } else if (node.isBlank()) {
+            h = hash(h, node.getBlankNodeLabel());
+        } else if (node.isLiteral()) {
+            h = hash(hash(hash(h, node.getLiteralLexicalForm()), node.getLiteralLanguage()),
+                    node.getLiteralDatatypeURI());
+        } else {
+            h = hash(h, node.toString());
+        }
+        return 31 * h + 1;
+    }
+
+    private static long hash(long h, String s) {
+        if (s == null) return 31 * h;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static <O extends OWLObject> void writeSection(ObjectOutputStream out,
+                                                           String name,
+                                                           ObjectTriplesMap<O> map,
+                                                           Map<Node, Integer> nodes) throws IOException {
+        List<O> objects = map.objects().collect(Collectors.toList());
+        out.writeUTF(name);
+        out.writeInt(objects.size());
+        for (O o : objects) {
+            out.writeObject(o);
+            Set<Triple> triples = map.triples(o).collect(Collectors.toSet());
+            out.writeInt(triples.size());
+            for (Triple t : triples) {
+                writeNode(out, t.getSubject(), nodes);
+                writeNode(out, t.getPredicate(), nodes);
+                writeNode(out, t.getObject(), nodes);
+            }
+        }
+    }
+
+    private static <O extends OWLObject> List<ONTObject<O>> readSection(OWLObjectInputStream in,
+                                                                        Class<O> type,
+                                                                        List<Node> nodes)
+            throws IOException, ClassNotFoundException {
+        // an object takes at least 5 bytes: the object itself (a back reference) and the triples count
+        int count = readCount(in, 5);
+        List<ONTObject<O>> res = new ArrayList<>(Math.min(count, CHUNK_SIZE));
+        for (int i = 0; i < count; i++) {
+            O o = type.cast(in.readObject());
+            // a triple takes at least 12 bytes: three node indexes
+            int size = readCount(in, 12);
+            List<Triple> triples = new ArrayList<>(Math.min(size, CHUNK_SIZE));
+            for (int j = 0; j < size; j++) {
+                triples.add(Triple.create(readNode(in, nodes), readNode(in, nodes), readNode(in, nodes)));
+            }
+            res.add(ONTObject.create(o).append(triples::stream));
+        }
+        return res;
+    }
+
+    /**
+     * Writes the node as the index in the dictionary,
+     * a new node is written in full, right after the {@code -1} marker.
+     *
+     * @param out   {@link DataOutput}
+     * @param node  {@link Node}
+     * @param nodes the dictionary
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeNode(DataOutput out, Node node, Map<Node, Integer> nodes) throws IOException {
+        Integer index = nodes.get(node);
+        if (index != null) {
+            out.writeInt(index);
+            return;
+        }
+        nodes.put(node, nodes.size());
+        out.writeInt(-1);
+        if (node.isURI()) {
+            out.writeByte(URI);
+            writeString(out, node.getURI());
+        } else if (node.isBlank()) {
+            out.writeByte(BLANK);
+            writeString(out, node.getBlankNodeLabel());
+        } else if (node.isLiteral()) {
+            out.writeByte(LITERAL);
+            writeString(out, node.getLiteralLexicalForm());
+            writeString(out, node.getLiteralLanguage());
+            writeString(out, node.getLiteralDatatypeURI());
+        } else {
+            throw new IOException("Unexpected node: " + node);
+        }
+    }
+
+    private static Node readNode(OWLObjectInputStream in, List<Node> nodes) throws IOException {
+        int index = in.readInt();
+        if (index >= 0) {
+            if (index >= nodes.size()) {
+                throw new IOException("Broken content cache file: unknown node #" + index);
+            }
+            return nodes.get(index);
+        }
+        Node res;
+        byte kind = in.readByte();
+        switch (kind) {
+            case URI:
+                res = NodeFactory.createURI(readString(in));
+                break;
+            case BLANK:
+                res = NodeFactory.createBlankNode(readString(in));
+                break;
+            case LITERAL:
+                String lex = readString(in);
+                String lang = readString(in);
+                String dt = readString(in);
+                res = lang.isEmpty() ?
+                        NodeFactory.createLiteral(lex, TypeMapper.getInstance().getSafeTypeByName(dt)) :
+                        NodeFactory.createLiteral(lex, lang);
+                break;
+            default:
+                throw new IOException("Unexpected node kind: " + kind);
+        }
+        nodes.add(res);
+        return res;
+    }
+
+    private static void writeString(DataOutput out, String s) throws IOException {
+        // DataOutput#writeUTF is limited to 64K, that is not enough for literals
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string, which is written as a length-prefixed UTF-8 byte array.
+     * The length is checked against the number of bytes remaining in the stream (if it is known),
+     * and the array grows gradually while reading, so a wrong length leads to an {@link EOFException}
+     * rather than to the allocation of a huge array.
+     *
+     * @param in {@link OWLObjectInputStream}
+     * @return String
+     * @throws IOException if an I/O error occurs or the stream is broken
+     */
+    private static String readString(OWLObjectInputStream in) throws IOException {
+        int length = readCount(in, 1);
+        byte[] res = new byte[Math.min(length, CHUNK_SIZE)];
+        int offset = 0;
+        while (true) {
+            in.readFully(res, offset, res.length - offset);
+            if ((offset = res.length) == length) {
+                return new String(res, StandardCharsets.UTF_8);
+            }
+            res = Arrays.copyOf(res, (int) Math.min(length, 2L * offset));
+        }
+    }
+
+    /**
+     * Reads a non-negative count (or a length) of items
+     * and checks that the rest of the stream is able to hold so many items.
+     *
+     * @param in      {@link OWLObjectInputStream}
+     * @param minSize the minimum number of bytes that every item takes in the stream
+     * @return int
+     * @throws IOException if an I/O error occurs or the count is wrong
+     */
+    private static int readCount(OWLObjectInputStream in, int minSize) throws IOException {
+        int res = in.readInt();
+        if (res < 0 || (long) res * minSize > in.remaining()) {
+            throw new IOException("Broken content cache file: wrong count " + res);
+        }
+        return res;
+    }
+
+    /**
+     * An {@code ObjectInputStream} that resolves only the ONT-API OWL object implementation classes
+     * (i.e. the subclasses of {@link OWLObjectImpl} and their serialized forms)
+     * and some basic JDK and OWL-API value types,
+     * so that a broken or forged file cannot make arbitrary objects be instantiated.
+     * Each restored object is passed through the given {@link InternalObjectFactory}:
+     * the IRIs are replaced with the cached ones and the other objects are interned,
+     * if the factory is backed by the {@link InterningDataFactory}.
+     */
+    protected static class OWLObjectInputStream extends ObjectInputStream {
+        private static final String OWLAPI_IMPL_PACKAGE = OWLObjectImpl.class.getPackage().getName() + ".";
+        private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(String.class.getName(),
+                Enum.class.getName(),
+                Number.class.getName(),
+                Boolean.class.getName(),
+                Integer.class.getName(),
+                Long.class.getName(),
+                Double.class.getName(),
+                Float.class.getName(),
+                ArrayList.class.getName(),
+                LinkedList.class.getName(),
+                HashSet.class.getName(),
+                LinkedHashSet.class.getName(),
+                TreeSet.class.getName(),
+                HashMap.class.getName(),
+                LinkedHashMap.class.getName(),
+                TreeMap.class.getName(),
+                "java.util.Arrays$ArrayList",
+                "java.util.Collections$EmptyList",
+                "java.util.Collections$EmptySet",
+                "java.util.Collections$SingletonList",
+                "java.util.Collections$SingletonSet",
+                "java.util.Collections$UnmodifiableCollection",
+                "java.util.Collections$UnmodifiableList",
+                "java.util.Collections$UnmodifiableRandomAccessList",
+                "java.util.Collections$UnmodifiableSet",
+                "java.util.Collections$UnmodifiableSortedSet",
+                "java.util.Collections$UnmodifiableMap",
+                IRI.class.getName(),
+                OWLFacet.class.getName(),
+                OWL2Datatype.class.getName(),
+                OWL2DatatypeImpl.class.getName(),
+                OWLAPI_IMPL_PACKAGE + "objects.OWLLiteralImpl$SerializedForm",
+                OWLAPI_IMPL_PACKAGE + "objects.OWLAnonymousIndividualImpl$SerializedForm"));
+
+        private final InputStream source;
+        private final InternalObjectFactory factory;
+        private final InterningDataFactory interning;
+
+        protected OWLObjectInputStream(InputStream in, InternalObjectFactory factory) throws IOException {
+            super(in);
+            this.source = in;
+            this.factory = Objects.requireNonNull(factory);
+            DataFactory df = factory.getOWLDataFactory();
+            this.interning = df instanceof InterningDataFactory ? (InterningDataFactory) df : null;
+            enableResolveObject(true);
+        }
+
+        /**
+         * Returns the upper bound of the number of bytes remaining in the stream.
+         *
+         * @return long, {@code Long.MAX_VALUE} if the size of the underlying stream is unknown
+         * @throws IOException if an I/O error occurs
+         */
+        protected long remaining() throws IOException {
+            if (!(source instanceof BufferInputStream)) {
+                return Long.MAX_VALUE;
+            }
+            // the bytes of the current data block + one peeked byte + the bytes that are not read yet
+            return available() + 1L + source.available();
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (!isAllowed(name)) {
+                throw new InvalidClassException(name, "Not allowed in the content cache file");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed in the content cache file");
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            // the components are resolved before the objects that contain them,
+            // so the whole structure consists of the shared instances
+            if (obj instanceof IRI) {
+                return factory.toIRI(((IRI) obj).getIRIString());
+            }
+            if (interning != null && obj instanceof OWLObject) {
+                return interning.share((OWLObject) obj);
+            }
+            return obj;
+        }
+
+        /**
+         * Answers {@code true} if the class (or an array of such classes) is allowed to be deserialized.
+         * Note: the class is loaded without initialization to check it is an OWL object implementation.
+         *
+         * @param name the binary class name, not {@code null}
+         * @return boolean
+         */
+        protected static boolean isAllowed(String name) {
+            if (name.startsWith("[")) {
+                // an array: [[Lx.y.Z; or [I
+                String component = name.replaceFirst("^\\[+", "");
+                if (component.length() == 1) {
+                    return true;
+                }
+                name = component.substring(1, component.length() - 1);
+            }
+            if (ALLOWED_CLASSES.contains(name)) {
+                return true;
+            }
+            if (!name.startsWith(OWLAPI_IMPL_PACKAGE)) {
+                return false;
+            }
+            try {
+                return OWLObjectImpl.class.isAssignableFrom(Class.forName(name, false,
+                        OWLObjectImpl.class.getClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * An {@code InputStream} over the {@link ByteBuffer}.
+     */
+    protected static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        protected BufferInputStream(ByteBuffer buffer) {
+            this.buffer = Objects.requireNonNull(buffer);
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int res = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, res);
+            return res;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
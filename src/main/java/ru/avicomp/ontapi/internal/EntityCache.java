@@ -0,0 +1,110 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+package ru.avicomp.ontapi.internal;
+
+import org.semanticweb.owlapi.model.*;
+import ru.avicomp.ontapi.DataFactory;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A concurrent size-bounded cache of {@link OWLEntity OWL Entities},
+ * that is intended to be shared between all ontologies of a manager.
+ * When many ontologies refer the same entities (e.g. they import a common upper ontology),
+ * each entity is created only once, instead of creating and caching it in every model separately.
+ * The entities are keyed by the IRI {@code String}s,
+ * there is a separated bounded cache for each of the six entity types,
+ * all of them record {@link InternalCache.Stats statistics}.
+ *
+ * @see CacheObjectFactory
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class EntityCache {
+    protected final DataFactory factory;
+    protected final Function<String, IRI> iris;
+    protected final InternalCache<String, OWLClass> classes;
+    protected final InternalCache<String, OWLDatatype> datatypes;
+    protected final InternalCache<String, OWLAnnotationProperty> annotationProperties;
+    protected final InternalCache<String, OWLDataProperty> dataProperties;
+    protected final InternalCache<String, OWLObjectProperty> objectProperties;
+    protected final InternalCache<String, OWLNamedIndividual> individuals;
+
+    /**
+     * Creates a cache instance.
+     *
+     * @param factory {@link DataFactory} to produce entities, not {@code null}
+     * @param iris    {@link Function} to get {@link IRI} from {@code String}, not {@code null}
+     * @param size    long, the maximum number of entities of each type, positive
+     */
+    public EntityCache(DataFactory factory, Function<String, IRI> iris, long size) {
+        this.factory = Objects.requireNonNull(factory);
+        this.iris = Objects.requireNonNull(iris);
+        if (size <= 0) throw new IllegalArgumentException("Wrong size: " + size);
+        this.classes = InternalCache.createBoundedWithStats(size);
+        this.datatypes = InternalCache.createBoundedWithStats(size);
+        this.annotationProperties = InternalCache.createBoundedWithStats(size);
+        this.dataProperties = InternalCache.createBoundedWithStats(size);
+        this.objectProperties = InternalCache.createBoundedWithStats(size);
+        this.individuals = InternalCache.createBoundedWithStats(size);
+    }
+
+    public OWLClass getOWLClass(String uri) {
+        return classes.get(uri, x -> factory.getOWLClass(iris.apply(x)));
+    }
+
+    public OWLDatatype getOWLDatatype(String uri) {
+        return datatypes.get(uri, x -> factory.getOWLDatatype(iris.apply(x)));
+    }
+
+    public OWLAnnotationProperty getOWLAnnotationProperty(String uri) {
+        return annotationProperties.get(uri, x -> factory.getOWLAnnotationProperty(iris.apply(x)));
+    }
+
+    public OWLDataProperty getOWLDataProperty(String uri) {
+        return dataProperties.get(uri, x -> factory.getOWLDataProperty(iris.apply(x)));
+    }
+
+    public OWLObjectProperty getOWLObjectProperty(String uri) {
+        return objectProperties.get(uri, x -> factory.getOWLObjectProperty(iris.apply(x)));
+    }
+
+    public OWLNamedIndividual getOWLNamedIndividual(String uri) {
+        return individuals.get(uri, x -> factory.getOWLNamedIndividual(iris.apply(x)));
+    }
+
+    /**
+     * Discards all cached entities.
+     */
+    public void clear() {
+        caches().forEach(InternalCache::clear);
+    }
+
+    /**
+     * Returns the summary statistics of all entity caches.
+     *
+     * @return {@link InternalCache.Stats}
+     */
+    public InternalCache.Stats getStats() {
+        return caches().map(c -> c.stats().orElseThrow(IllegalStateException::new))
+                .reduce(InternalCache.Stats::plus)
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    protected Stream<InternalCache<String, ? extends OWLEntity>> caches() {
+        return Stream.of(classes, datatypes, annotationProperties, dataProperties, objectProperties, individuals);
+    }
+}
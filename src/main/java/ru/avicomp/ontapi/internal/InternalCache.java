@@ -17,11 +17,16 @@ package ru.avicomp.ontapi.internal;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 
 import java.lang.ref.SoftReference;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -68,6 +73,18 @@ public interface InternalCache<K, V> {
      */
     V get(K key);
 
+    /**
+     * Returns the value associated with the {@code key} in this cache, or {@code null} if there is no
+     * cached value for the {@code key}, without recording any statistics.
+     *
+     * @param key {@link K} the key whose associated value is to be returned
+     * @return {@link V} or {@code null}
+     * @since 1.4.1
+     */
+    default V peek(K key) {
+        return get(key);
+    }
+
     /**
      * Discards any cached value for the {@code key}.
      *
@@ -110,6 +127,17 @@ public interface InternalCache<K, V> {
         return res;
     }
 
+    /**
+     * Returns the statistics of this cache, if it is recorded.
+     * A cache records statistics only if it has been created with a {@link Counter}.
+     *
+     * @return {@link Optional} of {@link Stats}
+     * @since 1.4.1
+     */
+    default Optional<Stats> stats() {
+        return Optional.empty();
+    }
+
     /**
      * Represents this cache as {@link Loading Loading Cache}.
      *
@@ -190,15 +218,42 @@ public interface InternalCache<K, V> {
      * @return {@link InternalCache}
      */
     static <K, V> InternalCache<K, V> createBounded(boolean caffeine, long size) {
+        return createBounded(caffeine, size, null);
+    }
+
+    /**
+     * Creates a bounded LRU cache,
+     * that wraps either {@link Cache Caffeine} or simple {@link LinkedHashMap} based cache,
+     * and records its statistics into the given {@link Counter}.
+     *
+     * @param caffeine boolean factor, if {@code true} a caffeine cache will be created,
+     *                 otherwise - a LHM based cache
+     * @param size     int the maximum size of the cache
+     * @param counter  {@link Counter} to record statistics, can be {@code null}
+     * @param <K>      the type of keys maintained by the return cache
+     * @param <V>      the type of mapped values
+     * @return {@link InternalCache}
+     * @since 1.4.1
+     */
+    static <K, V> InternalCache<K, V> createBounded(boolean caffeine, long size, Counter counter) {
         if (caffeine) {
-            return new CaffeineWrapper<>(Caffeine.newBuilder().maximumSize(size).build());
+            return new CaffeineWrapper<>(withStats(Caffeine.newBuilder().maximumSize(size), counter, false).build(),
+                    counter);
         }
-        return new MapWrapper<>(new LinkedHashMap<K, V>((int) size, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-                return size() > size;
-            }
-        });
+        return new MapWrapper<>(createLRUMap(size, counter), counter);
+    }
+
+    /**
+     * Creates a bounded concurrent {@link Cache Caffeine} based cache, which records {@link Stats statistics}.
+     *
+     * @param size long the maximum size of the cache
+     * @param <K>  the type of keys maintained by the return cache
+     * @param <V>  the type of mapped values
+     * @return {@link InternalCache}
+     * @since 1.4.1
+     */
+    static <K, V> InternalCache<K, V> createBoundedWithStats(long size) {
+        return createBounded(true, size, new Counter());
     }
 
     /**
@@ -216,14 +271,32 @@ public interface InternalCache<K, V> {
     static <K, V> Loading<K, V> createBounded(Function<? super K, ? extends V> loader,
                                               boolean caffeine,
                                               long size) {
+        return createBounded(loader, caffeine, size, null);
+    }
+
+    /**
+     * Creates a bounded LRU loading cache,
+     * that wraps either {@link Cache Caffeine} or simple {@link LinkedHashMap} based cache,
+     * and records its statistics into the given {@link Counter}.
+     *
+     * @param loader   a {@link Function}-loaded to obtain a value if it absence in the cache
+     * @param caffeine boolean factor, if {@code true} a caffeine cache will be created,
+     *                 otherwise - a LHM based cache
+     * @param size     int the maximum size of the cache
+     * @param counter  {@link Counter} to record statistics, can be {@code null}
+     * @param <K>      the type of keys maintained by the return cache
+     * @param <V>      the type of mapped values
+     * @return {@link Loading}
+     * @since 1.4.1
+     */
+    static <K, V> Loading<K, V> createBounded(Function<? super K, ? extends V> loader,
+                                              boolean caffeine,
+                                              long size,
+                                              Counter counter) {
         InternalCache<K, V> res = caffeine ?
-                new CaffeineWrapper<>(Caffeine.newBuilder().maximumSize(size).build(loader::apply), loader) :
-                new MapWrapper<>(new LinkedHashMap<K, V>((int) size, 0.75f, true) {
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-                        return size() > size;
-                    }
-                });
+                new CaffeineWrapper<>(withStats(Caffeine.newBuilder().maximumSize(size), counter, false)
+                        .build(loader::apply), loader, counter) :
+                new MapWrapper<>(createLRUMap(size, counter), counter);
         return res.asLoading(loader);
     }
 
@@ -238,10 +311,29 @@ public interface InternalCache<K, V> {
      * @return {@link InternalCache}
      */
     static <K, V> InternalCache<K, V> createSoft(boolean caffeine) {
+        return createSoft(caffeine, null);
+    }
+
+    /**
+     * Creates an unbounded LRU cache with soft reference values,
+     * that wraps either {@link Cache Caffeine} or simple {@link LinkedHashMap} based cache,
+     * and records its statistics into the given {@link Counter}.
+     * The values that have been collected by GC are counted as {@link Stats#softClearCount() soft clears}.
+     *
+     * @param caffeine boolean factor, if {@code true} a caffeine cache will be created,
+     *                 otherwise - a LHM based cache
+     * @param counter  {@link Counter} to record statistics, can be {@code null}
+     * @param <K>      the type of keys maintained by the return cache
+     * @param <V>      the type of mapped values
+     * @return {@link InternalCache}
+     * @since 1.4.1
+     */
+    static <K, V> InternalCache<K, V> createSoft(boolean caffeine, Counter counter) {
         if (caffeine) {
-            return new CaffeineWrapper<>(Caffeine.newBuilder().softValues().build());
+            return new CaffeineWrapper<>(withStats(Caffeine.newBuilder().softValues(), counter, true).build(),
+                    counter);
         }
-        return new SoftMapWrapper<>(new LinkedHashMap<>(128, 0.75f, true));
+        return new SoftMapWrapper<>(new LinkedHashMap<>(128, 0.75f, true), counter);
     }
 
     /**
@@ -257,12 +349,75 @@ public interface InternalCache<K, V> {
      */
     static <K, V> Loading<K, V> createSoft(Function<? super K, ? extends V> loader,
                                            boolean caffeine) {
+        return createSoft(loader, caffeine, null);
+    }
+
+    /**
+     * Creates an unbounded LRU loading cache with soft reference values,
+     * that wraps either {@link Cache Caffeine} or simple {@link LinkedHashMap} based cache,
+     * and records its statistics into the given {@link Counter}.
+     *
+     * @param loader   a {@link Function}-loaded to obtain a value if it absence in the cache
+     * @param caffeine boolean factor, if {@code true} a caffeine cache will be created,
+     *                 otherwise - a LHM based cache
+     * @param counter  {@link Counter} to record statistics, can be {@code null}
+     * @param <K>      the type of keys maintained by the return cache
+     * @param <V>      the type of mapped values
+     * @return {@link Loading}
+     * @since 1.4.1
+     */
+    static <K, V> Loading<K, V> createSoft(Function<? super K, ? extends V> loader,
+                                           boolean caffeine,
+                                           Counter counter) {
         InternalCache<K, V> res = caffeine ?
-                new CaffeineWrapper<>(Caffeine.newBuilder().softValues().build(loader::apply), loader) :
-                new SoftMapWrapper<>(new LinkedHashMap<>(128, 0.75f, true));
+                new CaffeineWrapper<>(withStats(Caffeine.newBuilder().softValues(), counter, true)
+                        .build(loader::apply), loader, counter) :
+                new SoftMapWrapper<>(new LinkedHashMap<>(128, 0.75f, true), counter);
         return res.asLoading(loader);
     }
 
+    /**
+     * Creates a LRU {@link LinkedHashMap} that does not exceed the given size.
+     *
+     * @param size    long, the maximum size of the map
+     * @param counter {@link Counter} to record evictions, can be {@code null}
+     * @param <K>     the type of keys
+     * @param <V>     the type of values
+     * @return {@link LinkedHashMap}
+     */
+    static <K, V> Map<K, V> createLRUMap(long size, Counter counter) {
+        return new LinkedHashMap<K, V>((int) size, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= size) {
+                    return false;
+                }
+                if (counter != null) {
+                    counter.recordEviction();
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Turns on the statistics recording for the given {@link Caffeine} builder,
+     * if the {@code counter} is specified.
+     *
+     * @param builder {@link Caffeine}
+     * @param counter {@link Counter}, can be {@code null}
+     * @param soft    if {@code true} the caffeine evictions are recorded as GC-clears
+     * @param <K>     the type of keys
+     * @param <V>     the type of values
+     * @return the same {@link Caffeine} builder
+     */
+    static <K, V> Caffeine<K, V> withStats(Caffeine<K, V> builder, Counter counter, boolean soft) {
+        if (counter == null) {
+            return builder;
+        }
+        return builder.recordStats(() -> new CaffeineStatsCounter(counter, soft));
+    }
+
     /**
      * Loading cache.
      * Values are automatically loaded by the cache,
@@ -291,6 +446,245 @@ public interface InternalCache<K, V> {
         InternalCache<K, V> asCache();
     }
 
+    /**
+     * An immutable snapshot of a cache statistics.
+     *
+     * @since 1.4.1
+     */
+    class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long softClears;
+        private final long loads;
+        private final long loadTime;
+        private final long size;
+
+        public Stats(long hits, long misses, long evictions, long size) {
+            this(hits, misses, evictions, 0, 0, 0, size);
+        }
+
+        public Stats(long hits, long misses, long evictions, long softClears, long loads, long loadTime, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.softClears = softClears;
+            this.loads = loads;
+            this.loadTime = loadTime;
+            this.size = size;
+        }
+
+        /**
+         * Returns the number of times the cache lookup methods have returned a cached value.
+         *
+         * @return long
+         */
+        public long hitCount() {
+            return hits;
+        }
+
+        /**
+         * Returns the number of times the cache lookup methods have returned an uncached value.
+         *
+         * @return long
+         */
+        public long missCount() {
+            return misses;
+        }
+
+        /**
+         * Returns the number of entries that have been evicted due to the size limit.
+         *
+         * @return long
+         */
+        public long evictionCount() {
+            return evictions;
+        }
+
+        /**
+         * Returns the number of soft-referenced values that have been collected by GC.
+         *
+         * @return long
+         */
+        public long softClearCount() {
+            return softClears;
+        }
+
+        /**
+         * Returns the number of times the cache has computed a new value.
+         *
+         * @return long
+         */
+        public long loadCount() {
+            return loads;
+        }
+
+        /**
+         * Returns the total number of nanoseconds the cache has spent computing new values.
+         *
+         * @return long
+         */
+        public long totalLoadTime() {
+            return loadTime;
+        }
+
+        /**
+         * Returns the approximate number of entries in the cache.
+         *
+         * @return long
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Returns the ratio of requests that were hits, or {@code 1.0} if there were no requests.
+         *
+         * @return double
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 1.0 : (double) hits / total;
+        }
+
+        /**
+         * Sums this statistics with the given one.
+         *
+         * @param other {@link Stats}, not {@code null}
+         * @return a new {@link Stats}
+         */
+        public Stats plus(Stats other) {
+            return new Stats(hits + other.hits, misses + other.misses, evictions + other.evictions,
+                    softClears + other.softClears, loads + other.loads, loadTime + other.loadTime,
+                    size + other.size);
+        }
+
+        /**
+         * Represents this statistics as a flat {@code Map} with the metric names as keys.
+         * This is a bridge to any external metrics registry (e.g. JMX or Micrometer),
+         * which allows do not depend on it directly.
+         *
+         * @return an unmodifiable {@code Map} with {@code String} keys and {@code Number} values
+         */
+        public Map<String, Number> asMap() {
+            Map<String, Number> res = new LinkedHashMap<>();
+            res.put("hits", hits);
+            res.put("misses", misses);
+            res.put("hitRate", hitRate());
+            res.put("evictions", evictions);
+            res.put("softClears", softClears);
+            res.put("loads", loads);
+            res.put("loadTime", loadTime);
+            res.put("size", size);
+            return Collections.unmodifiableMap(res);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{hits=%d, misses=%d, evictions=%d, softClears=%d, loads=%d, loadTime=%d, size=%d}",
+                    hits, misses, evictions, softClears, loads, loadTime, size);
+        }
+    }
+
+    /**
+     * A thread-safe accumulator of a cache statistics.
+     * The same instance can be shared between several caches,
+     * e.g. to sum the statistics of caches that are recreated from time to time.
+     *
+     * @since 1.4.1
+     */
+    class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder softClears = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
+
+        public void recordHits(int count) {
+            hits.add(count);
+        }
+
+        public void recordMisses(int count) {
+            misses.add(count);
+        }
+
+        public void recordEviction() {
+            evictions.increment();
+        }
+
+        public void recordSoftClear() {
+            softClears.increment();
+        }
+
+        public void recordLoad(long nanos) {
+            loads.increment();
+            loadTime.add(nanos);
+        }
+
+        /**
+         * Takes a snapshot of the current statistics.
+         *
+         * @param size long, the current size of the cache(s)
+         * @return {@link Stats}
+         */
+        public Stats snapshot(long size) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), softClears.sum(),
+                    loads.sum(), loadTime.sum(), size);
+        }
+    }
+
+    /**
+     * A {@link StatsCounter Caffeine stats counter} that delegates to the {@link Counter}.
+     */
+    class CaffeineStatsCounter implements StatsCounter {
+        private final Counter counter;
+        private final boolean soft;
+
+        protected CaffeineStatsCounter(Counter counter, boolean soft) {
+            this.counter = Objects.requireNonNull(counter);
+            this.soft = soft;
+        }
+
+        @Override
+        public void recordHits(int count) {
+            counter.recordHits(count);
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            counter.recordMisses(count);
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            counter.recordLoad(loadTime);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            counter.recordLoad(loadTime);
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void recordEviction() {
+            // an unbounded soft cache can lose its values only due to GC
+            if (soft) {
+                counter.recordSoftClear();
+            } else {
+                counter.recordEviction();
+            }
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            Stats res = counter.snapshot(0);
+            return new CacheStats(res.hitCount(), res.missCount(), res.loadCount(), 0, res.totalLoadTime(),
+                    soft ? res.softClearCount() : res.evictionCount(), 0);
+        }
+    }
+
     /**
      * A {@code InternalCache} implementation that wraps a {@code Map} with {@link SoftReference} values.
      * It is partially synchronized: only read operations are not thread safe.
@@ -301,9 +695,15 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class SoftMapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, SoftReference<V>> map;
+        protected final Counter counter;
 
         protected SoftMapWrapper(Map<K, SoftReference<V>> map) {
+            this(map, null);
+        }
+
+        protected SoftMapWrapper(Map<K, SoftReference<V>> map, Counter counter) {
             this.map = Objects.requireNonNull(map);
+            this.counter = counter;
         }
 
         @Override
@@ -315,8 +715,39 @@ public interface InternalCache<K, V> {
 
         @Override
         public V get(K key) {
-            SoftReference<V> res = map.get(key);
-            return res == null ? null : res.get();
+            V res = find(key, counter != null);
+            if (counter != null) {
+                if (res == null) {
+                    counter.recordMisses(1);
+                } else {
+                    counter.recordHits(1);
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Finds the value by the key without recording hits and misses.
+         *
+         * @param key    {@link K}
+         * @param record if {@code true} the found but already collected reference is counted as a GC-clear
+         * @return {@link V} or {@code null}
+         */
+        protected V find(K key, boolean record) {
+            SoftReference<V> ref = map.get(key);
+            if (ref == null) {
+                return null;
+            }
+            V res = ref.get();
+            if (res == null && record) {
+                counter.recordSoftClear();
+            }
+            return res;
+        }
+
+        @Override
+        public V peek(K key) {
+            return find(key, false);
         }
 
         @Override
@@ -339,7 +770,7 @@ public interface InternalCache<K, V> {
             synchronized (map) {
                 if (map.isEmpty()) return true;
                 for (K k : map.keySet()) {
-                    if (get(k) != null) return false;
+                    if (find(k, false) != null) return false;
                 }
                 return true;
             }
@@ -349,19 +780,37 @@ public interface InternalCache<K, V> {
         public V get(K key, Function<? super K, ? extends V> mappingFunction) {
             Objects.requireNonNull(mappingFunction);
             V res;
-            if ((res = get(key)) != null) {
+            if ((res = find(key, false)) != null) {
+                if (counter != null) counter.recordHits(1);
                 return res;
             }
             synchronized (map) {
-                if ((res = get(key)) != null) {
+                if ((res = find(key, counter != null)) != null) {
+                    if (counter != null) counter.recordHits(1);
                     return res;
                 }
-                if ((res = mappingFunction.apply(key)) != null) {
+                if (counter == null) {
+                    res = mappingFunction.apply(key);
+                } else {
+                    counter.recordMisses(1);
+                    long start = System.nanoTime();
+                    res = mappingFunction.apply(key);
+                    counter.recordLoad(System.nanoTime() - start);
+                }
+                if (res != null) {
                     put(key, res);
                 }
             }
             return res;
         }
+
+        @Override
+        public Optional<Stats> stats() {
+            if (counter == null) {
+                return Optional.empty();
+            }
+            return Optional.of(counter.snapshot(map.size()));
+        }
     }
 
     /**
@@ -374,9 +823,15 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class MapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, V> map;
+        protected final Counter counter;
 
         protected MapWrapper(Map<K, V> map) {
+            this(map, null);
+        }
+
+        protected MapWrapper(Map<K, V> map, Counter counter) {
             this.map = map;
+            this.counter = counter;
         }
 
         @Override
@@ -388,6 +843,19 @@ public interface InternalCache<K, V> {
 
         @Override
         public V get(K key) {
+            V res = map.get(key);
+            if (counter != null) {
+                if (res == null) {
+                    counter.recordMisses(1);
+                } else {
+                    counter.recordHits(1);
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public V peek(K key) {
             return map.get(key);
         }
 
@@ -414,19 +882,37 @@ public interface InternalCache<K, V> {
         public V get(K key, Function<? super K, ? extends V> mappingFunction) {
             Objects.requireNonNull(mappingFunction);
             V res;
-            if ((res = get(key)) != null) {
+            if ((res = map.get(key)) != null) {
+                if (counter != null) counter.recordHits(1);
                 return res;
             }
             synchronized (map) {
-                if ((res = get(key)) != null) {
+                if ((res = map.get(key)) != null) {
+                    if (counter != null) counter.recordHits(1);
                     return res;
                 }
-                if ((res = mappingFunction.apply(key)) != null) {
+                if (counter == null) {
+                    res = mappingFunction.apply(key);
+                } else {
+                    counter.recordMisses(1);
+                    long start = System.nanoTime();
+                    res = mappingFunction.apply(key);
+                    counter.recordLoad(System.nanoTime() - start);
+                }
+                if (res != null) {
                     put(key, res);
                 }
             }
             return res;
         }
+
+        @Override
+        public Optional<Stats> stats() {
+            if (counter == null) {
+                return Optional.empty();
+            }
+            return Optional.of(counter.snapshot(map.size()));
+        }
     }
 
     /**
@@ -439,15 +925,26 @@ public interface InternalCache<K, V> {
     class CaffeineWrapper<K, V> implements InternalCache<K, V> {
         protected final Cache<K, V> cache;
         protected final Function<? super K, ? extends V> embeddedLoader;
+        protected final Counter counter;
 
         protected CaffeineWrapper(LoadingCache<K, V> cache, Function<? super K, ? extends V> loader) {
+            this(cache, loader, null);
+        }
+
+        protected CaffeineWrapper(LoadingCache<K, V> cache, Function<? super K, ? extends V> loader, Counter counter) {
             this.cache = Objects.requireNonNull(cache);
             this.embeddedLoader = Objects.requireNonNull(loader);
+            this.counter = counter;
         }
 
         protected CaffeineWrapper(Cache<K, V> cache) {
+            this(cache, (Counter) null);
+        }
+
+        protected CaffeineWrapper(Cache<K, V> cache, Counter counter) {
             this.cache = Objects.requireNonNull(cache);
             this.embeddedLoader = null;
+            this.counter = counter;
         }
 
         @Override
@@ -460,6 +957,11 @@ public interface InternalCache<K, V> {
             return cache.getIfPresent(key);
         }
 
+        @Override
+        public V peek(K key) {
+            return cache.asMap().get(key);
+        }
+
         @Override
         public void remove(K key) {
             cache.invalidate(key);
@@ -480,6 +982,14 @@ public interface InternalCache<K, V> {
             return cache.get(key, mappingFunction);
         }
 
+        @Override
+        public Optional<Stats> stats() {
+            if (counter == null) {
+                return Optional.empty();
+            }
+            return Optional.of(counter.snapshot(cache.estimatedSize()));
+        }
+
         @Override
         public <Key extends K, Value extends V> Loading<Key, Value> asLoading(Function<? super Key, ? extends Value> loader) {
             Objects.requireNonNull(loader);
@@ -68,6 +68,8 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             map.put(Key.CACHE_NODES_SIZE, delegate.getLoadNodesCacheSize());
             map.put(Key.CACHE_OBJECTS_SIZE, delegate.getLoadObjectsCacheSize());
             map.put(Key.CONTENT_CACHE_LEVEL, delegate.getContentCacheLevel());
+            map.put(Key.CONTENT_CACHE_PRELOAD, delegate.isPreloadContentCache());
+            map.put(Key.CACHE_STATS, delegate.isRecordCacheStats());
         }
 
         @SuppressWarnings("unchecked")
@@ -120,6 +122,16 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             return get(Key.CONTENT_CACHE_LEVEL);
         }
 
+        @Override
+        public boolean isPreloadContentCache() {
+            return get(Key.CONTENT_CACHE_PRELOAD);
+        }
+
+        @Override
+        public boolean isRecordCacheStats() {
+            return get(Key.CACHE_STATS);
+        }
+
         @Override
         public boolean parallel() {
             return parallel;
@@ -152,6 +164,8 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             CACHE_NODES_SIZE,
             CACHE_OBJECTS_SIZE,
             CONTENT_CACHE_LEVEL,
+            CONTENT_CACHE_PRELOAD,
+            CACHE_STATS,
         }
     }
 
@@ -208,6 +222,16 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
                 return conf.getContentCacheLevel();
             }
 
+            @Override
+            public boolean isPreloadContentCache() {
+                return conf.isPreloadContentCache();
+            }
+
+            @Override
+            public boolean isRecordCacheStats() {
+                return conf.isRecordCacheStats();
+            }
+
         };
     }
 }
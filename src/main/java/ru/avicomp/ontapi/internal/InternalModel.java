@@ -18,6 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphListener;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.RDFNode;
@@ -50,8 +51,17 @@ import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -88,6 +98,16 @@ import java.util.stream.Stream;
 @SuppressWarnings({"WeakerAccess"})
 public class InternalModel extends OntGraphModelImpl implements OntGraphModel, HasOntologyID {
     private static final Logger LOGGER = LoggerFactory.getLogger(InternalModel.class);
+    /**
+     * The types of OWL objects that are stored in the {@link #objects} cache.
+     */
+    private static final List<Class<? extends OWLObject>> OBJECT_TYPES = Arrays.asList(OWLClass.class,
+            OWLDatatype.class,
+            OWLAnnotationProperty.class,
+            OWLDataProperty.class,
+            OWLObjectProperty.class,
+            OWLNamedIndividual.class,
+            OWLAnonymousIndividual.class);
     /**
      * A factory to produce fresh instances of {@link InternalObjectFactory object factory},
      * that is responsible for mapping ONT Jena Objects to OWL-API objects.
@@ -97,23 +117,33 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
     protected final Supplier<InternalObjectFactory> factory;
     /**
      * An object factory cache that is used while collecting axioms, may be reset to release memory.
-     * Any change in the base graph must reset this cache.
+     * It contains only OWL entities (and IRIs), which do not depend on the graph content,
+     * so it is not necessary to reset it on adding or removing components via OWL-API interface,
+     * but any direct change in the base graph resets this cache.
      * Designed as a {@link java.lang.ref.SoftReference}
      * since it is mostly need only to optimize reading operations and may contain huge amount of objects.
      */
     protected final InternalCache.Loading<InternalModel, InternalObjectFactory> objectFactoryCache;
     /**
      * A model for axiom/object's search optimizations, containing {@link Node node}s cache.
-     * Any change in the base graph must also reset this cache.
+     * Adding or removing components via OWL-API interface evicts only the affected nodes, if it is possible
+     * (see {@link SearchModel#invalidate(Collection)}),
+     * any direct change in the base graph resets this cache.
      * Designed as a {@link java.lang.ref.SoftReference}
      * since it is mostly need only to optimize reading operations and may contain huge amount of objects.
      */
     protected final InternalCache.Loading<InternalModel, SearchModel> searchModelCache;
     /**
      * OWL objects cache (to work with OWL-API 'signature' methods).
-     * Any change in the graph must also reset this cache.
+     * It is updated incrementally on adding or removing components via OWL-API interface,
+     * any direct change in the graph resets this cache.
      */
     protected final InternalCache.Loading<Class<? extends OWLObject>, Set<? extends OWLObject>> objects;
+    /**
+     * The statistics counters of the model caches, that are kept through the caches recreation.
+     * It is populated only if {@link InternalConfig#isRecordCacheStats()} is {@code true}.
+     */
+    protected final Map<String, InternalCache.Counter> counters = new ConcurrentHashMap<>();
     /**
      * Configuration settings to control behaviour.
      * This object can be modified externally.
@@ -138,6 +168,18 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * Ontology header {@link OWLAnnotation}s cache.
      */
     protected volatile ObjectTriplesMap<OWLAnnotation> header;
+    /**
+     * The counter of all modifications of the axioms content, see {@link #getAxiomsVersion()}.
+     */
+    protected final AtomicLong modCount = new AtomicLong();
+    /**
+     * The {@link #modCount} values at the moment of the last modification of axioms of each {@link AxiomKey type}.
+     */
+    protected final AtomicLongArray modifications = new AtomicLongArray(AxiomKey.values().length);
+    /**
+     * The {@link #modCount} value at the moment of the last reset of the whole axioms cache.
+     */
+    protected volatile long resetCount;
 
     /**
      * Constructs an instance.
@@ -155,10 +197,14 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         super(base, personality);
         this.factory = Objects.requireNonNull(factory);
         this.config = Objects.requireNonNull(config);
-        this.objectFactoryCache = InternalCache.createSoft(x -> factory.get(), config.parallel());
-        this.searchModelCache = InternalCache.createSoft(x -> createSearchModel(), config.parallel());
+        boolean stats = config.isRecordCacheStats();
+        this.objectFactoryCache = InternalCache.createSoft(x -> factory.get(), config.parallel(),
+                getCacheCounter("model.objectFactory", stats));
+        this.searchModelCache = InternalCache.createSoft(x -> createSearchModel(), config.parallel(),
+                getCacheCounter("model.searchModel", stats));
         // for caches use parallel mode to ensure thread-safety fon read operations even for non-concurrent model
-        this.objects = InternalCache.createSoft(config.parallel()).asLoading(this::readOWLObjects);
+        this.objects = InternalCache.createSoft(config.parallel(), getCacheCounter("model.objects", stats))
+                .asLoading(this::readOWLObjects);
         getGraph().getEventManager().register(new DirectListener());
     }
 
@@ -257,7 +303,72 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * @return {@link SearchModel}
      */
     protected SearchModel createSearchModel() {
-        return new SearchModel(getGraph(), getOntPersonality(), getSnapshotConfig());
+        InternalConfig conf = getSnapshotConfig();
+        return new SearchModel(getGraph(), getOntPersonality(), conf,
+                getCacheCounter("nodes", conf.isRecordCacheStats()));
+    }
+
+    /**
+     * Returns the statistics counter for the cache with the given name.
+     *
+     * @param name   {@code String}, the name of cache
+     * @param record boolean, if {@code false} the method returns {@code null}
+     * @return {@link InternalCache.Counter} or {@code null}
+     * @since 1.4.1
+     */
+    protected InternalCache.Counter getCacheCounter(String name, boolean record) {
+        return record ? counters.computeIfAbsent(name, x -> new InternalCache.Counter()) : null;
+    }
+
+    /**
+     * Returns the statistics of the model caches.
+     * The keys of the return map are the caches names:
+     * <ul>
+     * <li>{@code model.objectFactory}, {@code model.searchModel} -
+     * the soft references to the object factory and the search model</li>
+     * <li>{@code model.objects} - the OWL objects (signature) cache</li>
+     * <li>{@code objects} - the object factory caches, it is reset on the object factory recreation</li>
+     * <li>{@code nodes} - the nodes cache of the {@link SearchModel.CachedFactory} (all types together)</li>
+     * <li>{@code content.<Type>} - the content cache buckets, e.g. {@code content.OWLDeclarationAxiom};
+     * the loads are the bucket (re)loadings, the soft clears are the buckets collected by GC</li>
+     * </ul>
+     * The statistics are recorded only if {@link InternalConfig#isRecordCacheStats()} is {@code true},
+     * otherwise the map is empty.
+     * Each value can be represented as a flat map (see {@link InternalCache.Stats#asMap()})
+     * to be bound to any external metrics registry.
+     *
+     * @return an unmodifiable sorted {@code Map} with cache names as keys and {@link InternalCache.Stats} as values
+     * @since 1.4.1
+     */
+    public Map<String, InternalCache.Stats> getCacheMetrics() {
+        Map<String, InternalCache.Stats> res = new TreeMap<>();
+        counters.forEach((k, v) -> res.put(k, v.snapshot(0)));
+        objectFactoryCache.asCache().stats().ifPresent(x -> res.put("model.objectFactory", x));
+        searchModelCache.asCache().stats().ifPresent(x -> res.put("model.searchModel", x));
+        objects.asCache().stats().ifPresent(x -> res.put("model.objects", x));
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> axioms = this.axioms;
+        if (axioms != null) {
+            axioms.forEach((k, m) -> putContentSize(res, k.getAxiomClass(), m));
+        }
+        ObjectTriplesMap<OWLAnnotation> header = this.header;
+        if (header != null) {
+            putContentSize(res, OWLAnnotation.class, header);
+        }
+        InternalObjectFactory factory = objectFactoryCache.asCache().peek(this);
+        if (factory instanceof CacheObjectFactory) {
+            ((CacheObjectFactory) factory).getStats().ifPresent(x -> res.put("objects", x));
+        }
+        return Collections.unmodifiableMap(res);
+    }
+
+    private static void putContentSize(Map<String, InternalCache.Stats> res,
+                                       Class<? extends OWLObject> type,
+                                       ObjectTriplesMap<?> map) {
+        String name = "content." + type.getSimpleName();
+        InternalCache.Stats stats = res.get(name);
+        if (stats == null || !map.isLoaded()) return;
+        // each bucket holds its content as a single soft-referenced entry
+        res.put(name, stats.plus(new InternalCache.Stats(0, 0, 0, 1)));
     }
 
     /**
@@ -456,10 +567,11 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      */
     protected <O extends OWLObject> Set<O> readOWLObjects(Class<O> type) {
         // todo: see issue #64
+        // the Set is modified while adding or removing components, so it must be safe for iterating:
         return Stream.concat(
                 listOWLAnnotations().flatMap(a -> OwlObjects.objects(type, a)),
                 listOWLAxioms().flatMap(a -> OwlObjects.objects(type, a)))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
     }
 
     /**
@@ -619,6 +731,117 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         return (Stream<A>) getAxioms().get(AxiomKey.get(type)).objects();
     }
 
+    /**
+     * Lists axioms of the given class-type that contain the specified {@code part} at the given position.
+     * It is equivalent to the expression
+     * {@code listOWLAxioms(view).filter(a -> position.apply(a).anyMatch(part::equals))},
+     * but, if the {@link InternalConfig#useComponentIndexContentCache() component index} is enabled,
+     * works in a time proportional to the result size (after the index is built).
+     * The index is built on demand and is kept in actual state while axioms are added or removed.
+     *
+     * @param view     {@code Class} of axiom
+     * @param position {@link AxiomPosition}, not {@code null}
+     * @param part     {@link OWLObject} to search, not {@code null}
+     * @param <A>      type of axiom
+     * @return Stream of {@link OWLAxiom}s
+     * @since 1.4.1
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends OWLAxiom> Stream<A> listOWLAxioms(Class<A> view, AxiomPosition position, OWLObject part) {
+        Objects.requireNonNull(part);
+        return (Stream<A>) reduce(getAxioms().get(AxiomKey.get(view)).objects(position, part));
+    }
+
+    /**
+     * Lists all axioms that refer to the given {@link OWLPrimitive primitive}.
+     * It is equivalent to the expression
+     * {@code listOWLAxioms().filter(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(primitive::equals))}
+     * (in case of {@link IRI} the method {@link OwlObjects#iris(OWLObject)} is used).
+     * If it is possible, the search is performed through the node-to-axioms index (see {@link ObjectTriplesMap#objects(Node)}),
+     * which is derived from the axioms triples and includes the datatypes of literals
+     * (so an {@link IRI} of a custom datatype, that is used only inside literals, is also found).
+     * Literals, datatypes and builtin entities are always searched by iterating over all axioms,
+     * since they may be implicit or hidden inside other objects
+     * (e.g. {@code owl:Thing} in an unqualified cardinality restriction).
+     *
+     * @param primitive {@link OWLPrimitive} - {@link IRI}, {@link OWLEntity}, {@link OWLLiteral}
+     *                  or {@link OWLAnonymousIndividual}, not {@code null}
+     * @return Stream of {@link OWLAxiom}s
+     * @since 1.4.1
+     */
+    public Stream<OWLAxiom> listOWLAxioms(OWLPrimitive primitive) {
+        if (primitive instanceof IRI) {
+            IRI iri = (IRI) primitive;
+            return listOWLAxioms(iri.isReservedVocabulary() ? null : NodeFactory.createURI(iri.getIRIString()),
+                    a -> OwlObjects.iris(a).anyMatch(iri::equals));
+        }
+        if (primitive instanceof OWLDatatype) {
+            // as well as iri the datatype could be hidden inside other objects (literals):
+            return listOWLAxioms(null, a -> OwlObjects.objects(OWLDatatype.class, a).anyMatch(primitive::equals));
+        }
+        Node node = null;
+        if (primitive instanceof OWLEntity && !((OWLEntity) primitive).isBuiltIn()
+                && !((OWLEntity) primitive).getIRI().isReservedVocabulary()) {
+            node = NodeFactory.createURI(((OWLEntity) primitive).getIRI().getIRIString());
+        } else if (primitive instanceof OWLAnonymousIndividual) {
+            node = WriteHelper.toBlankNode((OWLAnonymousIndividual) primitive);
+        }
+        return listOWLAxioms(node, a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(primitive::equals));
+    }
+
+    /**
+     * Lists all axioms that match the given {@code filter},
+     * using the node-to-axioms index to get the candidates, if the {@code node} is specified.
+     *
+     * @param node   {@link Node}, can be {@code null}
+     * @param filter {@code Predicate} to test axioms
+     * @return Stream of {@link OWLAxiom}s
+     */
+    protected Stream<OWLAxiom> listOWLAxioms(Node node, Predicate<OWLAxiom> filter) {
+        if (node == null) {
+            return listOWLAxioms().filter(filter);
+        }
+        return flatMap(getAxioms().values().stream(), m -> m.objects(node)).filter(filter);
+    }
+
+    /**
+     * Answers {@code true} if the given entity is present in the ontology signature,
+     * i.e. if it is referred by any axiom or by any ontology header annotation.
+     * It is equivalent to the expression {@code listOWLObjects(type).anyMatch(entity::equals)},
+     * where {@code type} is the class-type of the entity,
+     * but, if it is possible, does not require loading the whole signature cache.
+     *
+     * @param entity {@link OWLEntity}, not {@code null}
+     * @return boolean
+     * @see #listOWLAxioms(OWLPrimitive)
+     * @since 1.4.1
+     */
+    public boolean containsOWLEntity(OWLEntity entity) {
+        Set<? extends OWLObject> res = objects.asCache().get(getEntityClass(entity));
+        if (res != null) {
+            return res.contains(entity);
+        }
+        return listOWLAnnotations().anyMatch(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(entity::equals))
+                || listOWLAxioms(entity).findFirst().isPresent();
+    }
+
+    private static Class<? extends OWLEntity> getEntityClass(OWLEntity entity) {
+        if (entity.isOWLClass()) {
+            return OWLClass.class;
+        } else if (entity.isOWLDataProperty()) {
+            return OWLDataProperty.class;
+        } else if (entity.isOWLObjectProperty()) {
+            return OWLObjectProperty.class;
+        } else if (entity.isOWLNamedIndividual()) {
+            return OWLNamedIndividual.class;
+        } else if (entity.isOWLAnnotationProperty()) {
+            return OWLAnnotationProperty.class;
+        } else if (entity.isOWLDatatype()) {
+            return OWLDatatype.class;
+        }
+        throw new OntApiException("Unsupported " + entity);
+    }
+
     /**
      * Performs a final operation over the specified {@code stream} before releasing it out.
      * <p>
@@ -717,8 +940,104 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * @see #add(OWLAnnotation)
      */
     public void add(OWLAxiom axiom) {
-        add(axiom, getAxioms().get(AxiomKey.get(axiom.getAxiomType())),
-                a -> AxiomParserProvider.getByType(a.getAxiomType()).write(a, InternalModel.this));
+        AxiomKey key = AxiomKey.get(axiom.getAxiomType());
+        try {
+            add(axiom, getAxioms().get(key), a -> AxiomParserProvider.getByType(a.getAxiomType()).write(a, InternalModel.this));
+        } finally {
+            changed(key);
+        }
+    }
+
+    /**
+     * Adds all the given axioms to the model at once.
+     * This is a bulk equivalent of the sequential calling of the method {@link #add(OWLAxiom)}
+     * for each axiom that is not yet in the model.
+     * The axioms are grouped by their {@link AxiomKey type}
+     * and written in a single pass per group with a single graph listener,
+     * the associated objects caches are updated only once at the end.
+     * The cache is loaded (if needed) once before writing, and then the presence of each axiom is checked
+     * directly in its bucket.
+     * If some axiom cannot be written, all the axioms written by this call are removed back from the model,
+     * and the exception is rethrown, so the model remains in the same state as before the call.
+     *
+     * @param axioms {@code Collection} of {@link OWLAxiom}s
+     * @return {@code List} of {@link OWLAxiom}s that have been actually added, in the order of the input
+     * @see #add(OWLAxiom)
+     * @since 1.4.1
+     */
+    public List<OWLAxiom> addAxioms(Collection<? extends OWLAxiom> axioms) {
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> maps = getAxioms();
+        Set<OWLAxiom> candidates = new LinkedHashSet<>(axioms);
+        if (candidates.stream().anyMatch(a -> !maps.get(AxiomKey.get(a.getAxiomType())).isLoaded())) {
+            // the same hack as in #contains(OWLAxiom): the whole cache must be initialized before writing
+            maps.values().forEach(ObjectTriplesMap::load);
+        }
+        Map<AxiomKey, List<OWLAxiom>> groups = new EnumMap<>(AxiomKey.class);
+        List<OWLAxiom> res = new ArrayList<>();
+        for (OWLAxiom a : candidates) {
+            AxiomKey key = AxiomKey.get(a.getAxiomType());
+            if (maps.get(key).contains(a)) continue;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(a);
+            res.add(a);
+        }
+        if (res.isEmpty()) {
+            return res;
+        }
+        SwitchListener listener = new SwitchListener();
+        TriplesListener changes = new TriplesListener();
+        UnionGraph.OntEventManager evm = getGraph().getEventManager();
+        List<OWLAxiom> written = new ArrayList<>();
+        boolean success = false;
+        try {
+            evm.register(listener);
+            evm.register(changes);
+            for (Map.Entry<AxiomKey, List<OWLAxiom>> e : groups.entrySet()) {
+                ObjectTriplesMap<OWLAxiom> map = maps.get(e.getKey());
+                AxiomTranslator<OWLAxiom> writer = AxiomParserProvider.getByType(e.getValue().get(0).getAxiomType());
+                for (OWLAxiom a : e.getValue()) {
+                    written.add(a);
+                    listener.current = map.addListener(a);
+                    writer.write(a, this);
+                }
+            }
+            success = true;
+        } catch (OntApiException e) {
+            throw e;
+        } catch (Exception e) {
+            OWLAxiom current = written.isEmpty() ? null : written.get(written.size() - 1);
+            throw new OntApiException(String.format("OWLObject: %s, message: %s", current, e.getMessage()), e);
+        } finally {
+            evm.unregister(changes);
+            evm.unregister(listener);
+            if (success) {
+                updateObjectsCaches(res, true, changes.getTriples());
+            } else {
+                rollback(written, maps);
+                clearObjectsCaches();
+            }
+            groups.keySet().forEach(this::changed);
+        }
+        return res;
+    }
+
+    /**
+     * Removes the given axioms, that have been (possibly, partially) written by the failed bulk operation,
+     * from the model in the reverse order.
+     * The triples shared with the other axioms are kept, as in the case of the {@link #remove(OWLAxiom)} method.
+     *
+     * @param axioms {@code List} of {@link OWLAxiom}s, the last one may be written partially
+     * @param maps   {@code Map} of the axioms caches
+     * @see #addAxioms(Collection)
+     * @since 1.4.1
+     */
+    protected void rollback(List<OWLAxiom> axioms, Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> maps) {
+        for (int i = axioms.size() - 1; i >= 0; i--) {
+            OWLAxiom a = axioms.get(i);
+            ObjectTriplesMap<OWLAxiom> map = maps.get(AxiomKey.get(a.getAxiomType()));
+            if (map.contains(a)) {
+                remove(a, map);
+            }
+        }
     }
 
     /**
@@ -731,39 +1050,42 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      */
     protected <O extends OWLObject> void add(O object, ObjectTriplesMap<O> map, Consumer<O> writer) {
         GraphListener listener = map.addListener(object);
-        // todo: there is no need to invalidate *whole* objects cache
-        clearObjectsCaches();
+        TriplesListener changes = new TriplesListener();
         UnionGraph.OntEventManager evm = getGraph().getEventManager();
+        boolean success = false;
         try {
             evm.register(listener);
+            evm.register(changes);
             writer.accept(object);
+            success = true;
         } catch (OntApiException e) {
             throw e;
         } catch (Exception e) {
             throw new OntApiException(String.format("OWLObject: %s, message: %s", object, e.getMessage()), e);
         } finally {
+            evm.unregister(changes);
             evm.unregister(listener);
+            if (success) {
+                updateObjectsCaches(object, true, changes.getTriples());
+            } else {
+                clearObjectsCaches();
+            }
         }
     }
 
     /**
      * Removes the given axiom from the model.
-     * Also, clears the cache for the entity type, if the entity has been belonged to the removed axiom.
      *
      * @param axiom {@link OWLAxiom}
      * @see #remove(OWLAnnotation)
      */
     public void remove(OWLAxiom axiom) {
-        remove(axiom, getAxioms().get(AxiomKey.get(axiom.getAxiomType())));
-        Stream.of(OWLClass.class,
-                OWLDatatype.class,
-                OWLAnnotationProperty.class,
-                OWLDataProperty.class,
-                OWLObjectProperty.class,
-                OWLNamedIndividual.class,
-                OWLAnonymousIndividual.class)
-                .filter(type -> OwlObjects.objects(type, axiom).findAny().isPresent())
-                .forEach(type -> objects.asCache().remove(type));
+        AxiomKey key = AxiomKey.get(axiom.getAxiomType());
+        try {
+            remove(axiom, getAxioms().get(key));
+        } finally {
+            changed(key);
+        }
     }
 
     /**
@@ -774,8 +1096,6 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      */
     public void remove(OWLAnnotation annotation) {
         remove(annotation, getHeader());
-        // todo: there is no need to invalidate *whole* objects cache
-        clearObjectsCaches();
     }
 
     /**
@@ -784,17 +1104,109 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * Example of such intersection in triples is reusing b-nodes:
      * {@code <A> rdfs:subClassOf _:b0} and {@code <B> rdfs:subClassOf _:b0}.
      * Also, OWL-Entity declaration root-triples are shared between different axioms.
-     * Note: need also to remove associated objects from the {@link #objects} cache!
+     * The associated objects caches are updated at the end of the operation.
      *
      * @param component either {@link OWLAxiom} or {@link OWLAnnotation}
      * @param map       {@link ObjectTriplesMap}
      * @param <O>       the type of OWLObject
-     * @see #clearObjectsCaches()
+     * @see #updateObjectsCaches(OWLObject, boolean, Collection)
      */
     protected <O extends OWLObject> void remove(O component, ObjectTriplesMap<O> map) {
         Set<Triple> triples = map.getTripleSet(component);
         map.delete(component);
-        triples.stream().filter(t -> maps().noneMatch(m -> m.contains(t))).forEach(this::delete);
+        TriplesListener changes = new TriplesListener();
+        UnionGraph.OntEventManager evm = getGraph().getEventManager();
+        evm.register(changes);
+        try {
+            triples.stream().filter(t -> maps().noneMatch(m -> m.contains(t))).forEach(this::delete);
+        } finally {
+            evm.unregister(changes);
+        }
+        updateObjectsCaches(component, false, changes.getTriples());
+    }
+
+    /**
+     * Updates the {@link #objects} and {@link #searchModelCache} caches
+     * after the given component has been added to or removed from the model.
+     * The {@link #objectFactoryCache} is not touched since it does not depend on the graph content.
+     * In case the change cannot be handled locally, the corresponding cache is reset.
+     *
+     * @param component either {@link OWLAxiom} or {@link OWLAnnotation}
+     * @param added     {@code true} if the component has been added, {@code false} if removed
+     * @param triples   a {@code Collection} of {@link Triple}s that have been actually added or deleted
+     * @since 1.4.1
+     */
+    protected void updateObjectsCaches(OWLObject component, boolean added, Collection<Triple> triples) {
+        updateObjectsCaches(Collections.singletonList(component), added, triples);
+    }
+
+    /**
+     * Updates the {@link #objects} and {@link #searchModelCache} caches
+     * after the given components have been added to or removed from the model.
+     *
+     * @param components a {@code Collection} of {@link OWLAxiom}s or {@link OWLAnnotation}s
+     * @param added      {@code true} if the components have been added, {@code false} if removed
+     * @param triples    a {@code Collection} of {@link Triple}s that have been actually added or deleted
+     * @see #updateObjectsCaches(OWLObject, boolean, Collection)
+     * @since 1.4.1
+     */
+    @SuppressWarnings("unchecked")
+    protected void updateObjectsCaches(Collection<? extends OWLObject> components,
+                                       boolean added,
+                                       Collection<Triple> triples) {
+        SearchModel m = searchModelCache.asCache().get(this);
+        if (m != null && !m.invalidate(triples)) {
+            searchModelCache.asCache().clear();
+        }
+        InternalCache<Class<? extends OWLObject>, Set<? extends OWLObject>> cache = objects.asCache();
+        for (Class<? extends OWLObject> type : OBJECT_TYPES) {
+            Set<OWLObject> set = (Set<OWLObject>) cache.get(type);
+            if (set == null) continue;
+            if (added) {
+                components.forEach(c -> components(type, c).forEach(set::add));
+                continue;
+            }
+            List<? extends OWLObject> candidates = components.stream().flatMap(c -> components(type, c))
+                    .distinct().collect(Collectors.toList());
+            for (OWLObject o : candidates) {
+                Boolean res = isReferred((OWLPrimitive) o);
+                if (res == null) { // unknown: it is not possible to answer quickly
+                    cache.remove(type);
+                    break;
+                }
+                if (!res) {
+                    set.remove(o);
+                }
+            }
+        }
+    }
+
+    private static Stream<? extends OWLObject> components(Class<? extends OWLObject> type, OWLObject component) {
+        if (component instanceof OWLAxiom) {
+            return OwlObjects.objects(type, (OWLAxiom) component);
+        }
+        return OwlObjects.objects(type, (OWLAnnotation) component);
+    }
+
+    /**
+     * Answers {@code true} if the given primitive is still referred by some axiom or header annotation.
+     * Returns {@code null} if the question cannot be answered without traversing all axioms,
+     * i.e. in case there is no a node-to-axioms index (see {@link ObjectTriplesMap#objects(Node)})
+     * or the primitive is builtin, and therefore can be implicitly present in some axioms.
+     *
+     * @param primitive {@link OWLPrimitive} - either {@link OWLEntity} or {@link OWLAnonymousIndividual}
+     * @return {@code Boolean} or {@code null}
+     */
+    private Boolean isReferred(OWLPrimitive primitive) {
+        if (!getSnapshotConfig().useTriplesContentCache()) {
+            return null;
+        }
+        if (primitive instanceof OWLEntity
+                && (((OWLEntity) primitive).isBuiltIn() || ((OWLEntity) primitive).getIRI().isReservedVocabulary())) {
+            return null;
+        }
+        return listOWLAnnotations().anyMatch(a -> OwlObjects.objects(OWLPrimitive.class, a).anyMatch(primitive::equals))
+                || listOWLAxioms(primitive).findFirst().isPresent();
     }
 
     /**
@@ -809,6 +1221,7 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
                 .forEach(ObjectTriplesMap::clear);
         // todo: there is no need to invalidate *whole* objects cache
         clearObjectsCaches();
+        changed();
     }
 
     private static <O extends OWLObject> boolean needInvalidate(ObjectTriplesMap<O> map, Triple t) {
@@ -898,6 +1311,51 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         header = null;
         snapshot = null;
         clearObjectsCaches();
+        changed();
+    }
+
+    /**
+     * Returns the current version of the axioms content.
+     * The version is changed on every modification of any axiom cache bucket,
+     * either through OWL-API interface or directly through the graph,
+     * and also on every cache reset, since the re-read axioms may look slightly different.
+     * Note: the lazy loading of the cache does not change the version.
+     *
+     * @return long
+     * @see #getAxiomsVersion(AxiomKey)
+     * @since 1.4.1
+     */
+    public long getAxiomsVersion() {
+        return modCount.get();
+    }
+
+    /**
+     * Returns the current version of the axioms of the given type.
+     * Two equal values of the version mean that there were no changes in the axioms of the given type between the calls.
+     *
+     * @param key {@link AxiomKey}, not {@code null}
+     * @return long
+     * @see #getAxiomsVersion()
+     * @since 1.4.1
+     */
+    public long getAxiomsVersion(AxiomKey key) {
+        return Math.max(resetCount, modifications.get(key.ordinal()));
+    }
+
+    /**
+     * Marks the axioms of the given type as changed.
+     *
+     * @param key {@link AxiomKey}
+     */
+    private void changed(AxiomKey key) {
+        modifications.set(key.ordinal(), modCount.incrementAndGet());
+    }
+
+    /**
+     * Marks the whole axioms content as changed.
+     */
+    private void changed() {
+        resetCount = modCount.incrementAndGet();
     }
 
     /**
@@ -915,6 +1373,73 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         return String.format("[%s]%s", getClass().getSimpleName(), getID());
     }
 
+    /**
+     * Loads all axioms and header caches into memory.
+     * If the {@link InternalConfig#parallel() parallel} mode is enabled,
+     * axioms of different types are loaded concurrently on a separate {@link ForkJoinPool}
+     * with parallelism bounded by the number of available processors.
+     * Otherwise the loading is sequential.
+     * No-op in case the content cache is disabled.
+     *
+     * @return an unmodifiable {@code Map} with {@link AxiomKey}s as keys
+     * and load times as values, only for those containers that have been actually loaded by this call
+     * @since 1.4.1
+     */
+    public Map<AxiomKey, Duration> preload() {
+        if (!getSnapshotConfig().isContentCacheEnabled()) {
+            return Collections.emptyMap();
+        }
+        getHeader().load();
+        // the axioms map, the object factory and the search model are initialized in the current thread:
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> axioms = getAxioms();
+        getSearchModel();
+        List<AxiomKey> keys = axioms.entrySet().stream()
+                .filter(e -> !e.getValue().isLoaded())
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<AxiomKey, Duration> res = new EnumMap<>(AxiomKey.class);
+        if (!getSnapshotConfig().parallel() || keys.size() == 1) {
+            keys.forEach(k -> res.put(k, load(axioms.get(k))));
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(Math.min(keys.size(), Runtime.getRuntime().availableProcessors()));
+            try {
+                List<Callable<Duration>> tasks = keys.stream()
+                        .map(k -> (Callable<Duration>) () -> load(axioms.get(k)))
+                        .collect(Collectors.toList());
+                List<Future<Duration>> times = pool.invokeAll(tasks);
+                for (int i = 0; i < keys.size(); i++) {
+                    res.put(keys.get(i), times.get(i).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OntApiException("Preloading has been interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new OntApiException("Can't preload cache", cause);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            OntID id = getID();
+            res.forEach((k, d) -> LOGGER.debug("[{}]{}:::{}s (preload)", id,
+                    StringUtils.rightPad("[" + k.getAxiomClass().getSimpleName() + "]", 42),
+                    String.format(Locale.ENGLISH, "%.3f", d.toMillis() / 1000.0)));
+        }
+        return Collections.unmodifiableMap(res);
+    }
+
+    private static Duration load(ObjectTriplesMap<?> map) {
+        Instant start = Instant.now();
+        map.load();
+        return Duration.between(start, Instant.now());
+    }
+
     /**
      * Creates a {@code Map} with {@link AxiomKey} as keys and {@link ObjectTriplesMap} as values,
      * that contains all possible axiom-types.
@@ -937,9 +1462,25 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * @return {@link ObjectTriplesMap}
      */
     protected <A extends OWLAxiom> ObjectTriplesMap<A> createAxiomTriplesMap(Class<A> type) {
+        return createAxiomTriplesMap(type, null);
+    }
+
+    /**
+     * Creates a {@link ObjectTriplesMap}-container for the ontology axioms of the specified type,
+     * which takes the given data on the first loading.
+     *
+     * @param type {@code Class}-type of {@link OWLAxiom}
+     * @param data a {@code Collection} of {@link ONTObject}s or {@code null} to read axioms from the graph
+     * @param <A>  {@link OWLAxiom} of the specified {@code type}
+     * @return {@link ObjectTriplesMap}
+     * @since 1.4.1
+     */
+    protected <A extends OWLAxiom> ObjectTriplesMap<A> createAxiomTriplesMap(Class<A> type,
+                                                                             Collection<ONTObject<A>> data) {
         InternalObjectFactory df = getObjectFactory();
         AxiomTranslator<A> t = AxiomParserProvider.get(type);
-        return createObjectTriplesMap(type, () -> t.listAxioms(InternalModel.this.getSearchModel(), df, getSnapshotConfig()));
+        return createObjectTriplesMap(type, withData(data,
+                () -> t.listAxioms(InternalModel.this.getSearchModel(), df, getSnapshotConfig())));
     }
 
     /**
@@ -948,8 +1489,133 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      * @return {@link ObjectTriplesMap}
      */
     protected ObjectTriplesMap<OWLAnnotation> createHeaderTriplesMap() {
+        return createHeaderTriplesMap(null);
+    }
+
+    /**
+     * Creates a {@link ObjectTriplesMap}-container for the ontology header annotations,
+     * which takes the given data on the first loading.
+     *
+     * @param data a {@code Collection} of {@link ONTObject}s or {@code null} to read annotations from the graph
+     * @return {@link ObjectTriplesMap}
+     * @since 1.4.1
+     */
+    protected ObjectTriplesMap<OWLAnnotation> createHeaderTriplesMap(Collection<ONTObject<OWLAnnotation>> data) {
         InternalObjectFactory df = getObjectFactory();
-        return createObjectTriplesMap(OWLAnnotation.class, () -> ReadHelper.listOWLAnnotations(getID(), df));
+        return createObjectTriplesMap(OWLAnnotation.class,
+                withData(data, () -> ReadHelper.listOWLAnnotations(getID(), df)));
+    }
+
+    /**
+     * Wraps the loader so that the first call returns the given data.
+     * All next calls (e.g. when the cache has been collected by GC) are delegated to the loader,
+     * that reads the graph.
+     *
+     * @param data   a {@code Collection} of {@link ONTObject}s or {@code null}
+     * @param loader a {@code Supplier} of {@link ONTObject}s
+     * @param <O>    {@link OWLObject}
+     * @return a {@code Supplier} of {@link ONTObject}s
+     */
+    private static <O extends OWLObject> Supplier<Iterator<ONTObject<O>>> withData(Collection<ONTObject<O>> data,
+                                                                                 Supplier<Iterator<ONTObject<O>>> loader) {
+        if (data == null) {
+            return loader;
+        }
+        AtomicReference<Collection<ONTObject<O>>> ref = new AtomicReference<>(data);
+        return () -> {
+            Collection<ONTObject<O>> res = ref.getAndSet(null);
+            return res == null ? loader.get() : res.iterator();
+        };
+    }
+
+    /**
+     * Replaces the content cache with the given data,
+     * e.g. restored from a {@link ContentCacheFile persistent snapshot}.
+     * The data is taken as is, no graph reading is performed,
+     * so it must correspond exactly to the current state of the base graph
+     * and must be read with the same axioms settings, personality and imports
+     * (see {@link ContentCacheFile#fingerprint(InternalModel)}).
+     * The data is used only for the first loading of each container,
+     * if a container is then invalidated or collected by GC, it is reloaded from the graph as usual.
+     * No-op in case the content cache is disabled.
+     *
+     * @param axioms a {@code Map} with {@link AxiomKey}s as keys and {@link ONTObject}s as values,
+     *               the missed keys are read from the graph
+     * @param header a {@code Collection} of ontology header {@link ONTObject}s or {@code null}
+     * @return {@code true} if the content cache has been replaced
+     * @since 1.4.1
+     */
+    public boolean setContent(Map<AxiomKey, ? extends Collection<ONTObject<OWLAxiom>>> axioms,
+                              Collection<ONTObject<OWLAnnotation>> header) {
+        if (!getSnapshotConfig().isContentCacheEnabled()) {
+            return false;
+        }
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> res = new EnumMap<>(AxiomKey.class);
+        for (AxiomKey k : AxiomKey.values()) {
+            res.put(k, createAxiomTriplesMap(k.getAxiomClass(), axioms.get(k)));
+        }
+        this.header = createHeaderTriplesMap(header);
+        this.axioms = Collections.unmodifiableMap(res);
+        // move the data into the containers to release the references:
+        if (header != null) {
+            this.header.load();
+        }
+        axioms.keySet().forEach(k -> res.get(k).load());
+        objects.asCache().clear();
+        changed();
+        return true;
+    }
+
+    /**
+     * Fills the content cache containers of the given axiom types using the given candidate triples,
+     * e.g. collected by the {@link StreamAxiomIndex} while parsing the document.
+     * For each key, the collection must contain all the main triples of the axioms of that type,
+     * that are present in the base graph; the extra triples are filtered out by the axiom translator.
+     * The containers for the other types are left untouched, they are read from the graph as usual, on demand.
+     * Unlike {@link #setContent(Map, Collection)}, the containers are loaded immediately,
+     * so the candidates are not referenced after the call.
+     * No-op in case the content cache is disabled.
+     *
+     * @param candidates a {@code Map} with {@link AxiomKey}s as keys and {@code Collection}s of {@link Triple}s
+     * @return {@code true} if the content cache has been loaded
+     * @since 1.4.1
+     */
+    public boolean setContentCandidates(Map<AxiomKey, ? extends Collection<Triple>> candidates) {
+        InternalConfig conf = getSnapshotConfig();
+        if (!conf.isContentCacheEnabled()) {
+            return false;
+        }
+        Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> res = new EnumMap<>(getAxioms());
+        Set<AxiomKey> keys = EnumSet.noneOf(AxiomKey.class);
+        candidates.forEach((k, triples) -> {
+            if (AxiomKey.DECLARATION == k && !conf.isAllowReadDeclarations()) {
+                return;
+            }
+            res.put(k, createAxiomTriplesMap(k.getAxiomClass(), readAxioms(k.getAxiomClass(), triples)));
+            keys.add(k);
+        });
+        this.axioms = Collections.unmodifiableMap(res);
+        keys.forEach(k -> res.get(k).load());
+        keys.forEach(this::changed);
+        return true;
+    }
+
+    /**
+     * Reads the axioms of the specified type from the given triples.
+     *
+     * @param type    {@code Class}-type of {@link OWLAxiom}
+     * @param triples {@code Collection} of {@link Triple}s from the base graph
+     * @param <A>     {@link OWLAxiom} of the specified {@code type}
+     * @return {@code List} of {@link ONTObject}s
+     */
+    protected <A extends OWLAxiom> List<ONTObject<A>> readAxioms(Class<A> type, Collection<Triple> triples) {
+        AxiomTranslator<A> t = AxiomParserProvider.get(type);
+        InternalConfig conf = getSnapshotConfig();
+        OntGraphModelImpl m = getSearchModel();
+        ExtendedIterator<OntStatement> statements = Iter.create(triples)
+                .<OntStatement>mapWith(m::asStatement)
+                .filterKeep(s -> t.testStatement(s, conf));
+        return t.translate(statements, getObjectFactory(), conf).toList();
     }
 
     /**
@@ -968,11 +1634,16 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorContentCache();
         boolean tripleStore = conf.useTriplesContentCache();
+        boolean componentIndex = conf.useComponentIndexContentCache();
+        boolean compactTripleStore = conf.useCompactTriplesContentCache();
+        InternalCache.Counter counter = getCacheCounter("content." + type.getSimpleName(), conf.isRecordCacheStats());
         if (!LOGGER.isDebugEnabled()) {
-            return new CacheObjectTriplesMapImpl<>(loader, parallel, fastIterator, tripleStore);
+            return new CacheObjectTriplesMapImpl<>(loader, parallel, fastIterator, tripleStore,
+                    componentIndex, compactTripleStore, counter);
         }
         OntID id = getID();
-        return new CacheObjectTriplesMapImpl<O>(loader, parallel, fastIterator, tripleStore) {
+        return new CacheObjectTriplesMapImpl<O>(loader, parallel, fastIterator, tripleStore,
+                componentIndex, compactTripleStore, counter) {
             @Override
             protected CachedMap loadMap() {
                 Instant start = Instant.now();
@@ -997,7 +1668,8 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
      */
     public class DirectListener extends GraphListenerBase {
         private boolean hasObjectListener() {
-            return getGraph().getEventManager().hasListeners(CacheObjectTriplesMapImpl.Listener.class);
+            UnionGraph.OntEventManager evm = getGraph().getEventManager();
+            return evm.hasListeners(CacheObjectTriplesMapImpl.Listener.class) || evm.hasListeners(TriplesListener.class);
         }
 
         private void invalidate() {
@@ -1035,4 +1707,51 @@ public class InternalModel extends OntGraphModelImpl implements OntGraphModel, H
         }
     }
 
+
+    /**
+     * An auxiliary {@link GraphListener Graph Listener} that delegates all events to the current listener,
+     * which can be changed without re-registration in the {@link UnionGraph.OntEventManager event manager}.
+     * Used while bulk adding.
+     *
+     * @see #addAxioms(Collection)
+     * @since 1.4.1
+     */
+    protected static class SwitchListener extends GraphListenerBase {
+        protected GraphListener current;
+
+        @Override
+        protected void addEvent(Triple t) {
+            if (current != null) current.notifyAddTriple(null, t);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            if (current != null) current.notifyDeleteTriple(null, t);
+        }
+    }
+
+    /**
+     * An auxiliary {@link GraphListenerBase Graph Listener}
+     * to collect all triples that are added or deleted while modifying the model through OWL-API interface.
+     * While it is registered, the {@link DirectListener} does nothing.
+     *
+     * @since 1.4.1
+     */
+    protected static class TriplesListener extends GraphListenerBase {
+        private final Set<Triple> triples = new LinkedHashSet<>();
+
+        public Set<Triple> getTriples() {
+            return triples;
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            triples.add(t);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            triples.add(t);
+        }
+    }
 }
@@ -15,10 +15,12 @@
 package ru.avicomp.ontapi.internal;
 
 import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLObject;
 
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -64,6 +66,44 @@ public interface ObjectTriplesMap<O extends OWLObject> {
      */
     Stream<O> objects();
 
+    /**
+     * Lists all {@code OWLObject}s that contain the given {@code part}
+     * among the components selected by the {@code index}-function.
+     * It is equivalent to the expression {@code objects().filter(x -> index.apply(x).anyMatch(part::equals))},
+     * but an implementation may use a reverse index to answer in a time proportional to the result size.
+     *
+     * @param index a {@code Function} to select searchable parts from {@link O}-object, not {@code null};
+     *              an implementation may use it as a key for the reverse index, so it is expected to be a constant
+     *              (see {@link AxiomPosition})
+     * @param part  {@link OWLObject} to search, not {@code null}
+     * @return {@code Stream} of {@link O}s
+     * @since 1.4.1
+     */
+    default Stream<O> objects(Function<? super O, ? extends Stream<? extends OWLObject>> index, OWLObject part) {
+        return objects().filter(x -> index.apply(x).anyMatch(part::equals));
+    }
+
+    /**
+     * Lists all {@code OWLObject}s that have the given {@link Node} in their triples
+     * (either as a subject, a predicate, an object or a datatype of a literal object).
+     * It is equivalent to the expression
+     * {@code objects().filter(x -> triples(x).anyMatch(t -> t.subjectMatches(node) || ...))},
+     * but an implementation may use a node-to-objects index,
+     * in that case the result may also contain some extra objects
+     * (e.g. objects with incomplete or being modified triple structure),
+     * so it should be considered as a set of candidates.
+     *
+     * @param node {@link Node}, not {@code null}
+     * @return {@code Stream} of {@link O}s
+     * @since 1.4.1
+     */
+    default Stream<O> objects(Node node) {
+        return objects().filter(x -> triples(x).anyMatch(t -> t.subjectMatches(node)
+                || t.predicateMatches(node) || t.objectMatches(node)
+                || (node.isURI() && t.getObject().isLiteral()
+                && node.getURI().equals(t.getObject().getLiteralDatatypeURI()))));
+    }
+
     /**
      * Lists all {@code Triple}s associated with the object-key.
      *
@@ -18,6 +18,7 @@ import org.apache.jena.enhanced.EnhGraph;
 import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
@@ -39,7 +40,8 @@ import ru.avicomp.ontapi.jena.model.OntSWRL;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Model with optimizations including nodes cache.
@@ -64,14 +66,31 @@ public class SearchModel extends OntGraphModelImpl {
     private Boolean hasSubAnnotations;
 
     public SearchModel(Graph graph, OntPersonality personality, InternalConfig conf) {
-        this(graph, personality, conf, true);
+        this(graph, personality, conf, (InternalCache.Counter) null);
+    }
+
+    /**
+     * Creates a search model, whose nodes cache records statistics into the given counter.
+     *
+     * @param graph       {@link Graph}
+     * @param personality {@link OntPersonality}
+     * @param conf        {@link InternalConfig}
+     * @param counter     {@link InternalCache.Counter} to record nodes cache statistics, can be {@code null}
+     * @since 1.4.1
+     */
+    public SearchModel(Graph graph, OntPersonality personality, InternalConfig conf, InternalCache.Counter counter) {
+        this(graph, cachedPersonality(personality, conf, counter), personality, conf);
     }
 
     protected SearchModel(Graph graph,
                           OntPersonality personality,
                           InternalConfig conf,
                           boolean withCache) {
-        super(graph, withCache ? cachedPersonality(personality, conf) : personality);
+        this(graph, withCache ? cachedPersonality(personality, conf) : personality, personality, conf);
+    }
+
+    private SearchModel(Graph graph, OntPersonality cached, OntPersonality personality, InternalConfig conf) {
+        super(graph, cached);
         this.conf = Objects.requireNonNull(conf);
         this.personality = personality;
     }
@@ -99,6 +118,22 @@ public class SearchModel extends OntGraphModelImpl {
      * @return {@link OntPersonality}
      */
     public static OntPersonality cachedPersonality(OntPersonality from, InternalConfig conf) {
+        return cachedPersonality(from, conf, null);
+    }
+
+    /**
+     * Creates a {@link OntPersonality} with nodes cache inside,
+     * all the caches record their statistics into the single {@code counter}.
+     *
+     * @param from    {@link OntPersonality} to inherit all settings
+     * @param conf    {@link InternalConfig} to get all control options
+     * @param counter {@link InternalCache.Counter}, can be {@code null}
+     * @return {@link OntPersonality}
+     * @since 1.4.1
+     */
+    public static OntPersonality cachedPersonality(OntPersonality from,
+                                                   InternalConfig conf,
+                                                   InternalCache.Counter counter) {
         if (!conf.useLoadNodesCache()) {
             throw new IllegalArgumentException("Negative cache size is specified");
         }
@@ -108,7 +143,7 @@ public class SearchModel extends OntGraphModelImpl {
                 // do not cache SWRL.DArg (and, therefore, SWRL.Arg) since an instance of this type
                 // can be Literal with unpredictable length
                 .filter(x -> x != OntSWRL.DArg.class && x != OntSWRL.Arg.class)
-                .forEach(x -> CachedFactory.cache(res, from, x, size));
+                .forEach(x -> CachedFactory.cache(res, from, x, size, counter));
         return res.build();
     }
 
@@ -158,6 +193,75 @@ public class SearchModel extends OntGraphModelImpl {
         return super.listAnnotations(t, s, p, o);
     }
 
+    /**
+     * Invalidates the cached data associated with the nodes of the given triples,
+     * that have been just added to or deleted from the graph.
+     * The change is considered local if all the triples are between uri (or literal) nodes:
+     * in this case only the subject and object nodes are evicted from the cache,
+     * and also, if some triple is a declaration ({@code rdf:type}), all blank nodes
+     * (since anonymous expressions may depend on entity types)
+     * and all nodes, that have the triple subject as a type (e.g. individuals of the class).
+     * Any change that concerns blank nodes is not local: nothing is done in this case.
+     *
+     * @param triples a {@code Collection} of {@link Triple}s
+     * @return {@code true} if the change is processed, or {@code false} if this model must be discarded
+     * @since 1.4.1
+     */
+    public boolean invalidate(Collection<Triple> triples) {
+        if (triples.isEmpty()) {
+            return true;
+        }
+        Set<Node> nodes = new HashSet<>();
+        boolean hasDeclarations = false;
+        for (Triple t : triples) {
+            Node s = t.getSubject();
+            Node o = t.getObject();
+            if (!s.isURI() || o.isBlank()) {
+                return false;
+            }
+            nodes.add(s);
+            if (o.isURI()) {
+                nodes.add(o);
+            }
+            if (!RDF.Nodes.type.equals(t.getPredicate())) {
+                continue;
+            }
+            hasDeclarations = true;
+            ExtendedIterator<Triple> it = getGraph().find(Node.ANY, RDF.Nodes.type, s);
+            try {
+                while (it.hasNext()) {
+                    Node i = it.next().getSubject();
+                    if (!i.isURI()) {
+                        return false;
+                    }
+                    nodes.add(i);
+                }
+            } finally {
+                it.close();
+            }
+        }
+        this.hasAnnotations = null;
+        this.hasSubAnnotations = null;
+        List<CachedFactory> factories = cachedFactories();
+        if (hasDeclarations) {
+            factories.forEach(CachedFactory::invalidateBlankNodes);
+            getNodeCache().clear();
+        } else {
+            nodes.forEach(getNodeCache()::remove);
+        }
+        factories.forEach(f -> nodes.forEach(f::invalidate));
+        return true;
+    }
+
+    private List<CachedFactory> cachedFactories() {
+        OntPersonality p = getOntPersonality();
+        return p.types(OntObject.class)
+                .map(p::getObjectFactory)
+                .filter(CachedFactory.class::isInstance)
+                .map(CachedFactory.class::cast)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public <N extends RDFNode> N fetchNodeAs(Node node, Class<N> type) {
         try {
@@ -173,31 +277,47 @@ public class SearchModel extends OntGraphModelImpl {
     public static class CachedFactory extends BaseFactoryImpl {
         private final ObjectFactory from;
         private final Class<? extends OntObject> type;
+        // uri and blank nodes are kept separately, since they have different lifetimes:
+        // uri nodes (entities) depend only on their own declarations,
+        // while blank nodes (expressions) may depend on declarations of their components
         private final InternalCache<Node, Boolean> canWrapCache;
+        private final InternalCache<Node, Boolean> canWrapBlankCache;
 
         public CachedFactory(Class<? extends OntObject> type, ObjectFactory from, int limit, boolean parallel) {
+            this(type, from, limit, parallel, null);
+        }
+
+        public CachedFactory(Class<? extends OntObject> type,
+                             ObjectFactory from,
+                             int limit,
+                             boolean parallel,
+                             InternalCache.Counter counter) {
             this.type = Objects.requireNonNull(type);
             this.from = Objects.requireNonNull(from);
-            this.canWrapCache = InternalCache.createBounded(parallel, limit);
+            this.canWrapCache = InternalCache.createBounded(parallel, limit, counter);
+            this.canWrapBlankCache = InternalCache.createBounded(parallel, limit, counter);
         }
 
         private static CachedFactory create(Class<? extends OntObject> type,
                                             ObjectFactory from,
-                                            int limit) {
+                                            int limit,
+                                            InternalCache.Counter counter) {
 
             // Do not use caffeine due to danger of LiveLock
             // See issue #71 (https://github.com/avicomp/ont-api/issues/71)
             return new CachedFactory(type,
                     from instanceof CachedFactory ? ((CachedFactory) from).from : from,
                     limit,
-                    false);
+                    false,
+                    counter);
         }
 
         static void cache(PersonalityBuilder res,
                           OntPersonality from,
                           Class<? extends OntObject> type,
-                          int limit) {
-            res.add(type, create(type, from.getObjectFactory(type), limit));
+                          int limit,
+                          InternalCache.Counter counter) {
+            res.add(type, create(type, from.getObjectFactory(type), limit, counter));
         }
 
         @Override
@@ -208,7 +328,26 @@ public class SearchModel extends OntGraphModelImpl {
         @Override
         public boolean canWrap(Node node, EnhGraph eg) {
             if (node.isLiteral()) return from.canWrap(node, eg);
-            return canWrapCache.get(node, n -> from.canWrap(n, eg));
+            return (node.isBlank() ? canWrapBlankCache : canWrapCache).get(node, n -> from.canWrap(n, eg));
+        }
+
+        /**
+         * Removes the given node from the cache.
+         *
+         * @param node {@link Node}
+         * @since 1.4.1
+         */
+        public void invalidate(Node node) {
+            (node.isBlank() ? canWrapBlankCache : canWrapCache).remove(node);
+        }
+
+        /**
+         * Removes all blank nodes from the cache.
+         *
+         * @since 1.4.1
+         */
+        public void invalidateBlankNodes() {
+            canWrapBlankCache.clear();
         }
 
         @Override
@@ -0,0 +1,155 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import ru.avicomp.ontapi.jena.impl.Entities;
+import ru.avicomp.ontapi.jena.impl.conf.OntPersonality;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link StreamRDF} sink, that inserts the parsed triples into a {@link Graph}
+ * and at the same time sorts out the candidates for the simple axioms, which consist of a single triple:
+ * declarations, class assertions, annotation assertions, object and data property assertions.
+ * The detection is cheap and performed by the predicate and object only,
+ * so the final decision is made later, when the model is ready,
+ * see {@link InternalModel#setContentCandidates(Map)}.
+ * This allows to avoid the scanning of the whole graph for each of those axiom types,
+ * while the structurally complex axioms are still read by the usual way.
+ * Note: the collected triples are shared with the graph (if it is a {@link org.apache.jena.mem.GraphMem}),
+ * so the index does not duplicate the data.
+ *
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class StreamAxiomIndex implements StreamRDF {
+    protected final StreamRDF sink;
+    protected final Set<Node> declarationTypes;
+    protected final Set<Node> excludedPredicates;
+
+    protected List<Triple> declarations = new ArrayList<>();
+    protected List<Triple> types = new ArrayList<>();
+    protected List<Triple> assertions = new ArrayList<>();
+
+    /**
+     * Creates an index sink for the given graph.
+     *
+     * @param graph       {@link Graph} to insert triples
+     * @param personality {@link OntPersonality} to determine the reserved vocabulary
+     */
+    public StreamAxiomIndex(Graph graph, OntPersonality personality) {
+        this.sink = Graphs.createLoader(Objects.requireNonNull(graph));
+        this.declarationTypes = Arrays.stream(Entities.values())
+                .map(e -> e.getResourceType().asNode())
+                .collect(Collectors.toSet());
+        // the reserved properties can not be used as predicates of assertions, with except of builtins:
+        Set<Node> excluded = new HashSet<>(personality.getReserved().getProperties());
+        excluded.removeAll(personality.getBuiltins().getProperties());
+        excluded.add(RDF.type.asNode());
+        this.excludedPredicates = excluded;
+    }
+
+    @Override
+    public void start() {
+        sink.start();
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        sink.triple(triple);
+        index(triple);
+    }
+
+    @Override
+    public void quad(Quad quad) {
+        sink.quad(quad);
+        if (quad.isTriple() || quad.isDefaultGraph()) {
+            index(quad.asTriple());
+        }
+    }
+
+    @Override
+    public void base(String base) {
+        sink.base(base);
+    }
+
+    @Override
+    public void prefix(String prefix, String iri) {
+        sink.prefix(prefix, iri);
+    }
+
+    @Override
+    public void finish() {
+        sink.finish();
+    }
+
+    /**
+     * Puts the triple into the appropriate bucket, if it can be a simple axiom.
+     *
+     * @param triple {@link Triple}
+     */
+    protected void index(Triple triple) {
+        Node p = triple.getPredicate();
+        if (RDF.type.asNode().equals(p)) {
+            if (declarationTypes.contains(triple.getObject())) {
+                if (triple.getSubject().isURI()) {
+                    declarations.add(triple);
+                }
+                return;
+            }
+            types.add(triple);
+            return;
+        }
+        if (excludedPredicates.contains(p)) {
+            return;
+        }
+        assertions.add(triple);
+    }
+
+    /**
+     * Forgets all collected triples, e.g. if the parsing has failed and is going to be repeated.
+     */
+    public void reset() {
+        declarations = new ArrayList<>();
+        types = new ArrayList<>();
+        assertions = new ArrayList<>();
+    }
+
+    /**
+     * Returns the collected candidates.
+     * For each of the returned keys, the collection contains all the triples of the parsed document,
+     * that can be the main triples of the axioms of that type (but not necessarily are).
+     *
+     * @return an unmodifiable {@code Map} with {@link AxiomKey}s as keys and {@code Collection}s of {@link Triple}s
+     */
+    public Map<AxiomKey, Collection<Triple>> getCandidates() {
+        Map<AxiomKey, Collection<Triple>> res = new EnumMap<>(AxiomKey.class);
+        res.put(AxiomKey.DECLARATION, Collections.unmodifiableList(declarations));
+        res.put(AxiomKey.CLASS_ASSERTION, Collections.unmodifiableList(types));
+        Collection<Triple> assertions = Collections.unmodifiableList(this.assertions);
+        res.put(AxiomKey.ANNOTATION_ASSERTION, assertions);
+        res.put(AxiomKey.OBJECT_PROPERTY_ASSERTION, assertions);
+        res.put(AxiomKey.DATA_PROPERTY_ASSERTION, assertions);
+        return Collections.unmodifiableMap(res);
+    }
+}
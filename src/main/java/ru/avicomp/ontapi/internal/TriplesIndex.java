@@ -0,0 +1,374 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.internal;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A triple-to-objects index, that is used by the {@link CacheObjectTriplesMapImpl} as a triple store,
+ * to answer whether some {@link Triple} belongs to an object (axiom or annotation) or to the whole bucket.
+ * There are two implementations: a plain {@code HashMap}-based index and a compact one,
+ * that is based on primitive arrays and open addressing.
+ * The implementations are not thread-safe:
+ * the upper-system uses R/W lock, so all modifications are isolated, while readings may be concurrent.
+ *
+ * @param <X> the type of objects (in the system it is either {@link org.semanticweb.owlapi.model.OWLAxiom}
+ *            or {@link org.semanticweb.owlapi.model.OWLAnnotation})
+ * @since 1.4.1
+ */
+public interface TriplesIndex<X> {
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param compact if {@code true} the memory-saving implementation is returned,
+     *                otherwise the {@code HashMap}-based one
+     * @param <X>     the type of objects
+     * @return {@link TriplesIndex}
+     */
+    static <X> TriplesIndex<X> create(boolean compact) {
+        return compact ? new CompactIndex<>() : new HashIndex<>();
+    }
+
+    /**
+     * Answers {@code true} if the index contains the given triple.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return boolean
+     */
+    boolean contains(Triple triple);
+
+    /**
+     * Answers {@code true} if the given triple is associated with the specified object.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @param object {@link X}, not {@code null}
+     * @return boolean
+     */
+    boolean contains(Triple triple, X object);
+
+    /**
+     * Associates the triple with the object.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @param object {@link X}, not {@code null}
+     */
+    void add(Triple triple, X object);
+
+    /**
+     * Removes the triple-object association, if it is present.
+     * The triple itself is removed from the index when it has no more associated objects.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @param object {@link X}, not {@code null}
+     */
+    void remove(Triple triple, X object);
+
+    /**
+     * Performs the given action for each triple-object pair in this index.
+     *
+     * @param action {@code BiConsumer} to accept triple and object, not {@code null}
+     */
+    void forEach(BiConsumer<Triple, X> action);
+
+    /**
+     * Returns the number of triples in the index.
+     *
+     * @return int
+     */
+    int size();
+
+    /**
+     * The simplest index implementation, which is based on {@code HashMap} with {@code HashSet}s as values.
+     * It is fast, but requires a lot of memory: several objects for each triple.
+     *
+     * @param <X> the type of objects
+     */
+    class HashIndex<X> implements TriplesIndex<X> {
+        protected final Map<Triple, Set<X>> map = new HashMap<>();
+
+        @Override
+        public boolean contains(Triple triple) {
+            return map.containsKey(triple);
+        }
+
+        @Override
+        public boolean contains(Triple triple, X object) {
+            Set<X> res = map.get(triple);
+            return res != null && res.contains(object);
+        }
+
+        @Override
+        public void add(Triple triple, X object) {
+            map.computeIfAbsent(triple, t -> new HashSet<>()).add(object);
+        }
+
+        @Override
+        public void remove(Triple triple, X object) {
+            Set<X> set = map.get(triple);
+            if (set == null) return;
+            set.remove(object);
+            if (set.isEmpty()) {
+                map.remove(triple);
+            }
+        }
+
+        @Override
+        public void forEach(BiConsumer<Triple, X> action) {
+            map.forEach((t, set) -> set.forEach(x -> action.accept(t, x)));
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * A memory-saving index implementation.
+     * Objects are dictionary-encoded: each of them has an int-id, which is released when the object has no triples.
+     * The triples are stored in an open-addressing hash table (with linear probing),
+     * that consists of two parallel arrays: {@code Triple[]} for keys and {@code int[]} for object ids.
+     * Since almost all triples belong to a single object in a bucket,
+     * the rare triples that are shared between several objects are stored separately in a plain {@code Map}.
+     * So there are no per-triple wrappers at all:
+     * the cost of a triple is about two array slots, instead of a map entry and a set with its own table.
+     *
+     * @param <X> the type of objects
+     */
+    class CompactIndex<X> implements TriplesIndex<X> {
+        private static final int INITIAL_CAPACITY = 16;
+        // the id for the triples that are associated with more than one object:
+        private static final int SHARED = -1;
+        // the marker for a removed key:
+        private static final Triple TOMBSTONE = new Triple(Node.ANY, Node.ANY, Node.ANY);
+
+        // hash table:
+        private Triple[] keys;
+        private int[] values;
+        private int size;
+        // number of occupied slots (including tombstones):
+        private int used;
+
+        // dictionary:
+        private final List<X> objects = new ArrayList<>();
+        private final Map<X, Integer> ids = new HashMap<>();
+        // number of triples for each object id:
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+        // triples that belong to several objects:
+        private final Map<Triple, Set<X>> shared = new HashMap<>();
+
+        public CompactIndex() {
+            this.keys = new Triple[INITIAL_CAPACITY];
+            this.values = new int[INITIAL_CAPACITY];
+        }
+
+        private static int hash(Triple t) {
+            int h = t.hashCode();
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Finds the slot for the given triple.
+         *
+         * @param t {@link Triple}
+         * @return int, the slot index or {@code -1} if there is no such triple
+         */
+        private int find(Triple t) {
+            int mask = keys.length - 1;
+            int i = hash(t) & mask;
+            Triple k;
+            while ((k = keys[i]) != null) {
+                if (k != TOMBSTONE && k.equals(t)) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(Triple t, int id) {
+            if ((used + 1) * 4L > keys.length * 3L) {
+                // too many tombstones -> rehash with the same capacity, otherwise grow:
+                rehash(size * 2 < keys.length ? keys.length : keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(t) & mask;
+            int free = -1;
+            Triple k;
+            while ((k = keys[i]) != null) {
+                if (k == TOMBSTONE && free < 0) {
+                    free = i;
+                }
+                i = (i + 1) & mask;
+            }
+            if (free < 0) {
+                free = i;
+                used++;
+            }
+            keys[free] = t;
+            values[free] = id;
+            size++;
+        }
+
+        private void rehash(int capacity) {
+            Triple[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new Triple[capacity];
+            values = new int[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Triple k = oldKeys[j];
+                if (k == null || k == TOMBSTONE) continue;
+                int i = hash(k) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+            used = size;
+        }
+
+        private void delete(int slot) {
+            keys[slot] = TOMBSTONE;
+            size--;
+        }
+
+        /**
+         * Returns the id for the given object, creating a new one if needed.
+         *
+         * @param object {@link X}
+         * @return int
+         */
+        private int acquire(X object) {
+            Integer res = ids.get(object);
+            if (res != null) {
+                return res;
+            }
+            int id;
+            if (freeIds.isEmpty()) {
+                id = objects.size();
+                objects.add(object);
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, id * 2);
+                }
+            } else {
+                id = freeIds.pop();
+                objects.set(id, object);
+            }
+            ids.put(object, id);
+            return id;
+        }
+
+        private void increment(int id) {
+            counts[id]++;
+        }
+
+        private void decrement(int id) {
+            if (--counts[id] > 0) return;
+            ids.remove(objects.set(id, null));
+            freeIds.push(id);
+        }
+
+        @Override
+        public boolean contains(Triple triple) {
+            return find(triple) >= 0;
+        }
+
+        @Override
+        public boolean contains(Triple triple, X object) {
+            int i = find(triple);
+            if (i < 0) return false;
+            int id = values[i];
+            if (id == SHARED) {
+                return shared.get(triple).contains(object);
+            }
+            return object.equals(objects.get(id));
+        }
+
+        @Override
+        public void add(Triple triple, X object) {
+            int i = find(triple);
+            int id = acquire(object);
+            if (i < 0) {
+                insert(triple, id);
+                increment(id);
+                return;
+            }
+            int current = values[i];
+            if (current == id) return;
+            if (current == SHARED) {
+                if (shared.get(triple).add(object)) {
+                    increment(id);
+                }
+                return;
+            }
+            Set<X> set = new HashSet<>(4);
+            set.add(objects.get(current));
+            set.add(object);
+            shared.put(triple, set);
+            values[i] = SHARED;
+            increment(id);
+        }
+
+        @Override
+        public void remove(Triple triple, X object) {
+            int i = find(triple);
+            if (i < 0) return;
+            Integer id = ids.get(object);
+            if (id == null) return;
+            int current = values[i];
+            if (current == id) {
+                delete(i);
+                decrement(id);
+                return;
+            }
+            if (current != SHARED) return;
+            Set<X> set = shared.get(triple);
+            if (!set.remove(object)) return;
+            decrement(id);
+            if (set.size() == 1) {
+                shared.remove(triple);
+                values[i] = ids.get(set.iterator().next());
+            }
+        }
+
+        @Override
+        public void forEach(BiConsumer<Triple, X> action) {
+            for (int i = 0; i < keys.length; i++) {
+                Triple t = keys[i];
+                if (t == null || t == TOMBSTONE) continue;
+                int id = values[i];
+                if (id == SHARED) {
+                    shared.get(t).forEach(x -> action.accept(t, x));
+                } else {
+                    action.accept(t, objects.get(id));
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -14,6 +14,8 @@
 
 package ru.avicomp.ontapi.internal.axioms;
 
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.util.iterator.ExtendedIterator;
@@ -27,6 +29,7 @@ import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.utils.Models;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -89,13 +92,73 @@ public abstract class AbstractNaryTranslator<Axiom extends OWLAxiom & OWLNaryAxi
         return statement.getSubject().canAs(getView()) && statement.getObject().canAs(getView());
     }
 
+    /**
+     * {@inheritDoc}
+     * The axioms are listed lazily, without materializing the whole result in memory.
+     * Different statements may produce the same axiom
+     * only if they have reversed subject and object (e.g. {@code A owl:equivalentClass B}
+     * and {@code B owl:equivalentClass A}) or if some of their operands are anonymous
+     * (e.g. structurally equal class expressions with different b-nodes).
+     * Only such statements (see {@link #mayHaveDuplicates(OntGraphModel)}) are tracked in a seen-map,
+     * all others are passed as is.
+     * If the content cache is enabled, triples of duplicates are merged into the first returned container,
+     * otherwise duplicates are just skipped.
+     *
+     * @param model   {@link OntGraphModel ONT-API Jena Model}
+     * @param factory {@link InternalObjectFactory} to produce OWL-API Objects
+     * @param config  {@link InternalConfig} to control process
+     * @return {@link ExtendedIterator} of {@link ONTObject}s that wrap {@link Axiom}s
+     */
     @Override
     public ExtendedIterator<ONTObject<Axiom>> listAxioms(OntGraphModel model,
                                                          InternalObjectFactory factory,
                                                          InternalConfig config) {
-        Map<Axiom, ONTObject<Axiom>> res = new HashMap<>(); // memory!
-        super.listAxioms(model, factory, config)
-                .forEachRemaining(c -> res.compute(c.getObject(), (a, w) -> w == null ? c : w.append(c)));
-        return Iter.create(res.values());
+        Predicate<OntStatement> test = mayHaveDuplicates(model);
+        boolean merge = config.isContentCacheEnabled();
+        Map<Axiom, List<ONTObject<Axiom>>> seen = new HashMap<>();
+        ExtendedIterator<OntStatement> statements = listStatements(model, config);
+        if (config.isSplitAxiomAnnotations()) {
+            statements = Iter.flatMap(statements, Models::listSplitStatements);
+        }
+        return statements.mapWith(s -> {
+            ONTObject<Axiom> res = toAxiom(s, factory, config);
+            if (!test.test(s)) {
+                return res;
+            }
+            List<ONTObject<Axiom>> duplicates = seen.get(res.getObject());
+            if (duplicates != null) {
+                if (merge) {
+                    duplicates.add(res);
+                }
+                return null;
+            }
+            if (!merge) {
+                seen.put(res.getObject(), Collections.emptyList());
+                return res;
+            }
+            List<ONTObject<Axiom>> list = new ArrayList<>();
+            seen.put(res.getObject(), list);
+            // the list is read only when the triples are requested,
+            // i.e., as a rule, after the iteration is finished:
+            return res.append(() -> list.stream().flatMap(ONTObject::triples));
+        }).filterDrop(Objects::isNull);
+    }
+
+    /**
+     * Returns a {@code Predicate} to test whether the axiom produced by a statement
+     * may coincide with some axiom produced by another statement.
+     *
+     * @param model {@link OntGraphModel}
+     * @return {@code Predicate} for {@link OntStatement}s
+     */
+    Predicate<OntStatement> mayHaveDuplicates(OntGraphModel model) {
+        Graph graph = model.getGraph();
+        Node predicate = getPredicate().asNode();
+        return s -> {
+            Node subject = s.getSubject().asNode();
+            Node object = s.getObject().asNode();
+            return subject.isBlank() || object.isBlank()
+                    || (!subject.equals(object) && graph.contains(object, predicate, subject));
+        };
     }
 }
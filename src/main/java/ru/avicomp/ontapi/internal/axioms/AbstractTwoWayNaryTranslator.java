@@ -25,6 +25,7 @@ import ru.avicomp.ontapi.jena.model.OntDisjoint;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
 import ru.avicomp.ontapi.jena.model.OntObject;
 import ru.avicomp.ontapi.jena.model.OntStatement;
+import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.utils.Models;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
@@ -32,6 +33,7 @@ import java.util.Collection;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -76,6 +78,22 @@ public abstract class AbstractTwoWayNaryTranslator<Axiom extends OWLAxiom & OWLN
                 .andThen(Models.listOntObjects(model, getDisjointView()).mapWith(OntObject::getRoot));
     }
 
+    /**
+     * {@inheritDoc}
+     * A pairwise statement may duplicate an anonymous n-ary member-list axiom with two members,
+     * so if there is at least one such construction in the model, each statement is a candidate.
+     *
+     * @param model {@link OntGraphModel}
+     * @return {@code Predicate} for {@link OntStatement}s
+     */
+    @Override
+    Predicate<OntStatement> mayHaveDuplicates(OntGraphModel model) {
+        if (Iter.findFirst(Models.listOntObjects(model, getDisjointView())).isPresent()) {
+            return s -> true;
+        }
+        return super.mayHaveDuplicates(model);
+    }
+
     @Override
     public boolean testStatement(OntStatement statement, InternalConfig config) {
         return super.testStatement(statement, config) || (RDF.type.equals(statement.getPredicate()) && statement.getSubject().canAs(getDisjointView()));
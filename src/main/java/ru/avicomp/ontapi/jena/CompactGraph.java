@@ -0,0 +1,989 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena;
+
+import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.AllCapabilities;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.NullIterator;
+
+import java.io.Serializable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * A compact in-memory {@link Graph} implementation, that is optimized for large read-mostly data.
+ * <p>
+ * All nodes are encoded as int-ids through the {@link Dictionary}, which can be shared between several graphs
+ * (see {@link #factory()}).
+ * The main data is stored in three sorted {@code int}-arrays (each triple is three consecutive ids),
+ * that are ordered as {@code SPO}, {@code POS} and {@code OSP},
+ * so any {@code find(S, P, O)} pattern is answered by a binary search for the range of the suitable index.
+ * This requires much less memory than the {@link GraphMem}, which holds full {@link Triple} objects in three hash maps.
+ * <p>
+ * Modifications are collected in small delta structures (a {@link GraphMem} for added triples
+ * and a {@code Set} for deleted ones), which are merged into the main arrays when they become too large.
+ * For initial population the method {@link #addAll(Iterator)} or the {@link #createLoader() loader} should be used:
+ * they encode triples directly into arrays without any intermediate structures.
+ * Note that the ONT-API loader uses the {@link #createLoader() loader} when it parses a document into this graph.
+ * When the graph is completely loaded, it can be {@link #freeze() frozen}:
+ * the data is compacted and any further modification is denied.
+ * <p>
+ * Notes:
+ * <ul>
+ * <li>this graph uses term equality, not value equality, for literals
+ * (i.e. {@code "01"^^xsd:int} and {@code "1"^^xsd:int} are different nodes),
+ * see {@link Capabilities#handlesLiteralTyping()}</li>
+ * <li>like the {@link GraphMem}, the graph is not thread-safe;
+ * to use it in multithreading it should be wrapped, e.g. with the {@link RWLockedGraph}</li>
+ * <li>iterators do not support removing; an iterator is not affected by a compaction,
+ * that happens while it is open</li>
+ * </ul>
+ *
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompactGraph extends GraphBase {
+    /**
+     * The minimal size of delta to start compaction.
+     */
+    protected static final int MIN_COMPACTION_THRESHOLD = 10_000;
+
+    protected final Dictionary dictionary;
+    protected Store store;
+    // added triples that are not in the store:
+    protected GraphMem added;
+    // deleted triples, that are still in the store;
+    // the set is replaced (not cleared) on compaction, since the open iterators over the old store refer to it:
+    protected Set<Triple> deleted = new HashSet<>();
+    protected boolean frozen;
+
+    /**
+     * Creates a graph with its own dictionary.
+     */
+    public CompactGraph() {
+        this(new Dictionary());
+    }
+
+    /**
+     * Creates a graph with the given (possibly shared) dictionary.
+     *
+     * @param dictionary {@link Dictionary}, not {@code null}
+     */
+    public CompactGraph(Dictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary);
+        this.store = Store.EMPTY;
+    }
+
+    /**
+     * Returns a factory, that produces fresh graphs sharing a single {@link Dictionary}.
+     * The nodes, that are common for several graphs (e.g. the OWL vocabulary), are stored only once.
+     * The dictionary is not serialized: a deserialized factory starts with a new one.
+     *
+     * @return {@link Supplier} of {@link CompactGraph}s
+     */
+    public static Supplier<Graph> factory() {
+        return new SharedFactory();
+    }
+
+    /**
+     * Returns the node dictionary.
+     *
+     * @return {@link Dictionary}
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Answers {@code true} if the graph is read-only.
+     *
+     * @return boolean
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Compacts the graph and makes it read-only.
+     * After this operation any attempt to modify the graph will cause an exception.
+     *
+     * @return this graph
+     */
+    public CompactGraph freeze() {
+        compact();
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Merges all pending modifications into the sorted arrays.
+     */
+    public void compact() {
+        checkOpen();
+        if (isDeltaEmpty()) return;
+        store = Store.create(dictionary, Store.encode(dictionary, store, deleted, added == null ?
+                Collections.emptyIterator() : added.find()));
+        added = null;
+        deleted = new HashSet<>();
+    }
+
+    /**
+     * Adds all the given triples in bulk.
+     * If there are no graph listeners, the triples are encoded directly into the main arrays,
+     * otherwise they are added one by one to provide the notifications.
+     *
+     * @param triples {@code Iterator} of {@link Triple}s, not {@code null}
+     * @throws AddDeniedException if the graph is frozen
+     */
+    public void addAll(Iterator<Triple> triples) throws AddDeniedException {
+        checkOpen();
+        checkWritable();
+        if (getEventManager().listening()) {
+            triples.forEachRemaining(this::add);
+            return;
+        }
+        if (added != null) {
+            Iterator<Triple> rest = triples;
+            triples = new Iterator<Triple>() {
+                final Iterator<Triple> pending = added.find();
+                @Override
+                public boolean hasNext() {
+                    return pending.hasNext() || rest.hasNext();
+                }
+
+                @Override
+                public Triple next() {
+                    return pending.hasNext() ? pending.next() : rest.next();
+                }
+            };
+        }
+        store = Store.create(dictionary, Store.encode(dictionary, store, deleted, triples));
+        added = null;
+        deleted = new HashSet<>();
+    }
+
+    /**
+     * Creates a {@link StreamRDF} sink to populate this graph in bulk from an RDF parser.
+     * The parsed triples are encoded directly into an {@code int}-buffer
+     * and are merged into the main arrays only once, when the parsing is finished,
+     * so a whole document costs a single sort.
+     * If the parsing fails (i.e. {@link StreamRDF#finish()} is not called), the graph remains unchanged.
+     * If the graph has listeners, the triples are added one by one to provide the notifications.
+     * Prefixes are passed to the graph's {@link org.apache.jena.shared.PrefixMapping}.
+     *
+     * @return {@link StreamRDF}
+     * @see ru.avicomp.ontapi.jena.utils.Graphs#createLoader(Graph)
+     */
+    public StreamRDF createLoader() {
+        return new Loader();
+    }
+
+    /**
+     * Merges the pending modifications, the store and the given encoded triples into a new store.
+     *
+     * @param data {@link IntBuffer} of {@code (s, p, o)} records
+     */
+    protected void addAll(IntBuffer data) {
+        IntBuffer res = Store.encode(dictionary, store, deleted, added == null ?
+                Collections.emptyIterator() : added.find());
+        res.addAll(data);
+        store = Store.create(dictionary, res);
+        added = null;
+        deleted = new HashSet<>();
+    }
+
+    protected boolean isDeltaEmpty() {
+        return deleted.isEmpty() && (added == null || added.isEmpty());
+    }
+
+    protected void checkWritable() {
+        if (frozen) throw new AddDeniedException("The graph is frozen");
+    }
+
+    protected void compactIfNeeded() {
+        int delta = deleted.size() + (added == null ? 0 : added.size());
+        if (delta > Math.max(MIN_COMPACTION_THRESHOLD, store.size / 4)) {
+            compact();
+        }
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        checkWritable();
+        if (deleted.remove(t)) {
+            return;
+        }
+        if (store.contains(dictionary, t)) {
+            return;
+        }
+        if (added == null) {
+            added = new GraphMem();
+        }
+        added.add(t);
+        compactIfNeeded();
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        if (frozen) throw new DeleteDeniedException("The graph is frozen");
+        if (added != null && added.contains(t)) {
+            added.delete(t);
+            return;
+        }
+        if (store.contains(dictionary, t)) {
+            deleted.add(t);
+            compactIfNeeded();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (frozen) throw new DeleteDeniedException("The graph is frozen");
+        store = Store.EMPTY;
+        added = null;
+        deleted = new HashSet<>();
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    @Override
+    public void close() {
+        store = Store.EMPTY;
+        added = null;
+        deleted = new HashSet<>();
+        super.close();
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+        ExtendedIterator<Triple> res = store.find(dictionary, m);
+        if (store.size != 0) {
+            // the current set is captured, so a subsequent compaction does not affect the iterator:
+            res = res.filterDrop(deleted::contains);
+        }
+        if (added != null && !added.isEmpty()) {
+            res = res.andThen(added.find(m));
+        }
+        return res;
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        if (added != null && added.contains(t)) {
+            return true;
+        }
+        return !deleted.contains(t) && store.contains(dictionary, t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return store.size - deleted.size() + (added == null ? 0 : added.size());
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        if (capabilities == null) {
+            capabilities = new AllCapabilities() {
+                @Override
+                public boolean addAllowed(boolean every) {
+                    return !frozen;
+                }
+
+                @Override
+                public boolean deleteAllowed(boolean every) {
+                    return !frozen;
+                }
+
+                @Override
+                public boolean iteratorRemoveAllowed() {
+                    return false;
+                }
+
+                @Override
+                public boolean handlesLiteralTyping() {
+                    return false;
+                }
+            };
+        }
+        return capabilities;
+    }
+
+    /**
+     * A parser sink, that collects encoded triples and then merges them into the graph at once.
+     *
+     * @see #createLoader()
+     */
+    protected class Loader extends StreamRDFBase {
+        private IntBuffer data;
+        private Dictionary.Holder holder;
+        private boolean listening;
+
+        @Override
+        public void start() {
+            checkOpen();
+            checkWritable();
+            data = new IntBuffer(1024);
+            // if the parsing fails, the ids of the buffer will be released when the loader is collected by GC:
+            holder = dictionary.track(this, data);
+            listening = getEventManager().listening();
+        }
+
+        @Override
+        public void triple(Triple t) {
+            if (listening) {
+                add(t);
+                return;
+            }
+            data.add(dictionary.add(t.getSubject()), dictionary.add(t.getPredicate()), dictionary.add(t.getObject()));
+        }
+
+        @Override
+        public void quad(Quad q) {
+            if (q.isTriple() || q.isDefaultGraph()) {
+                triple(q.asTriple());
+            }
+        }
+
+        @Override
+        public void prefix(String prefix, String iri) {
+            getPrefixMapping().setNsPrefix(prefix, iri);
+        }
+
+        @Override
+        public void finish() {
+            dictionary.untrack(holder);
+            if (data.size != 0) {
+                addAll(data);
+            }
+            data = null;
+            holder = null;
+        }
+    }
+
+    /**
+     * A thread-safe {@link Node} to {@code int} dictionary, that can be shared between graphs.
+     * <p>
+     * Each id has a reference count: the number of encoded records (of {@link Store stores}
+     * and of pending buffers) that contain it.
+     * Each store or buffer is tracked through a {@link PhantomReference}, so its ids are released
+     * only when it becomes unreachable, i.e. when no graph or open iterator uses it anymore.
+     * When the count drops to zero, the node is removed from the dictionary.
+     * The released ids are not reused, so a stale id can never point to another node,
+     * only the slots of the id-indexed arrays remain.
+     */
+    public static class Dictionary {
+        private static final int PAGE_BITS = 12;
+        private static final int PAGE_SIZE = 1 << PAGE_BITS;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final Map<Node, Integer> ids = new ConcurrentHashMap<>();
+        private final Set<Holder> holders = ConcurrentHashMap.newKeySet();
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        private volatile Node[] nodes = new Node[1024];
+        // reference counts, -1 means that the id is released:
+        private volatile AtomicIntegerArray[] counts = new AtomicIntegerArray[0];
+        private int size;
+
+        /**
+         * Returns the id of the node or {@code -1} if the node is absent in the dictionary.
+         * The reference count is not changed.
+         *
+         * @param node {@link Node}, not {@code null}
+         * @return int
+         */
+        public int getId(Node node) {
+            Integer res = ids.get(node);
+            return res == null ? -1 : res;
+        }
+
+        /**
+         * Returns the id of the node, registering it if needed.
+         * The reference count of the id is incremented, i.e. the caller gets a new reference.
+         *
+         * @param node {@link Node}, not {@code null}
+         * @return int
+         */
+        public int add(Node node) {
+            Integer res = ids.get(node);
+            return res != null && acquire(res) ? res : register(node);
+        }
+
+        private synchronized int register(Node node) {
+            expunge();
+            Integer res = ids.get(node);
+            if (res != null && acquire(res)) return res;
+            int id = size++;
+            Node[] array = nodes;
+            if (id == array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            AtomicIntegerArray[] pages = counts;
+            if ((id >>> PAGE_BITS) == pages.length) {
+                pages = Arrays.copyOf(pages, pages.length + 1);
+                pages[pages.length - 1] = new AtomicIntegerArray(PAGE_SIZE);
+                counts = pages;
+            }
+            count(id).set(id & PAGE_MASK, 1);
+            array[id] = node;
+            nodes = array;
+            ids.put(node, id);
+            return id;
+        }
+
+        private AtomicIntegerArray count(int id) {
+            return counts[id >>> PAGE_BITS];
+        }
+
+        /**
+         * Increments the reference count if the id is not released yet.
+         *
+         * @param id int
+         * @return {@code false} if the id is already released
+         */
+        private boolean acquire(int id) {
+            AtomicIntegerArray page = count(id);
+            int index = id & PAGE_MASK;
+            while (true) {
+                int c = page.get(index);
+                if (c < 0) return false;
+                if (page.compareAndSet(index, c, c + 1)) return true;
+            }
+        }
+
+        /**
+         * Increments the reference count of the id, that is known to be alive.
+         *
+         * @param id int
+         */
+        protected void retain(int id) {
+            count(id).incrementAndGet(id & PAGE_MASK);
+        }
+
+        /**
+         * Decrements the reference count of the id and removes the node if there are no more references.
+         *
+         * @param id int
+         */
+        protected void release(int id) {
+            if (count(id).decrementAndGet(id & PAGE_MASK) == 0) {
+                free(id);
+            }
+        }
+
+        private synchronized void free(int id) {
+            if (!count(id).compareAndSet(id & PAGE_MASK, 0, -1)) {
+                // acquired again
+                return;
+            }
+            Node[] array = nodes;
+            ids.remove(array[id]);
+            array[id] = null;
+        }
+
+        /**
+         * Starts tracking the records owned by the given object:
+         * once the owner becomes unreachable, all the ids of the records will be released.
+         *
+         * @param owner   anything
+         * @param records {@link IntBuffer} with acquired ids
+         * @return {@link Holder}
+         */
+        protected Holder track(Object owner, IntBuffer records) {
+            expunge();
+            Holder res = new Holder(owner, records, queue);
+            holders.add(res);
+            return res;
+        }
+
+        /**
+         * Stops tracking, the ids are not released: the ownership is transferred to the caller.
+         *
+         * @param holder {@link Holder}
+         */
+        protected void untrack(Holder holder) {
+            holders.remove(holder);
+            holder.clear();
+        }
+
+        /**
+         * Releases the ids of all the records, whose owners have been collected by GC.
+         */
+        protected void expunge() {
+            Reference<?> ref;
+            while ((ref = queue.poll()) != null) {
+                Holder h = (Holder) ref;
+                if (!holders.remove(h)) continue;
+                IntBuffer records = h.records;
+                for (int i = 0; i < records.size; i++) {
+                    release(records.array[i]);
+                }
+            }
+        }
+
+        /**
+         * Returns the node by its id.
+         *
+         * @param id int
+         * @return {@link Node}
+         */
+        public Node getNode(int id) {
+            return nodes[id];
+        }
+
+        /**
+         * Returns the number of nodes in the dictionary.
+         *
+         * @return int
+         */
+        public int size() {
+            return ids.size();
+        }
+
+        /**
+         * A reference to an owner of encoded records.
+         */
+        protected static class Holder extends PhantomReference<Object> {
+            private final IntBuffer records;
+
+            protected Holder(Object owner, IntBuffer records, ReferenceQueue<Object> queue) {
+                super(owner, queue);
+                this.records = records;
+            }
+        }
+    }
+
+    /**
+     * A serializable factory of graphs with a shared dictionary.
+     *
+     * @see #factory()
+     */
+    protected static class SharedFactory implements Supplier<Graph>, Serializable {
+        private static final long serialVersionUID = 1L;
+        private transient volatile Dictionary dictionary;
+
+        @Override
+        public Graph get() {
+            Dictionary res = dictionary;
+            if (res == null) {
+                synchronized (this) {
+                    if ((res = dictionary) == null) {
+                        dictionary = res = new Dictionary();
+                    }
+                }
+            }
+            return new CompactGraph(res);
+        }
+    }
+
+    /**
+     * The immutable main part of the graph: three sorted copies of the encoded triples.
+     * The {@code spo} array contains records {@code (s, p, o)},
+     * the {@code pos} array - {@code (p, o, s)}, the {@code osp} array - {@code (o, s, p)}.
+     */
+    protected static class Store {
+        protected static final Store EMPTY = new Store(new int[0], new int[0], new int[0], 0);
+
+        protected final int[] spo;
+        protected final int[] pos;
+        protected final int[] osp;
+        protected final int size;
+
+        protected Store(int[] spo, int[] pos, int[] osp, int size) {
+            this.spo = spo;
+            this.pos = pos;
+            this.osp = osp;
+            this.size = size;
+        }
+
+        /**
+         * Encodes the triples of the store (except the deleted ones) and the given triples into a single array.
+         *
+         * @param dictionary {@link Dictionary}
+         * @param store      {@link Store}
+         * @param deleted    {@code Set} of {@link Triple}s to skip
+         * @param triples    {@code Iterator} of {@link Triple}s to add
+         * @return {@link IntBuffer} of {@code (s, p, o)} records with acquired ids, not sorted, may contain duplicates
+         */
+        protected static IntBuffer encode(Dictionary dictionary,
+                                          Store store,
+                                          Set<Triple> deleted,
+                                          Iterator<Triple> triples) {
+            IntBuffer res = new IntBuffer(store.size * 3 + 1024);
+            Set<IntBuffer.Key> skip = new HashSet<>();
+            deleted.forEach(t -> skip.add(new IntBuffer.Key(dictionary.getId(t.getSubject()),
+                    dictionary.getId(t.getPredicate()), dictionary.getId(t.getObject()))));
+            for (int i = 0; i < store.size * 3; i += 3) {
+                if (!skip.isEmpty() && skip.contains(new IntBuffer.Key(store.spo[i], store.spo[i + 1], store.spo[i + 2]))) {
+                    continue;
+                }
+                res.add(store.spo[i], store.spo[i + 1], store.spo[i + 2]);
+                // a new reference, the old store still holds its own:
+                dictionary.retain(store.spo[i]);
+                dictionary.retain(store.spo[i + 1]);
+                dictionary.retain(store.spo[i + 2]);
+            }
+            while (triples.hasNext()) {
+                Triple t = triples.next();
+                res.add(dictionary.add(t.getSubject()), dictionary.add(t.getPredicate()), dictionary.add(t.getObject()));
+            }
+            return res;
+        }
+
+        /**
+         * Creates a store from the given {@code (s, p, o)} records.
+         * The store takes over the references of the records' ids:
+         * the references of duplicates are released immediately,
+         * the rest are released when the store is collected by GC.
+         *
+         * @param dictionary {@link Dictionary}
+         * @param data       {@link IntBuffer} with acquired ids
+         * @return {@link Store}
+         */
+        protected static Store create(Dictionary dictionary, IntBuffer data) {
+            int[] spo = data.array;
+            int n = data.size / 3;
+            sort(spo, 0, n - 1);
+            n = distinct(dictionary, spo, n);
+            int length = n * 3;
+            if (spo.length != length) {
+                spo = Arrays.copyOf(spo, length);
+            }
+            int[] pos = new int[length];
+            int[] osp = new int[length];
+            for (int i = 0; i < length; i += 3) {
+                int s = spo[i], p = spo[i + 1], o = spo[i + 2];
+                pos[i] = p;
+                pos[i + 1] = o;
+                pos[i + 2] = s;
+                osp[i] = o;
+                osp[i + 1] = s;
+                osp[i + 2] = p;
+            }
+            sort(pos, 0, n - 1);
+            sort(osp, 0, n - 1);
+            Store res = new Store(spo, pos, osp, n);
+            if (n != 0) {
+                dictionary.track(res, new IntBuffer(spo, length));
+            }
+            return res;
+        }
+
+        protected boolean contains(Dictionary dictionary, Triple t) {
+            if (size == 0) return false;
+            int s = dictionary.getId(t.getSubject());
+            int p = dictionary.getId(t.getPredicate());
+            int o = dictionary.getId(t.getObject());
+            if (s < 0 || p < 0 || o < 0) return false;
+            int[] key = new int[]{s, p, o};
+            int from = lowerBound(spo, size, key, 3);
+            return from < size && compare(spo, from, key, 3) == 0;
+        }
+
+        /**
+         * Lists all triples matching the pattern.
+         *
+         * @param dictionary {@link Dictionary}
+         * @param m          {@link Triple} pattern
+         * @return {@link ExtendedIterator} of {@link Triple}s
+         */
+        protected ExtendedIterator<Triple> find(Dictionary dictionary, Triple m) {
+            if (size == 0) return NullIterator.instance();
+            Node sn = m.getMatchSubject();
+            Node pn = m.getMatchPredicate();
+            Node on = m.getMatchObject();
+            int s = sn == null ? -1 : dictionary.getId(sn);
+            int p = pn == null ? -1 : dictionary.getId(pn);
+            int o = on == null ? -1 : dictionary.getId(on);
+            if ((sn != null && s < 0) || (pn != null && p < 0) || (on != null && o < 0)) {
+                return NullIterator.instance();
+            }
+            if (sn != null) {
+                if (pn != null) {
+                    return on != null ? range(spo, Order.SPO, dictionary, s, p, o) : range(spo, Order.SPO, dictionary, s, p);
+                }
+                return on != null ? range(osp, Order.OSP, dictionary, o, s) : range(spo, Order.SPO, dictionary, s);
+            }
+            if (pn != null) {
+                return on != null ? range(pos, Order.POS, dictionary, p, o) : range(pos, Order.POS, dictionary, p);
+            }
+            if (on != null) {
+                return range(osp, Order.OSP, dictionary, o);
+            }
+            return new RecordIterator(this, spo, 0, size, Order.SPO, dictionary);
+        }
+
+        private ExtendedIterator<Triple> range(int[] index, Order order, Dictionary dictionary, int... key) {
+            int from = lowerBound(index, size, key, key.length);
+            int to = upperBound(index, size, key, key.length);
+            if (from >= to) return NullIterator.instance();
+            return new RecordIterator(this, index, from, to, order, dictionary);
+        }
+
+        /**
+         * Returns the index of the first record that is not less than the key.
+         */
+        private static int lowerBound(int[] array, int size, int[] key, int length) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(array, mid, key, length) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Returns the index of the first record that is greater than the key.
+         */
+        private static int upperBound(int[] array, int size, int[] key, int length) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(array, mid, key, length) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private static int compare(int[] array, int record, int[] key, int length) {
+            int base = record * 3;
+            for (int i = 0; i < length; i++) {
+                int res = Integer.compare(array[base + i], key[i]);
+                if (res != 0) return res;
+            }
+            return 0;
+        }
+
+        private static int compare(int[] array, int a, int b) {
+            int x = a * 3, y = b * 3;
+            int res = Integer.compare(array[x], array[y]);
+            if (res != 0) return res;
+            res = Integer.compare(array[x + 1], array[y + 1]);
+            if (res != 0) return res;
+            return Integer.compare(array[x + 2], array[y + 2]);
+        }
+
+        private static void swap(int[] array, int a, int b) {
+            int x = a * 3, y = b * 3;
+            for (int i = 0; i < 3; i++) {
+                int tmp = array[x + i];
+                array[x + i] = array[y + i];
+                array[y + i] = tmp;
+            }
+        }
+
+        /**
+         * Sorts records (three ints each) in the range {@code [lo, hi]}
+         * using quicksort with a three-way partitioning,
+         * so that runs of equal records do not degrade it to quadratic time.
+         */
+        private static void sort(int[] array, int lo, int hi) {
+            int[] pivot = new int[3];
+            while (hi - lo > 16) {
+                int mid = (lo + hi) >>> 1;
+                // median of three -> to the position mid:
+                if (compare(array, mid, lo) < 0) swap(array, mid, lo);
+                if (compare(array, hi, lo) < 0) swap(array, hi, lo);
+                if (compare(array, hi, mid) < 0) swap(array, hi, mid);
+                System.arraycopy(array, mid * 3, pivot, 0, 3);
+                // [lo, lt) < pivot, [lt, i) == pivot, (gt, hi] > pivot:
+                int lt = lo, i = lo, gt = hi;
+                while (i <= gt) {
+                    int c = compare(array, i, pivot, 3);
+                    if (c < 0) {
+                        swap(array, lt++, i++);
+                    } else if (c > 0) {
+                        swap(array, i, gt--);
+                    } else {
+                        i++;
+                    }
+                }
+                // recursion for the smaller part, iteration for the larger:
+                if (lt - lo < hi - gt) {
+                    sort(array, lo, lt - 1);
+                    lo = gt + 1;
+                } else {
+                    sort(array, gt + 1, hi);
+                    hi = lt - 1;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                for (int j = i; j > lo && compare(array, j - 1, j) > 0; j--) {
+                    swap(array, j - 1, j);
+                }
+            }
+        }
+
+        /**
+         * Removes adjacent duplicates from the sorted array, releasing their ids.
+         *
+         * @return the new number of records
+         */
+        private static int distinct(Dictionary dictionary, int[] array, int n) {
+            if (n == 0) return 0;
+            int res = 1;
+            for (int i = 1; i < n; i++) {
+                if (compare(array, i, res - 1) == 0) {
+                    dictionary.release(array[i * 3]);
+                    dictionary.release(array[i * 3 + 1]);
+                    dictionary.release(array[i * 3 + 2]);
+                    continue;
+                }
+                if (i != res) {
+                    System.arraycopy(array, i * 3, array, res * 3, 3);
+                }
+                res++;
+            }
+            return res;
+        }
+    }
+
+    /**
+     * The order of ids in a record.
+     */
+    protected enum Order {
+        SPO(0, 1, 2),
+        POS(2, 0, 1),
+        OSP(1, 2, 0),
+        ;
+        // positions of subject, predicate and object in a record:
+        private final int s, p, o;
+
+        Order(int s, int p, int o) {
+            this.s = s;
+            this.p = p;
+            this.o = o;
+        }
+    }
+
+    /**
+     * An iterator over a range of records.
+     */
+    protected static class RecordIterator extends NiceIterator<Triple> {
+        // keeps the store (and therefore its ids) alive:
+        private final Store store;
+        private final int[] array;
+        private final int to;
+        private final Order order;
+        private final Dictionary dictionary;
+        private int current;
+
+        protected RecordIterator(Store store, int[] array, int from, int to, Order order, Dictionary dictionary) {
+            this.store = store;
+            this.array = array;
+            this.current = from;
+            this.to = to;
+            this.order = order;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < to;
+        }
+
+        @Override
+        public Triple next() {
+            if (current >= to) throw new NoSuchElementException();
+            int base = 3 * current++;
+            return Triple.create(dictionary.getNode(array[base + order.s]),
+                    dictionary.getNode(array[base + order.p]),
+                    dictionary.getNode(array[base + order.o]));
+        }
+    }
+
+    /**
+     * A simple growable {@code int}-array.
+     */
+    protected static class IntBuffer {
+        protected int[] array;
+        protected int size;
+
+        protected IntBuffer(int capacity) {
+            this.array = new int[Math.max(capacity, 3)];
+        }
+
+        protected IntBuffer(int[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+
+        protected void addAll(IntBuffer other) {
+            if (size + other.size > array.length) {
+                array = Arrays.copyOf(array, Math.max(array.length * 2, size + other.size));
+            }
+            System.arraycopy(other.array, 0, array, size, other.size);
+            size += other.size;
+        }
+
+        protected void add(int a, int b, int c) {
+            if (size + 3 > array.length) {
+                array = Arrays.copyOf(array, Math.max(array.length * 2, size + 3));
+            }
+            array[size++] = a;
+            array[size++] = b;
+            array[size++] = c;
+        }
+
+        /**
+         * A record key to be used in hash sets.
+         */
+        protected static class Key {
+            private final int a, b, c;
+
+            protected Key(int a, int b, int c) {
+                this.a = a;
+                this.b = b;
+                this.c = c;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (!(o instanceof Key)) return false;
+                Key k = (Key) o;
+                return a == k.a && b == k.b && c == k.c;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * (31 * a + b) + c;
+            }
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena;
+
+import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.NullIterator;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe in-memory {@link Graph} with multi-version concurrency control (MVCC).
+ * <p>
+ * Each triple is stored as an entry, that is stamped with the version at which the triple was added
+ * and the version at which it was deleted.
+ * Every modification produces a new version, which is published through a volatile field
+ * only after all indexes are updated.
+ * A {@code find} operation takes the current version and walks through the lock-free indexes,
+ * skipping entries that are not visible in that version.
+ * So the returned iterator always reflects the state of the graph at the moment of the call,
+ * it is not affected by any subsequent modification, and it never waits for writers.
+ * Writers are serialized between each other, but they never wait for readers:
+ * there is neither copying of data nor snapshotting of iterators, as in the {@link RWLockedGraph}.
+ * <p>
+ * Deleted entries are removed from the indexes lazily, in batches,
+ * when there are no open iterators that may still see them.
+ * The iterators are tracked through weak references,
+ * so a forgotten (not closed and not exhausted) iterator only delays the cleaning until it is garbage collected.
+ * <p>
+ * Notes:
+ * <ul>
+ * <li>each triple takes more memory than in the {@link GraphMem},
+ * since it is held with version stamps in four concurrent indexes</li>
+ * <li>like in the {@link GraphMem}, literal objects are matched by value</li>
+ * <li>{@link #size()} and {@link #contains(Triple)} reflect the latest state of the graph</li>
+ * <li>the {@link #getPrefixMapping() prefix mapping} is not thread-safe;
+ * the {@link Locked} wrapper guards it with the lock</li>
+ * </ul>
+ * The concurrent ONT-API managers store their ontologies in this graph
+ * (see {@link ru.avicomp.ontapi.OntManagers#createConcurrentONT()}),
+ * and the method {@link ru.avicomp.ontapi.jena.utils.Graphs#asConcurrent(Graph, ReadWriteLock)}
+ * wraps it as {@link Locked} instead of the plain {@link RWLockedGraph}.
+ *
+ * @see RWLockedGraph
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class SnapshotGraph extends GraphBase {
+    /**
+     * The minimal number of deleted entries to start cleaning.
+     */
+    protected static final int MIN_PURGE_THRESHOLD = 1024;
+
+    protected final Map<Triple, Entry> live = new ConcurrentHashMap<>();
+    protected final Map<Node, Queue<Entry>> subjects = new ConcurrentHashMap<>();
+    protected final Map<Node, Queue<Entry>> predicates = new ConcurrentHashMap<>();
+    protected final Map<Object, Queue<Entry>> objects = new ConcurrentHashMap<>();
+    protected final Queue<Entry> all = new ConcurrentLinkedQueue<>();
+    protected volatile Version current = new Version(0);
+
+    // the state below is accessed only by writers, under the monitor:
+    protected final Object writeLock = new Object();
+    // deleted entries, that are still in the indexes, in the order of deletion:
+    protected final Deque<Entry> deleted = new ArrayDeque<>();
+    // versions, that have been taken by readers and then superseded:
+    protected final List<WeakReference<Version>> readers = new ArrayList<>();
+    protected int purgeThreshold = MIN_PURGE_THRESHOLD;
+    protected int readersThreshold = MIN_PURGE_THRESHOLD;
+
+    /**
+     * Returns the current version of the data.
+     * The version is changed on every modification.
+     *
+     * @return long
+     */
+    public long version() {
+        return current.number;
+    }
+
+    /**
+     * Returns a key to index the given object node.
+     * Literals are indexed by value, as in the {@link GraphMem}.
+     *
+     * @param o {@link Node}
+     * @return Object
+     */
+    protected static Object objectKey(Node o) {
+        return o.isLiteral() ? o.getIndexingValue() : o;
+    }
+
+    /**
+     * Creates a filter to test triples against the given pattern.
+     *
+     * @param m {@link Triple} pattern
+     * @return {@link Predicate}
+     */
+    protected static Predicate<Triple> matcher(Triple m) {
+        Node s = m.getSubject();
+        Node p = m.getPredicate();
+        Node o = m.getObject();
+        return t -> (!s.isConcrete() || s.equals(t.getSubject()))
+                && (!p.isConcrete() || p.equals(t.getPredicate()))
+                && (!o.isConcrete() || (o.isLiteral() ? o.sameValueAs(t.getObject()) : o.equals(t.getObject())));
+    }
+
+    protected static <K> void index(Map<K, Queue<Entry>> index, K key, Entry e) {
+        index.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(e);
+    }
+
+    protected static <K> void unindex(Map<K, Queue<Entry>> index, K key, Set<Entry> garbage) {
+        Queue<Entry> q = index.get(key);
+        if (q == null) return;
+        q.removeIf(garbage::contains);
+        if (q.isEmpty()) {
+            index.remove(key, q);
+        }
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        synchronized (writeLock) {
+            if (live.containsKey(t)) return;
+            long v = current.number + 1;
+            Entry e = new Entry(t, v);
+            live.put(t, e);
+            index(subjects, t.getSubject(), e);
+            index(predicates, t.getPredicate(), e);
+            index(objects, objectKey(t.getObject()), e);
+            all.add(e);
+            publish(v);
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        synchronized (writeLock) {
+            Entry e = live.remove(t);
+            if (e == null) return;
+            long v = current.number + 1;
+            e.deleted = v;
+            deleted.add(e);
+            publish(v);
+            if (deleted.size() >= purgeThreshold) {
+                purge();
+            }
+        }
+    }
+
+    /**
+     * Removes all triples in a single version.
+     * Like the {@link GraphMem}, it does not produce a notification for each triple,
+     * there is only the {@link GraphEvents#removeAll} event.
+     */
+    @Override
+    public void clear() {
+        checkOpen();
+        synchronized (writeLock) {
+            if (!live.isEmpty()) {
+                long v = current.number + 1;
+                live.values().forEach(e -> {
+                    e.deleted = v;
+                    deleted.add(e);
+                });
+                live.clear();
+                publish(v);
+                purge();
+            }
+        }
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            super.close();
+            live.clear();
+            subjects.clear();
+            predicates.clear();
+            objects.clear();
+            all.clear();
+            deleted.clear();
+            readers.clear();
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+        Version v = acquire();
+        Node s = m.getSubject();
+        Node p = m.getPredicate();
+        Node o = m.getObject();
+        Queue<Entry> res;
+        if (s.isConcrete()) {
+            res = subjects.get(s);
+        } else if (o.isConcrete()) {
+            res = objects.get(objectKey(o));
+        } else if (p.isConcrete()) {
+            res = predicates.get(p);
+        } else {
+            res = all;
+        }
+        if (res == null) {
+            return NullIterator.instance();
+        }
+        return new VersionedIterator(v, res.iterator(), matcher(m));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (t.isConcrete() && !t.getObject().isLiteral()) {
+            return live.containsKey(t);
+        }
+        return containsByFind(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return live.size();
+    }
+
+    @Override
+    protected GraphStatisticsHandler createStatisticsHandler() {
+        return (s, p, o) -> s.isConcrete() || p.isConcrete() || o.isConcrete() ? -1 : live.size();
+    }
+
+    /**
+     * Takes the current version to read.
+     * The version is marked as used, so that the writer, which supersedes it,
+     * keeps the deleted entries until the reader is gone.
+     * Both the flag and the version field are volatile,
+     * so either the reader sees a new version and retries or the writer sees the flag.
+     *
+     * @return {@link Version}
+     */
+    protected Version acquire() {
+        while (true) {
+            Version res = current;
+            res.used = true;
+            if (res == current) {
+                return res;
+            }
+        }
+    }
+
+    /**
+     * Publishes a new version.
+     * Must be called by a writer when all indexes are updated.
+     *
+     * @param number long
+     */
+    protected void publish(long number) {
+        Version prev = current;
+        current = new Version(number);
+        if (!prev.used) return;
+        readers.add(new WeakReference<>(prev));
+        if (readers.size() < readersThreshold) return;
+        readers.removeIf(r -> r.get() == null);
+        readersThreshold = Math.max(MIN_PURGE_THRESHOLD, readers.size() * 2);
+    }
+
+    /**
+     * Removes from the indexes all deleted entries that are invisible for any reader.
+     * Must be called by a writer.
+     */
+    protected void purge() {
+        long min = current.number;
+        Iterator<WeakReference<Version>> it = readers.iterator();
+        while (it.hasNext()) {
+            Version r = it.next().get();
+            if (r == null) {
+                it.remove();
+            } else {
+                min = Math.min(min, r.number);
+            }
+        }
+        Set<Entry> garbage = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Node> s = new HashSet<>();
+        Set<Node> p = new HashSet<>();
+        Set<Object> o = new HashSet<>();
+        while (!deleted.isEmpty() && deleted.peekFirst().deleted <= min) {
+            Entry e = deleted.pollFirst();
+            garbage.add(e);
+            s.add(e.triple.getSubject());
+            p.add(e.triple.getPredicate());
+            o.add(objectKey(e.triple.getObject()));
+        }
+        if (!garbage.isEmpty()) {
+            s.forEach(x -> unindex(subjects, x, garbage));
+            p.forEach(x -> unindex(predicates, x, garbage));
+            o.forEach(x -> unindex(objects, x, garbage));
+            all.removeIf(garbage::contains);
+        }
+        purgeThreshold = deleted.size() + Math.max(MIN_PURGE_THRESHOLD, live.size() / 4);
+    }
+
+    /**
+     * A stored triple with the versions of its life.
+     */
+    protected static class Entry {
+        protected final Triple triple;
+        protected final long created;
+        protected volatile long deleted = Long.MAX_VALUE;
+
+        protected Entry(Triple triple, long created) {
+            this.triple = triple;
+            this.created = created;
+        }
+
+        protected boolean isVisible(long version) {
+            return created <= version && version < deleted;
+        }
+    }
+
+    /**
+     * A version of the data, that is held by readers (iterators).
+     */
+    protected static class Version {
+        protected final long number;
+        protected volatile boolean used;
+
+        protected Version(long number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * An iterator over the entries visible in the given version.
+     * It holds the version until it is closed or exhausted.
+     * Removing is supported and is performed through the graph, so the listeners are notified.
+     */
+    protected class VersionedIterator extends NiceIterator<Triple> {
+        private final Iterator<Entry> base;
+        private final Predicate<Triple> filter;
+        private Version version;
+        private Triple next;
+        private Triple last;
+
+        protected VersionedIterator(Version version, Iterator<Entry> base, Predicate<Triple> filter) {
+            this.version = version;
+            this.base = base;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) return true;
+            if (version == null) return false;
+            while (base.hasNext()) {
+                Entry e = base.next();
+                if (e.isVisible(version.number) && filter.test(e.triple)) {
+                    next = e.triple;
+                    return true;
+                }
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Triple next() {
+            ensureHasNext();
+            last = next;
+            next = null;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) throw new IllegalStateException();
+            delete(last);
+            last = null;
+        }
+
+        @Override
+        public void close() {
+            version = null;
+        }
+    }
+
+    /**
+     * A {@link RWLockedGraph} over a {@link SnapshotGraph}.
+     * Modifications are performed under the write lock,
+     * so that they are still exclusive with other operations of the lock holder (e.g. an ontology, which has caches),
+     * but all reading operations are lock-free: the base graph provides immutable iterators by itself,
+     * so there is no need to wait for or to snapshot any iterator.
+     */
+    public static class Locked extends RWLockedGraph {
+
+        public Locked(SnapshotGraph base, ReadWriteLock lock) {
+            super(base, lock);
+        }
+
+        @Override
+        public ExtendedIterator<Triple> find(Triple m) {
+            return base.find(m);
+        }
+
+        @Override
+        public ExtendedIterator<Triple> find(Node s, Node p, Node o) {
+            return base.find(s, p, o);
+        }
+
+        @Override
+        public boolean contains(Node s, Node p, Node o) {
+            return base.contains(s, p, o);
+        }
+
+        @Override
+        public boolean contains(Triple t) {
+            return base.contains(t);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return base.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return base.size();
+        }
+
+        @Override
+        protected void waitForEmptyIterators() {
+            // the base iterators are immutable snapshots, there is nothing to wait for
+        }
+    }
+}
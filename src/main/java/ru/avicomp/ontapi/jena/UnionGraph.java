@@ -16,16 +16,23 @@ package ru.avicomp.ontapi.jena;
 
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.compose.CompositionBase;
 import org.apache.jena.graph.impl.SimpleEventManager;
+import org.apache.jena.mem.GraphMem;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.apache.jena.util.CollectionFactory;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Stream;
 
 /**
@@ -36,6 +43,11 @@ import java.util.stream.Stream;
  * Underlying sub graphs are used only for searching; add and delete operations are performed only on the base graph.
  * Such structure allows to build graph hierarchy which is used to reference between different models.
  * Also note: this graph supports recursions, that is, it may contain itself somewhere in the hierarchy.
+ * For patterns with a concrete subject or predicate, the sub-graphs that cannot contain matching triples are skipped,
+ * this is decided by the {@link Summary routing summary} (a set of predicates and types
+ * and a Bloom filter of subjects) of each sub-graph.
+ * The summary of a graph is kept by its owner: by the {@code UnionGraph} whose base it is,
+ * or by the {@link Underlying} container, if it is a plain sub-graph.
  * The {@link PrefixMapping} of this graph is taken from the base graph,
  * and, therefore, any changes in it reflects both the base and this graph.
  * <p>
@@ -61,14 +73,36 @@ public class UnionGraph extends CompositionBase {
      * This {@code Set} cannot contain {@link UnionGraph}s.
      */
     protected Set<Graph> graphs;
+    /**
+     * Internal cache to hold the routing summaries of all summarized base graphs from the hierarchy,
+     * used while {@link Graph#find(Triple) #find(..)} with a concrete subject or predicate
+     * and to omit duplicates in a distinct graph.
+     * It is reset together with the {@link #graphs} cache.
+     * The map is built completely before it is published, so it can be read without any lock.
+     */
+    protected volatile Map<Graph, Summary> summaries;
+    /**
+     * The routing summary of the {@link #base} graph, created on demand.
+     */
+    private volatile Summary summary;
+    /**
+     * The maximum number of graphs without routing summaries, for which the duplicates are omitted by probing
+     * the previously processed graphs; if there are more such graphs, the returned triples are recorded into memory.
+     *
+     * @see #createFindIterator(Triple)
+     */
+    protected static final int PROBING_LIMIT = 4;
 
     /**
      * Creates an instance with default settings.
      * <p>
      * Note: it results a distinct graph (i.e. its parameter {@link #distinct} is {@code true}).
      * This means that the method {@link #find(Triple)} does not produce duplicates.
-     * The additional duplicate checking may lead to temporary writing
-     * the whole graph in memory in the form of {@code Set}, and for huge ontologies it is unacceptable.
+     * The additional duplicate checking is performed by probing the already processed graphs,
+     * and only those of them which can contain the same triple are taken into account
+     * (that is decided by their {@link Summary routing summaries}), so nothing is held in memory.
+     * Only if there are too many graphs without summaries,
+     * the triples are recorded into a {@link #createSet() Set} instead (see {@link #createFindIterator(Triple)}).
      * This checking is not performed if the graph is single (underlying part is empty).
      * <p>
      * Also notice, a top-level ontology view of in-memory graph is not sensitive to the distinct parameter
@@ -180,6 +214,7 @@ public class UnionGraph extends CompositionBase {
     public UnionGraph removeGraph(Graph graph) {
         checkOpen();
         getUnderlying().remove(graph);
+        getUnderlying().releaseSummary(graph);
         removeParent(graph);
         resetGraphsCache();
         return this;
@@ -193,10 +228,13 @@ public class UnionGraph extends CompositionBase {
     }
 
     /**
-     * Clears the {@link #graphs cache}.
+     * Clears the {@link #graphs cache} and the {@link #summaries summaries cache}.
      */
     protected void resetGraphsCache() {
-        collectAllUnionGraphs().forEach(x -> x.graphs = null);
+        collectAllUnionGraphs().forEach(x -> {
+            x.graphs = null;
+            x.summaries = null;
+        });
     }
 
     /**
@@ -241,7 +279,7 @@ public class UnionGraph extends CompositionBase {
     public boolean graphBaseContains(Triple t) {
         if (base.contains(t)) return true;
         if (sub.isEmpty()) return false;
-        Iterator<Graph> graphs = listBaseGraphs();
+        Iterator<Graph> graphs = listBaseGraphs(t);
         while (graphs.hasNext()) {
             Graph g = graphs.next();
             if (g == base) continue;
@@ -250,6 +288,98 @@ public class UnionGraph extends CompositionBase {
         return false;
     }
 
+    /**
+     * Lists all base {@code Graph}s from the hierarchy that may contain triples matching the given pattern.
+     * The base graph of this union graph is always included,
+     * the other graphs are filtered out by their {@link Summary routing summaries},
+     * if the pattern has a concrete subject or predicate and the graph can be summarized.
+     *
+     * @param m {@link Triple} pattern, not {@code null}
+     * @return {@link ExtendedIterator} of {@link Graph}s
+     * @see #listBaseGraphs()
+     */
+    protected ExtendedIterator<Graph> listBaseGraphs(Triple m) {
+        ExtendedIterator<Graph> res = listBaseGraphs();
+        if (!m.getPredicate().isConcrete() && !m.getSubject().isConcrete()) {
+            return res;
+        }
+        Map<Graph, Summary> summaries = getSummaries();
+        return res.filterKeep(x -> {
+            if (x == base) return true;
+            Summary s = summaries.get(x);
+            return s == null || s.canMatch(x, m);
+        });
+    }
+
+    /**
+     * Returns the {@link #summaries summaries cache}, collecting it if needed.
+     *
+     * @return {@code Map} with {@link Graph}s as keys and {@link Summary}s as values
+     */
+    protected Map<Graph, Summary> getSummaries() {
+        Map<Graph, Summary> res = summaries;
+        if (res == null) {
+            summaries = res = collectSummaries();
+        }
+        return res;
+    }
+
+    /**
+     * Collects the routing summaries of all summarized base graphs that are placed lower in the hierarchy.
+     * The summaries themselves are taken from their owners and are shared between all union graphs.
+     *
+     * @return {@code Map} with {@link Graph}s as keys and {@link Summary}s as values
+     */
+    protected Map<Graph, Summary> collectSummaries() {
+        Map<Graph, Summary> res = new IdentityHashMap<>();
+        if (canSummarize(base)) {
+            res.put(base, getBaseSummary());
+        }
+        for (UnionGraph u : collectUnionGraphs()) {
+            u.getUnderlying().graphs().forEach(g -> {
+                if (g instanceof UnionGraph) {
+                    UnionGraph x = (UnionGraph) g;
+                    if (canSummarize(x.getBaseGraph())) {
+                        res.putIfAbsent(x.getBaseGraph(), x.getBaseSummary());
+                    }
+                } else if (canSummarize(g)) {
+                    res.putIfAbsent(g, u.getUnderlying().getSummary(g));
+                }
+            });
+        }
+        return res;
+    }
+
+    /**
+     * Gets or creates the routing summary of the {@link #getBaseGraph() base graph}.
+     *
+     * @return {@link Summary}
+     */
+    protected Summary getBaseSummary() {
+        Summary res = summary;
+        if (res != null) {
+            return res;
+        }
+        synchronized (this) {
+            if (summary == null) {
+                summary = Summary.create(base);
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Answers {@code true} if the routing summary can be maintained for the given graph.
+     * Only plain in-memory graphs are accepted:
+     * the content of other graphs (e.g. inference graphs) may change without any notification.
+     *
+     * @param graph {@link Graph}
+     * @return boolean
+     */
+    protected boolean canSummarize(Graph graph) {
+        return graph instanceof GraphMem || graph instanceof CompactGraph || graph instanceof SnapshotGraph;
+    }
+
     /**
      * Creates an extended iterator to be used in {@link Graph#find(Triple)}.
      *
@@ -264,18 +394,38 @@ public class UnionGraph extends CompositionBase {
             return base.find(m);
         }
         if (!distinct) {
-            return Iter.flatMap(listBaseGraphs(), x -> x.find(m));
+            return Iter.flatMap(listBaseGraphs(m), x -> x.find(m));
         }
-        // The logic and the comment below have been copy-pasted from the org.apache.jena.graph.compose.Union:
         // To find in the union, find in the components, concatenate the results, and omit duplicates.
-        // That last is a performance penalty,
-        // but I see no way to remove it unless we know the graphs do not overlap.
-        Set<Triple> seen = createSet();
-        return Iter.flatMap(listBaseGraphs(), x -> recording(rejecting(x.find(m), seen), seen));
+        List<Graph> graphs = listBaseGraphs(m).toList();
+        Map<Graph, Summary> summaries = getSummaries();
+        if (graphs.stream().filter(x -> !summaries.containsKey(x)).count() > PROBING_LIMIT) {
+            // The contents of too many graphs are unknown, and probing each of them for each triple is too expensive,
+            // so, as the last resort, record the returned triples into memory,
+            // as org.apache.jena.graph.compose.Union does:
+            Set<Triple> seen = createSet();
+            return Iter.flatMap(Iter.create(graphs), x -> recording(rejecting(x.find(m), seen), seen));
+        }
+        // Instead of recording all the returned triples into memory,
+        // each triple is checked against the previously processed graphs that can contain it.
+        // Only the graphs that have matches for the pattern can overlap with the subsequent ones,
+        // so the others are not taken into account; the first graph is streamed as is.
+        // For a summarized graph, the summary is consulted first (a Bloom filter of subjects and a set of predicates),
+        // so the probing is performed only when the triple can be there.
+        List<Graph> seen = new ArrayList<>();
+        return Iter.flatMap(Iter.create(graphs), x -> {
+            Graph[] previous = seen.toArray(new Graph[0]);
+            ExtendedIterator<Triple> res = x.find(m);
+            if (previous.length == 0 || x.contains(m)) {
+                seen.add(x);
+            }
+            return previous.length == 0 ? res : res.filterDrop(t -> containsExactly(previous, summaries, t));
+        });
     }
 
     /**
-     * Creates a {@code Set} to be used while {@link Graph#find()}.
+     * Creates a {@code Set} to be used while {@link Graph#find()} in case of a hierarchy
+     * with more than {@link #PROBING_LIMIT} graphs without routing summaries to search in.
      * The returned set may contain a huge number of items.
      * And that's why this method has protected access -
      * implementations are allowed to override it for better performance.
@@ -286,6 +436,27 @@ public class UnionGraph extends CompositionBase {
         return CollectionFactory.createHashedSet();
     }
 
+    /**
+     * Answers {@code true} if any of the given graphs contains exactly the same triple.
+     * The graphs, whose routing summaries exclude the triple, are not probed.
+     * The {@link Graph#contains(Triple)} method may compare literals by value,
+     * and therefore it is used only as a quick preliminary check.
+     *
+     * @param graphs    Array of {@link Graph}s
+     * @param summaries {@code Map} with {@link Graph}s as keys and {@link Summary}s as values
+     * @param t         {@link Triple} to test, concrete
+     * @return boolean
+     */
+    private static boolean containsExactly(Graph[] graphs, Map<Graph, Summary> summaries, Triple t) {
+        for (Graph g : graphs) {
+            Summary s = summaries.get(g);
+            if (s != null && !s.canMatch(g, t)) continue;
+            if (!g.contains(t)) continue;
+            if (!t.getObject().isLiteral() || Iter.anyMatch(g.find(t), t::equals)) return true;
+        }
+        return false;
+    }
+
     /**
      * Closes the graph including all related graphs.
      * Caution: this is an irreversible operation,
@@ -407,11 +578,213 @@ public class UnionGraph extends CompositionBase {
         return String.format("%s(%s)@%s", getClass().getName(), Graphs.getName(this), Integer.toHexString(hashCode()));
     }
 
+    /**
+     * A routing summary of a graph: a set of all predicates, a set of all {@code rdf:type} objects
+     * and a Bloom filter of all subjects.
+     * It is registered as {@link GraphListener} in the graph and must not refer to it.
+     * The summary is collected lazily, by the first search, and then is maintained through the graph events.
+     * Deleting triples does not change the summary, so it may be wider than the graph, but never narrower,
+     * that is enough to skip the graphs that cannot contain matching triples.
+     * The Bloom filter is sized by the number of triples at the time of collecting;
+     * if the graph grows too much, the summary is invalidated and is collected again on demand.
+     * A new summary is always built into fresh sets and is published with a single volatile write,
+     * so the readers never see a partially collected data and do not need any lock.
+     *
+     * @since 1.4.1
+     */
+    protected static class Summary extends GraphListenerBase {
+        private static final Node RDF_TYPE = RDF.type.asNode();
+        // the published data or null if it must be (re)collected:
+        protected volatile Data data;
+        // the data that is being collected at the moment, to catch concurrent additions:
+        private volatile Data building;
+        private volatile long version;
+
+        /**
+         * Creates a summary and registers it in the given graph.
+         *
+         * @param graph {@link Graph}
+         * @return {@link Summary}
+         */
+        protected static Summary create(Graph graph) {
+            Summary res = new Summary();
+            graph.getEventManager().register(res);
+            return res;
+        }
+
+        /**
+         * Answers {@code false} if the graph definitely does not contain any triple matching the pattern.
+         *
+         * @param graph {@link Graph} that corresponds to this summary
+         * @param m     {@link Triple} pattern
+         * @return boolean
+         */
+        protected boolean canMatch(Graph graph, Triple m) {
+            Data res = data;
+            return (res == null ? collect(graph) : res).canMatch(m);
+        }
+
+        /**
+         * Collects the summary data from the graph.
+         * The result is published only if the summary has not been invalidated while collecting.
+         * The data is published before the {@code building} reference is cleared,
+         * and the {@link #addEvent(Triple)} reads the references in the reverse order,
+         * so any addition made while collecting goes either into the collected data or into the published one.
+         *
+         * @param graph {@link Graph}
+         * @return {@link Data}
+         */
+        protected synchronized Data collect(Graph graph) {
+            Data res = data;
+            if (res != null) return res;
+            long v = version;
+            res = new Data(graph.size());
+            building = res;
+            try {
+                graph.find().forEachRemaining(res::add);
+                if (v == version) {
+                    data = res;
+                }
+            } finally {
+                building = null;
+            }
+            return res;
+        }
+
+        protected void invalidate() {
+            version++;
+            data = null;
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            Data res = building;
+            if (res != null) res.add(t);
+            res = data;
+            if (res != null && res.add(t)) {
+                // the Bloom filter is overloaded
+                invalidate();
+            }
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            // the summary is allowed to be wider than the graph
+        }
+
+        @Override
+        public void notifyAddGraph(Graph g, Graph other) {
+            invalidate();
+        }
+
+        /**
+         * The summary data: the predicates, the {@code rdf:type} objects and the Bloom filter of subjects.
+         */
+        protected static class Data {
+            private static final int MIN_BITS = 1 << 10;
+            private static final int MAX_BITS = 1 << 28;
+            protected final Set<Node> predicates = ConcurrentHashMap.newKeySet();
+            protected final Set<Node> types = ConcurrentHashMap.newKeySet();
+            // the Bloom filter of subjects with two hash functions:
+            protected final AtomicLongArray subjects;
+            protected final int mask;
+            // the number of additions after which the filter is considered to be overloaded:
+            protected final int capacity;
+            protected final AtomicInteger count = new AtomicInteger();
+
+            /**
+             * Creates an empty data for the given expected number of triples.
+             * The filter has at least four bits per triple.
+             *
+             * @param expected int
+             */
+            protected Data(int expected) {
+                long bits = Math.min(MAX_BITS, Math.max(MIN_BITS, Integer.highestOneBit(Math.max(1, expected)) * 8L));
+                this.subjects = new AtomicLongArray((int) (bits >>> 6));
+                this.mask = (int) bits - 1;
+                this.capacity = (int) (bits >>> 2);
+            }
+
+            private static int hash1(int h) {
+                h ^= h >>> 16;
+                h *= 0x85ebca6b;
+                return h ^ (h >>> 13);
+            }
+
+            private static int hash2(int h) {
+                h *= 0xc2b2ae35;
+                return h ^ (h >>> 16);
+            }
+
+            /**
+             * Adds the triple into the summary.
+             *
+             * @param t {@link Triple}
+             * @return {@code true} if the filter is overloaded
+             */
+            protected boolean add(Triple t) {
+                Node p = t.getPredicate();
+                predicates.add(p);
+                if (RDF_TYPE.equals(p)) {
+                    types.add(t.getObject());
+                }
+                int h = t.getSubject().hashCode();
+                setBit(hash1(h));
+                setBit(hash2(h));
+                return count.incrementAndGet() > capacity;
+            }
+
+            private void setBit(int index) {
+                int i = index & mask;
+                long b = 1L << i;
+                if ((subjects.get(i >>> 6) & b) == 0) {
+                    subjects.getAndAccumulate(i >>> 6, b, (x, y) -> x | y);
+                }
+            }
+
+            private boolean hasBit(int index) {
+                int i = index & mask;
+                return (subjects.get(i >>> 6) & (1L << i)) != 0;
+            }
+
+            /**
+             * Answers {@code false} if there is definitely no triple with the given subject.
+             *
+             * @param s {@link Node}
+             * @return boolean
+             */
+            protected boolean hasSubject(Node s) {
+                int h = s.hashCode();
+                return hasBit(hash1(h)) && hasBit(hash2(h));
+            }
+
+            protected boolean canMatch(Triple m) {
+                Node s = m.getSubject();
+                if (s.isConcrete() && !hasSubject(s)) {
+                    return false;
+                }
+                Node p = m.getPredicate();
+                if (!p.isConcrete()) {
+                    return true;
+                }
+                if (!predicates.contains(p)) {
+                    return false;
+                }
+                Node o = m.getObject();
+                return !RDF_TYPE.equals(p) || !o.isURI() || types.contains(o);
+            }
+        }
+    }
+
     /**
      * A container to hold sub-graphs.
      */
     public static class Underlying {
         protected final Collection<Graph> graphs;
+        /**
+         * The routing summaries of the plain (i.e. not {@code UnionGraph}) sub-graphs.
+         */
+        protected final Map<Graph, Summary> summaries = new IdentityHashMap<>();
 
         protected Underlying() {
             this(new ArrayList<>());
@@ -468,6 +841,34 @@ public class UnionGraph extends CompositionBase {
             graphs.add(Objects.requireNonNull(graph));
         }
 
+        /**
+         * Gets or creates the routing summary for the given plain sub-graph.
+         *
+         * @param graph {@link Graph}
+         * @return {@link Summary}
+         */
+        protected Summary getSummary(Graph graph) {
+            synchronized (summaries) {
+                return summaries.computeIfAbsent(graph, Summary::create);
+            }
+        }
+
+        /**
+         * Detaches the routing summary of the given sub-graph, if any.
+         *
+         * @param graph {@link Graph}
+         */
+        protected void releaseSummary(Graph graph) {
+            Summary res;
+            synchronized (summaries) {
+                if (graphs.contains(graph)) return;
+                res = summaries.remove(graph);
+            }
+            if (res != null) {
+                graph.getEventManager().unregister(res);
+            }
+        }
+
         /**
          * Tests if the given triple belongs to any of the sub-graphs.
          *
@@ -0,0 +1,351 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+package ru.avicomp.ontapi.jena.impl;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import ru.avicomp.ontapi.jena.model.OntObject;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * A memoized transitive closure of object hierarchies
+ * (e.g. {@code rdfs:subClassOf} for class expressions or {@code rdfs:subPropertyOf} for properties).
+ * For each hierarchy (a combination of a type, a predicate and a direction)
+ * the index lazily numbers the objects in the post-order of a depth-first traversal,
+ * so that the descendants first reached from an object get the contiguous range of numbers right before it.
+ * So the closure of an object is stored as an interval of numbers,
+ * plus a {@link BitSet} for the descendants that have been numbered earlier through another parent;
+ * equal bitsets of an object and its child are shared.
+ * For a tree-like hierarchy the memory is linear in the number of objects,
+ * the bitsets are needed only for the multiple inheritance (in the worst case they are quadratic).
+ * Every object is traversed only once, and a closure is returned as a read-only {@code Set} view,
+ * so any repeated query is just a map lookup.
+ * The closures that pass through a cycle are not numbered and are computed and stored in the usual way.
+ * <p>
+ * The index is registered as a {@link org.apache.jena.graph.GraphListener} in the model graph
+ * and is reset on any change that may affect a hierarchy:
+ * a change of a triple with a hierarchy predicate or {@code rdf:type}, or of a triple with a blank subject
+ * (since the edges of a hierarchy also depend on the types of its nodes,
+ * e.g. a {@code rdfs:subClassOf} value is taken into account only if it is a class expression).
+ * Other changes, e.g. annotations of named objects, do not reset the index.
+ *
+ * @see OntObjectImpl#listHierarchy(OntObject, Class, Property, boolean, boolean)
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class HierarchyIndex extends GraphListenerBase {
+    private static final Cycle CYCLE = new Cycle();
+
+    protected final AtomicLong version = new AtomicLong();
+    protected volatile Map<Key, Hierarchy> hierarchies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns all (indirect) descendants of the given object.
+     * The result may include the object itself if there is a cycle in the hierarchy.
+     *
+     * @param object       {@link X}, not {@code null}
+     * @param type         the class-type of {@link X}
+     * @param predicate    the {@link Property} that determines the hierarchy
+     * @param inverse      if {@code true}, the inverse of {@code predicate} is used
+     * @param listChildren a {@code Function} that returns direct children for an object of type {@link X}
+     * @param <X>          subtype of {@link OntObject}
+     * @return unmodifiable {@code Set} of {@link X}s
+     */
+    @SuppressWarnings("unchecked")
+    public <X extends OntObject> Set<X> get(X object,
+                                            Class<X> type,
+                                            Property predicate,
+                                            boolean inverse,
+                                            Function<X, ExtendedIterator<X>> listChildren) {
+        Hierarchy hierarchy = hierarchies.computeIfAbsent(new Key(type, predicate, inverse), k -> new Hierarchy());
+        Set<X> res = (Set<X>) hierarchy.find(object);
+        if (res != null) {
+            return res;
+        }
+        synchronized (hierarchy) {
+            try {
+                return (Set<X>) hierarchy.closure(hierarchy.visit(object, listChildren, new HashSet<>()));
+            } catch (Cycle c) {
+                // a cycle: compute the closure of the root in the usual way
+                res = new HashSet<>();
+                for (X x : listChildren.apply(object).toList()) {
+                    OntObjectImpl.collectIndirect(x, listChildren, res);
+                }
+                res = Collections.unmodifiableSet(res);
+                hierarchy.cyclic.put(object, (Set<OntObject>) res);
+                return res;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of objects whose closures are known.
+     *
+     * @return int
+     */
+    public int size() {
+        return hierarchies.values().stream().mapToInt(Hierarchy::size).sum();
+    }
+
+    /**
+     * Returns the current version of the index, which is incremented on any reset.
+     *
+     * @return long
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Resets the index.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        hierarchies = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Resets the index if the given triple may affect some of its hierarchies.
+     *
+     * @param t {@link Triple}
+     */
+    protected void onChange(Triple t) {
+        Node p = t.getPredicate();
+        if (t.getSubject().isBlank() || RDF.type.asNode().equals(p)
+                || hierarchies.keySet().stream().anyMatch(k -> k.predicate.asNode().equals(p))) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        onChange(t);
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        onChange(t);
+    }
+
+    @Override
+    public void notifyAddGraph(Graph g, Graph other) {
+        invalidate();
+    }
+
+    @Override
+    public void notifyDeleteGraph(Graph g, Graph other) {
+        invalidate();
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        invalidate();
+    }
+
+    /**
+     * A numbered hierarchy.
+     * The numbers, the objects and the closures are only appended (under the lock of this object),
+     * and can be read without locking.
+     */
+    protected static final class Hierarchy {
+        private final Map<OntObject, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<OntObject, Set<OntObject>> cyclic = new ConcurrentHashMap<>();
+        private volatile OntObject[] nodes = new OntObject[16];
+        private volatile Closure[] closures = new Closure[16];
+        private int count;
+
+        /**
+         * Finds the already known closure of the given object.
+         *
+         * @param object {@link OntObject}
+         * @return {@code Set} or {@code null}
+         */
+        private Set<OntObject> find(OntObject object) {
+            Integer id = ids.get(object);
+            return id == null ? cyclic.get(object) : closures[id];
+        }
+
+        private int size() {
+            return ids.size() + cyclic.size();
+        }
+
+        private OntObject node(int id) {
+            return nodes[id];
+        }
+
+        private Closure closure(int id) {
+            return closures[id];
+        }
+
+        /**
+         * Numbers the given object and all its unnumbered descendants, computing their closures.
+         * A closure is stored only if it is complete, i.e. its computation does not pass through a cycle.
+         *
+         * @param object       {@link X}
+         * @param listChildren a {@code Function} to list direct children
+         * @param path         {@code Set} of objects that are in progress
+         * @param <X>          subtype of {@link OntObject}
+         * @return int, the number of the object
+         * @throws Cycle if the object is on the current path
+         */
+        private <X extends OntObject> int visit(X object,
+                                                Function<X, ExtendedIterator<X>> listChildren,
+                                                Set<X> path) throws Cycle {
+            Integer res = ids.get(object);
+            if (res != null) {
+                return res;
+            }
+            if (!path.add(object)) {
+                throw CYCLE;
+            }
+            int low = count;
+            boolean reflexive = false;
+            List<Integer> children = new ArrayList<>();
+            for (X x : listChildren.apply(object).toList()) {
+                if (x.equals(object)) {
+                    reflexive = true;
+                    continue;
+                }
+                children.add(visit(x, listChildren, path));
+            }
+            path.remove(object);
+            int high = count;
+            BitSet extra = new BitSet();
+            BitSet shared = null;
+            for (int child : children) {
+                Closure c = closures[child];
+                if (child < low) {
+                    // the child and all its descendants have been numbered before
+                    extra.set(c.low, child + 1);
+                }
+                if (c.extra != null) {
+                    extra.or(c.extra);
+                    shared = c.extra;
+                }
+            }
+            extra.clear(low, high);
+            append(object, new Closure(this, low, high, reflexive,
+                    extra.isEmpty() ? null : extra.equals(shared) ? shared : extra));
+            return high;
+        }
+
+        private void append(OntObject object, Closure closure) {
+            OntObject[] n = nodes;
+            Closure[] c = closures;
+            if (count == n.length) {
+                n = Arrays.copyOf(n, count * 2);
+                c = Arrays.copyOf(c, count * 2);
+            }
+            n[count] = object;
+            c[count] = closure;
+            nodes = n;
+            closures = c;
+            ids.put(object, count++);
+        }
+    }
+
+    /**
+     * A read-only {@code Set} view of a closure:
+     * the objects numbered in the range {@code [low, high)},
+     * the object itself (numbered {@code high}), if it is its own child,
+     * and the objects from the bitset.
+     */
+    protected static final class Closure extends AbstractSet<OntObject> {
+        private final Hierarchy hierarchy;
+        private final int low;
+        private final int high;
+        private final boolean reflexive;
+        private final BitSet extra;
+        private final int size;
+
+        private Closure(Hierarchy hierarchy, int low, int high, boolean reflexive, BitSet extra) {
+            this.hierarchy = hierarchy;
+            this.low = low;
+            this.high = high;
+            this.reflexive = reflexive;
+            this.extra = extra;
+            this.size = high - low + (reflexive ? 1 : 0) + (extra == null ? 0 : extra.cardinality());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer id = hierarchy.ids.get(o);
+            if (id == null) {
+                return false;
+            }
+            return (id >= low && id < high) || (reflexive && id == high) || (extra != null && extra.get(id));
+        }
+
+        @Override
+        public Iterator<OntObject> iterator() {
+            IntStream res = IntStream.range(low, reflexive ? high + 1 : high);
+            if (extra != null) {
+                res = IntStream.concat(res, extra.stream());
+            }
+            return res.mapToObj(hierarchy::node).iterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A hierarchy identifier.
+     */
+    protected static final class Key {
+        private final Class<?> type;
+        private final Property predicate;
+        private final boolean inverse;
+
+        protected Key(Class<?> type, Property predicate, boolean inverse) {
+            this.type = Objects.requireNonNull(type);
+            this.predicate = Objects.requireNonNull(predicate);
+            this.inverse = inverse;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return inverse == key.inverse && type.equals(key.type) && predicate.equals(key.predicate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, predicate, inverse);
+        }
+    }
+
+    /**
+     * An exception to indicate a cycle in a hierarchy, used internally to stop memoization.
+     */
+    private static class Cycle extends RuntimeException {
+        private Cycle() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.jena.impl;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A node-to-kinds table, that remembers which {@link RDFNode} types (kinds) a node can or cannot be viewed as.
+ * Each node is mapped to a pair of {@code long} bit-masks: known kinds and positive answers,
+ * so both positive and negative results are kept.
+ * Up to {@code 64} different types are supported, other types are not cached.
+ * Also, the table can hold the complete lists of nodes found for a type
+ * (e.g. all {@link ru.avicomp.ontapi.jena.model.OntIndividual individuals}),
+ * so that a repeated listing does not require a graph scan.
+ * <p>
+ * The table is registered as a {@link org.apache.jena.graph.GraphListener} in the model graph.
+ * On a triple change, only the nodes that may be affected are removed from the table:
+ * the subject, the predicate and the blank object (if it is not a type) of the triple,
+ * and then, recursively, the nodes whose kinds depend on the removed nodes,
+ * i.e. the blank nodes that refer to them (e.g. a class expression and its components),
+ * the subjects of {@code rdf:type} statements (e.g. an individual and its class)
+ * and the blank nodes used as values of a removed property (e.g. an anonymous individual).
+ * If the table is empty, the search is not performed.
+ * The complete lists of nodes are reset on any change.
+ * If the graph is unknown, or a whole graph is added or removed, the table is entirely reset.
+ *
+ * @see PersonalityModel#canAs(Node, Class)
+ * @since 1.4.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class NodeKindsCache extends GraphListenerBase {
+    protected static final int MAX_KINDS = 64;
+
+    protected final Map<Class<? extends RDFNode>, Integer> kinds = new ConcurrentHashMap<>();
+    protected final AtomicInteger counter = new AtomicInteger();
+    protected final AtomicLong version = new AtomicLong();
+    protected volatile Map<Node, long[]> table = new ConcurrentHashMap<>();
+    protected volatile Map<Class<? extends RDFNode>, List<Node>> lists = new ConcurrentHashMap<>();
+    protected final Graph graph;
+
+    /**
+     * Creates a table that is entirely reset on any change.
+     */
+    public NodeKindsCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a table that tracks the changes of the given graph locally.
+     *
+     * @param graph {@link Graph} the graph to which this table is attached as a listener, can be {@code null}
+     */
+    public NodeKindsCache(Graph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Answers {@code true} if the node can be viewed as the given type.
+     * The answer is taken from the table, if possible,
+     * otherwise it is computed by the given tester and remembered.
+     *
+     * @param node   {@link Node}, not {@code null}
+     * @param type   {@code Class}-type, not {@code null}
+     * @param tester {@link BiPredicate} to compute the answer
+     * @return boolean
+     */
+    public boolean test(Node node, Class<? extends RDFNode> type, BiPredicate<Node, Class<? extends RDFNode>> tester) {
+        int index = index(type);
+        if (index < 0) {
+            return tester.test(node, type);
+        }
+        long mask = 1L << index;
+        long version = this.version.get();
+        Map<Node, long[]> table = this.table;
+        long[] bits = table.get(node);
+        if (bits != null && (bits[0] & mask) != 0) {
+            return (bits[1] & mask) != 0;
+        }
+        boolean res = tester.test(node, type);
+        if (version != this.version.get()) {
+            // the graph has been changed during the computation
+            return res;
+        }
+        table.merge(node, new long[]{mask, res ? mask : 0}, (a, b) -> new long[]{a[0] | b[0], a[1] | b[1]});
+        return res;
+    }
+
+    /**
+     * Lists all nodes of the given type.
+     * The result is taken from the table, if possible,
+     * otherwise it is computed by the given loader and remembered.
+     *
+     * @param type   {@code Class}-type, not {@code null}
+     * @param loader {@link Supplier} to provide an {@link ExtendedIterator} over all nodes of the type
+     * @return {@link ExtendedIterator} of {@link Node}s
+     */
+    public ExtendedIterator<Node> list(Class<? extends RDFNode> type, Supplier<ExtendedIterator<Node>> loader) {
+        long version = this.version.get();
+        Map<Class<? extends RDFNode>, List<Node>> lists = this.lists;
+        List<Node> res = lists.get(type);
+        if (res != null) {
+            return WrappedIterator.create(res.iterator());
+        }
+        res = Collections.unmodifiableList(loader.get().toList());
+        if (version == this.version.get()) {
+            lists.put(type, res);
+        }
+        return WrappedIterator.create(res.iterator());
+    }
+
+    /**
+     * Puts the complete answers for the given type into the table:
+     * each of the given candidates is either of the type or not.
+     *
+     * @param type       {@code Class}-type, not {@code null}
+     * @param candidates {@code Collection} of {@link Node}s to classify
+     * @param tester     {@link Predicate} that answers whether a candidate is of the type,
+     *                   it must not touch the graph
+     */
+    public void classify(Class<? extends RDFNode> type, Collection<Node> candidates, Predicate<Node> tester) {
+        int index = index(type);
+        if (index < 0) {
+            return;
+        }
+        long mask = 1L << index;
+        long version = this.version.get();
+        Map<Node, long[]> table = this.table;
+        for (Node n : candidates) {
+            long[] bits = new long[]{mask, tester.test(n) ? mask : 0};
+            if (version != this.version.get()) {
+                return;
+            }
+            table.merge(n, bits, (a, b) -> new long[]{a[0] | b[0], a[1] | b[1]});
+        }
+    }
+
+    /**
+     * Returns the index of the type, registering it if needed.
+     *
+     * @param type {@code Class}
+     * @return int, a number from {@code 0} to {@code 63} or {@code -1} if there are too many types
+     */
+    protected int index(Class<? extends RDFNode> type) {
+        Integer res = kinds.get(type);
+        if (res != null) return res;
+        if (counter.get() >= MAX_KINDS) return -1;
+        synchronized (kinds) {
+            res = kinds.get(type);
+            if (res != null) return res;
+            int i = counter.get();
+            if (i >= MAX_KINDS) return -1;
+            kinds.put(type, i);
+            counter.incrementAndGet();
+            return i;
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the table.
+     *
+     * @return int
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Resets the table.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (!table.isEmpty()) {
+            table = new ConcurrentHashMap<>();
+        }
+        if (!lists.isEmpty()) {
+            lists = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Removes from the table all nodes whose kinds may be affected by the given added or deleted triple.
+     *
+     * @param t {@link Triple}
+     */
+    protected void invalidate(Triple t) {
+        Map<Node, long[]> table = this.table;
+        if (graph == null || table.isEmpty()) {
+            invalidate();
+            return;
+        }
+        version.incrementAndGet();
+        if (!lists.isEmpty()) {
+            lists = new ConcurrentHashMap<>();
+        }
+        // the usage of a property does not affect the kinds of its values,
+        // so they are processed only if the property itself is changed (i.e. it is the subject)
+        table.remove(t.getPredicate());
+        Set<Node> seen = new HashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(t.getSubject());
+        // a named object or a type is not affected by the statement (only its subject is),
+        // but a blank object can become e.g. an anonymous individual
+        if (t.getObject().isBlank() && !RDF.type.asNode().equals(t.getPredicate())) {
+            queue.add(t.getObject());
+        }
+        while (!queue.isEmpty()) {
+            Node n = queue.poll();
+            if (!seen.add(n)) continue;
+            table.remove(n);
+            graph.find(Node.ANY, Node.ANY, n).forEachRemaining(x -> {
+                if (x.getSubject().isBlank() || RDF.type.asNode().equals(x.getPredicate())) {
+                    queue.add(x.getSubject());
+                }
+            });
+            if (n.isURI()) {
+                graph.find(Node.ANY, n, Node.ANY).forEachRemaining(x -> {
+                    if (x.getObject().isBlank()) {
+                        queue.add(x.getObject());
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        invalidate(t);
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        invalidate(t);
+    }
+
+    @Override
+    public void notifyAddGraph(Graph g, Graph other) {
+        invalidate();
+    }
+
+    @Override
+    public void notifyDeleteGraph(Graph g, Graph other) {
+        invalidate();
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        invalidate();
+    }
+}
@@ -14,6 +14,7 @@
 
 package ru.avicomp.ontapi.jena.impl;
 
+import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
@@ -28,6 +29,7 @@ import org.apache.jena.util.iterator.WrappedIterator;
 import org.apache.jena.vocabulary.RDFS;
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.UnionGraph;
+import ru.avicomp.ontapi.jena.impl.conf.ObjectFactory;
 import ru.avicomp.ontapi.jena.impl.conf.OntPersonality;
 import ru.avicomp.ontapi.jena.model.*;
 import ru.avicomp.ontapi.jena.utils.Graphs;
@@ -53,6 +55,14 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings({"WeakerAccess", "SameParameterValue"})
 public class OntGraphModelImpl extends UnionModel implements OntGraphModel, PersonalityModel {
+    /**
+     * An optional node-to-kinds table, {@code null} by default.
+     */
+    protected volatile NodeKindsCache kinds;
+    /**
+     * An optional memoized hierarchy closure, {@code null} by default.
+     */
+    protected volatile HierarchyIndex hierarchy;
 
     /**
      * @param graph       {@link Graph}
@@ -67,6 +77,115 @@ public class OntGraphModelImpl extends UnionModel implements OntGraphModel, Pers
         return (OntPersonality) super.getPersonality();
     }
 
+    /**
+     * Turns on or off the node-to-kinds table,
+     * that is used to answer the {@link #canAs(Node, Class)} questions without repeated graph probes
+     * and to keep the results of the {@link #listOntObjects(Class)} method.
+     * On a change made through the model graph, only the affected nodes are removed from the table
+     * (see {@link NodeKindsCache} for details); changes made directly in the sub-graphs are not tracked.
+     * Disabled by default.
+     *
+     * @param enable boolean
+     * @return this model
+     * @see NodeKindsCache
+     * @since 1.4.1
+     */
+    public OntGraphModelImpl setNodeKindsCache(boolean enable) {
+        NodeKindsCache prev = kinds;
+        if (enable == (prev != null)) return this;
+        if (enable) {
+            NodeKindsCache res = new NodeKindsCache(getGraph());
+            getGraph().getEventManager().register(res);
+            kinds = res;
+        } else {
+            getGraph().getEventManager().unregister(prev);
+            kinds = null;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the node-to-kinds table, if it is enabled.
+     *
+     * @return {@link Optional} of {@link NodeKindsCache}
+     * @since 1.4.1
+     */
+    public Optional<NodeKindsCache> getNodeKindsCache() {
+        return Optional.ofNullable(kinds);
+    }
+
+    /**
+     * Turns on or off the hierarchy index,
+     * that memoizes the transitive closures of the class and property hierarchies,
+     * i.e. the results of the methods like {@link OntCE#superClasses(boolean) OntCE#superClasses(false)}
+     * or {@link OntPE#subProperties(boolean) OntPE#subProperties(false)}.
+     * The index is reset on any change made through the model graph that may affect a hierarchy
+     * (see {@link HierarchyIndex} for details); changes made directly in the sub-graphs are not tracked.
+     * Disabled by default.
+     *
+     * @param enable boolean
+     * @return this model
+     * @see HierarchyIndex
+     * @since 1.4.1
+     */
+    public OntGraphModelImpl setHierarchyIndex(boolean enable) {
+        HierarchyIndex prev = hierarchy;
+        if (enable == (prev != null)) return this;
+        if (enable) {
+            HierarchyIndex res = new HierarchyIndex();
+            getGraph().getEventManager().register(res);
+            hierarchy = res;
+        } else {
+            getGraph().getEventManager().unregister(prev);
+            hierarchy = null;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the hierarchy index, if it is enabled.
+     *
+     * @return {@link Optional} of {@link HierarchyIndex}
+     * @since 1.4.1
+     */
+    public Optional<HierarchyIndex> getHierarchyIndex() {
+        return Optional.ofNullable(hierarchy);
+    }
+
+    /**
+     * Classifies all subjects of the graph at once against the given types
+     * and puts the results into the node-to-kinds table, which is turned on if needed.
+     * The subjects are collected in a single pass over the graph,
+     * and then each type is listed once using its {@link ObjectFactory#iterator(org.apache.jena.enhanced.EnhGraph) factory iterator}
+     * (the list is also kept in the table): a subject is of the type if and only if it is in the list,
+     * so there are no per-subject probes.
+     *
+     * @param types Array of {@code Class}-types
+     * @return this model
+     * @throws OntJenaException.Recursion if a graph recursion is indicated
+     * @since 1.4.1
+     */
+    @SafeVarargs
+    public final OntGraphModelImpl classifyNodes(Class<? extends OntObject>... types) {
+        NodeKindsCache kinds = setNodeKindsCache(true).kinds;
+        Set<Node> subjects = getGraph().find().mapWith(Triple::getSubject).toSet();
+        for (Class<? extends OntObject> type : types) {
+            ObjectFactory factory = getOntPersonality().getObjectFactory(type);
+            Set<Node> nodes = kinds.list(type, () -> factory.iterator(this).mapWith(EnhNode::asNode)).toSet();
+            kinds.classify(type, subjects, nodes::contains);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean canAs(Node node, Class<? extends RDFNode> view) {
+        NodeKindsCache kinds = this.kinds;
+        if (kinds == null) {
+            return fetchNodeAs(node, view) != null;
+        }
+        return kinds.test(node, view, (n, v) -> fetchNodeAs(n, v) != null);
+    }
+
     @Override
     public OntID getID() {
         return getNodeAs(Graphs.ontologyNode(getBaseGraph())
@@ -334,7 +453,12 @@ public class OntGraphModelImpl extends UnionModel implements OntGraphModel, Pers
      */
     protected static <O extends OntObject> ExtendedIterator<O> listOntObjects(OntGraphModelImpl m,
                                                                               Class<? extends O> type) {
-        return m.getOntPersonality().getObjectFactory(type).iterator(m).mapWith(e -> m.getNodeAs(e.asNode(), type));
+        ObjectFactory factory = m.getOntPersonality().getObjectFactory(type);
+        NodeKindsCache kinds = m.kinds;
+        if (kinds == null) {
+            return factory.iterator(m).mapWith(e -> m.getNodeAs(e.asNode(), type));
+        }
+        return kinds.list(type, () -> factory.iterator(m).mapWith(EnhNode::asNode)).mapWith(n -> m.getNodeAs(n, type));
     }
 
     @Override
@@ -31,6 +31,8 @@ import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -49,7 +51,7 @@ public abstract class OntIndividualImpl extends OntObjectImpl implements OntIndi
     private static final String FORBIDDEN_SUBJECTS = OntIndividual.Anonymous.class.getName() + ".InSubject";
     private static final String FORBIDDEN_OBJECTS = OntIndividual.Anonymous.class.getName() + ".InObject";
 
-    public static OntFinder FINDER = OntFinder.ANY_SUBJECT_AND_OBJECT;
+    public static OntFinder FINDER = OntIndividualImpl::listIndividualCandidates;
     public static ObjectFactory anonymousIndividualFactory = Factories.createCommon(AnonymousImpl.class, FINDER,
             OntIndividualImpl::testAnonymousIndividual);
 
@@ -80,15 +82,7 @@ public abstract class OntIndividualImpl extends OntObjectImpl implements OntIndi
             return false;
         }
         OntPersonality personality = PersonalityModel.asPersonalityModel(eg).getOntPersonality();
-        OntPersonality.Builtins builtins = personality.getBuiltins();
-        OntPersonality.Reserved reserved = personality.getReserved();
-
-        Set<Node> forbiddenSubjects = reserved.get(FORBIDDEN_SUBJECTS, () -> {
-            Set<Node> allowed = Stream.concat(builtins.getProperties().stream(),
-                    Stream.of(OWL.sameAs.asNode(), OWL.differentFrom.asNode()))
-                    .collect(Collectors.toSet());
-            return reserved.getProperties().stream().filter(n -> !allowed.contains(n)).collect(Iter.toUnmodifiableSet());
-        });
+        Set<Node> forbiddenSubjects = getForbiddenSubjects(personality);
         // _:x @built-in-predicate @any:
         ExtendedIterator<Node> bySubject = eg.asGraph().find(node, Node.ANY, Node.ANY).mapWith(Triple::getPredicate);
         try {
@@ -99,12 +93,7 @@ public abstract class OntIndividualImpl extends OntObjectImpl implements OntIndi
         } finally {
             bySubject.close();
         }
-        Set<Node> forbiddenObjects = reserved.get(FORBIDDEN_OBJECTS, () -> {
-            Set<Node> allowed = Stream.concat(builtins.getProperties().stream(),
-                    Stream.of(OWL.sameAs, OWL.differentFrom, OWL.sourceIndividual, OWL.hasValue, RDF.first)
-                            .map(FrontsNode::asNode)).collect(Collectors.toSet());
-            return reserved.getProperties().stream().filter(n -> !allowed.contains(n)).collect(Iter.toUnmodifiableSet());
-        });
+        Set<Node> forbiddenObjects = getForbiddenObjects(personality);
         // @any @built-in-predicate _:x
         ExtendedIterator<Node> byObject = eg.asGraph().find(Node.ANY, Node.ANY, node).mapWith(Triple::getPredicate);
         try {
@@ -119,6 +108,90 @@ public abstract class OntIndividualImpl extends OntObjectImpl implements OntIndi
         return true;
     }
 
+    /**
+     * Lists all nodes that may be individuals, named or anonymous, in a single pass over the graph triples.
+     * A node is a candidate if it is:
+     * <ul>
+     * <li>an IRI subject of a statement with the {@code rdf:type} predicate
+     * (i.e. a declaration or a class assertion, since a personality may allow named individuals without declarations)
+     * or a built-in individual found in any subject or object position</li>
+     * <li>a blank subject of a statement with the {@code rdf:type} predicate
+     * or with a predicate that is not from the {@link #getForbiddenSubjects(OntPersonality) forbidden} list</li>
+     * <li>a blank object of a statement with a predicate
+     * that is not from the {@link #getForbiddenObjects(OntPersonality) forbidden} list</li>
+     * </ul>
+     * The result is a superset of all individuals,
+     * but, unlike {@link OntFinder#ANY_SUBJECT_AND_OBJECT}, it skips all class expressions,
+     * data ranges, {@code rdf:List}s, axioms and other structural b-nodes,
+     * and therefore does not require
+     * the expensive {@link #testAnonymousIndividual(Node, EnhGraph)} check for each of them.
+     *
+     * @param eg {@link EnhGraph}, the model
+     * @return {@link ExtendedIterator} of distinct {@link Node}s
+     * @since 1.4.1
+     */
+    public static ExtendedIterator<Node> listIndividualCandidates(EnhGraph eg) {
+        OntPersonality personality = PersonalityModel.asPersonalityModel(eg).getOntPersonality();
+        Set<Node> builtins = personality.getBuiltins().getIndividuals();
+        Set<Node> forbiddenSubjects = getForbiddenSubjects(personality);
+        Set<Node> forbiddenObjects = getForbiddenObjects(personality);
+        return Iter.distinct(Iter.flatMap(eg.asGraph().find(Triple.ANY), t -> {
+            Node s = t.getSubject();
+            Node p = t.getPredicate();
+            Node o = t.getObject();
+            boolean subject = s.isURI() ?
+                    RDF.Nodes.type.equals(p) || builtins.contains(s) :
+                    s.isBlank() && (RDF.Nodes.type.equals(p) || !forbiddenSubjects.contains(p));
+            boolean object = o.isURI() ?
+                    builtins.contains(o) :
+                    o.isBlank() && !forbiddenObjects.contains(p);
+            if (subject && object) {
+                return Arrays.asList(s, o).iterator();
+            }
+            if (subject) {
+                return Collections.singleton(s).iterator();
+            }
+            if (object) {
+                return Collections.singleton(o).iterator();
+            }
+            return Collections.emptyIterator();
+        }));
+    }
+
+    /**
+     * Returns all reserved predicates that cannot be used with an anonymous individual in a subject position.
+     *
+     * @param personality {@link OntPersonality}
+     * @return Set of IRI-{@link Node node}s
+     * @since 1.4.1
+     */
+    public static Set<Node> getForbiddenSubjects(OntPersonality personality) {
+        OntPersonality.Reserved reserved = personality.getReserved();
+        return reserved.get(FORBIDDEN_SUBJECTS, () -> {
+            Set<Node> allowed = Stream.concat(personality.getBuiltins().getProperties().stream(),
+                    Stream.of(OWL.sameAs.asNode(), OWL.differentFrom.asNode()))
+                    .collect(Collectors.toSet());
+            return reserved.getProperties().stream().filter(n -> !allowed.contains(n)).collect(Iter.toUnmodifiableSet());
+        });
+    }
+
+    /**
+     * Returns all reserved predicates that cannot be used with an anonymous individual in an object position.
+     *
+     * @param personality {@link OntPersonality}
+     * @return Set of IRI-{@link Node node}s
+     * @since 1.4.1
+     */
+    public static Set<Node> getForbiddenObjects(OntPersonality personality) {
+        OntPersonality.Reserved reserved = personality.getReserved();
+        return reserved.get(FORBIDDEN_OBJECTS, () -> {
+            Set<Node> allowed = Stream.concat(personality.getBuiltins().getProperties().stream(),
+                    Stream.of(OWL.sameAs, OWL.differentFrom, OWL.sourceIndividual, OWL.hasValue, RDF.first)
+                            .map(FrontsNode::asNode)).collect(Collectors.toSet());
+            return reserved.getProperties().stream().filter(n -> !allowed.contains(n)).collect(Iter.toUnmodifiableSet());
+        });
+    }
+
     public static OntIndividual.Anonymous createAnonymousIndividual(RDFNode node) {
         if (OntJenaException.notNull(node, "Null node.").canAs(OntIndividual.Anonymous.class))
             return node.as(OntIndividual.Anonymous.class);
@@ -147,6 +147,7 @@ public class OntObjectImpl extends ResourceImpl implements OntObject {
 
     /**
      * Lists all descendants for the specified object and the predicate.
+     * If the model has a {@link HierarchyIndex hierarchy index}, the indirect descendants are taken from it.
      *
      * @param object    {@link X}
      * @param type      the class-type of {@link X}
@@ -165,7 +166,11 @@ public class OntObjectImpl extends ResourceImpl implements OntObject {
         Function<X, ExtendedIterator<X>> listChildren = inverse ?
                 x -> ((OntObjectImpl) x).listSubjects(predicate, type) :
                 x -> ((OntObjectImpl) x).listObjects(predicate, type);
-        return getHierarchy(object, listChildren, direct).stream();
+        HierarchyIndex index;
+        if (direct || (index = ((OntObjectImpl) object).getModel().hierarchy) == null) {
+            return getHierarchy(object, listChildren, direct).stream();
+        }
+        return index.get(object, type, predicate, inverse, listChildren).stream().filter(x -> !object.equals(x));
     }
 
     /**
@@ -85,6 +85,22 @@ public interface PersonalityModel {
      */
     <N extends RDFNode> N fetchNodeAs(Node node, Class<N> view);
 
+    /**
+     * Answers {@code true} if the given {@link Node node} can be viewed as the given type,
+     * taking into account possible graph recursions.
+     * An implementation may answer from some precomputed node-to-types table, if it is possible.
+     *
+     * @param node {@link Node}
+     * @param view {@code Class}-type
+     * @return boolean
+     * @throws OntJenaException.Recursion if a graph recursion is indicated
+     * @see PersonalityModel#fetchNodeAs(Node, Class)
+     * @since 1.4.1
+     */
+    default boolean canAs(Node node, Class<? extends RDFNode> view) {
+        return fetchNodeAs(node, view) != null;
+    }
+
     /**
      * Represents the given {@code EnhGraph} as a {@link PersonalityModel}.
      *
@@ -113,7 +129,7 @@ public interface PersonalityModel {
      * @return {@code true} if the node can be safely casted to the specified type
      */
     static boolean canAs(Class<? extends RDFNode> view, Node node, EnhGraph graph) {
-        return asPersonalityModel(graph).fetchNodeAs(node, view) != null;
+        return asPersonalityModel(graph).canAs(node, view);
     }
 
 }
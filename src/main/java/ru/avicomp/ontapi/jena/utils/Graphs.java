@@ -20,12 +20,16 @@ import org.apache.jena.graph.compose.Polyadic;
 import org.apache.jena.mem.GraphMem;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
 import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.sparql.graph.GraphWrapper;
 import org.apache.jena.sparql.util.graph.GraphUtils;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.util.iterator.WrappedIterator;
+import ru.avicomp.ontapi.jena.CompactGraph;
 import ru.avicomp.ontapi.jena.RWLockedGraph;
+import ru.avicomp.ontapi.jena.SnapshotGraph;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -346,6 +350,23 @@ public class Graphs {
         return sw.toString();
     }
 
+    /**
+     * Creates a {@link StreamRDF} sink to parse RDF data into the given graph.
+     * For a {@link CompactGraph} it is the {@link CompactGraph#createLoader() bulk loader},
+     * which avoids re-sorting the graph while parsing,
+     * for any other graph it is the standard Jena sink, that adds triples one by one.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link StreamRDF}
+     * @since 1.4.1
+     */
+    public static StreamRDF createLoader(Graph graph) {
+        if (graph instanceof CompactGraph) {
+            return ((CompactGraph) graph).createLoader();
+        }
+        return StreamRDFLib.graph(Objects.requireNonNull(graph));
+    }
+
     /**
      * Collects a prefixes library from the collection of the graphs.
      *
@@ -360,6 +381,7 @@ public class Graphs {
 
     /**
      * Makes a concurrent version of the given {@code Graph} by wrapping it as {@link RWLockedGraph}.
+     * A {@link SnapshotGraph} is wrapped as {@link SnapshotGraph.Locked}, which takes the lock only for modifications.
      * If the input is an {@code UnionGraph},
      * it makes an {@code UnionGraph} where only the base (primary) contains the specified R/W lock.
      * The result graph has the same structure as specified.
@@ -373,6 +395,9 @@ public class Graphs {
         if (graph instanceof RWLockedGraph) {
             return asConcurrent(((RWLockedGraph) graph).get(), lock);
         }
+        if (graph instanceof SnapshotGraph) {
+            return new SnapshotGraph.Locked((SnapshotGraph) graph, lock);
+        }
         if (!(graph instanceof UnionGraph)) {
             return new RWLockedGraph(graph, lock);
         }
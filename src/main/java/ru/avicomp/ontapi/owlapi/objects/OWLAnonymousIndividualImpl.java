@@ -18,6 +18,8 @@ import org.semanticweb.owlapi.model.NodeID;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import ru.avicomp.ontapi.owlapi.OWLObjectImpl;
 
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -63,6 +65,18 @@ public class OWLAnonymousIndividualImpl extends OWLObjectImpl implements OWLAnon
         return Optional.of(this);
     }
 
+    /**
+     * Replaces this individual with its serializable form,
+     * since the encapsulated {@link BlankNodeId} is not {@code Serializable}.
+     *
+     * @return {@link SerializedForm}
+     * @throws ObjectStreamException unexpected
+     * @since 1.4.1
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        return new SerializedForm(id.getLabelString());
+    }
+
     /**
      * Converts any instance of {@link OWLAnonymousIndividual} to the
      * {@link OWLAnonymousIndividualImpl ONT-API Anonymous Individual implementation}.
@@ -76,4 +90,22 @@ public class OWLAnonymousIndividualImpl extends OWLObjectImpl implements OWLAnon
         }
         return new OWLAnonymousIndividualImpl(BlankNodeId.create(individual.toStringID()));
     }
+
+    /**
+     * The serializable form of {@link OWLAnonymousIndividualImpl}: the blank node label.
+     *
+     * @since 1.4.1
+     */
+    protected static class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String label;
+
+        protected SerializedForm(String label) {
+            this.label = label;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            return new OWLAnonymousIndividualImpl(BlankNodeId.create(label));
+        }
+    }
 }
@@ -31,6 +31,8 @@ import ru.avicomp.ontapi.owlapi.OWLObjectImpl;
 import ru.avicomp.ontapi.owlapi.objects.entity.OWLDatatypeImpl;
 
 import javax.annotation.Nullable;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.lang.ref.SoftReference;
 import java.util.*;
 
@@ -291,6 +293,19 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
         return new OWLLiteralImpl(label);
     }
 
+    /**
+     * Replaces this literal with its serializable form,
+     * since the encapsulated {@link LiteralLabel Jena Literal Label} is not {@code Serializable}.
+     *
+     * @return {@link SerializedForm}
+     * @throws ObjectStreamException unexpected
+     * @since 1.4.1
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        String lang = label.language();
+        return new SerializedForm(label.getLexicalForm(), lang, lang.isEmpty() ? label.getDatatypeURI() : null);
+    }
+
     /**
      * Returns a {@link LiteralLabel Jena Literal Label}, that is encapsulated by this object.
      *
@@ -468,4 +483,33 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
         return super.equals(o);
     }
 
+
+    /**
+     * The serializable form of {@link OWLLiteralImpl}: the lexical form, the language tag and the datatype URI.
+     *
+     * @since 1.4.1
+     */
+    protected static class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String lex;
+        private final String lang;
+        private final String datatype;
+
+        protected SerializedForm(String lex, String lang, String datatype) {
+            this.lex = lex;
+            this.lang = lang;
+            this.datatype = datatype;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            RDFDatatype dt = null;
+            if (datatype != null) {
+                dt = typeMapper.getTypeByName(datatype);
+                if (dt == null) { // do not litter the global manager:
+                    dt = new BaseDatatype(datatype);
+                }
+            }
+            return newLiteral(LiteralLabelFactory.createLiteralLabel(lex, lang, dt));
+        }
+    }
 }
@@ -15,6 +15,8 @@
 package ru.avicomp.ontapi.transforms;
 
 import org.apache.jena.graph.*;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.JenaException;
 import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.slf4j.Logger;
@@ -22,6 +24,8 @@ import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.OntApiException;
 import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.jena.utils.Iter;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
@@ -200,6 +204,8 @@ public abstract class GraphTransformers {
         protected Map<String, Maker> set = new LinkedHashMap<>();
         // by default any graph is allowed to be transformed:
         protected Filter filter = g -> true;
+        // by default all transforms are performed one after another without asking the graph summary:
+        protected boolean skipUnneeded;
 
         /**
          * Makes a deep copy of this Store instance.
@@ -220,6 +226,7 @@ public abstract class GraphTransformers {
         protected Store empty() {
             Store res = new Store();
             res.filter = this.filter;
+            res.skipUnneeded = this.skipUnneeded;
             return res;
         }
 
@@ -399,6 +406,40 @@ public abstract class GraphTransformers {
             return res;
         }
 
+        /**
+         * Creates a copy of this Store which skips unneeded transforms or performs all of them.
+         * If the parameter is {@code true}, a {@link Summary} of the base graph is attached while transforming,
+         * and each {@link Transform} is asked via the method {@link Transform#test(Summary)}
+         * whether it is able to change the graph at the moment when its turn comes.
+         * The transforms that cannot make any changes are not performed at all.
+         * Note: this only skips whole transforms,
+         * the performed ones still make their own scans over the graph one after another,
+         * there is no single-pass (per-triple) dispatch.
+         * The outcome (both the graph and the {@link Stats}) is the same as if all transforms were performed.
+         * The same behaviour can be enabled through the loader configuration,
+         * see {@link ru.avicomp.ontapi.config.LoadSettings#isSkipUnneededTransformations()}.
+         *
+         * @param b boolean, {@code true} to skip the unneeded transforms, {@code false} to perform all of them
+         * @return new instance
+         * @since 1.4.1
+         */
+        public Store setSkipUnneeded(boolean b) {
+            Store res = copy();
+            res.skipUnneeded = b;
+            return res;
+        }
+
+        /**
+         * Answers {@code true} if this Store skips the transforms that have nothing to change.
+         *
+         * @return boolean
+         * @see #setSkipUnneeded(boolean)
+         * @since 1.4.1
+         */
+        public boolean isSkipUnneeded() {
+            return skipUnneeded;
+        }
+
         /**
          * Returns encapsulated filter.
          *
@@ -441,42 +482,99 @@ public abstract class GraphTransformers {
             }
             if (skip.contains(base)) return res;
             List<Transform> actions = actions(graph).collect(Collectors.toList());
-            for (Transform action : actions) {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug(String.format("Process <%s> on <%s>", action.name(), Graphs.getName(base)));
-                }
-                GraphEventManager events = base.getEventManager();
-                TransformListener listener = createTrackListener();
-                try {
-                    events.register(listener);
-                    action.perform();
-                } catch (JenaException e) {
-                    throw new StoreException(action, e);
-                } finally {
-                    events.unregister(listener);
+            if (skipUnneeded) {
+                performNeeded(base, actions, res);
+            } else {
+                for (Transform action : actions) {
+                    perform(base, action, res);
                 }
-                res.putTriples(action,
-                        listener.getAdded(),
-                        listener.getDeleted(),
-                        action.uncertainTriples()
-                                .collect(Collectors.toSet()));
             }
             skip.add(base);
             return res;
         }
 
+        /**
+         * Performs all the given transformations using the {@link Summary graph summary}
+         * to skip those of them that have nothing to change.
+         * The summary answers its questions lazily, through the graph indexes, and then listens to the graph changes,
+         * so no extra pass over the whole graph is made.
+         * A skipped transform gets empty {@link Stats} records, exactly as if it has been performed without effect.
+         *
+         * @param base    {@link Graph} the base graph to transform
+         * @param actions List of {@link Transform}s to perform in order
+         * @param res     {@link Stats} to store the outcome
+         * @throws TransformException if something is wrong
+         * @see #setSkipUnneeded(boolean)
+         * @since 1.4.1
+         */
+        protected void performNeeded(Graph base, List<Transform> actions, Stats res) throws TransformException {
+            if (actions.isEmpty()) return;
+            GraphEventManager events = base.getEventManager();
+            Summary summary = Summary.create(base);
+            events.register(summary);
+            try {
+                for (Transform action : actions) {
+                    if (action.test(summary)) {
+                        perform(base, action, res);
+                        continue;
+                    }
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug(String.format("Skip <%s> on <%s>", action.name(), Graphs.getName(base)));
+                    }
+                    res.putTriples(action,
+                            Collections.emptySet(),
+                            Collections.emptySet(),
+                            action.uncertainTriples().collect(Collectors.toSet()));
+                }
+            } finally {
+                events.unregister(summary);
+            }
+        }
+
+        /**
+         * Performs the given transformation tracking all changes in the base graph.
+         *
+         * @param base   {@link Graph} the base graph to transform
+         * @param action {@link Transform} to perform
+         * @param res    {@link Stats} to store the outcome
+         * @throws TransformException if something is wrong
+         */
+        protected void perform(Graph base, Transform action, Stats res) throws TransformException {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(String.format("Process <%s> on <%s>", action.name(), Graphs.getName(base)));
+            }
+            GraphEventManager events = base.getEventManager();
+            TransformListener listener = createTrackListener();
+            try {
+                events.register(listener);
+                action.perform();
+            } catch (JenaException e) {
+                throw new StoreException(action, e);
+            } finally {
+                events.unregister(listener);
+            }
+            res.putTriples(action,
+                    listener.getAdded(),
+                    listener.getDeleted(),
+                    action.uncertainTriples()
+                            .collect(Collectors.toSet()));
+        }
+
         protected TransformListener createTrackListener() {
             return new TransformListener();
         }
 
         @Override
         public boolean equals(Object o) {
-            return this == o || o instanceof Store && set.equals(((Store) o).set) && filter.equals(((Store) o).filter);
+            if (this == o) return true;
+            if (!(o instanceof Store)) return false;
+            Store other = (Store) o;
+            return skipUnneeded == other.skipUnneeded && set.equals(other.set) && filter.equals(other.filter);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(set, filter);
+            return Objects.hash(set, filter, skipUnneeded);
         }
     }
 
@@ -614,6 +712,123 @@ public abstract class GraphTransformers {
         }
     }
 
+    /**
+     * A lightweight summary of a graph content,
+     * which is used by the {@link Store#setSkipUnneeded(boolean) Store} to decide whether a {@link Transform} is needed.
+     * It does not copy anything: each question is answered once, on demand, using the graph indexes
+     * (only {@link #hasAnonymousLinks()} requires iterating over the graph, until the first match),
+     * then the answer is remembered and kept up to date while the summary is registered as a graph listener.
+     * Note: the deleted triples are not taken into account,
+     * so the summary may describe more than the graph actually contains, but never less.
+     *
+     * @see Transform#test(Summary)
+     * @since 1.4.1
+     */
+    public static class Summary extends GraphListenerBase {
+        private static final Node TYPE = RDF.type.asNode();
+
+        private final Graph graph;
+        private final Map<Node, Boolean> predicates = new HashMap<>();
+        private final Map<Node, Boolean> types = new HashMap<>();
+        private Boolean anonymous;
+
+        protected Summary(Graph graph) {
+            this.graph = Objects.requireNonNull(graph, "Null graph.");
+        }
+
+        /**
+         * Creates a summary of the given graph.
+         * To keep the summary up to date, it must be {@link GraphEventManager#register(GraphListener) registered}
+         * in the graph before any modification.
+         *
+         * @param graph {@link Graph}, not {@code null}
+         * @return {@link Summary}
+         */
+        public static Summary create(Graph graph) {
+            return new Summary(graph);
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            Node p = t.getPredicate();
+            predicates.put(p, Boolean.TRUE);
+            if (TYPE.equals(p)) {
+                types.put(t.getObject(), Boolean.TRUE);
+            }
+            if (isAnonymousLink(t)) {
+                anonymous = Boolean.TRUE;
+            }
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            // nothing: the summary may be wider than the graph
+        }
+
+        @Override
+        public void notifyAddGraph(Graph g, Graph other) {
+            other.find(Triple.ANY).forEachRemaining(this::addEvent);
+        }
+
+        /**
+         * Answers {@code true} if the graph may contain a triple with the given predicate.
+         *
+         * @param predicate {@link Property}, not {@code null}
+         * @return boolean
+         */
+        public boolean hasPredicate(Property predicate) {
+            return predicates.computeIfAbsent(predicate.asNode(), p -> graph.contains(Node.ANY, p, Node.ANY));
+        }
+
+        /**
+         * Answers {@code true} if the graph may contain a triple {@code _:x rdf:type type}.
+         *
+         * @param type {@link Resource}, not {@code null}
+         * @return boolean
+         */
+        public boolean hasType(Resource type) {
+            return types.computeIfAbsent(type.asNode(), t -> graph.contains(Node.ANY, TYPE, t));
+        }
+
+        /**
+         * Answers {@code true} if the graph may contain any of the given predicates.
+         *
+         * @param predicates Collection of {@link Property}s, not {@code null}
+         * @return boolean
+         */
+        public boolean hasAnyPredicate(Collection<Property> predicates) {
+            return predicates.stream().anyMatch(this::hasPredicate);
+        }
+
+        /**
+         * Answers {@code true} if the graph may contain any of the given types.
+         *
+         * @param types Collection of {@link Resource}s, not {@code null}
+         * @return boolean
+         */
+        public boolean hasAnyType(Collection<Resource> types) {
+            return types.stream().anyMatch(this::hasType);
+        }
+
+        /**
+         * Answers {@code true} if the graph may contain a triple with blank subject and blank object,
+         * i.e. a candidate for a recursion.
+         *
+         * @return boolean
+         * @see RecursiveTransform#anonymous(Graph)
+         */
+        public boolean hasAnonymousLinks() {
+            if (anonymous == null) {
+                anonymous = Iter.anyMatch(graph.find(Triple.ANY), Summary::isAnonymousLink);
+            }
+            return anonymous;
+        }
+
+        private static boolean isAnonymousLink(Triple t) {
+            return t.getSubject().isBlank() && t.getObject().isBlank();
+        }
+    }
+
     /**
      * An exception, which can be thrown by {@link Store#transform(Graph, Set)} method.
      * It is a {@link JenaException}.
@@ -55,6 +55,86 @@ public class OWLCommonTransform extends Transform {
             OWL.minCardinality, OWL.minQualifiedCardinality).collect(Iter.toUnmodifiableSet());
     private static List<Resource> ANNOTATION_TYPES = Stream.of(OWL.Axiom, OWL.Annotation)
             .collect(Iter.toUnmodifiableList());
+    // OWL1 (deprecated) predicate => OWL2 predicate:
+    private static final Map<Property, Property> ENTITY_PREDICATE_REPLACEMENT =
+            Collections.singletonMap(DEPRECATED.OWL.declaredAs, RDF.type);
+    private static final Map<Property, Property> PROPERTY_PREDICATE_REPLACEMENT =
+            Collections.unmodifiableMap(new LinkedHashMap<Property, Property>() {
+                {
+                    put(DEPRECATED.OWL.disjointObjectProperties, OWL.propertyDisjointWith);
+                    put(DEPRECATED.OWL.disjointDataProperties, OWL.propertyDisjointWith);
+                    put(DEPRECATED.OWL.equivalentObjectProperty, OWL.equivalentProperty);
+                    put(DEPRECATED.OWL.equivalentDataProperty, OWL.equivalentProperty);
+                    put(DEPRECATED.OWL.objectPropertyDomain, RDFS.domain);
+                    put(DEPRECATED.OWL.dataPropertyDomain, RDFS.domain);
+                    put(DEPRECATED.OWL.objectPropertyRange, RDFS.range);
+                    put(DEPRECATED.OWL.dataPropertyRange, RDFS.range);
+                    put(DEPRECATED.OWL.subObjectPropertyOf, RDFS.subPropertyOf);
+                    put(DEPRECATED.OWL.subDataPropertyOf, RDFS.subPropertyOf);
+                }
+            });
+    private static final Map<Property, Property> PROPERTY_CHAIN_REPLACEMENT =
+            Collections.singletonMap(DEPRECATED.OWL.propertyChain, OWL.propertyChainAxiom);
+    private static final Map<Property, Property> DATATYPE_COMPLEMENT_REPLACEMENT =
+            Collections.singletonMap(DEPRECATED.OWL.dataComplementOf, OWL.datatypeComplementOf);
+    // OWL1 (deprecated) type => OWL2 type:
+    private static final Map<Resource, Resource> PROPERTY_TYPE_REPLACEMENT =
+            Collections.unmodifiableMap(new LinkedHashMap<Resource, Resource>() {
+                {
+                    put(DEPRECATED.OWL.AntisymmetricProperty, OWL.AsymmetricProperty);
+                    // table 6:
+                    put(OWL.OntologyProperty, OWL.AnnotationProperty);
+                    put(DEPRECATED.OWL.DataProperty, OWL.DatatypeProperty);
+                    put(DEPRECATED.OWL.NegativeDataPropertyAssertion, OWL.NegativePropertyAssertion);
+                    put(DEPRECATED.OWL.NegativeObjectPropertyAssertion, OWL.NegativePropertyAssertion);
+                }
+            });
+    private static final Map<Resource, Resource> DATA_RANGE_TYPE_REPLACEMENT =
+            Collections.singletonMap(OWL.DataRange, RDFS.Datatype);
+    private static final Map<Resource, Resource> RESTRICTION_TYPE_REPLACEMENT =
+            Collections.unmodifiableMap(new LinkedHashMap<Resource, Resource>() {
+                {
+                    put(DEPRECATED.OWL.SelfRestriction, OWL.Restriction);
+                    put(DEPRECATED.OWL.DataRestriction, OWL.Restriction);
+                    put(DEPRECATED.OWL.ObjectRestriction, OWL.Restriction);
+                }
+            });
+    // table 6, supplemented by owl:AsymmetricProperty, owl:ReflexiveProperty, owl:IrreflexiveProperty:
+    private static final List<Resource> OBJECT_PROPERTY_TYPES = Stream.of(OWL.InverseFunctionalProperty,
+            OWL.TransitiveProperty, OWL.SymmetricProperty,
+            OWL.AsymmetricProperty, OWL.ReflexiveProperty, OWL.IrreflexiveProperty)
+            .collect(Iter.toUnmodifiableList());
+    // table 5:
+    private static final List<Resource> PROPERTY_TYPES = Stream.of(OWL.ObjectProperty, OWL.FunctionalProperty,
+            OWL.InverseFunctionalProperty, OWL.TransitiveProperty, OWL.DatatypeProperty, OWL.AnnotationProperty,
+            OWL.OntologyProperty).collect(Iter.toUnmodifiableList());
+    private static final List<Resource> CLASS_TYPES = Stream.of(OWL.DataRange, RDFS.Datatype, OWL.Restriction,
+            OWL.Class).collect(Iter.toUnmodifiableList());
+    // reification-like predicates for negative assertions and annotations:
+    private static final List<Property> SOURCE_PREDICATES = Stream.of(DEPRECATED.RDF.subject, DEPRECATED.OWL.subject)
+            .collect(Iter.toUnmodifiableList());
+    private static final List<Property> PROPERTY_PREDICATES = Stream.of(DEPRECATED.RDF.predicate,
+            DEPRECATED.OWL.predicate).collect(Iter.toUnmodifiableList());
+    private static final List<Property> TARGET_PREDICATES = Stream.of(DEPRECATED.RDF.object, DEPRECATED.OWL.object)
+            .collect(Iter.toUnmodifiableList());
+    // class expressions with a named subject, that must be moved under owl:equivalentClass:
+    private static final List<Property> EXPRESSION_PREDICATES = Stream.of(OWL.unionOf, OWL.intersectionOf, OWL.oneOf)
+            .collect(Iter.toUnmodifiableList());
+    private static final Set<Property> DATATYPE_PREDICATES = Stream.concat(DEPRECATED_OWL_FACETS.stream(),
+            Stream.of(OWL.onDataRange, OWL.onDatatype)).collect(Iter.toUnmodifiableSet());
+
+    // the presence of any of these predicates or types means that there may be something to fix,
+    // the sets are assembled from the tables above, which are used by the perform() method:
+    private static final Set<Property> FIXED_PREDICATES = Stream.of(ENTITY_PREDICATE_REPLACEMENT.keySet(),
+            PROPERTY_PREDICATE_REPLACEMENT.keySet(), PROPERTY_CHAIN_REPLACEMENT.keySet(),
+            DATATYPE_COMPLEMENT_REPLACEMENT.keySet(), DATATYPE_COMPLEMENT_REPLACEMENT.values(),
+            SOURCE_PREDICATES, PROPERTY_PREDICATES, TARGET_PREDICATES, EXPRESSION_PREDICATES,
+            Collections.singleton(OWL.complementOf))
+            .flatMap(Collection::stream).collect(Iter.toUnmodifiableSet());
+    private static final Set<Resource> FIXED_TYPES = Stream.of(PROPERTY_TYPE_REPLACEMENT.keySet(),
+            DATA_RANGE_TYPE_REPLACEMENT.keySet(), RESTRICTION_TYPE_REPLACEMENT.keySet(), OBJECT_PROPERTY_TYPES)
+            .flatMap(Collection::stream).collect(Iter.toUnmodifiableSet());
+
     private boolean processIndividuals;
 
     public OWLCommonTransform(Graph graph) {
@@ -74,6 +154,37 @@ public class OWLCommonTransform extends Transform {
         return n.getModel().createTypedLiteral(n.asLiteral().getLexicalForm(), NON_NEGATIVE_INTEGER);
     }
 
+    /**
+     * Answers {@code false} if the graph contains nothing that this transform is able to fix,
+     * i.e. if none of the OWL 1 (or deprecated) predicates and types,
+     * and none of the triggering combinations for the restrictions, datatypes and property chains are present.
+     * The checked vocabularies are taken from the same static tables, that the {@link #perform()} method uses.
+     * Note: a subclass that changes the {@link #perform()} method must also revise this one.
+     *
+     * @param summary {@link GraphTransformers.Summary}, not {@code null}
+     * @return boolean
+     */
+    @Override
+    public boolean test(GraphTransformers.Summary summary) {
+        if (processIndividuals || summary.hasAnyPredicate(FIXED_PREDICATES) || summary.hasAnyType(FIXED_TYPES)) {
+            return true;
+        }
+        if (summary.hasType(RDF.Property) && summary.hasAnyType(PROPERTY_TYPES)) {
+            return true;
+        }
+        if (summary.hasType(RDFS.Class) && summary.hasAnyType(CLASS_TYPES)) {
+            return true;
+        }
+        if (summary.hasType(OWL.Restriction) && summary.hasAnyPredicate(CARDINALITY_PREDICATES)) {
+            return true;
+        }
+        if (summary.hasType(RDFS.Datatype) && summary.hasAnyPredicate(DATATYPE_PREDICATES)) {
+            return true;
+        }
+        return summary.hasPredicate(RDFS.subPropertyOf)
+                && (summary.hasPredicate(OWL.propertyChainAxiom) || summary.hasType(RDF.List));
+    }
+
     @Override
     public void perform() {
         fixEntities();
@@ -89,49 +200,27 @@ public class OWLCommonTransform extends Transform {
     }
 
     protected void fixEntities() {
-        replacePredicates(RDF.type, DEPRECATED.OWL.declaredAs);
+        replacePredicates(ENTITY_PREDICATE_REPLACEMENT);
     }
 
     protected void fixProperties() {
-        // replace owl:AntisymmetricProperty with owl:AsymmetricProperty
-        changeType(DEPRECATED.OWL.AntisymmetricProperty, OWL.AsymmetricProperty);
-
-        // replace owl:OntologyProperty with owl:AnnotationProperty (table 6)
-        changeType(OWL.OntologyProperty, OWL.AnnotationProperty);
+        // owl:AntisymmetricProperty, owl:OntologyProperty, owl:DataProperty, negative assertions:
+        changeTypes(PROPERTY_TYPE_REPLACEMENT);
 
-        // definitely ObjectProperty (table 6, supplemented by owl:AsymmetricProperty, owl:ReflexiveProperty, owl:IrreflexiveProperty):
-        Iter.flatMap(Iter.of(OWL.InverseFunctionalProperty, OWL.TransitiveProperty, OWL.SymmetricProperty,
-                OWL.AsymmetricProperty, OWL.ReflexiveProperty, OWL.IrreflexiveProperty),
-                p -> listStatements(null, RDF.type, p))
+        // definitely ObjectProperty:
+        Iter.flatMap(Iter.create(OBJECT_PROPERTY_TYPES), p -> listStatements(null, RDF.type, p))
                 .forEachRemaining(s -> declare(s.getSubject(), OWL.ObjectProperty));
 
         // table 5 (remove rdf:Property):
-        Iter.flatMap(Iter.of(OWL.ObjectProperty, OWL.FunctionalProperty, OWL.InverseFunctionalProperty,
-                OWL.TransitiveProperty, OWL.DatatypeProperty, OWL.AnnotationProperty, OWL.OntologyProperty),
-                p -> listStatements(null, RDF.type, p))
+        Iter.flatMap(Iter.create(PROPERTY_TYPES), p -> listStatements(null, RDF.type, p))
                 .forEachRemaining(s -> undeclare(s.getSubject(), RDF.Property));
 
-        Model m = getWorkModel();
-        // properties
-        listStatements(null, RDF.type, DEPRECATED.OWL.DataProperty).toList()
-                .forEach(s -> m.remove(s).add(s.getSubject(), RDF.type, OWL.DatatypeProperty));
-
-
-        replacePredicates(OWL.propertyDisjointWith, DEPRECATED.OWL.disjointObjectProperties, DEPRECATED.OWL.disjointDataProperties);
-        replacePredicates(OWL.equivalentProperty, DEPRECATED.OWL.equivalentObjectProperty, DEPRECATED.OWL.equivalentDataProperty);
-
-        replacePredicates(RDFS.domain, DEPRECATED.OWL.objectPropertyDomain, DEPRECATED.OWL.dataPropertyDomain);
-        replacePredicates(RDFS.range, DEPRECATED.OWL.objectPropertyRange, DEPRECATED.OWL.dataPropertyRange);
-        replacePredicates(RDFS.subPropertyOf, DEPRECATED.OWL.subObjectPropertyOf, DEPRECATED.OWL.subDataPropertyOf);
-
-        // negative assertions:
-        changeType(DEPRECATED.OWL.NegativeDataPropertyAssertion, OWL.NegativePropertyAssertion);
-        changeType(DEPRECATED.OWL.NegativeObjectPropertyAssertion, OWL.NegativePropertyAssertion);
+        replacePredicates(PROPERTY_PREDICATE_REPLACEMENT);
     }
 
     protected void fixNegativeAssertionsAndAnnotations() {
         Model m = getWorkModel();
-        Iter.flatMap(Iter.of(DEPRECATED.RDF.subject, DEPRECATED.OWL.subject), p -> listStatements(null, p, null))
+        Iter.flatMap(Iter.create(SOURCE_PREDICATES), p -> listStatements(null, p, null))
                 .toList()
                 .forEach(s -> {
                     Resource r = s.getSubject();
@@ -139,14 +228,14 @@ public class OWLCommonTransform extends Transform {
                     if (p == null) return;
                     m.remove(s).add(r, p, s.getObject());
                 });
-        Iter.flatMap(Iter.of(DEPRECATED.RDF.predicate, DEPRECATED.OWL.predicate), p -> listStatements(null, p, null))
+        Iter.flatMap(Iter.create(PROPERTY_PREDICATES), p -> listStatements(null, p, null))
                 .toList()
                 .forEach(s -> {
                     Resource r = s.getSubject();
                     Property p = getPredicateReplacement(r);
                     m.remove(s).add(r, p, s.getObject());
                 });
-        Iter.flatMap(Iter.of(DEPRECATED.RDF.object, DEPRECATED.OWL.object), p -> listStatements(null, p, null))
+        Iter.flatMap(Iter.create(TARGET_PREDICATES), p -> listStatements(null, p, null))
                 .toList()
                 .forEach(s -> {
                     Resource r = s.getSubject();
@@ -187,14 +276,14 @@ public class OWLCommonTransform extends Transform {
 
     protected void fixDataRanges() {
         // replace owl:DataRange with rdfs:Datatype
-        changeType(OWL.DataRange, RDFS.Datatype);
+        changeTypes(DATA_RANGE_TYPE_REPLACEMENT);
 
         Model m = getWorkModel();
-        listStatements(null, RDF.type, RDFS.Datatype)
+        DATATYPE_COMPLEMENT_REPLACEMENT.forEach((a, b) -> listStatements(null, RDF.type, RDFS.Datatype)
                 .mapWith(Statement::getSubject)
-                .forEachRemaining(r -> r.listProperties(DEPRECATED.OWL.dataComplementOf)
+                .forEachRemaining(r -> r.listProperties(a)
                         .toList()
-                        .forEach(s -> m.remove(s).add(s.getSubject(), OWL.datatypeComplementOf, s.getObject())));
+                        .forEach(s -> m.remove(s).add(s.getSubject(), b, s.getObject()))));
         listStatements(null, OWL.datatypeComplementOf, null)
                 .mapWith(Statement::getSubject)
                 .toList()
@@ -262,10 +351,14 @@ public class OWLCommonTransform extends Transform {
         });
     }
 
-    private void replacePredicates(Property newPredicate, Property... oldPredicates) {
+    private void replacePredicates(Map<Property, Property> replacement) {
         Model m = getWorkModel();
-        Iter.flatMap(Iter.of(oldPredicates), p -> listStatements(null, p, null)).toList()
-                .forEach(s -> m.remove(s).add(s.getSubject(), newPredicate, s.getObject()));
+        replacement.forEach((a, b) -> listStatements(null, a, null).toList()
+                .forEach(s -> m.remove(s).add(s.getSubject(), b, s.getObject())));
+    }
+
+    private void changeTypes(Map<Resource, Resource> replacement) {
+        replacement.forEach(this::changeType);
     }
 
     /**
@@ -290,8 +383,7 @@ public class OWLCommonTransform extends Transform {
      */
     public void fixPropertyChains() {
         Model m = getWorkModel();
-        listStatements(null, DEPRECATED.OWL.propertyChain, null).toList()
-                .forEach(s -> m.remove(s).add(s.getSubject(), OWL.propertyChainAxiom, s.getObject()));
+        replacePredicates(PROPERTY_CHAIN_REPLACEMENT);
 
         listStatements(null, OWL.propertyChainAxiom, null)
                 .mapWith(Statement::getSubject)
@@ -340,12 +432,12 @@ public class OWLCommonTransform extends Transform {
 
     protected void fixExpressions() {
         // table 5 (remove rdfs:Class):
-        Iter.flatMap(Iter.of(OWL.DataRange, RDFS.Datatype, OWL.Restriction, OWL.Class),
+        Iter.flatMap(Iter.create(CLASS_TYPES),
                 p -> listStatements(null, RDF.type, p))
                 .forEachRemaining(s -> undeclare(s.getSubject(), RDFS.Class));
 
-        Iter.of(OWL.unionOf, OWL.intersectionOf, OWL.oneOf)
-                .forEachRemaining(p -> listStatements(null, p, null)
+        EXPRESSION_PREDICATES
+                .forEach(p -> listStatements(null, p, null)
                         .mapWith(Statement::getSubject)
                         .filterKeep(RDFNode::isURIResource)
                         .toSet()
@@ -370,14 +462,8 @@ public class OWLCommonTransform extends Transform {
                 .forEachRemaining(this::fixRestriction);
         listStatements(null, RDF.type, DEPRECATED.OWL.SelfRestriction)
                 .toList()
-                .forEach(s -> m.remove(s)
-                        .add(s.getSubject(), RDF.type, OWL.Restriction)
-                        .add(s.getSubject(), OWL.hasSelf, Models.TRUE));
-        Iter.of(DEPRECATED.OWL.DataRestriction, DEPRECATED.OWL.ObjectRestriction)
-                .forEachRemaining(type -> listStatements(null, RDF.type, type)
-                        .toList()
-                        .forEach(s -> m.remove(s)
-                                .add(s.getSubject(), RDF.type, OWL.Restriction)));
+                .forEach(s -> m.add(s.getSubject(), OWL.hasSelf, Models.TRUE));
+        changeTypes(RESTRICTION_TYPE_REPLACEMENT);
     }
 
     protected void fixRestriction(Resource r) {
@@ -156,6 +156,12 @@ public class RecursiveTransform extends Transform {
         } while (r.isPresent());
     }
 
+    @Override
+    public boolean test(GraphTransformers.Summary summary) {
+        // any recursion consists of triples with blank subject and blank object
+        return summary.hasAnonymousLinks();
+    }
+
     public Triple createReplacement(Triple base) {
         return createReplacement(base, n -> AVC.error(n).asNode());
     }
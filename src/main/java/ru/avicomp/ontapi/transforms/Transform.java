@@ -113,6 +113,23 @@ public abstract class Transform {
         return true;
     }
 
+    /**
+     * Decides whether the transformation is able to change a graph with the given content summary.
+     * Used by the {@link GraphTransformers.Store#setSkipUnneeded(boolean) Store}
+     * right before this transform's turn comes, to skip it if it has nothing to do.
+     * Unlike the {@link #test()} method, which checks the graph directly,
+     * this one must answer using only the given summary.
+     * The method must not answer {@code false} if the transform could make any change.
+     * By default the transform is always performed.
+     *
+     * @param summary {@link GraphTransformers.Summary}, not {@code null}
+     * @return {@code true} to process, {@code false} to skip
+     * @since 1.4.1
+     */
+    public boolean test(GraphTransformers.Summary summary) {
+        return true;
+    }
+
     /**
      * Returns a problematic triples found while processing as a {@code Stream}.
      * I.e. those triples, which this parser was not able to handle correctly.
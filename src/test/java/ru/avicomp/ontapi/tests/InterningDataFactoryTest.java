@@ -0,0 +1,82 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.*;
+import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * To test {@link InterningDataFactory}.
+ */
+public class InterningDataFactoryTest {
+
+    @Test
+    public void testInterning() {
+        InterningDataFactory df = new InterningDataFactory();
+        OWLObjectProperty p = df.getOWLObjectProperty("p");
+        OWLClass c = df.getOWLClass("C");
+        OWLClassExpression ce1 = df.getOWLObjectSomeValuesFrom(p, df.getOWLObjectUnionOf(c, df.getOWLThing()));
+        OWLClassExpression ce2 = df.getOWLObjectSomeValuesFrom(p, df.getOWLObjectUnionOf(df.getOWLThing(), c));
+        Assert.assertSame(ce1, ce2);
+        Assert.assertSame(df.getOWLLiteral("x", "en"), df.getOWLLiteral("x", "en"));
+        Assert.assertNotSame(df.getOWLLiteral("x", "en"), df.getOWLLiteral("x", "fr"));
+        OWLAnnotation a1 = df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral(42));
+        OWLAnnotation a2 = df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral(42));
+        Assert.assertSame(a1, a2);
+        Assert.assertTrue(df.getHitCount() > 0);
+        Assert.assertTrue(df.getMissCount() > 0);
+        Assert.assertTrue(df.getHitRatio() > 0 && df.getHitRatio() < 1);
+
+        df.purge();
+        Assert.assertEquals(0, df.getHitCount());
+        Assert.assertEquals(0, df.getMissCount());
+        Assert.assertEquals(0, df.getHitRatio(), 0);
+        Assert.assertEquals(ce1, df.getOWLObjectSomeValuesFrom(p, df.getOWLObjectUnionOf(c, df.getOWLThing())));
+    }
+
+    @Test
+    public void testSharedObjectsBetweenOntologies() throws OWLOntologyCreationException {
+        InterningDataFactory df = new InterningDataFactory();
+        OntologyManager m = OntManagers.createONT(df);
+        Assert.assertSame(df, m.getOWLDataFactory());
+        OntologyModel o1 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        OntologyModel o2 = m.createOntology(IRI.create("http://test/copy"));
+        o2.add(o1.axioms().collect(Collectors.toList()));
+        o2.clearCache();
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+
+        Map<OWLObject, OWLObject> expected = components(o1).collect(Collectors.toMap(Function.identity(),
+                Function.identity(), (a, b) -> a));
+        Assert.assertFalse(expected.isEmpty());
+        components(o2).forEach(x -> Assert.assertSame(expected.get(x), x));
+        Assert.assertTrue(df.getHitRatio() > 0);
+    }
+
+    private static Stream<OWLObject> components(OWLOntology o) {
+        return Stream.of(o.nestedClassExpressions().filter(IsAnonymous::isAnonymous),
+                o.axioms().flatMap(OWLAxiom::annotations),
+                o.axioms(AxiomType.ANNOTATION_ASSERTION).map(OWLAnnotationAssertionAxiom::getValue))
+                .flatMap(Function.identity());
+    }
+}
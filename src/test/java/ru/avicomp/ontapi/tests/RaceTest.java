@@ -23,9 +23,7 @@ import ru.avicomp.ontapi.OntManagers;
 import ru.avicomp.ontapi.OntologyManager;
 import ru.avicomp.ontapi.OntologyModel;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
@@ -120,4 +118,76 @@ public class RaceTest {
         }
         LOGGER.debug("Fin.");
     }
+
+    @Test
+    public void testAxiomsSnapshots() {
+        OntologyManager m = OntManagers.createConcurrentONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology();
+        OWLAxiom a1 = df.getOWLDeclarationAxiom(df.getOWLClass("A"));
+        OWLAxiom a2 = df.getOWLSubClassOfAxiom(df.getOWLClass("A"), df.getOWLThing());
+        o.add(a1);
+        Stream<OWLAxiom> before = o.axioms();
+        Stream<OWLSubClassOfAxiom> subClassOf = o.axioms(AxiomType.SUBCLASS_OF);
+        o.add(a2);
+        Assert.assertEquals(Collections.singletonList(a1), before.collect(Collectors.toList()));
+        Assert.assertEquals(0, subClassOf.count());
+        Assert.assertEquals(2, o.getAxiomCount());
+        Assert.assertEquals(1, o.getLogicalAxiomCount());
+        Assert.assertEquals(1, o.getAxiomCount(AxiomType.SUBCLASS_OF));
+
+        Stream<OWLAxiom> referencing = o.referencingAxioms(df.getOWLClass("A"));
+        o.remove(a1);
+        Assert.assertEquals(2, referencing.count());
+        Assert.assertEquals(Collections.singletonList(a2), o.axioms().collect(Collectors.toList()));
+        Assert.assertEquals(0, o.axioms(AxiomType.DECLARATION).count());
+
+        // direct change through the graph resets the cache,
+        // the declaration of A is read again since its triple is shared with the subclass-of axiom
+        o.asGraphModel().createOntClass("B");
+        Assert.assertEquals(2, o.axioms(AxiomType.DECLARATION).count());
+        Assert.assertEquals(3, o.getAxiomCount());
+    }
+
+    @Test
+    public void testConsistentAxiomsSnapshots() throws InterruptedException, ExecutionException {
+        OntologyManager m = OntManagers.createConcurrentONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology();
+        AtomicBoolean process = new AtomicBoolean(true);
+        ExecutorService service = Executors.newFixedThreadPool(ADD_THREADS_NUM + REMOVE_THREADS_NUM);
+        List<Future<?>> res = new ArrayList<>();
+        // each writer adds or removes a declaration together with a subclass-of axiom in a single operation,
+        // so any reader must see the same number of declarations and subclass-of axioms
+        for (int i = 0; i < ADD_THREADS_NUM; i++) {
+            res.add(service.submit(toTask(o, process, (x, ready) -> {
+                while (ready.get()) {
+                    OWLClass c = df.getOWLClass(IRI.create("test", "clazz" + ThreadLocalRandom.current().nextInt()));
+                    List<OWLAxiom> axioms = Arrays.asList(df.getOWLDeclarationAxiom(c),
+                            df.getOWLSubClassOfAxiom(c, df.getOWLThing()));
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        x.add(axioms);
+                    } else {
+                        x.axioms(AxiomType.SUBCLASS_OF).findFirst().ifPresent(a -> x.remove(Arrays.asList(a,
+                                df.getOWLDeclarationAxiom(a.getSubClass().asOWLClass()))));
+                    }
+                }
+            })));
+        }
+        for (int i = 0; i < REMOVE_THREADS_NUM; i++) {
+            res.add(service.submit(toTask(o, process, (x, ready) -> {
+                while (ready.get()) {
+                    Map<AxiomType<?>, Long> counts = x.axioms()
+                            .collect(Collectors.groupingBy(OWLAxiom::getAxiomType, Collectors.counting()));
+                    Assert.assertEquals(counts.get(AxiomType.DECLARATION), counts.get(AxiomType.SUBCLASS_OF));
+                }
+            })));
+        }
+        Thread.sleep(TIMEOUT / 5);
+        process.set(false);
+        service.shutdown();
+        for (Future<?> f : res) {
+            f.get();
+        }
+    }
 }
@@ -14,12 +14,15 @@
 
 package ru.avicomp.ontapi.tests.internal;
 
+import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.vocabulary.RDFS;
 import org.hamcrest.core.IsEqual;
 import org.junit.Assert;
@@ -27,26 +30,36 @@ import org.junit.Test;
 import org.semanticweb.owlapi.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.avicomp.ontapi.DataFactory;
+import ru.avicomp.ontapi.InterningDataFactory;
 import ru.avicomp.ontapi.OntFormat;
 import ru.avicomp.ontapi.OntManagers;
-import ru.avicomp.ontapi.internal.AxiomParserProvider;
-import ru.avicomp.ontapi.internal.InternalModel;
-import ru.avicomp.ontapi.internal.InternalModelHolder;
-import ru.avicomp.ontapi.internal.ONTObject;
+import ru.avicomp.ontapi.OntologyManager;
+import ru.avicomp.ontapi.OntologyModel;
+import ru.avicomp.ontapi.config.OntConfig;
+import ru.avicomp.ontapi.internal.*;
 import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.UnionGraph;
 import ru.avicomp.ontapi.jena.impl.conf.OntModelConfig;
 import ru.avicomp.ontapi.jena.impl.conf.OntPersonality;
+import ru.avicomp.ontapi.jena.model.OntClass;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.model.OntNOP;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.transforms.GraphTransformers;
 import ru.avicomp.ontapi.utils.ReadWriteUtils;
 import ru.avicomp.ontapi.utils.TestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
 import java.net.URI;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -83,6 +96,109 @@ public class InternalModelTest {
         Assert.assertThat("Incorrect statements (actual=" + actual.size() + ", expected=" + expected.size() + ")", actual, IsEqual.equalTo(expected));
     }
 
+    @Test
+    public void testListNaryAxiomsWithDuplicates() {
+        OntGraphModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        OntClass a = m.createOntClass("A");
+        OntClass b = m.createOntClass("B");
+        OntClass c = m.createOntClass("C");
+        OntNOP p = m.createObjectProperty("p");
+        a.addEquivalentClass(b);
+        b.addEquivalentClass(a);
+        a.addEquivalentClass(m.createObjectSomeValuesFrom(p, c));
+        a.addEquivalentClass(m.createObjectSomeValuesFrom(p, c));
+        c.addEquivalentClass(c);
+        a.addDisjointClass(c);
+        m.createDisjointClasses(a, c);
+        m.createDisjointClasses(a, b, c);
+        ReadWriteUtils.print(m);
+
+        List<ONTObject<OWLEquivalentClassesAxiom>> equivalent = AxiomParserProvider.get(OWLEquivalentClassesAxiom.class)
+                .axioms(m).collect(Collectors.toList());
+        Assert.assertEquals(3, equivalent.size());
+        Assert.assertEquals(3, equivalent.stream().map(ONTObject::getObject).distinct().count());
+        Set<Triple> triples = equivalent.stream().flatMap(ONTObject::triples).collect(Collectors.toSet());
+        Assert.assertEquals(m.statements(null, OWL.equivalentClass, null).map(Statement::asTriple)
+                .collect(Collectors.toSet()), triples.stream()
+                .filter(t -> t.getPredicate().equals(OWL.equivalentClass.asNode())).collect(Collectors.toSet()));
+
+        List<ONTObject<OWLDisjointClassesAxiom>> disjoint = AxiomParserProvider.get(OWLDisjointClassesAxiom.class)
+                .axioms(m).collect(Collectors.toList());
+        Assert.assertEquals(2, disjoint.size());
+        Assert.assertEquals(2, disjoint.stream().map(ONTObject::getObject).distinct().count());
+    }
+
+    @Test
+    public void testCompactTriplesIndex() {
+        List<Triple> triples = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph().find().toList();
+        TriplesIndex<Integer> expected = TriplesIndex.create(false);
+        TriplesIndex<Integer> actual = TriplesIndex.create(true);
+        Random r = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            Triple t = triples.get(r.nextInt(triples.size()));
+            Integer o = r.nextInt(100);
+            if (r.nextInt(3) == 0) {
+                expected.remove(t, o);
+                actual.remove(t, o);
+            } else {
+                expected.add(t, o);
+                actual.add(t, o);
+            }
+        }
+        Assert.assertEquals(expected.size(), actual.size());
+        for (Triple t : triples) {
+            Assert.assertEquals(expected.contains(t), actual.contains(t));
+            for (int o = 0; o < 100; o++) {
+                Assert.assertEquals(expected.contains(t, o), actual.contains(t, o));
+            }
+        }
+        Set<Map.Entry<Triple, Integer>> e = new HashSet<>();
+        Set<Map.Entry<Triple, Integer>> a = new HashSet<>();
+        expected.forEach((t, o) -> e.add(new AbstractMap.SimpleEntry<>(t, o)));
+        actual.forEach((t, o) -> a.add(new AbstractMap.SimpleEntry<>(t, o)));
+        Assert.assertEquals(e, a);
+    }
+
+    @Test
+    public void testIncrementalObjectsCache() {
+        OntologyModel o = OntManagers.createONT().createOntology();
+        InternalModel base = ((InternalModelHolder) o).getBase();
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        OWLClass a = df.getOWLClass("A");
+        OWLClass b = df.getOWLClass("B");
+        OWLNamedIndividual i = df.getOWLNamedIndividual("I");
+        OWLAxiom ab = df.getOWLSubClassOfAxiom(a, b);
+        OWLAxiom ia = df.getOWLClassAssertionAxiom(a, i);
+        o.add(df.getOWLDeclarationAxiom(a));
+        Assert.assertEquals(Collections.singleton(a), o.classesInSignature().collect(Collectors.toSet()));
+        Assert.assertEquals(0, o.individualsInSignature().count());
+        Object searchModel = base.getSearchModel();
+
+        o.add(ab);
+        o.add(ia);
+        Assert.assertSame(searchModel, base.getSearchModel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(a, b)), o.classesInSignature().collect(Collectors.toSet()));
+        Assert.assertEquals(Collections.singleton(i), o.individualsInSignature().collect(Collectors.toSet()));
+        assertSignature(o);
+
+        o.remove(ab);
+        Assert.assertSame(searchModel, base.getSearchModel());
+        Assert.assertEquals(Collections.singleton(a), o.classesInSignature().collect(Collectors.toSet()));
+        Assert.assertTrue(o.containsEntityInSignature(i));
+        Assert.assertFalse(o.containsEntityInSignature(b));
+        assertSignature(o);
+
+        o.remove(ia);
+        Assert.assertEquals(0, o.individualsInSignature().count());
+        assertSignature(o);
+    }
+
+    private static void assertSignature(OntologyModel o) {
+        Set<OWLEntity> expected = Stream.concat(o.axioms(), o.annotations())
+                .flatMap(OWLObject::signature).collect(Collectors.toSet());
+        Assert.assertEquals(expected, o.signature().collect(Collectors.toSet()));
+    }
+
     @Test
     public void testOntologyAnnotations() {
         OWLDataFactory factory = OntManagers.getDataFactory();
@@ -210,6 +326,214 @@ public class InternalModelTest {
         LOGGER.debug("==============================");
     }
 
+    @Test
+    public void testContentCacheFile() throws Exception {
+        testContentCacheFile("ontapi/pizza.ttl", OntFormat.TURTLE);
+        testContentCacheFile("ontapi/goodrelations.rdf", OntFormat.RDF_XML);
+    }
+
+    private void testContentCacheFile(String resource, OntFormat format) throws Exception {
+        InternalModel m1 = loadInternalModel(resource, format);
+        Set<OWLAxiom> axioms = m1.listOWLAxioms().collect(Collectors.toSet());
+        Set<OWLAnnotation> annotations = m1.listOWLAnnotations().collect(Collectors.toSet());
+        // an axiom with a blank node:
+        OWLAxiom axiom = axioms.stream().filter(x -> triples(m1, x).stream().anyMatch(t -> t.getSubject().isBlank()))
+                .findFirst().orElseThrow(AssertionError::new);
+        Set<Triple> triples = triples(m1, axiom);
+        // RDF Thrift keeps the labels of blank nodes:
+        ByteArrayOutputStream graph = new ByteArrayOutputStream();
+        RDFDataMgr.write(graph, m1.getBaseGraph(), Lang.RDFTHRIFT);
+
+        Path file = Files.createTempFile(getClass().getName() + ".", ".cache");
+        try {
+            ContentCacheFile.write(m1, file);
+            Graph g = Factory.createGraphMem();
+            RDFDataMgr.read(g, new ByteArrayInputStream(graph.toByteArray()), Lang.RDFTHRIFT);
+            InternalModel m2 = InternalModelHolder.createInternalModel(g);
+            long version = m2.getAxiomsVersion();
+            Assert.assertTrue(ContentCacheFile.read(m2, file));
+            Assert.assertNotEquals(version, m2.getAxiomsVersion());
+            Assert.assertTrue(m2.getAxioms().values().stream().allMatch(ObjectTriplesMap::isLoaded));
+            Assert.assertEquals(axioms, m2.listOWLAxioms().collect(Collectors.toSet()));
+            Assert.assertEquals(annotations, m2.listOWLAnnotations().collect(Collectors.toSet()));
+            Assert.assertEquals(triples, triples(m2, axiom));
+
+            // the same graph, but another context, the snapshot is not valid:
+            Graph g3 = Factory.createGraphMem();
+            RDFDataMgr.read(g3, new ByteArrayInputStream(graph.toByteArray()), Lang.RDFTHRIFT);
+            InternalModel m3 = InternalModelHolder.createInternalModel(g3, OntModelConfig.getPersonality(),
+                    () -> InternalObjectFactory.DEFAULT,
+                    InternalConfig.createFrom(new OntConfig().buildLoaderConfiguration().setLoadAnnotationAxioms(false)));
+            Assert.assertFalse(ContentCacheFile.read(m3, file));
+            UnionGraph u4 = new UnionGraph(g3);
+            u4.addGraph(ReadWriteUtils.loadResourceTTLFile("ontapi/family.ttl").getGraph());
+            InternalModel m4 = InternalModelHolder.createInternalModel(u4);
+            Assert.assertFalse(ContentCacheFile.read(m4, file));
+
+            // the graph is changed, the snapshot is no longer valid:
+            m2.createOntClass("http://x#C");
+            Assert.assertFalse(ContentCacheFile.read(m2, file));
+            Assert.assertEquals(axioms.size() + 1, m2.listOWLAxioms().count());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testContentCacheFileRejectsForeignClasses() throws Exception {
+        InternalModel m = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeInt(0x4F4E5443);
+        out.writeInt(2);
+        out.writeLong(m.getBaseGraph().size());
+        out.writeLong(ContentCacheFile.checksum(m.getBaseGraph()));
+        out.writeLong(ContentCacheFile.fingerprint(m));
+        out.writeInt(1);
+        out.writeUTF("HEADER");
+        out.writeInt(1);
+        out.writeObject(new Date());
+        out.flush();
+        try {
+            ContentCacheFile.read(m, new ByteArrayInputStream(bytes.toByteArray()));
+            Assert.fail("Possible to read a foreign class");
+        } catch (InvalidClassException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testContentCacheFileRejectsWrongCounts() throws Exception {
+        InternalModel m = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        OWLAnnotation a = m.listOWLAnnotations().findFirst().orElseThrow(AssertionError::new);
+        // a huge count of objects:
+        testContentCacheFileIsBroken(m, out -> out.writeInt(Integer.MAX_VALUE));
+        // a huge length of a string:
+        testContentCacheFileIsBroken(m, out -> {
+            out.writeInt(1);
+            out.writeObject(a);
+            out.writeInt(1);
+            out.writeInt(-1);
+            out.writeByte(1);
+            out.writeInt(Integer.MAX_VALUE - 1);
+        });
+        // an unknown node:
+        testContentCacheFileIsBroken(m, out -> {
+            out.writeInt(1);
+            out.writeObject(a);
+            out.writeInt(1);
+            out.writeInt(42);
+        });
+    }
+
+    private static void testContentCacheFileIsBroken(InternalModel m,
+                                                     SectionWriter section)
+            throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeInt(0x4F4E5443);
+        out.writeInt(2);
+        out.writeLong(m.getBaseGraph().size());
+        out.writeLong(ContentCacheFile.checksum(m.getBaseGraph()));
+        out.writeLong(ContentCacheFile.fingerprint(m));
+        out.writeInt(1);
+        out.writeUTF("HEADER");
+        section.write(out);
+        out.flush();
+        Path file = Files.createTempFile(InternalModelTest.class.getName() + ".", ".cache");
+        try {
+            Files.write(file, bytes.toByteArray());
+            try {
+                ContentCacheFile.read(m, file);
+                Assert.fail("Possible to read a broken file");
+            } catch (IOException e) {
+                LOGGER.debug("Expected: '{}'", e.getMessage());
+            }
+            try {
+                ContentCacheFile.read(m, new ByteArrayInputStream(bytes.toByteArray()));
+                Assert.fail("Possible to read a broken stream");
+            } catch (IOException e) {
+                LOGGER.debug("Expected: '{}'", e.getMessage());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testContentCacheFileUsesModelFactory() throws Exception {
+        InterningDataFactory df = new InterningDataFactory();
+        Graph g = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE).getBaseGraph();
+        InternalModel m1 = InternalModelHolder.createInternalModel(g, OntModelConfig.getPersonality(),
+                () -> InternalObjectFactory.DEFAULT, InternalConfig.DEFAULT);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ContentCacheFile.write(m1, bytes);
+
+        InternalModel m2 = InternalModelHolder.createInternalModel(g, OntModelConfig.getPersonality(),
+                () -> new CacheObjectFactory(df), InternalConfig.DEFAULT);
+        Assert.assertTrue(ContentCacheFile.read(m2, new ByteArrayInputStream(bytes.toByteArray())));
+        OWLAnnotation a = m2.listOWLAnnotations().filter(x -> x.getValue().isLiteral())
+                .findFirst().orElseThrow(AssertionError::new);
+        OWLLiteral literal = (OWLLiteral) a.getValue();
+        DataFactory other = OntManagers.getDataFactory();
+        OWLLiteral copy = literal.hasLang() ? other.getOWLLiteral(literal.getLiteral(), literal.getLang()) :
+                other.getOWLLiteral(literal.getLiteral(), literal.getDatatype());
+        Assert.assertNotSame(literal, copy);
+        Assert.assertSame(literal, df.share(copy));
+        Assert.assertSame(a, df.share(other.getOWLAnnotation(a.getProperty(), copy)));
+        Assert.assertTrue(df.getHitCount() > 0);
+    }
+
+    private interface SectionWriter {
+        void write(ObjectOutputStream out) throws IOException;
+    }
+
+    @Test
+    public void testStreamingLoad() throws Exception {
+        for (String resource : Arrays.asList("ontapi/pizza.ttl", "ontapi/goodrelations.rdf", "ontapi/family.ttl",
+                "ontapi/swrl.owl.rdf", "ontapi/test-annotations-2.ttl", "ontapi/dttest1.nt",
+                "ontapi/NCBITAXON-CUT.ttl")) {
+            for (boolean transforms : new boolean[]{true, false}) {
+                testStreamingLoad(resource, transforms);
+            }
+        }
+    }
+
+    private void testStreamingLoad(String resource, boolean transforms) throws Exception {
+        IRI iri = IRI.create(ReadWriteUtils.getResourceURI(resource));
+        LOGGER.debug("Test <{}>, transforms={}", iri, transforms);
+        OntologyManager m1 = OntManagers.createONT();
+        m1.setOntologyLoaderConfiguration(m1.getOntologyLoaderConfiguration().setPerformTransformation(transforms));
+        OntologyModel expected = m1.loadOntologyFromOntologyDocument(iri);
+
+        OntologyManager m2 = OntManagers.createONT();
+        m2.setOntologyLoaderConfiguration(m2.getOntologyLoaderConfiguration()
+                .setPerformTransformation(transforms).setStreamingLoad(true));
+        OntologyModel actual = m2.loadOntologyFromOntologyDocument(iri);
+        if (!transforms) {
+            // the simple axioms are already in the cache, the rest are not:
+            Map<AxiomKey, ObjectTriplesMap<OWLAxiom>> axioms = ((InternalModelHolder) actual).getBase().getAxioms();
+            Assert.assertTrue(axioms.get(AxiomKey.DECLARATION).isLoaded());
+            Assert.assertTrue(axioms.get(AxiomKey.ANNOTATION_ASSERTION).isLoaded());
+            Assert.assertFalse(axioms.get(AxiomKey.SUBCLASS_OF).isLoaded());
+        }
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            Assert.assertEquals("Wrong " + type + " for <" + iri + ">",
+                    toStrings(expected.axioms(type)), toStrings(actual.axioms(type)));
+        }
+        Assert.assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+    }
+
+    private static List<String> toStrings(Stream<? extends OWLAxiom> axioms) {
+        // the labels of blank nodes are different for each parsing:
+        return axioms.map(a -> a.toString().replaceAll("_:[\\w-]+", "_:x")).sorted().collect(Collectors.toList());
+    }
+
+    private static Set<Triple> triples(InternalModel m, OWLAxiom axiom) {
+        return m.getAxioms().values().stream().filter(x -> x.contains(axiom)).findFirst()
+                .orElseThrow(AssertionError::new).triples(axiom).collect(Collectors.toSet());
+    }
+
     private <T extends OWLObject> void test(Class<T> view, Stream<T> ont, Stream<T> owl) {
         LOGGER.debug("Test <{}>:", view.getSimpleName());
         List<T> actual = ont.sorted().collect(Collectors.toList());
@@ -0,0 +1,279 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, Avicomp Services, AO
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package ru.avicomp.ontapi.tests.jena;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.junit.Assert;
+import org.junit.Test;
+import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.jena.CompactGraph;
+import ru.avicomp.ontapi.jena.utils.Graphs;
+import ru.avicomp.ontapi.utils.ReadWriteUtils;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * To test {@link CompactGraph}.
+ */
+public class CompactGraphTest {
+
+    private static Set<Triple> find(Graph g, Node s, Node p, Node o) {
+        return g.find(s, p, o).toSet();
+    }
+
+    private static void assertSameContent(Graph expected, Graph actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        List<Triple> triples = expected.find().toList();
+        Set<Node> subjects = triples.stream().map(Triple::getSubject).collect(Collectors.toSet());
+        Set<Node> predicates = triples.stream().map(Triple::getPredicate).collect(Collectors.toSet());
+        Set<Node> objects = triples.stream().map(Triple::getObject).collect(Collectors.toSet());
+        Assert.assertEquals(find(expected, Node.ANY, Node.ANY, Node.ANY), find(actual, Node.ANY, Node.ANY, Node.ANY));
+        subjects.forEach(s -> Assert.assertEquals(find(expected, s, Node.ANY, Node.ANY), find(actual, s, Node.ANY, Node.ANY)));
+        predicates.forEach(p -> Assert.assertEquals(find(expected, Node.ANY, p, Node.ANY), find(actual, Node.ANY, p, Node.ANY)));
+        objects.forEach(o -> Assert.assertEquals(find(expected, Node.ANY, Node.ANY, o), find(actual, Node.ANY, Node.ANY, o)));
+        triples.forEach(t -> {
+            Assert.assertTrue(actual.contains(t));
+            Assert.assertEquals(find(expected, t.getSubject(), t.getPredicate(), Node.ANY),
+                    find(actual, t.getSubject(), t.getPredicate(), Node.ANY));
+            Assert.assertEquals(find(expected, Node.ANY, t.getPredicate(), t.getObject()),
+                    find(actual, Node.ANY, t.getPredicate(), t.getObject()));
+            Assert.assertEquals(find(expected, t.getSubject(), Node.ANY, t.getObject()),
+                    find(actual, t.getSubject(), Node.ANY, t.getObject()));
+        });
+    }
+
+    @Test
+    public void testFindPatterns() {
+        Graph expected = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph();
+        CompactGraph actual = new CompactGraph();
+        actual.addAll(expected.find());
+        assertSameContent(expected, actual);
+        Assert.assertFalse(actual.contains(NodeFactory.createURI("x"), Node.ANY, Node.ANY));
+        Assert.assertEquals(0, actual.find(NodeFactory.createURI("x"), Node.ANY, Node.ANY).toList().size());
+
+        // the same content in another graph with shared dictionary:
+        CompactGraph other = new CompactGraph(actual.getDictionary());
+        int nodes = actual.getDictionary().size();
+        expected.find().forEachRemaining(other::add);
+        Assert.assertEquals(nodes, other.getDictionary().size());
+        assertSameContent(expected, other);
+    }
+
+    @Test
+    public void testModifications() {
+        Random r = new Random(42);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            nodes.add(i % 5 == 0 ? NodeFactory.createLiteral("v" + i) : NodeFactory.createURI("http://x#" + i));
+        }
+        Graph expected = new GraphMem();
+        CompactGraph actual = new CompactGraph();
+        for (int i = 0; i < 30_000; i++) {
+            Triple t = Triple.create(nodes.get(1 + r.nextInt(4)), nodes.get(6 + r.nextInt(4)), nodes.get(r.nextInt(20)));
+            if (r.nextInt(3) == 0) {
+                expected.delete(t);
+                actual.delete(t);
+            } else {
+                expected.add(t);
+                actual.add(t);
+            }
+            if (i % 5000 == 0) {
+                assertSameContent(expected, actual);
+            }
+            if (i == 10_000) {
+                actual.compact();
+            }
+        }
+        assertSameContent(expected, actual);
+        actual.compact();
+        assertSameContent(expected, actual);
+        actual.clear();
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void testIteratorIsNotAffectedByCompaction() {
+        Node p = NodeFactory.createURI("http://x#p");
+        CompactGraph g = new CompactGraph();
+        List<Triple> triples = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            triples.add(Triple.create(NodeFactory.createURI("http://x#s" + i), p, NodeFactory.createLiteral("v" + i)));
+        }
+        g.addAll(triples.iterator());
+        g.delete(triples.get(5));
+        Iterator<Triple> it = g.find(Node.ANY, p, Node.ANY);
+        g.compact();
+        Set<Triple> actual = new HashSet<>();
+        it.forEachRemaining(actual::add);
+        Set<Triple> expected = new HashSet<>(triples);
+        expected.remove(triples.get(5));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test(timeout = 20_000)
+    public void testBulkLoadEqualRecords() {
+        Node s = NodeFactory.createURI("http://x#s");
+        Node p = NodeFactory.createURI("http://x#p");
+        List<Triple> triples = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            triples.add(Triple.create(s, p, NodeFactory.createLiteral(String.valueOf(i % 3))));
+        }
+        CompactGraph g = new CompactGraph();
+        g.addAll(triples.iterator());
+        Assert.assertEquals(3, g.size());
+        Assert.assertEquals(3, g.find(Node.ANY, p, Node.ANY).toList().size());
+        Assert.assertEquals(5, g.getDictionary().size());
+    }
+
+    @Test
+    public void testSharedDictionaryReleasesNodes() throws InterruptedException {
+        Supplier<Graph> factory = CompactGraph.factory();
+        CompactGraph g1 = (CompactGraph) factory.get();
+        CompactGraph g2 = (CompactGraph) factory.get();
+        CompactGraph.Dictionary dictionary = g1.getDictionary();
+        Assert.assertSame(dictionary, g2.getDictionary());
+
+        Node p = NodeFactory.createURI("http://x#p");
+        Node a = NodeFactory.createURI("http://x#a");
+        Node b = NodeFactory.createURI("http://x#b");
+        g1.addAll(Collections.singleton(Triple.create(a, p, a)).iterator());
+        g2.addAll(Collections.singleton(Triple.create(b, p, b)).iterator());
+        Assert.assertEquals(3, dictionary.size());
+
+        // the store of the second graph becomes unreachable:
+        g2.clear();
+        for (int i = 0; i < 50 && dictionary.getId(b) >= 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+            // any registration releases the collected stores:
+            g1.add(Triple.create(a, p, NodeFactory.createURI("http://x#c" + i)));
+            g1.compact();
+        }
+        Assert.assertEquals(-1, dictionary.getId(b));
+        Assert.assertTrue(dictionary.getId(a) >= 0);
+        Assert.assertTrue(dictionary.getId(p) >= 0);
+        Assert.assertTrue(g1.contains(a, p, a));
+    }
+
+    @Test
+    public void testFreeze() {
+        Graph expected = ReadWriteUtils.loadResourceTTLFile("ontapi/family.ttl").getGraph();
+        CompactGraph actual = new CompactGraph();
+        expected.find().forEachRemaining(actual::add);
+        Triple t = expected.find().next();
+        actual.delete(t);
+        Assert.assertFalse(actual.contains(t));
+        actual.add(t);
+        Assert.assertTrue(actual.getCapabilities().addAllowed());
+        Assert.assertFalse(actual.isFrozen());
+
+        actual.freeze();
+        Assert.assertTrue(actual.isFrozen());
+        Assert.assertFalse(actual.getCapabilities().addAllowed());
+        Assert.assertFalse(actual.getCapabilities().deleteAllowed());
+        assertSameContent(expected, actual);
+        try {
+            actual.add(Triple.create(NodeFactory.createURI("a"), NodeFactory.createURI("b"), NodeFactory.createURI("c")));
+            Assert.fail("Possible to add");
+        } catch (AddDeniedException e) {
+            // expected
+        }
+        try {
+            actual.delete(t);
+            Assert.fail("Possible to delete");
+        } catch (DeleteDeniedException e) {
+            // expected
+        }
+        Assert.assertTrue(actual.contains(t));
+    }
+
+    @Test
+    public void testBulkLoader() {
+        Graph expected = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph();
+        CompactGraph actual = new CompactGraph();
+        Triple t = Triple.create(NodeFactory.createURI("a"), NodeFactory.createURI("b"), NodeFactory.createURI("c"));
+        actual.add(t);
+        StreamRDF sink = actual.createLoader();
+        sink.start();
+        expected.find().forEachRemaining(sink::triple);
+        sink.finish();
+        expected.add(t);
+        assertSameContent(expected, actual);
+
+        CompactGraph parsed = new CompactGraph();
+        RDFParser.source(ReadWriteUtils.getResourceURI("ontapi/pizza.ttl").toString()).lang(Lang.TURTLE)
+                .parse(Graphs.createLoader(parsed));
+        expected.delete(t);
+        Assert.assertTrue(expected.isIsomorphicWith(parsed));
+        Assert.assertEquals(expected.getPrefixMapping().getNsPrefixMap(), parsed.getPrefixMapping().getNsPrefixMap());
+        expected.add(t);
+
+        // not finished loading does not change the graph:
+        StreamRDF loader = actual.createLoader();
+        loader.start();
+        loader.triple(Triple.create(NodeFactory.createURI("x"), NodeFactory.createURI("y"), NodeFactory.createURI("z")));
+        assertSameContent(expected, actual);
+    }
+
+    @Test
+    public void testLoadOntologyWithCompactManager() throws Exception {
+        OntologyManager m = OntManagers.createCompactONT();
+        OntologyModel o = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/family.ttl",
+                OntFormat.TURTLE));
+        Assert.assertTrue(o.asGraphModel().getBaseGraph() instanceof CompactGraph);
+        OntologyModel e = OntManagers.createONT().loadOntologyFromOntologyDocument(
+                ReadWriteUtils.getDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE));
+        Assert.assertEquals(e.axioms().collect(Collectors.toSet()), o.axioms().collect(Collectors.toSet()));
+
+        CompactGraph g1 = (CompactGraph) o.asGraphModel().getBaseGraph();
+        CompactGraph g2 = (CompactGraph) m.createOntology().asGraphModel().getBaseGraph();
+        Assert.assertSame(g1.getDictionary(), g2.getDictionary());
+
+        OntologyManager c = OntManagers.createConcurrentCompactONT();
+        Assert.assertTrue(Graphs.asNonConcurrent(c.createOntology().asGraphModel().getBaseGraph()) instanceof CompactGraph);
+    }
+
+    @Test
+    public void testLoadOntologyWithCompactGraphs() throws Exception {
+        OntManagers.ONTAPIProfile profile = new OntManagers.ONTAPIProfile();
+        CompactGraph.Dictionary dictionary = new CompactGraph.Dictionary();
+        OntologyFactory factory = profile.createOntologyFactory(new OntologyBuilderImpl(() -> new CompactGraph(dictionary)));
+        OntologyManager m = profile.createManager(profile.dataFactory(), factory, NoOpReadWriteLock.NO_OP_RW_LOCK);
+        OntologyModel o = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assert.assertTrue(o.asGraphModel().getBaseGraph() instanceof CompactGraph);
+
+        Model expected = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl");
+        OntologyModel e = OntManagers.createONT().addOntology(expected.getGraph());
+        Assert.assertEquals(e.axioms().collect(Collectors.toSet()), o.axioms().collect(Collectors.toSet()));
+
+        OntologyModel n = m.createOntology();
+        Assert.assertTrue(n.asGraphModel().getBaseGraph() instanceof CompactGraph);
+        n.add(m.getOWLDataFactory().getOWLDeclarationAxiom(m.getOWLDataFactory().getOWLClass("C")));
+        Assert.assertEquals(1, n.getAxiomCount());
+    }
+}
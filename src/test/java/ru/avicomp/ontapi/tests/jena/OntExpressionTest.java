@@ -24,6 +24,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.HierarchyIndex;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.jena.model.*;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -32,6 +34,7 @@ import ru.avicomp.ontapi.utils.ReadWriteUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * To test {@link OntCE class expression}s mostly.
@@ -95,6 +98,82 @@ public class OntExpressionTest {
                 .peek(x -> LOGGER.debug("{} has sub class: {}", d, x)).count());
     }
 
+    @Test
+    public void testListHierarchyWithIndex() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.read(OntExpressionTest.class.getResourceAsStream("/ontapi/pizza.ttl"), null, "ttl");
+        // add a cycle:
+        OntClass x = m.createOntClass("X");
+        OntClass y = m.createOntClass("Y");
+        x.addSuperClass(y).addSuperClass(m.getOWLThing());
+        y.addSuperClass(x);
+        OntNOP p = m.createObjectProperty("p");
+        p.addSuperProperty(m.objectProperties().filter(z -> !z.equals(p)).findFirst().orElseThrow(AssertionError::new));
+
+        Map<OntCE, Set<OntCE>> superClasses = new HashMap<>();
+        Map<OntCE, Set<OntCE>> subClasses = new HashMap<>();
+        Map<OntOPE, Set<OntOPE>> superProperties = new HashMap<>();
+        m.ontObjects(OntCE.class).forEach(c -> {
+            superClasses.put(c, c.superClasses(false).collect(Collectors.toSet()));
+            subClasses.put(c, c.subClasses(false).collect(Collectors.toSet()));
+        });
+        m.ontObjects(OntOPE.class).forEach(o -> superProperties.put(o, o.superProperties(false).collect(Collectors.toSet())));
+
+        OntGraphModelImpl impl = ((OntGraphModelImpl) m).setHierarchyIndex(true);
+        HierarchyIndex index = impl.getHierarchyIndex().orElseThrow(AssertionError::new);
+        for (int i = 0; i < 2; i++) {
+            superClasses.forEach((c, v) -> Assert.assertEquals("Wrong super classes for " + c,
+                    v, c.superClasses(false).collect(Collectors.toSet())));
+            subClasses.forEach((c, v) -> Assert.assertEquals("Wrong sub classes for " + c,
+                    v, c.subClasses(false).collect(Collectors.toSet())));
+            superProperties.forEach((o, v) -> Assert.assertEquals("Wrong super properties for " + o,
+                    v, o.superProperties(false).collect(Collectors.toSet())));
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(y, m.getOWLThing())),
+                x.superClasses(false).collect(Collectors.toSet()));
+        Assert.assertTrue(index.size() > 0);
+
+        // an annotation does not affect hierarchies:
+        long version = index.version();
+        x.addComment("x");
+        Assert.assertEquals(version, index.version());
+        Assert.assertTrue(index.size() > 0);
+
+        // a new declaration resets the index:
+        OntClass z = m.createOntClass("Z");
+        Assert.assertEquals(0, index.size());
+        m.getOWLThing().addSuperClass(z);
+        Assert.assertTrue(x.superClasses(false).anyMatch(z::equals));
+        Assert.assertTrue(z.subClasses(false).anyMatch(x::equals));
+
+        impl.setHierarchyIndex(false);
+        Assert.assertFalse(impl.getHierarchyIndex().isPresent());
+    }
+
+    @Test
+    public void testHierarchyIndexOnRandomGraph() {
+        Random r = new Random(42);
+        OntGraphModel m = OntModelFactory.createModel();
+        List<OntClass> classes = IntStream.range(0, 300).mapToObj(i -> m.createOntClass("C" + i))
+                .collect(Collectors.toList());
+        // multiple inheritance, without cycles:
+        for (int i = 1; i < classes.size(); i++) {
+            for (int j = 0; j < 1 + r.nextInt(3); j++) {
+                classes.get(i).addSuperClass(classes.get(r.nextInt(i)));
+            }
+        }
+        Map<OntCE, Set<OntCE>> expected = new HashMap<>();
+        classes.forEach(c -> expected.put(c, c.subClasses(false).collect(Collectors.toSet())));
+
+        ((OntGraphModelImpl) m).setHierarchyIndex(true);
+        List<OntClass> order = new ArrayList<>(classes);
+        Collections.shuffle(order, r);
+        order.forEach(c -> Assert.assertEquals("Wrong sub classes for " + c,
+                expected.get(c), c.subClasses(false).collect(Collectors.toSet())));
+        order.forEach(c -> expected.get(c).forEach(x ->
+                Assert.assertTrue(x.superClasses(false).anyMatch(c::equals))));
+    }
+
     @Test
     public void testClassExpressionSubClassOf() {
         OntGraphModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
@@ -17,13 +17,17 @@ package ru.avicomp.ontapi.tests.jena;
 import org.apache.jena.enhanced.EnhGraph;
 import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.sparql.graph.GraphWrapper;
 import org.apache.jena.sparql.vocabulary.FOAF;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.RDFS;
 import org.junit.Assert;
 import org.junit.Test;
@@ -31,17 +35,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.jena.OntJenaException;
 import ru.avicomp.ontapi.jena.OntModelFactory;
+import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
+import ru.avicomp.ontapi.jena.impl.NodeKindsCache;
 import ru.avicomp.ontapi.jena.impl.OntIndividualImpl;
 import ru.avicomp.ontapi.jena.impl.PersonalityModel;
 import ru.avicomp.ontapi.jena.impl.conf.*;
 import ru.avicomp.ontapi.jena.model.*;
 import ru.avicomp.ontapi.jena.utils.BuiltIn;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.utils.ReadWriteUtils;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -323,6 +331,117 @@ public class PersonalityTest {
         return res;
     }
 
+    @Test
+    public void testNodeKindsCache() {
+        Graph base = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
+        AtomicLong count = new AtomicLong();
+        Graph g = new GraphWrapper(base) {
+            @Override
+            public ExtendedIterator<Triple> find(Triple m) {
+                count.incrementAndGet();
+                return super.find(m);
+            }
+
+            @Override
+            public ExtendedIterator<Triple> find(Node s, Node p, Node o) {
+                count.incrementAndGet();
+                return super.find(s, p, o);
+            }
+        };
+        OntGraphModelImpl m1 = (OntGraphModelImpl) OntModelFactory.createModel(g);
+        OntGraphModelImpl m2 = ((OntGraphModelImpl) OntModelFactory.createModel(g)).setNodeKindsCache(true);
+        Assert.assertTrue(m2.getNodeKindsCache().isPresent());
+        Assert.assertFalse(m1.getNodeKindsCache().isPresent());
+
+        Set<OntCE> expected = m1.ontObjects(OntCE.class).collect(Collectors.toSet());
+        count.set(0);
+        Assert.assertEquals(expected, m1.ontObjects(OntCE.class).collect(Collectors.toSet()));
+        long withoutCache = count.get();
+        Assert.assertEquals(expected, m2.ontObjects(OntCE.class).collect(Collectors.toSet()));
+        count.set(0);
+        Assert.assertEquals(expected, m2.ontObjects(OntCE.class).collect(Collectors.toSet()));
+        long withCache = count.get();
+        LOGGER.debug("Finds: {} (without cache) vs {} (with cache)", withoutCache, withCache);
+        Assert.assertTrue(withCache < withoutCache);
+
+        List<Class<? extends RDFNode>> types = Arrays.asList(OntCE.class, OntClass.class, OntIndividual.class,
+                OntDR.class, OntOPE.class, OntNDP.class, OntCE.ObjectSomeValuesFrom.class);
+        m2.classifyNodes(OntCE.class, OntIndividual.class, OntDR.class);
+        Assert.assertTrue(m2.getNodeKindsCache().orElseThrow(AssertionError::new).size() > 0);
+        base.find().mapWith(Triple::getSubject).toSet().forEach(n -> types.forEach(t -> Assert.assertEquals(
+                "Wrong answer for " + n + " as " + t.getSimpleName(), m1.canAs(n, t), m2.canAs(n, t))));
+
+        // a change resets only the affected nodes:
+        int size = m2.getNodeKindsCache().orElseThrow(AssertionError::new).size();
+        OntClass c = m2.createOntClass("http://x#C");
+        Assert.assertEquals(size, m2.getNodeKindsCache().orElseThrow(AssertionError::new).size());
+        Assert.assertTrue(PersonalityModel.canAs(OntCE.class, c.asNode(), m2));
+        Assert.assertTrue(m2.canAs(c.asNode(), OntCE.class));
+        m2.removeOntObject(c);
+        Assert.assertFalse(m2.canAs(c.asNode(), OntCE.class));
+
+        // the kinds of the dependent nodes are removed from the table:
+        NodeKindsCache kinds = m2.getNodeKindsCache().orElseThrow(AssertionError::new);
+        OntNOP p = m2.createObjectProperty("http://x#p");
+        OntClass d = m2.createOntClass("http://x#D");
+        OntCE r = m2.createObjectSomeValuesFrom(p, d);
+        OntIndividual j = d.createIndividual("http://x#j");
+        Resource i = m2.createResource();
+        j.addProperty(p, i);
+        m2.classifyNodes(OntCE.class, OntIndividual.class, OntDR.class);
+        Assert.assertTrue(m2.canAs(r.asNode(), OntCE.class));
+        Assert.assertTrue(m2.canAs(i.asNode(), OntIndividual.class));
+        m2.remove(d, RDF.type, OWL.Class);
+        m2.remove(p, RDF.type, OWL.ObjectProperty);
+        Assert.assertTrue(kinds.size() > 0);
+        // a fresh model without any caches:
+        OntGraphModelImpl m3 = (OntGraphModelImpl) OntModelFactory.createModel(g);
+        Assert.assertFalse(m3.canAs(r.asNode(), OntCE.class));
+        Set<Node> nodes = Graphs.subjectsAndObjects(base).filterDrop(Node::isLiteral).toSet();
+        nodes.forEach(n -> types.forEach(t -> Assert.assertEquals(
+                "Wrong answer for " + n + " as " + t.getSimpleName(), m3.canAs(n, t), kinds.test(n, t, m3::canAs))));
+
+        m2.setNodeKindsCache(false);
+        Assert.assertFalse(m2.getNodeKindsCache().isPresent());
+    }
+
+    @Test
+    public void testIndividualFinder() {
+        OntGraphModel m = OntModelFactory.createModel();
+        m.read(PersonalityTest.class.getResourceAsStream("/ontapi/family.ttl"), null, "ttl");
+        m.read(PersonalityTest.class.getResourceAsStream("/ontapi/pizza.ttl"), null, "ttl");
+        OntClass c = m.createOntClass("http://x#C");
+        OntNOP p = m.createObjectProperty("http://x#p");
+        OntIndividual.Anonymous i1 = c.createIndividual();
+        OntIndividual.Anonymous i2 = m.getOWLThing().createIndividual();
+        OntIndividual.Anonymous i3 = m.createResource().addProperty(p, i1).as(OntIndividual.Anonymous.class);
+        i2.addSameAsStatement(i3);
+        m.createDifferentIndividuals(i1, m.createResource().as(OntIndividual.Anonymous.class));
+        m.createObjectHasValue(p, m.createResource().addProperty(p, i2).as(OntIndividual.Anonymous.class));
+
+        Set<OntIndividual> expected = Iter.asStream(Graphs.subjectsAndObjects(m.getGraph()))
+                .map(n -> ((OntGraphModelImpl) m).findNodeAs(n, OntIndividual.class))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        LOGGER.debug("Individuals: {}", expected.size());
+        Assert.assertEquals(5, expected.stream().filter(RDFNode::isAnon).count());
+        Assert.assertEquals(expected, m.ontObjects(OntIndividual.class).collect(Collectors.toSet()));
+        Assert.assertEquals(expected.stream().filter(RDFNode::isAnon).collect(Collectors.toSet()),
+                m.ontObjects(OntIndividual.Anonymous.class).collect(Collectors.toSet()));
+        Assert.assertEquals(expected.stream().filter(RDFNode::isURIResource).collect(Collectors.toSet()),
+                m.ontObjects(OntIndividual.Named.class).collect(Collectors.toSet()));
+
+        // the cached lists are kept in the node-kinds table and are reset on any change:
+        OntGraphModelImpl impl = ((OntGraphModelImpl) m).setNodeKindsCache(true);
+        Assert.assertEquals(expected, m.ontObjects(OntIndividual.class).collect(Collectors.toSet()));
+        Assert.assertEquals(expected, m.ontObjects(OntIndividual.class).collect(Collectors.toSet()));
+        OntIndividual i4 = c.createIndividual("http://x#i");
+        Assert.assertEquals(expected.size() + 1, m.ontObjects(OntIndividual.class).count());
+        m.removeOntObject(i4);
+        Assert.assertEquals(expected, m.ontObjects(OntIndividual.class).collect(Collectors.toSet()));
+        impl.setNodeKindsCache(false);
+    }
+
     private static ObjectFactory createNamedIndividualFactory() {
         OntMaker maker = new OntMaker.Default(IndividualImpl.class) {
             @Override
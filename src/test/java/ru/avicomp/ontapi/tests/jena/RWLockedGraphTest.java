@@ -14,11 +14,16 @@
 
 package ru.avicomp.ontapi.tests.jena;
 
+import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphStatisticsHandler;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.semanticweb.owlapi.model.AxiomType;
@@ -30,8 +35,10 @@ import ru.avicomp.ontapi.internal.AxiomParserProvider;
 import ru.avicomp.ontapi.internal.ONTObject;
 import ru.avicomp.ontapi.jena.OntModelFactory;
 import ru.avicomp.ontapi.jena.RWLockedGraph;
+import ru.avicomp.ontapi.jena.SnapshotGraph;
 import ru.avicomp.ontapi.jena.model.OntClass;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
@@ -48,7 +55,7 @@ import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
- * To test {@link RWLockedGraph}.
+ * To test {@link RWLockedGraph} and {@link SnapshotGraph}.
  * Created by @ssz on 05.04.2019.
  */
 public class RWLockedGraphTest {
@@ -189,4 +196,63 @@ public class RWLockedGraphTest {
         Assert.assertEquals(size, g.get().getStatisticsHandler().getStatistic(Node.ANY, Node.ANY, Node.ANY));
         Assert.assertEquals(size, gsh.getStatistic(Node.ANY, Node.ANY, Node.ANY));
     }
+
+    @Test
+    public void testSnapshotGraphRaceModifyAndList() throws Exception {
+        Graph g = new SnapshotGraph();
+        GraphUtil.addInto(g, loadPizza());
+        Graph gg = Graphs.asConcurrent(g, new ReentrantReadWriteLock());
+        Assert.assertTrue(gg instanceof SnapshotGraph.Locked);
+        OntGraphModel m = OntModelFactory.createModel(gg);
+        Instant s = Instant.now();
+        testRace(m);
+        Instant e = Instant.now();
+        LOGGER.debug("Duration: {}", Duration.between(s, e));
+    }
+
+    @Test
+    public void testSnapshotGraphIsolation() throws Exception {
+        Graph base = loadPizza();
+        int size = base.size();
+        SnapshotGraph g = new SnapshotGraph();
+        GraphUtil.addInto(g, base);
+        Assert.assertEquals(size, g.size());
+        Node s = NodeFactory.createURI("s");
+        Node p = NodeFactory.createURI("p");
+        ExtendedIterator<Triple> all = g.find();
+        ExtendedIterator<Triple> types = g.find(Node.ANY, RDF.type.asNode(), Node.ANY);
+        Assert.assertTrue(all.hasNext());
+        long version = g.version();
+
+        // the writer should not wait for the reader, even from another thread:
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        service.submit(() -> {
+            g.add(Triple.create(s, p, NodeFactory.createURI("o")));
+            g.remove(Node.ANY, RDF.type.asNode(), OWL.Class.asNode());
+        }).get(TIMEOUT, TimeUnit.MILLISECONDS);
+        service.shutdown();
+        Assert.assertNotEquals(version, g.version());
+
+        // the iterators still see the old data:
+        Assert.assertEquals(size, all.toList().size());
+        Assert.assertTrue(types.toList().stream().anyMatch(t -> OWL.Class.asNode().equals(t.getObject())));
+        Assert.assertFalse(g.contains(Node.ANY, RDF.type.asNode(), OWL.Class.asNode()));
+        Assert.assertFalse(g.find(Node.ANY, RDF.type.asNode(), OWL.Class.asNode()).hasNext());
+        Assert.assertTrue(g.find(s, Node.ANY, Node.ANY).hasNext());
+
+        // removing through an iterator:
+        ExtendedIterator<Triple> it = g.find(s, p, Node.ANY);
+        it.next();
+        it.remove();
+        Assert.assertFalse(g.contains(s, p, Node.ANY));
+        Assert.assertEquals(0, g.find(Node.ANY, p, Node.ANY).toList().size());
+
+        // deleted entries are cleaned when no one sees them:
+        g.clear();
+        Assert.assertTrue(g.isEmpty());
+        Assert.assertFalse(g.find().hasNext());
+        g.add(Triple.create(s, p, NodeFactory.createLiteral("1", XSDDatatype.XSDint)));
+        Assert.assertTrue(g.contains(s, p, NodeFactory.createLiteral("01", XSDDatatype.XSDint)));
+        Assert.assertEquals(1, g.find().toList().size());
+    }
 }
@@ -15,8 +15,11 @@
 package ru.avicomp.ontapi.tests.jena;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.mem.GraphMem;
@@ -26,6 +29,9 @@ import org.apache.jena.shared.AddDeniedException;
 import org.apache.jena.shared.ClosedException;
 import org.apache.jena.shared.DeleteDeniedException;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.graph.GraphWrapper;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDFS;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -42,9 +48,8 @@ import ru.avicomp.ontapi.utils.UnmodifiableGraph;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * To test {@link UnionGraph} and also {@link Graphs} utils.
@@ -284,4 +289,151 @@ public class UnionGraphTest {
         Assert.assertTrue(d.dependsOn(a));
         Assert.assertFalse(a.dependsOn(g2));
     }
+
+    @Test
+    public void testDistinctFind() {
+        Map<String, Graph> graphs = loadSpinGraphs();
+        UnionGraph g = Graphs.toUnion(graphs.get(SpinModels.SPINMAPL.uri()), graphs.values());
+        Set<Triple> expected = new HashSet<>();
+        graphs.values().forEach(x -> x.find().forEachRemaining(expected::add));
+        List<Triple> actual = g.find().toList();
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(expected, new HashSet<>(actual));
+        List<Triple> types = g.find(Triple.createMatch(null, RDF.type.asNode(), OWL.Ontology.asNode())).toList();
+        Assert.assertEquals(graphs.size(), types.size());
+        Assert.assertEquals(graphs.size(), new HashSet<>(types).size());
+
+        // literals that are equal by value, but not by term, are not duplicates
+        Graph a = Factory.createGraphMem();
+        Graph b = Factory.createGraphMem();
+        Graph c = Factory.createGraphMem();
+        Triple t1 = Triple.create(NodeFactory.createURI("s"), RDF.value.asNode(),
+                NodeFactory.createLiteral("1", XSDDatatype.XSDint));
+        Triple t2 = Triple.create(NodeFactory.createURI("s"), RDF.value.asNode(),
+                NodeFactory.createLiteral("01", XSDDatatype.XSDint));
+        Triple t3 = Triple.create(NodeFactory.createURI("s"), RDF.type.asNode(), OWL.Class.asNode());
+        a.add(t1);
+        b.add(t2);
+        b.add(t3);
+        c.add(t1);
+        c.add(t3);
+        UnionGraph u = new UnionGraph(a).addGraph(new UnionGraph(b).addGraph(c));
+        Assert.assertEquals(3, u.find().toList().size());
+        Assert.assertEquals(2, u.find(Triple.createMatch(null, RDF.value.asNode(), null)).toList().size());
+        Assert.assertEquals(1, u.find(t3).toList().size());
+        Assert.assertEquals(5, new UnionGraph(a, null, null, false).addGraph(b).addGraph(c).find().toList().size());
+
+        // a wide hierarchy is deduplicated through the set:
+        AtomicInteger sets = new AtomicInteger();
+        UnionGraph w = new UnionGraph(a) {
+            @Override
+            protected Set<Triple> createSet() {
+                sets.incrementAndGet();
+                return super.createSet();
+            }
+        };
+        w.addGraph(b).addGraph(c);
+        Assert.assertEquals(3, w.find().toList().size());
+        Assert.assertEquals(0, sets.get());
+        // summarized graphs are probed only if they can contain the triple:
+        class CountingGraph extends GraphMem {
+            private final AtomicInteger contains = new AtomicInteger();
+
+            @Override
+            public boolean graphBaseContains(Triple t) {
+                contains.incrementAndGet();
+                return super.graphBaseContains(t);
+            }
+        }
+        CountingGraph d = new CountingGraph();
+        d.add(Triple.create(NodeFactory.createURI("d"), RDF.value.asNode(), NodeFactory.createURI("x")));
+        w.addGraph(d);
+        for (int i = 0; i < 10; i++) {
+            Graph x = Factory.createGraphMem();
+            x.add(t1);
+            x.add(t3);
+            x.add(Triple.create(NodeFactory.createURI("x" + i), RDF.value.asNode(), NodeFactory.createURI("x")));
+            w.addGraph(x);
+        }
+        d.contains.set(0);
+        Assert.assertEquals(14, w.find().toList().size());
+        Assert.assertEquals(0, sets.get());
+        // d has no common subjects with the other graphs, so the only call is the check for matches of the pattern:
+        Assert.assertEquals(1, d.contains.get());
+        // as the last resort, the set is used for a hierarchy with many unknown graphs:
+        for (int i = 0; i < 5; i++) {
+            Graph x = Factory.createGraphMem();
+            x.add(t1);
+            x.add(t3);
+            w.addGraph(new GraphWrapper(x));
+        }
+        Assert.assertEquals(14, w.find().toList().size());
+        Assert.assertEquals(1, sets.get());
+    }
+
+    @Test
+    public void testFindWithRoutingSummary() {
+        class CountingGraph extends GraphMem {
+            private final AtomicInteger finds = new AtomicInteger();
+
+            @Override
+            public ExtendedIterator<Triple> graphBaseFind(Triple m) {
+                finds.incrementAndGet();
+                return super.graphBaseFind(m);
+            }
+        }
+        Node i1 = NodeFactory.createURI("i1");
+        Node i2 = NodeFactory.createURI("i2");
+        Node c1 = NodeFactory.createURI("c1");
+        Graph a = Factory.createGraphMem();
+        CountingGraph b = new CountingGraph();
+        CountingGraph c = new CountingGraph();
+        a.add(Triple.create(c1, RDF.type.asNode(), OWL.Class.asNode()));
+        b.add(Triple.create(c1, RDF.type.asNode(), OWL.Class.asNode()));
+        b.add(Triple.create(c1, RDFS.label.asNode(), NodeFactory.createLiteral("c1")));
+        c.add(Triple.create(i1, RDF.type.asNode(), OWL.NamedIndividual.asNode()));
+        UnionGraph u = new UnionGraph(a).addGraph(b).addGraph(c);
+        Triple individuals = Triple.createMatch(null, RDF.type.asNode(), OWL.NamedIndividual.asNode());
+        Triple labels = Triple.createMatch(null, RDFS.label.asNode(), null);
+
+        Assert.assertEquals(1, u.find(individuals).toList().size());
+        b.finds.set(0);
+        Assert.assertEquals(1, u.find(individuals).toList().size());
+        Assert.assertEquals(0, b.finds.get());
+        Assert.assertTrue(u.contains(individuals));
+        Assert.assertFalse(u.contains(Triple.create(i2, RDFS.label.asNode(), NodeFactory.createLiteral("i2"))));
+        c.finds.set(0);
+        Assert.assertEquals(1, u.find(labels).toList().size());
+        Assert.assertEquals(0, c.finds.get());
+        Assert.assertEquals(2, u.find(Triple.createMatch(null, RDF.type.asNode(), null)).toList().size());
+
+        // the summary is maintained through the graph events:
+        b.add(Triple.create(i2, RDF.type.asNode(), OWL.NamedIndividual.asNode()));
+        Assert.assertEquals(2, u.find(individuals).toList().size());
+        Graph d = Factory.createGraphMem();
+        d.add(Triple.create(i2, RDFS.label.asNode(), NodeFactory.createLiteral("i2")));
+        GraphUtil.addInto(c, d);
+        Assert.assertEquals(2, u.find(labels).toList().size());
+        Assert.assertTrue(u.contains(Triple.create(i2, RDFS.label.asNode(), NodeFactory.createLiteral("i2"))));
+        c.clear();
+        Assert.assertEquals(1, u.find(individuals).toList().size());
+        Assert.assertEquals(1, u.find(labels).toList().size());
+
+        // the summary is owned by the container and is released with the graph:
+        Assert.assertTrue(c.getEventManager().listening());
+        u.removeGraph(c);
+        Assert.assertFalse(c.getEventManager().listening());
+        Assert.assertEquals(1, u.find(individuals).toList().size());
+
+        // the summary of a nested union graph's base is kept by that union graph:
+        CountingGraph e = new CountingGraph();
+        e.add(Triple.create(i1, RDF.type.asNode(), OWL.NamedIndividual.asNode()));
+        UnionGraph ue = new UnionGraph(e);
+        u.addGraph(ue);
+        new UnionGraph(Factory.createGraphMem()).addGraph(ue).find(labels).toList();
+        Assert.assertEquals(2, u.find(individuals).toList().size());
+        e.finds.set(0);
+        Assert.assertEquals(1, u.find(labels).toList().size());
+        Assert.assertEquals(0, e.finds.get());
+    }
 }
@@ -15,6 +15,7 @@
 package ru.avicomp.ontapi.tests.managers;
 
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
@@ -22,9 +23,8 @@ import org.apache.jena.util.iterator.ExtendedIterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
-import org.semanticweb.owlapi.model.OWLAxiom;
-import org.semanticweb.owlapi.model.OWLClass;
-import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.*;
@@ -36,10 +36,9 @@ import ru.avicomp.ontapi.internal.*;
 import ru.avicomp.ontapi.jena.impl.OntGraphModelImpl;
 import ru.avicomp.ontapi.utils.ReadWriteUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Created by @ssz on 04.03.2019.
@@ -73,6 +72,87 @@ public class CacheConfigTest {
         testConfigureIRICacheSize(OntManagers.createConcurrentONT());
     }
 
+    @Test
+    public void testManagerEntitiesCache() throws Exception {
+        OntologyManagerImpl m = (OntologyManagerImpl) OntManagers.createONT();
+        Assert.assertEquals(Prop.ENTITIES_CACHE_SIZE.getInt(), m.getOntologyConfigurator().getManagerEntitiesCacheSize());
+        Assert.assertFalse(m.getEntityCache().isPresent());
+
+        m.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerEntitiesCacheSize(int size) {
+                return super.setManagerEntitiesCacheSize(size);
+            }
+        }.setManagerEntitiesCacheSize(10_000));
+        EntityCache cache = m.getEntityCache().orElseThrow(AssertionError::new);
+        OntologyModel o1 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        OntologyModel o2 = m.createOntology(IRI.create("http://x#copy"));
+        GraphUtil.addInto(o2.asGraphModel().getBaseGraph(), o1.asGraphModel().getBaseGraph());
+
+        Map<OWLClass, OWLClass> classes = o1.classesInSignature().collect(Collectors.toMap(x -> x, x -> x));
+        Assert.assertEquals(classes.size(), o2.classesInSignature().count());
+        // the same instances are shared between ontologies:
+        o2.classesInSignature().forEach(c -> Assert.assertSame(classes.get(c), c));
+        InternalCache.Stats stats = cache.getStats();
+        LOGGER.debug("Entities cache: {}", stats);
+        Assert.assertTrue(stats.hitCount() >= classes.size());
+        Assert.assertTrue(stats.size() > 0);
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testCacheMetrics() throws Exception {
+        testCacheMetrics(OntManagers.createONT());
+        testCacheMetrics(OntManagers.createConcurrentONT());
+    }
+
+    private static void testCacheMetrics(OntologyManager manager) throws Exception {
+        OntologyManagerImpl m = (OntologyManagerImpl) manager;
+        Assert.assertFalse(m.getOntologyConfigurator().isRecordCacheStats());
+        OntologyModel o1 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assert.assertEquals(945, o1.axioms().count());
+        Assert.assertTrue(((InternalModelHolder) o1).getBase().getCacheMetrics().isEmpty());
+        Assert.assertTrue(m.getCacheMetrics().isEmpty());
+        m.removeOntology(o1);
+
+        m.setOntologyConfigurator(new OntConfig().setRecordCacheStats(true));
+        Assert.assertTrue(m.getOntologyLoaderConfiguration().isRecordCacheStats());
+        OntologyModel o2 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE), m.getOntologyLoaderConfiguration());
+        Assert.assertEquals(945, o2.axioms().count());
+        Assert.assertEquals(945, o2.axioms().count());
+        Assert.assertEquals(100, o2.classesInSignature().count());
+
+        Map<String, InternalCache.Stats> metrics = ((InternalModelHolder) o2).getBase().getCacheMetrics();
+        LOGGER.debug("Model metrics: {}", metrics);
+        InternalCache.Stats declarations = metrics.get("content.OWLDeclarationAxiom");
+        Assert.assertNotNull(declarations);
+        Assert.assertEquals(1, declarations.loadCount());
+        Assert.assertEquals(1, declarations.missCount());
+        Assert.assertTrue(declarations.hitCount() > 0);
+        Assert.assertEquals(1, declarations.size());
+        Assert.assertTrue(declarations.totalLoadTime() > 0);
+        InternalCache.Stats nodes = metrics.get("nodes");
+        Assert.assertNotNull(nodes);
+        Assert.assertTrue(nodes.hitCount() > 0);
+        Assert.assertTrue(nodes.missCount() > 0);
+        InternalCache.Stats objects = metrics.get("objects");
+        Assert.assertNotNull(objects);
+        Assert.assertTrue(objects.hitRate() > 0);
+        Assert.assertEquals(1, metrics.get("model.objects").loadCount());
+        Assert.assertTrue(metrics.get("model.searchModel").hitCount() > 0);
+        Assert.assertEquals(Arrays.asList("hits", "misses", "hitRate", "evictions", "softClears", "loads",
+                "loadTime", "size"), new ArrayList<>(nodes.asMap().keySet()));
+
+        Map<String, InternalCache.Stats> total = m.getCacheMetrics();
+        LOGGER.debug("Manager metrics: {}", total);
+        Assert.assertTrue(total.containsKey("manager.iris"));
+        Assert.assertTrue(total.keySet().containsAll(metrics.keySet()));
+        Assert.assertTrue(total.get("nodes").hitCount() >= nodes.hitCount());
+    }
+
     @Test
     public void testNodesCacheSize() throws Exception {
         Assert.assertEquals(Prop.NODES_CACHE_SIZE.getInt(), new OntConfig().getLoadNodesCacheSize());
@@ -224,9 +304,189 @@ public class CacheConfigTest {
         Assert.assertEquals(axioms, o.getAxiomCount());
     }
 
+    @Test
+    public void testComponentIndexContentCache() throws OWLOntologyCreationException {
+        OWLOntologyDocumentSource s = ReadWriteUtils.getDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Assert.assertTrue(m1.getOntologyConfigurator().useComponentIndexContentCache());
+        OntologyManager m2 = OntManagers.createONT();
+        m2.getOntologyConfigurator().setContentCacheLevel(CacheSettings.CONTENT_CACHE_LEVEL_ALL
+                & ~CacheSettings.CONTENT_CACHE_LEVEL_COMPONENT_INDEX);
+        Assert.assertFalse(m2.getOntologyConfigurator().useComponentIndexContentCache());
+
+        OntologyModel o1 = m1.loadOntologyFromOntologyDocument(s);
+        OntologyModel o2 = m2.loadOntologyFromOntologyDocument(s);
+        assertIndividualAxioms(o1, o2);
+
+        DataFactory df = m1.getOWLDataFactory();
+        OWLNamedIndividual i = o1.individualsInSignature().findFirst().orElseThrow(AssertionError::new);
+        OWLObjectProperty p = o1.objectPropertiesInSignature().findFirst().orElseThrow(AssertionError::new);
+        OWLAxiom a = df.getOWLObjectPropertyAssertionAxiom(p, i, df.getOWLNamedIndividual("X"));
+        long count = o1.objectPropertyAssertionAxioms(i).count();
+        o1.add(a);
+        o2.add(a);
+        Assert.assertEquals(count + 1, o1.objectPropertyAssertionAxioms(i).count());
+        Assert.assertTrue(o1.objectPropertyAssertionAxioms(i).anyMatch(a::equals));
+        assertIndividualAxioms(o1, o2);
+
+        o1.remove(a);
+        o2.remove(a);
+        Assert.assertEquals(count, o1.objectPropertyAssertionAxioms(i).count());
+        assertIndividualAxioms(o1, o2);
+    }
+
+    @Test
+    public void testReferencingAxiomsWithTripleStore() throws OWLOntologyCreationException {
+        OWLOntologyDocumentSource s = ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Assert.assertTrue(m1.getOntologyConfigurator().useTriplesContentCache());
+        OntologyManager m2 = OntManagers.createONT();
+        m2.getOntologyConfigurator().setContentCacheLevel(CacheSettings.CONTENT_CACHE_LEVEL_FAST_ITERATOR);
+        Assert.assertFalse(m2.getOntologyConfigurator().useTriplesContentCache());
+
+        OntologyModel o1 = m1.loadOntologyFromOntologyDocument(s);
+        OntologyModel o2 = m2.loadOntologyFromOntologyDocument(s);
+        assertReferencingAxioms(o1, o2);
+
+        DataFactory df = m1.getOWLDataFactory();
+        OWLClass c = o1.classesInSignature().findFirst().orElseThrow(AssertionError::new);
+        OWLClass x = df.getOWLClass("X");
+        OWLAxiom a = df.getOWLSubClassOfAxiom(x, c);
+        Assert.assertFalse(o1.containsReference(x));
+        long count = o1.referencingAxioms(c).count();
+        o1.add(a);
+        o2.add(a);
+        Assert.assertTrue(o1.containsReference(x));
+        Assert.assertTrue(o1.containsEntityInSignature(x));
+        Assert.assertEquals(count + 1, o1.referencingAxioms(c).count());
+        Assert.assertEquals(Collections.singleton(a), o1.referencingAxioms(x).collect(Collectors.toSet()));
+        Assert.assertEquals(Collections.singleton(a), o1.referencingAxioms(x.getIRI()).collect(Collectors.toSet()));
+        assertReferencingAxioms(o1, o2);
+
+        o1.remove(a);
+        o2.remove(a);
+        Assert.assertEquals(count, o1.referencingAxioms(c).count());
+        Assert.assertEquals(0, o1.referencingAxioms(x).count());
+        assertReferencingAxioms(o1, o2);
+    }
+
+    @Test
+    public void testPreloadContentCache() throws OWLOntologyCreationException {
+        OWLOntologyDocumentSource s = ReadWriteUtils.getDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Assert.assertFalse(m1.getOntologyConfigurator().isPreloadContentCache());
+        OntologyManager m2 = OntManagers.createConcurrentONT();
+        m2.getOntologyConfigurator().setPreloadContentCache(true);
+        Assert.assertTrue(m2.getOntologyLoaderConfiguration().isPreloadContentCache());
+
+        OntologyModel o1 = m1.loadOntologyFromOntologyDocument(s);
+        OntologyModel o2 = m2.loadOntologyFromOntologyDocument(s);
+        InternalModel b1 = ((InternalModelHolder) o1).getBase();
+        InternalModel b2 = ((InternalModelHolder) o2).getBase();
+        Assert.assertTrue(b1.getAxioms().values().stream().noneMatch(ObjectTriplesMap::isLoaded));
+        Assert.assertTrue(b2.getAxioms().values().stream().allMatch(ObjectTriplesMap::isLoaded));
+        Assert.assertTrue(b2.preload().isEmpty());
+
+        Map<AxiomKey, ?> times = b1.preload();
+        Assert.assertEquals(AxiomKey.values().length, times.size());
+        Assert.assertTrue(b1.getAxioms().values().stream().allMatch(ObjectTriplesMap::isLoaded));
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+
+        o2.clearCache();
+        Map<AxiomType<?>, ?> stats = o2.preloadCache();
+        Assert.assertEquals(Arrays.stream(AxiomKey.values()).map(AxiomKey::getAxiomType).collect(Collectors.toSet()),
+                stats.keySet());
+        Assert.assertTrue(o2.preloadCache().isEmpty());
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+    }
+
+    @Test
+    public void testCompactTripleStoreContentCache() throws OWLOntologyCreationException {
+        OWLOntologyDocumentSource s = ReadWriteUtils.getDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Assert.assertFalse(m1.getOntologyConfigurator().useCompactTriplesContentCache());
+        OntologyManager m2 = OntManagers.createONT();
+        m2.getOntologyConfigurator().setContentCacheLevel(CacheSettings.CONTENT_CACHE_LEVEL_ALL
+                | CacheSettings.CONTENT_CACHE_LEVEL_COMPACT_TRIPLE_STORE);
+        Assert.assertTrue(m2.getOntologyConfigurator().useCompactTriplesContentCache());
+        Assert.assertTrue(m2.getOntologyConfigurator().useTriplesContentCache());
+
+        OntologyModel o1 = m1.loadOntologyFromOntologyDocument(s);
+        OntologyModel o2 = m2.loadOntologyFromOntologyDocument(s);
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+        assertReferencingAxioms(o2, o1);
+
+        List<OWLAxiom> axioms = o1.axioms(AxiomType.SUBCLASS_OF).limit(20).collect(Collectors.toList());
+        axioms.forEach(o1::remove);
+        axioms.forEach(o2::remove);
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+        Assert.assertEquals(o1.asGraphModel().size(), o2.asGraphModel().size());
+        axioms.forEach(o1::add);
+        axioms.forEach(o2::add);
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals(o1.asGraphModel().size(), o2.asGraphModel().size());
+        assertReferencingAxioms(o2, o1);
+    }
+
+    @Test
+    public void testReferencingAxiomsWithLiteralDatatype() {
+        String txt = "<http://ex#o> a <http://www.w3.org/2002/07/owl#Ontology> .\n" +
+                "<http://ex#dt> a <http://www.w3.org/2000/01/rdf-schema#Datatype> .\n" +
+                "<http://ex#x> <http://www.w3.org/2000/01/rdf-schema#comment> \"x\"^^<http://ex#dt> .";
+        OntologyManager m1 = OntManagers.createONT();
+        Assert.assertTrue(m1.getOntologyConfigurator().useTriplesContentCache());
+        OntologyManager m2 = OntManagers.createONT();
+        m2.getOntologyConfigurator().setContentCacheLevel(CacheSettings.CONTENT_CACHE_LEVEL_FAST_ITERATOR);
+        OntologyModel o1 = m1.addOntology(ReadWriteUtils.loadFromString(txt, OntFormat.TURTLE).getGraph());
+        OntologyModel o2 = m2.addOntology(ReadWriteUtils.loadFromString(txt, OntFormat.TURTLE).getGraph());
+
+        DataFactory df = m1.getOWLDataFactory();
+        IRI dt = IRI.create("http://ex#dt");
+        OWLAxiom a = df.getOWLAnnotationAssertionAxiom(df.getRDFSComment(), IRI.create("http://ex#x"),
+                df.getOWLLiteral("x", df.getOWLDatatype(dt)));
+        OWLAxiom d = df.getOWLDeclarationAxiom(df.getOWLDatatype(dt));
+        Set<OWLAxiom> expected = new HashSet<>(Arrays.asList(a, d));
+        Assert.assertEquals(expected, o1.axioms().collect(Collectors.toSet()));
+        // load the node-to-axioms index:
+        Assert.assertEquals(1, o1.referencingAxioms(IRI.create("http://ex#x")).count());
+
+        // the annotation assertion refers the datatype only inside the literal:
+        Assert.assertEquals(expected, o1.referencingAxioms(dt).collect(Collectors.toSet()));
+        Assert.assertEquals(expected, o2.referencingAxioms(dt).collect(Collectors.toSet()));
+        assertReferencingAxioms(o1, o2);
+
+        o1.remove(d);
+        Assert.assertEquals(Collections.singleton(a), o1.referencingAxioms(dt).collect(Collectors.toSet()));
+        Assert.assertTrue(o1.containsReference(df.getOWLDatatype(dt)));
+    }
+
+    private static void assertReferencingAxioms(OntologyModel withIndex, OntologyModel noIndex) {
+        Stream.concat(noIndex.signature(), noIndex.anonymousIndividuals()).forEach(e -> {
+            Assert.assertEquals("Wrong axioms for " + e, noIndex.referencingAxioms(e).collect(Collectors.toSet()),
+                    withIndex.referencingAxioms(e).collect(Collectors.toSet()));
+            if (e instanceof OWLEntity) {
+                Assert.assertTrue(withIndex.containsReference((OWLEntity) e));
+                Assert.assertEquals("Wrong axioms for " + e,
+                        noIndex.referencingAxioms(((OWLEntity) e).getIRI()).collect(Collectors.toSet()),
+                        withIndex.referencingAxioms(((OWLEntity) e).getIRI()).collect(Collectors.toSet()));
+            }
+        });
+    }
+
+    private static void assertIndividualAxioms(OntologyModel withIndex, OntologyModel noIndex) {
+        noIndex.individualsInSignature().forEach(i -> {
+            Assert.assertEquals(noIndex.axioms(i).collect(Collectors.toSet()),
+                    withIndex.axioms(i).collect(Collectors.toSet()));
+            Assert.assertEquals(noIndex.objectPropertyAssertionAxioms(i).collect(Collectors.toSet()),
+                    withIndex.objectPropertyAssertionAxioms(i).collect(Collectors.toSet()));
+            Assert.assertEquals(noIndex.axioms(OWLClassAssertionAxiom.class, i, Navigation.IN_SUB_POSITION).collect(Collectors.toSet()),
+                    withIndex.axioms(OWLClassAssertionAxiom.class, i, Navigation.IN_SUB_POSITION).collect(Collectors.toSet()));
+        });
+    }
 
     enum Prop {
         IRI_CACHE_SIZE(OntSettings.ONT_API_MANAGER_CACHE_IRIS.key() + ".integer"),
+        ENTITIES_CACHE_SIZE(OntSettings.ONT_API_MANAGER_CACHE_ENTITIES.key() + ".integer"),
         NODES_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_NODES.key() + ".integer"),
         OBJECTS_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_OBJECTS.key() + ".integer"),
         CONTENT_CACHE_LEVEL(OntSettings.ONT_API_LOAD_CONF_CACHE_CONTENT.key() + ".integer");
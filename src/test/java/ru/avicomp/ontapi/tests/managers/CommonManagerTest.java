@@ -16,12 +16,15 @@ package ru.avicomp.ontapi.tests.managers;
 
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.util.FileManager;
 import org.hamcrest.core.IsEqual;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +48,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -249,6 +253,79 @@ public class CommonManagerTest {
         });
     }
 
+    @Test
+    public void testBulkAddAxioms() throws Exception {
+        OWLOntologyManager m = OntManagers.createONT();
+        OWLOntology source = m.loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI("ontapi/pizza.ttl")));
+        List<OWLAxiom> axioms = source.axioms().collect(Collectors.toList());
+
+        OWLOntology o1 = m.createOntology(IRI.create("http://x#test"));
+        OWLOntology o2 = OntManagers.createONT().createOntology(IRI.create("http://x#test"));
+        List<List<? extends OWLOntologyChange>> events = new ArrayList<>();
+        m.addOntologyChangeListener(events::add);
+
+        Assert.assertEquals(ChangeApplied.SUCCESSFULLY,
+                m.addAxioms(o1, Stream.concat(axioms.stream(), axioms.stream().limit(10))));
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(axioms.size(), events.get(0).size());
+        axioms.forEach(o2::addAxiom);
+
+        Assert.assertEquals(o2.axioms().collect(Collectors.toSet()), o1.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals(o2.signature().collect(Collectors.toSet()), o1.signature().collect(Collectors.toSet()));
+        Assert.assertEquals(axioms.size(), o1.getAxiomCount());
+        Assert.assertTrue(((OntologyModel) o1).asGraphModel().getBaseGraph()
+                .isIsomorphicWith(((OntologyModel) o2).asGraphModel().getBaseGraph()));
+
+        events.clear();
+        Assert.assertEquals(ChangeApplied.NO_OPERATION, m.addAxioms(o1, axioms.stream()));
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(events.get(0).isEmpty());
+
+        ((OntologyModel) o1).clearCache();
+        Assert.assertEquals(o2.axioms().collect(Collectors.toSet()), o1.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testBulkAddAxiomsRollback() {
+        OntologyManager m = OntManagers.createONT();
+        OWLDataFactory df = m.getOWLDataFactory();
+        OntologyModel o = m.createOntology(IRI.create("http://x#test"));
+        OWLClass a = df.getOWLClass("http://x#A");
+        o.add(df.getOWLDeclarationAxiom(a));
+        Set<OWLAxiom> axioms = o.axioms().collect(Collectors.toSet());
+        Set<Triple> triples = o.asGraphModel().getBaseGraph().find().toSet();
+        List<Boolean> progress = new ArrayList<>();
+        m.addOntologyChangeProgessListener(new OWLOntologyChangeProgressListener() {
+            @Override
+            public void begin(int size) {
+                progress.add(true);
+            }
+
+            @Override
+            public void end() {
+                progress.add(false);
+            }
+
+            @Override
+            public void appliedChange(OWLOntologyChange change) {
+            }
+        });
+        // a class expression that cannot be written:
+        OWLClassExpression bad = Mockito.mock(OWLClassExpression.class);
+        Mockito.when(bad.isAnonymous()).thenReturn(true);
+        try {
+            m.addAxioms(o, Stream.of(df.getOWLSubClassOfAxiom(a, df.getOWLClass("http://x#B")),
+                    df.getOWLDeclarationAxiom(df.getOWLClass("http://x#C")),
+                    df.getOWLSubClassOfAxiom(df.getOWLClass("http://x#D"), bad)));
+            Assert.fail("Possible to add the bad axiom");
+        } catch (OntApiException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        Assert.assertEquals(Arrays.asList(true, false), progress);
+        Assert.assertEquals(axioms, o.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals(triples, o.asGraphModel().getBaseGraph().find().toSet());
+    }
+
     @Test
     public void testConfigs() {
         OntologyManager m1 = OntManagers.createONT();
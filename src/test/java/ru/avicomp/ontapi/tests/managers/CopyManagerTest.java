@@ -22,6 +22,8 @@ import org.semanticweb.owlapi.model.parameters.OntologyCopy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.avicomp.ontapi.*;
+import ru.avicomp.ontapi.jena.vocabulary.OWL;
+import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.utils.FileMap;
 import ru.avicomp.ontapi.utils.ReadWriteUtils;
 
@@ -276,4 +278,41 @@ public class CopyManagerTest {
         compareManagersContentTest(from, to);
     }
 
+    @Test
+    public void testCopyOntologyGraph() throws Exception {
+        OntologyManager from = OntManagers.createONT();
+        OntologyManager to = OntManagers.createConcurrentONT();
+        OntologyModel a = from.loadOntologyFromOntologyDocument(IRI.create(ReadWriteUtils.getResourceURI("ontapi", "pizza.ttl")));
+        OntologyModel b = from.createOntology(IRI.create("http://test/b"));
+        b.asGraphModel().addImport(a.asGraphModel()).createOntClass("http://test/b#X");
+        OntologyModel c = from.createOntology();
+        c.asGraphModel().getID().addComment("anonymous")
+                .addAnnotation(c.asGraphModel().getRDFSLabel(), "annotated header annotation");
+        c.asGraphModel().createOntClass("http://test/c#Y");
+
+        OntologyModel a2 = to.copyOntology(a, OntologyCopy.SHALLOW);
+        OntologyModel b2 = to.copyOntology(b, OntologyCopy.DEEP);
+        OntologyModel c2 = to.copyOntology(c, OntologyCopy.DEEP);
+        for (OntologyModel[] p : new OntologyModel[][]{{a, a2}, {b, b2}, {c, c2}}) {
+            Assert.assertNotSame(p[0], p[1]);
+            Assert.assertEquals(p[0].getOntologyID(), p[1].getOntologyID());
+            Assert.assertTrue(p[0].asGraphModel().getBaseGraph().isIsomorphicWith(p[1].asGraphModel().getBaseGraph()));
+            Assert.assertEquals(p[0].axioms().collect(Collectors.toSet()), p[1].axioms().collect(Collectors.toSet()));
+            Assert.assertEquals(p[0].annotations().collect(Collectors.toSet()), p[1].annotations().collect(Collectors.toSet()));
+        }
+        Assert.assertEquals(1, b2.imports().count());
+        Assert.assertSame(a2, b2.imports().findFirst().orElseThrow(AssertionError::new));
+        Assert.assertEquals(b.axioms(Imports.INCLUDED).count(), b2.axioms(Imports.INCLUDED).count());
+        Assert.assertEquals(1, c2.asGraphModel().listStatements(null, RDF.type, OWL.Ontology).toList().size());
+        // the reification of the annotated header annotation refers to the new ontology node:
+        Assert.assertEquals(1, c2.annotations().filter(x -> x.annotations().count() == 1).count());
+        Assert.assertEquals(c2.asGraphModel().getID(), c2.asGraphModel()
+                .listObjectsOfProperty(OWL.annotatedSource).toList().stream().findFirst().orElseThrow(AssertionError::new));
+
+        // the copy is independent
+        OWLDataFactory df = to.getOWLDataFactory();
+        b2.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://test/b#Z")));
+        Assert.assertEquals(b.getAxiomCount() + 1, b2.getAxiomCount());
+    }
+
 }
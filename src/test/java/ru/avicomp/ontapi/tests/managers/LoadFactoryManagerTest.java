@@ -32,6 +32,7 @@ import ru.avicomp.ontapi.config.OntConfig;
 import ru.avicomp.ontapi.config.OntLoaderConfiguration;
 import ru.avicomp.ontapi.jena.OntModelFactory;
 import ru.avicomp.ontapi.jena.model.OntGraphModel;
+import ru.avicomp.ontapi.jena.utils.Graphs;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.jena.vocabulary.XSD;
@@ -42,10 +43,13 @@ import ru.avicomp.ontapi.transforms.TransformException;
 import ru.avicomp.ontapi.utils.*;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -632,4 +636,159 @@ public class LoadFactoryManagerTest {
                 .map(Statement::getObject).noneMatch(l -> l.canAs(RDFList.class)));
     }
 
+    @Test
+    public void testDetectFormat() throws Exception {
+        Map<String, OntFormat> files = new LinkedHashMap<>();
+        files.put("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        files.put("/ontapi/foaf.rdf", OntFormat.RDF_XML);
+        files.put("/ontapi/test2.owl", OntFormat.OWL_XML);
+        files.put("/ontapi/test2.fss", OntFormat.FUNCTIONAL_SYNTAX);
+        files.put("/ontapi/test2.omn", OntFormat.MANCHESTER_SYNTAX);
+        files.put("/ontapi/test2.obo", OntFormat.OBO);
+        for (Map.Entry<String, OntFormat> e : files.entrySet()) {
+            byte[] bytes = new byte[OntGraphUtils.SNIFF_BUFFER_SIZE];
+            int length;
+            try (InputStream in = LoadFactoryManagerTest.class.getResourceAsStream(e.getKey())) {
+                length = Math.max(in.read(bytes), 0);
+            }
+            Assert.assertEquals("Wrong format for " + e.getKey(), e.getValue(), OntGraphUtils.detectFormat(bytes, length));
+        }
+        Assert.assertEquals(OntFormat.JSON_LD, detectFormat("{ \"@context\": {}, \"@id\": \"http://x\" }"));
+        Assert.assertEquals(OntFormat.TURTLE, detectFormat("# comment\nPREFIX : <http://x#>\n:a :b :c ."));
+        // N-Triples or Turtle or TriG:
+        Assert.assertNull(detectFormat("<http://a> <http://b> <http://c> ."));
+        Assert.assertNull(detectFormat("<a> <b> <c> ."));
+        Assert.assertNull(detectFormat(""));
+    }
+
+    private static OntFormat detectFormat(String txt) {
+        byte[] bytes = txt.getBytes(StandardCharsets.UTF_8);
+        return OntGraphUtils.detectFormat(bytes, bytes.length);
+    }
+
+    @Test
+    public void testReadSourceOnceWithDetectedFormat() throws Exception {
+        String txt = "{ \"@id\": \"http://x\", \"@type\": \"http://www.w3.org/2002/07/owl#Ontology\" }";
+        AtomicInteger count = new AtomicInteger();
+        OWLOntologyDocumentSource src = new OWLOntologyDocumentSourceBase(IRI.create("http://x/doc"), null, null) {
+            @Override
+            public Optional<InputStream> getInputStream() {
+                count.incrementAndGet();
+                return Optional.of(ReadWriteUtils.toInputStream(txt));
+            }
+        };
+        Graph g = OntModelFactory.createDefaultGraph();
+        OntLoaderConfiguration conf = new OntConfig().buildLoaderConfiguration();
+        Assert.assertEquals(OntFormat.JSON_LD, OntGraphUtils.readGraph(g, src, conf));
+        Assert.assertEquals(1, g.size());
+        // the first call is to check the stream presence:
+        Assert.assertEquals(2, count.get());
+
+        // OWL-API only format, there should be no jena attempts:
+        count.set(0);
+        String fss = "Prefix(:=<http://x#>)\nOntology(<http://x>\nDeclaration(Class(:C))\n)";
+        src = new OWLOntologyDocumentSourceBase(IRI.create("http://x/doc"), null, null) {
+            @Override
+            public Optional<InputStream> getInputStream() {
+                count.incrementAndGet();
+                return Optional.of(ReadWriteUtils.toInputStream(fss));
+            }
+        };
+        try {
+            OntGraphUtils.readGraph(OntModelFactory.createDefaultGraph(), src, conf);
+            Assert.fail("Possible to read functional syntax");
+        } catch (OntologyFactoryImpl.UnsupportedFormatException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        Assert.assertEquals(2, count.get());
+        OntologyModel o = OntManagers.createONT().loadOntologyFromOntologyDocument(new StringDocumentSource(fss));
+        Assert.assertEquals(1, o.getAxiomCount());
+    }
+
+    @Test
+    public void testParallelImportsLoading() throws Exception {
+        // a tree with shared branches, a cycle and a missing import:
+        Map<String, List<String>> tree = new LinkedHashMap<>();
+        tree.put("root", Arrays.asList("c", "a", "b", "missing"));
+        tree.put("a", Arrays.asList("d", "e"));
+        tree.put("b", Arrays.asList("d", "f"));
+        tree.put("c", Collections.singletonList("f"));
+        tree.put("d", Collections.singletonList("g"));
+        tree.put("e", Collections.emptyList());
+        tree.put("f", Collections.singletonList("root"));
+        tree.put("g", Collections.emptyList());
+        String ns = "http://ex.com/parallel/";
+        Path dir = Files.createTempDirectory("imports");
+        List<OWLOntologyIRIMapper> mappers = new ArrayList<>();
+        for (String name : tree.keySet()) {
+            StringBuilder ttl = new StringBuilder()
+                    .append("<").append(ns).append(name).append("> a <").append(OWL.Ontology.getURI()).append(">");
+            tree.get(name).forEach(i -> ttl.append("; <").append(OWL.imports.getURI()).append("> <")
+                    .append(ns).append(i).append(">"));
+            ttl.append(" .\n<").append(ns).append(name).append("#C> a <").append(OWL.Class.getURI()).append("> .\n");
+            Path file = Files.write(dir.resolve(name + ".ttl"), ttl.toString().getBytes(StandardCharsets.UTF_8));
+            mappers.add(FileMap.create(IRI.create(ns + name), IRI.create(file.toUri())));
+        }
+        // no such file:
+        mappers.add(FileMap.create(IRI.create(ns + "missing"), IRI.create(dir.resolve("missing.ttl").toUri())));
+        AtomicInteger calls = new AtomicInteger();
+        OWLOntologyIRIMapper counter = iri -> {
+            calls.incrementAndGet();
+            return null;
+        };
+
+        AtomicInteger sources = new AtomicInteger();
+        OntologyManager.DocumentSourceMapping sourceCounter = id -> {
+            sources.incrementAndGet();
+            return null;
+        };
+
+        List<String> trees = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        List<Integer> sourceCounts = new ArrayList<>();
+        for (int parallelism : new int[]{1, 4}) {
+            OntologyManager m = OntManagers.createONT();
+            m.getIRIMappers().add(counter);
+            mappers.forEach(m.getIRIMappers()::add);
+            m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration()
+                    .setImportsParallelism(parallelism)
+                    .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+            calls.set(0);
+            OntologyModel o = m.loadOntology(IRI.create(ns + "root"));
+            Assert.assertEquals(tree.size(), m.ontologies().count());
+            Assert.assertEquals(tree.size(), o.axioms(Imports.INCLUDED)
+                    .filter(a -> AxiomType.DECLARATION.equals(a.getAxiomType())).count());
+            trees.add(Graphs.importsTreeAsString(o.asGraphModel().getGraph()));
+            counts.add(calls.get());
+
+            OntologyManager m2 = OntManagers.createONT();
+            mappers.forEach(m2.getIRIMappers()::add);
+            m2.setOntologyLoaderConfiguration(m2.getOntologyLoaderConfiguration()
+                    .setImportsParallelism(parallelism)
+                    .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.THROW_EXCEPTION));
+            try {
+                m2.loadOntology(IRI.create(ns + "root"));
+                Assert.fail("Possible to load an ontology with a missing import");
+            } catch (UnloadableImportException e) {
+                LOGGER.debug("Expected: '{}'", e.getMessage());
+            }
+            Assert.assertEquals(0, m2.ontologies().count());
+
+            // each document source mapper is called only once per import:
+            OntologyManager m3 = OntManagers.createONT();
+            m3.getDocumentSourceMappers().add(sourceCounter);
+            mappers.forEach(m3.getIRIMappers()::add);
+            m3.setOntologyLoaderConfiguration(m3.getOntologyLoaderConfiguration()
+                    .setImportsParallelism(parallelism)
+                    .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+            sources.set(0);
+            m3.loadOntology(IRI.create(ns + "root"));
+            Assert.assertEquals(tree.size(), m3.ontologies().count());
+            sourceCounts.add(sources.get());
+        }
+        LOGGER.debug("Imports tree:\n{}", trees.get(0));
+        Assert.assertEquals(trees.get(0), trees.get(1));
+        Assert.assertEquals(counts.get(0), counts.get(1));
+        Assert.assertEquals(sourceCounts.get(0), sourceCounts.get(1));
+    }
 }
@@ -14,7 +14,9 @@
 
 package ru.avicomp.ontapi.tests.transforms;
 
+import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFNode;
@@ -45,6 +47,7 @@ import ru.avicomp.ontapi.jena.utils.Iter;
 import ru.avicomp.ontapi.jena.vocabulary.OWL;
 import ru.avicomp.ontapi.jena.vocabulary.RDF;
 import ru.avicomp.ontapi.jena.vocabulary.SWRL;
+import ru.avicomp.ontapi.jena.vocabulary.XSD;
 import ru.avicomp.ontapi.transforms.*;
 import ru.avicomp.ontapi.utils.*;
 
@@ -362,6 +365,92 @@ public class GraphTransformersTest {
         iris.forEach(i -> Assert.assertNotNull(m.getGraphModel(i)));
     }
 
+    @Test
+    public void testSkipUnneededTransformations() {
+        GraphTransformers.Store sequential = GraphTransformers.getTransformers();
+        GraphTransformers.Store skipping = sequential.setSkipUnneeded(true);
+        Assert.assertFalse(sequential.isSkipUnneeded());
+        Assert.assertTrue(skipping.isSkipUnneeded());
+        Assert.assertNotEquals(sequential, skipping);
+        Assert.assertEquals(sequential, skipping.setSkipUnneeded(false));
+        Assert.assertTrue(skipping.addFilter(g -> true).isSkipUnneeded());
+
+        List<String> names = Stream.of(OWLIDTransform.class, OWLRecursiveTransform.class, RDFSTransform.class,
+                OWLCommonTransform.class, OWLDeclarationTransform.class, SWRLTransform.class)
+                .map(Class::getSimpleName).collect(Collectors.toList());
+        Stream.of("ontapi/pizza.ttl", "ontapi/family.ttl", "ontapi/recursive-graph.ttl", "etc/spl.spin.ttl", "etc/sp.ttl")
+                .forEach(file -> {
+                    LOGGER.debug("Test skipping transformations on {}", file);
+                    Graph source = ReadWriteUtils.loadResourceTTLFile(file).getGraph();
+                    Graph expected = Factory.createGraphMem();
+                    Graph actual = Factory.createGraphMem();
+                    GraphUtil.addInto(expected, source);
+                    GraphUtil.addInto(actual, source);
+
+                    GraphTransformers.Stats expectedStats = sequential.transform(expected);
+                    GraphTransformers.Stats actualStats = skipping.transform(actual);
+                    Assert.assertTrue("Wrong graph for " + file, expected.isIsomorphicWith(actual));
+                    for (GraphTransformers.Stats.Type type : GraphTransformers.Stats.Type.values()) {
+                        Assert.assertEquals(expectedStats.triples(type).count(), actualStats.triples(type).count());
+                        names.forEach(n -> {
+                            String msg = "Wrong " + type + " stats for " + n + " on " + file;
+                            Assert.assertEquals(msg, expectedStats.hasTriples(type, n), actualStats.hasTriples(type, n));
+                            Assert.assertEquals(msg, expectedStats.getTriples(type, n).size(),
+                                    actualStats.getTriples(type, n).size());
+                        });
+                    }
+                });
+    }
+
+    @Test
+    public void testSkipUnneededTransformationsConfig() throws Exception {
+        IRI iri = IRI.create(ReadWriteUtils.getResourceURI("ontapi/family.ttl"));
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyManager m2 = OntManagers.createONT();
+        Assert.assertFalse(m2.getOntologyLoaderConfiguration().isSkipUnneededTransformations());
+        m2.getOntologyConfigurator().setSkipUnneededTransformations(true);
+        Assert.assertTrue(m2.getOntologyLoaderConfiguration().isSkipUnneededTransformations());
+
+        OntologyModel expected = m1.loadOntology(iri);
+        OntologyModel actual = m2.loadOntology(iri);
+        Assert.assertEquals(expected.axioms().collect(Collectors.toSet()), actual.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testTransformSummary() {
+        Model m = ModelFactory.createDefaultModel();
+        m.createResource("http://a", RDFS.Class).addProperty(RDFS.subClassOf, m.createResource("http://b"));
+        GraphTransformers.Summary summary = GraphTransformers.Summary.create(m.getGraph());
+        Assert.assertTrue(summary.hasType(RDFS.Class));
+        Assert.assertTrue(summary.hasPredicate(RDFS.subClassOf));
+        Assert.assertFalse(summary.hasType(OWL.Class));
+        Assert.assertFalse(summary.hasAnonymousLinks());
+        Assert.assertFalse(new OWLRecursiveTransform(m.getGraph()).test(summary));
+
+        m.getGraph().getEventManager().register(summary);
+        m.createResource().addProperty(RDFS.seeAlso, m.createResource(OWL.Class));
+        Assert.assertTrue(summary.hasType(OWL.Class));
+        Assert.assertTrue(summary.hasAnonymousLinks());
+        Assert.assertTrue(new OWLRecursiveTransform(m.getGraph()).test(summary));
+        Assert.assertTrue(new OWLCommonTransform(m.getGraph()).test(summary));
+
+        // a pure OWL2 graph: nothing to fix
+        OntGraphModel o = OntModelFactory.createModel();
+        o.setID("http://o");
+        o.createOntClass("http://o#A").addSuperClass(o.createObjectSomeValuesFrom(
+                o.createObjectProperty("http://o#p"), o.createOntClass("http://o#B")));
+        o.createDataProperty("http://o#d").addRange(o.getDatatype(XSD.xstring));
+        GraphTransformers.Summary s2 = GraphTransformers.Summary.create(o.getBaseGraph());
+        Assert.assertFalse(new OWLCommonTransform(o.getBaseGraph()).test(s2));
+        // these are skipped by their own cheap checks, the summary is not needed:
+        Assert.assertFalse(new RDFSTransform(o.getBaseGraph()).test());
+        Assert.assertFalse(new SWRLTransform(o.getBaseGraph()).test());
+        Assert.assertFalse(new OWLRecursiveTransform(o.getBaseGraph()).test(s2));
+        o.getBaseGraph().getEventManager().register(s2);
+        o.createObjectMinCardinality(o.getObjectProperty("http://o#p"), 2, null);
+        Assert.assertTrue(new OWLCommonTransform(o.getBaseGraph()).test(s2));
+    }
+
     private static void signatureTest(OWLOntology owl, OntGraphModel jena) {
         List<String> expectedClasses = owlToList(owl.classesInSignature(Imports.INCLUDED));
         List<String> actualClasses = jenaToList(jena.classes());